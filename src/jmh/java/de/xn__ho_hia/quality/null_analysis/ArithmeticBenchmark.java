@@ -0,0 +1,156 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the numeric helpers of {@link Nullsafe} against the plain {@link BigInteger} operations. The
+ * difference between both shows the cost of the nested <code>nonNull(nonNull(first).add(second))</code> wrapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "static-method" })
+public class ArithmeticBenchmark {
+
+    /** Non-final to prevent constant folding. */
+    public long value = 123_456L;
+
+    /** Non-final to prevent constant folding. */
+    public BigInteger first = BigInteger.valueOf(123_456_789L);
+
+    /** Non-final to prevent constant folding. */
+    public BigInteger second = BigInteger.valueOf(4_321L);
+
+    /** Non-final to prevent constant folding. */
+    public BigInteger absent = null;
+
+    /**
+     * @return The result of {@link Nullsafe#asBigInteger(long)}.
+     */
+    @Benchmark
+    public BigInteger asBigInteger() {
+        return Nullsafe.asBigInteger(value);
+    }
+
+    /**
+     * @return The result of {@link BigInteger#valueOf(long)}.
+     */
+    @Benchmark
+    public BigInteger bigIntegerValueOf() {
+        return BigInteger.valueOf(value);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#asLong(long)}.
+     */
+    @Benchmark
+    public Long asLong() {
+        return Nullsafe.asLong(value);
+    }
+
+    /**
+     * @return The result of {@link Long#valueOf(long)}.
+     */
+    @Benchmark
+    public Long longValueOf() {
+        return Long.valueOf(value);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#addNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger addNullsafe() {
+        return Nullsafe.addNullsafe(first, second);
+    }
+
+    /**
+     * @return The exception thrown by {@link Nullsafe#addNullsafe(BigInteger, BigInteger)} for a <code>null</code>
+     *         first value.
+     */
+    @Benchmark
+    public Object addNullsafeFailure() {
+        try {
+            return Nullsafe.addNullsafe(absent, second);
+        } catch (final IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * @return The result of {@link BigInteger#add(BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger add() {
+        return first.add(second);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#subtractNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger subtractNullsafe() {
+        return Nullsafe.subtractNullsafe(first, second);
+    }
+
+    /**
+     * @return The result of {@link BigInteger#subtract(BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger subtract() {
+        return first.subtract(second);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#multiplyNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger multiplyNullsafe() {
+        return Nullsafe.multiplyNullsafe(first, second);
+    }
+
+    /**
+     * @return The result of {@link BigInteger#multiply(BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger multiply() {
+        return first.multiply(second);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#divideNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger divideNullsafe() {
+        return Nullsafe.divideNullsafe(first, second);
+    }
+
+    /**
+     * @return The result of {@link BigInteger#divide(BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger divide() {
+        return first.divide(second);
+    }
+
+}
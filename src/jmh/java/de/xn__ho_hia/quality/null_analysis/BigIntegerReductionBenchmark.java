@@ -0,0 +1,99 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link BigInteger} reductions of {@link Nullsafe} against folding with the single value helpers
+ * and sequential streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BigIntegerReductionBenchmark {
+
+    /** The number of values to reduce. */
+    @Param({ "100", "100000" })
+    public int size;
+
+    /** Values to reduce, every tenth value is <code>null</code>. */
+    public List<BigInteger> values;
+
+    /**
+     * Creates the values to reduce.
+     */
+    @Setup
+    public void setUp() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        values = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            values.add(index % 10 == 0 ? null : BigInteger.valueOf(random.nextLong()));
+        }
+    }
+
+    /**
+     * @return The sum of all values using {@link Nullsafe#addNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger sumFold() {
+        BigInteger sum = BigInteger.ZERO;
+        for (final BigInteger value : values) {
+            if (value != null) {
+                sum = Nullsafe.addNullsafe(sum, value);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#sumNullsafe(java.util.Collection, NullPolicy)}.
+     */
+    @Benchmark
+    public BigInteger sumNullsafe() {
+        return Nullsafe.sumNullsafe(values, NullPolicy.SKIP);
+    }
+
+    /**
+     * @return The largest value using a sequential {@link java.util.stream.Stream}.
+     */
+    @Benchmark
+    public Optional<BigInteger> maxStream() {
+        return values.stream().filter(Objects::nonNull).max(Comparator.naturalOrder());
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#maxNullsafe(java.util.Collection, NullPolicy)}.
+     */
+    @Benchmark
+    public Optional<BigInteger> maxNullsafe() {
+        return Nullsafe.maxNullsafe(values, NullPolicy.SKIP);
+    }
+
+}
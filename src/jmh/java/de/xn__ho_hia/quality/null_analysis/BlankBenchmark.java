@@ -0,0 +1,139 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Nullsafe#isNullOrBlank(CharSequence)} against <code>trim().isEmpty()</code>, a
+ * {@link Character#isWhitespace(char)} loop and <code>String#isBlank</code>, which is only available when running on
+ * Java 11 or later. {@link Nullsafe#nullOrBlankPositions(CharSequence[])} is benchmarked against a
+ * <code>trim().isEmpty()</code> loop over 1000 values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class BlankBenchmark {
+
+    private static final MethodHandle IS_BLANK = isBlank();
+
+    /** The value to check. */
+    @Param({ "", "value", "  padded value  ", "                                                                x",
+            "　　value" })
+    public String value;
+
+    /** 1000 values, every tenth value is <code>null</code> and every tenth value is blank. */
+    public String[] values;
+
+    /**
+     * Creates the values.
+     */
+    @Setup
+    public void setUp() {
+        values = new String[1000];
+        Arrays.fill(values, value + " ");
+        for (int index = 0; index < values.length; index += 10) {
+            values[index] = null;
+            values[index + 5] = "   ";
+        }
+    }
+
+    private static MethodHandle isBlank() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(String.class, "isBlank",
+                    MethodType.methodType(boolean.class));
+        } catch (final ReflectiveOperationException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Whether the value is blank according to <code>trim().isEmpty()</code>.
+     */
+    @Benchmark
+    public boolean trimIsEmpty() {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * @return Whether the value is blank according to a {@link Character#isWhitespace(char)} loop.
+     */
+    @Benchmark
+    public boolean isWhitespaceLoop() {
+        if (value != null) {
+            for (int index = 0; index < value.length(); index++) {
+                if (!Character.isWhitespace(value.charAt(index))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether the value is blank according to <code>String#isBlank</code>.
+     * @throws Throwable
+     *             In case <code>String#isBlank</code> is not available.
+     */
+    @Benchmark
+    public boolean stringIsBlank() throws Throwable {
+        return value == null || (boolean) IS_BLANK.invokeExact(value);
+    }
+
+    /**
+     * @return Whether the value is blank according to {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Benchmark
+    public boolean isNullOrBlank() {
+        return Nullsafe.isNullOrBlank(value);
+    }
+
+    /**
+     * @return The positions of all <code>null</code> or blank values according to <code>trim().isEmpty()</code>.
+     */
+    @Benchmark
+    public BitSet bulkTrimIsEmpty() {
+        final BitSet positions = new BitSet();
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] == null || values[index].trim().isEmpty()) {
+                positions.set(index);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * @return The positions of all <code>null</code> or blank values according to
+     *         {@link Nullsafe#nullOrBlankPositions(CharSequence[])}.
+     */
+    @Benchmark
+    public BitSet bulkNullOrBlankPositions() {
+        return Nullsafe.nullOrBlankPositions(values);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Nullsafe#coalesce(Object, Object)} and {@link Nullsafe#coalesceGet(Object,
+ * java.util.function.Supplier)} against {@link Optional#orElse(Object)}, {@link Optional#orElseGet(
+ * java.util.function.Supplier)} and a varargs <code>firstNonNull</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class CoalesceBenchmark {
+
+    /** Whether the references are <code>null</code>, which selects the fallback. */
+    @Param({ "false", "true" })
+    public boolean missing;
+
+    /** The first reference. */
+    public String first;
+
+    /** The second reference. */
+    public String second;
+
+    /** A list that needs a mutable fallback. */
+    public List<String> list;
+
+    /**
+     * Creates the references.
+     */
+    @Setup
+    public void setUp() {
+        first = missing ? null : "first";
+        second = missing ? null : "second";
+        list = missing ? null : new ArrayList<>();
+    }
+
+    @SafeVarargs
+    private static <TYPE> TYPE firstNonNull(final TYPE... references) {
+        for (final TYPE reference : references) {
+            if (reference != null) {
+                return reference;
+            }
+        }
+        throw new NullPointerException();
+    }
+
+    /**
+     * @return The first reference or a default through {@link Optional}.
+     */
+    @Benchmark
+    public String optional() {
+        return Optional.ofNullable(first).orElse("default");
+    }
+
+    /**
+     * @return The first reference or a default through varargs.
+     */
+    @Benchmark
+    public String varargs() {
+        return firstNonNull(first, "default");
+    }
+
+    /**
+     * @return The first reference or a default through {@link Nullsafe}.
+     */
+    @Benchmark
+    public String coalesce() {
+        return Nullsafe.coalesce(first, "default");
+    }
+
+    /**
+     * @return The first of two references or a default through nested {@link Optional}s.
+     */
+    @Benchmark
+    public String optionalOfThree() {
+        return Optional.ofNullable(first).orElseGet(() -> Optional.ofNullable(second).orElse("default"));
+    }
+
+    /**
+     * @return The first of two references or a default through varargs.
+     */
+    @Benchmark
+    public String varargsOfThree() {
+        return firstNonNull(first, second, "default");
+    }
+
+    /**
+     * @return The first of two references or a default through {@link Nullsafe}.
+     */
+    @Benchmark
+    public String coalesceOfThree() {
+        return Nullsafe.coalesce(first, second, "default");
+    }
+
+    /**
+     * @return The list or a new, mutable list through {@link Optional}.
+     */
+    @Benchmark
+    public List<String> optionalOrElseGet() {
+        return Optional.ofNullable(list).orElseGet(ArrayList::new);
+    }
+
+    /**
+     * @return The list or a new, mutable list through {@link Nullsafe}.
+     */
+    @Benchmark
+    public List<String> coalesceGet() {
+        return Nullsafe.coalesceGet(list, ArrayList::new);
+    }
+
+}
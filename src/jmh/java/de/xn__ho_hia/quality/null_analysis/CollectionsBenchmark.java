@@ -0,0 +1,215 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the collection related methods of {@link Nullsafe} against hand-written checks and {@link Optional}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls", "static-method" })
+public class CollectionsBenchmark {
+
+    /** Non-final to prevent constant folding. */
+    public List<Object> list = new ArrayList<>(Collections.singletonList("value"));
+
+    /** Non-final to prevent constant folding. */
+    public Set<Object> set = new HashSet<>(Collections.singleton("value"));
+
+    /** Non-final to prevent constant folding. */
+    public Map<Object, Object> map = new HashMap<>(Collections.singletonMap("key", "value"));
+
+    /** Non-final to prevent constant folding. */
+    public String string = "value";
+
+    /** Non-final to prevent constant folding. */
+    public List<Object> absentList = null;
+
+    /** Non-final to prevent constant folding. */
+    public Set<Object> absentSet = null;
+
+    /** Non-final to prevent constant folding. */
+    public Map<Object, Object> absentMap = null;
+
+    /** Non-final to prevent constant folding. */
+    public String absentString = null;
+
+    /**
+     * @return The result of {@link Nullsafe#ensureList(List)} for a present list.
+     */
+    @Benchmark
+    public List<Object> ensureList() {
+        return Nullsafe.ensureList(list);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#ensureList(List)} for a <code>null</code> list.
+     */
+    @Benchmark
+    public List<Object> ensureListFallback() {
+        return Nullsafe.ensureList(absentList);
+    }
+
+    /**
+     * @return A present list after a hand-written check.
+     */
+    @Benchmark
+    public List<Object> handWrittenList() {
+        final List<Object> reference = list;
+        return reference != null ? reference : Collections.emptyList();
+    }
+
+    /**
+     * @return The empty list selected by a hand-written check.
+     */
+    @Benchmark
+    public List<Object> handWrittenListFallback() {
+        final List<Object> reference = absentList;
+        return reference != null ? reference : Collections.emptyList();
+    }
+
+    /**
+     * @return The empty list selected by {@link Optional#orElseGet(java.util.function.Supplier)}.
+     */
+    @Benchmark
+    public List<Object> optionalListFallback() {
+        return Optional.ofNullable(absentList).orElseGet(Collections::emptyList);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#ensureSet(Set)} for a present set.
+     */
+    @Benchmark
+    public Set<Object> ensureSet() {
+        return Nullsafe.ensureSet(set);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#ensureSet(Set)} for a <code>null</code> set.
+     */
+    @Benchmark
+    public Set<Object> ensureSetFallback() {
+        return Nullsafe.ensureSet(absentSet);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#ensureMap(Map)} for a present map.
+     */
+    @Benchmark
+    public Map<Object, Object> ensureMap() {
+        return Nullsafe.ensureMap(map);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#ensureMap(Map)} for a <code>null</code> map.
+     */
+    @Benchmark
+    public Map<Object, Object> ensureMapFallback() {
+        return Nullsafe.ensureMap(absentMap);
+    }
+
+    /**
+     * @return The number of elements seen through {@link Nullsafe#safelyStream(Collection)} for a present list.
+     */
+    @Benchmark
+    public long safelyStream() {
+        return Nullsafe.safelyStream(list).count();
+    }
+
+    /**
+     * @return The number of elements seen through {@link Nullsafe#safelyStream(Collection)} for a <code>null</code>
+     *         list.
+     */
+    @Benchmark
+    public long safelyStreamFallback() {
+        return Nullsafe.safelyStream(absentList).count();
+    }
+
+    /**
+     * @return The number of elements seen through a hand-written null-safe stream for a <code>null</code> list.
+     */
+    @Benchmark
+    public long handWrittenStreamFallback() {
+        final Collection<Object> reference = absentList;
+        return (reference != null ? reference.stream() : Stream.empty()).count();
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#isNullOrEmpty(Collection)} for a present collection.
+     */
+    @Benchmark
+    public boolean isNullOrEmptyCollection() {
+        return Nullsafe.isNullOrEmpty(list);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#isNullOrEmpty(Collection)} for a <code>null</code> collection.
+     */
+    @Benchmark
+    public boolean isNullOrEmptyCollectionFallback() {
+        return Nullsafe.isNullOrEmpty(absentList);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#isNullOrEmpty(Map)} for a present map.
+     */
+    @Benchmark
+    public boolean isNullOrEmptyMap() {
+        return Nullsafe.isNullOrEmpty(map);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#isNullOrEmpty(Map)} for a <code>null</code> map.
+     */
+    @Benchmark
+    public boolean isNullOrEmptyMapFallback() {
+        return Nullsafe.isNullOrEmpty(absentMap);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#isNullOrEmpty(String)} for a present string.
+     */
+    @Benchmark
+    public boolean isNullOrEmptyString() {
+        return Nullsafe.isNullOrEmpty(string);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#isNullOrEmpty(String)} for a <code>null</code> string.
+     */
+    @Benchmark
+    public boolean isNullOrEmptyStringFallback() {
+        return Nullsafe.isNullOrEmpty(absentString);
+    }
+
+}
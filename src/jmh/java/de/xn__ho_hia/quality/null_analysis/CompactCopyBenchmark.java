@@ -0,0 +1,179 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks copying through {@link Nullsafe#compactNonNullCopy(List)}, {@link Nullsafe#compactNonNullCopy(Set)} and
+ * {@link Nullsafe#compactNonNullCopy(Map)} against collecting a filtered stream, as well as lookups in the copies.
+ * See {@link RetainedHeapReport} for the memory held by the copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class CompactCopyBenchmark {
+
+    /** The number of elements, every tenth is <code>null</code>. */
+    @Param({ "10", "10000" })
+    public int size;
+
+    /** A list with <code>null</code> elements. */
+    public List<String> list;
+
+    /** A set with a <code>null</code> element. */
+    public Set<String> set;
+
+    /** A map with <code>null</code> values. */
+    public Map<String, String> map;
+
+    /** A present key. */
+    public String key;
+
+    /** The filtered set as an unmodifiable {@link HashSet}. */
+    public Set<String> hashSet;
+
+    /** The filtered set as a compact copy. */
+    public Set<String> compactSet;
+
+    /** The filtered map as an unmodifiable {@link HashMap}. */
+    public Map<String, String> hashMap;
+
+    /** The filtered map as a compact copy. */
+    public Map<String, String> compactMap;
+
+    /**
+     * Creates the collections.
+     */
+    @Setup
+    public void setUp() {
+        list = RetainedHeapReport.list(size);
+        set = new HashSet<>(list);
+        map = RetainedHeapReport.map(size);
+        key = list.get(size / 2 + 1);
+        hashSet = Collections.unmodifiableSet(setStream());
+        compactSet = Nullsafe.compactNonNullCopy(set);
+        hashMap = Collections.unmodifiableMap(mapStream());
+        compactMap = Nullsafe.compactNonNullCopy(map);
+    }
+
+    /**
+     * @return The list without <code>null</code> elements through a stream.
+     */
+    @Benchmark
+    public List<String> listStream() {
+        return Nullsafe.safelyStream(list, true).collect(Collectors.toList());
+    }
+
+    /**
+     * @return The list without <code>null</code> elements through an unmodifiable copy of a stream.
+     */
+    @Benchmark
+    public List<String> listUnmodifiable() {
+        return Collections.unmodifiableList(new ArrayList<>(listStream()));
+    }
+
+    /**
+     * @return The list without <code>null</code> elements through {@link Nullsafe}.
+     */
+    @Benchmark
+    public List<String> listCompact() {
+        return Nullsafe.compactNonNullCopy(list);
+    }
+
+    /**
+     * @return The set without its <code>null</code> element through a stream.
+     */
+    @Benchmark
+    public Set<String> setStream() {
+        return Nullsafe.safelyStream(set, true).collect(Collectors.toSet());
+    }
+
+    /**
+     * @return The set without its <code>null</code> element through {@link Nullsafe}.
+     */
+    @Benchmark
+    public Set<String> setCompact() {
+        return Nullsafe.compactNonNullCopy(set);
+    }
+
+    /**
+     * @return The map without <code>null</code> values through a stream.
+     */
+    @Benchmark
+    public Map<String, String> mapStream() {
+        return Nullsafe.safelyStreamEntries(map)
+                .filter(entry -> entry.getKey() != null && entry.getValue() != null)
+                .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
+    }
+
+    /**
+     * @return The map without <code>null</code> values through {@link Nullsafe}.
+     */
+    @Benchmark
+    public Map<String, String> mapCompact() {
+        return Nullsafe.compactNonNullCopy(map);
+    }
+
+    /**
+     * @return Whether the {@link HashSet} copy contains a key.
+     */
+    @Benchmark
+    public boolean containsHashSet() {
+        return hashSet.contains(key);
+    }
+
+    /**
+     * @return Whether the compact copy contains a key.
+     */
+    @Benchmark
+    public boolean containsCompactSet() {
+        return compactSet.contains(key);
+    }
+
+    /**
+     * @return The value of a key in the {@link HashMap} copy.
+     */
+    @Benchmark
+    public String getHashMap() {
+        return hashMap.get(key);
+    }
+
+    /**
+     * @return The value of a key in the compact copy.
+     */
+    @Benchmark
+    public String getCompactMap() {
+        return compactMap.get(key);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the failure path of <code>null</code> checks using the different {@link FailurePolicy policies}. The
+ * checks run at a configurable stack depth, since the cost of {@link Throwable#fillInStackTrace()} grows with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls", "static-method" })
+public class FailurePolicyBenchmark {
+
+    private static final String MESSAGE = "benchmark";
+
+    private static final Supplier<StacklessIllegalArgumentException> STACKLESS_FACTORY = () -> new StacklessIllegalArgumentException(
+            MESSAGE);
+
+    /** The number of additional stack frames below the benchmark method. */
+    @Param({ "0", "50" })
+    public int depth;
+
+    /** Non-final to prevent constant folding. */
+    public Object absent = null;
+
+    /**
+     * @return The exception thrown by {@link Nullsafe#nonNull(Object, String)} with the default global policy.
+     */
+    @Benchmark
+    public Object globalDefault() {
+        return atDepth(depth, () -> Nullsafe.nonNull(absent, MESSAGE));
+    }
+
+    /**
+     * @return The exception thrown by {@link Nullsafe#nonNull(Object, String)} with the global policy set to
+     *         {@link FailurePolicy#STACKLESS}.
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dde.xn__ho_hia.quality.null_analysis.FailurePolicy=STACKLESS")
+    public Object globalStackless() {
+        return atDepth(depth, () -> Nullsafe.nonNull(absent, MESSAGE));
+    }
+
+    /**
+     * @return The exception thrown by {@link FailurePolicy#nonNull(Object, String)} for
+     *         {@link FailurePolicy#STACK_TRACE}.
+     */
+    @Benchmark
+    public Object stackTrace() {
+        return atDepth(depth, () -> FailurePolicy.STACK_TRACE.nonNull(absent, MESSAGE));
+    }
+
+    /**
+     * @return The exception thrown by {@link FailurePolicy#nonNull(Object, String)} for
+     *         {@link FailurePolicy#STACKLESS}.
+     */
+    @Benchmark
+    public Object stackless() {
+        return atDepth(depth, () -> FailurePolicy.STACKLESS.nonNull(absent, MESSAGE));
+    }
+
+    /**
+     * @return The exception thrown by {@link Nullsafe#nonNullOrThrow(Object, Supplier)} with a stackless factory.
+     */
+    @Benchmark
+    public Object stacklessFactory() {
+        return atDepth(depth, () -> Nullsafe.nonNullOrThrow(absent, STACKLESS_FACTORY));
+    }
+
+    private static Object atDepth(final int remaining, final Supplier<Object> check) {
+        if (remaining > 0) {
+            return atDepth(remaining - 1, check);
+        }
+        try {
+            return check.get();
+        } catch (final IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+}
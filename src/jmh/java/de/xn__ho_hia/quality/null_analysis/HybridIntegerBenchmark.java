@@ -0,0 +1,143 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link HybridInteger} against the {@link BigInteger} based helpers of {@link Nullsafe}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "static-method" })
+public class HybridIntegerBenchmark {
+
+    /** Non-final to prevent constant folding. */
+    public BigInteger firstBig = BigInteger.valueOf(123_456_789L);
+
+    /** Non-final to prevent constant folding. */
+    public BigInteger secondBig = BigInteger.valueOf(4_321L);
+
+    /** Non-final to prevent constant folding. */
+    public HybridInteger firstHybrid = HybridInteger.valueOf(123_456_789L);
+
+    /** Non-final to prevent constant folding. */
+    public HybridInteger secondHybrid = HybridInteger.valueOf(4_321L);
+
+    /** Non-final to prevent constant folding. */
+    public HybridInteger maxHybrid = HybridInteger.valueOf(Long.MAX_VALUE);
+
+    /** Values to sum up, all within the <code>long</code> range. */
+    public long[] values;
+
+    /**
+     * Creates the values to sum up.
+     */
+    @Setup
+    public void setUp() {
+        values = ThreadLocalRandom.current().longs(1_000, -1_000_000L, 1_000_000L).toArray();
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#addNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger addNullsafe() {
+        return Nullsafe.addNullsafe(firstBig, secondBig);
+    }
+
+    /**
+     * @return The result of {@link HybridInteger#add(HybridInteger)}.
+     */
+    @Benchmark
+    public HybridInteger addHybrid() {
+        return firstHybrid.add(secondHybrid);
+    }
+
+    /**
+     * @return The result of {@link HybridInteger#add(HybridInteger)} that overflows into a {@link BigInteger}.
+     */
+    @Benchmark
+    public HybridInteger addHybridOverflow() {
+        return maxHybrid.add(secondHybrid);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#multiplyNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger multiplyNullsafe() {
+        return Nullsafe.multiplyNullsafe(firstBig, secondBig);
+    }
+
+    /**
+     * @return The result of {@link HybridInteger#multiply(HybridInteger)}.
+     */
+    @Benchmark
+    public HybridInteger multiplyHybrid() {
+        return firstHybrid.multiply(secondHybrid);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#divideNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger divideNullsafe() {
+        return Nullsafe.divideNullsafe(firstBig, secondBig);
+    }
+
+    /**
+     * @return The result of {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Benchmark
+    public HybridInteger divideHybrid() {
+        return firstHybrid.divide(secondHybrid);
+    }
+
+    /**
+     * @return The sum of all values using {@link Nullsafe#asBigInteger(long)} and
+     *         {@link Nullsafe#addNullsafe(BigInteger, BigInteger)}.
+     */
+    @Benchmark
+    public BigInteger sumNullsafe() {
+        BigInteger sum = BigInteger.ZERO;
+        for (final long value : values) {
+            sum = Nullsafe.addNullsafe(sum, Nullsafe.asBigInteger(value));
+        }
+        return sum;
+    }
+
+    /**
+     * @return The sum of all values using {@link HybridInteger#add(HybridInteger)}.
+     */
+    @Benchmark
+    public HybridInteger sumHybrid() {
+        HybridInteger sum = HybridInteger.valueOf(0L);
+        for (final long value : values) {
+            sum = sum.add(HybridInteger.valueOf(value));
+        }
+        return sum;
+    }
+
+}
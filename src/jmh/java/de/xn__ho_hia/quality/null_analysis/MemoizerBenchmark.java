@@ -0,0 +1,101 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link Memoizer} against calling a slow lookup directly and against caching it in a
+ * {@link ConcurrentHashMap}, which cannot store the <code>null</code> results and therefore calls the lookup again on
+ * every miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoizerBenchmark {
+
+    /** The number of distinct keys. */
+    @Param({ "1024" })
+    public int size;
+
+    /** Keys to look up, the lookup returns <code>null</code> for every other key. */
+    public Integer[] keys;
+
+    /** Caches non-null results only. */
+    public ConcurrentHashMap<Integer, Integer> map;
+
+    /** Caches both non-null and <code>null</code> results. */
+    public Memoizer<Integer, Integer> memoizer;
+
+    /**
+     * Creates the keys and warms up both caches.
+     */
+    @Setup
+    public void setUp() {
+        keys = new Integer[size];
+        map = new ConcurrentHashMap<>();
+        memoizer = Memoizer.of(MemoizerBenchmark::lookup, size, Duration.ofMinutes(10), Duration.ofMinutes(1));
+        for (int index = 0; index < size; index++) {
+            keys[index] = Integer.valueOf(index);
+            map.computeIfAbsent(keys[index], MemoizerBenchmark::lookup);
+            memoizer.apply(keys[index]);
+        }
+    }
+
+    private static Integer lookup(final Integer key) {
+        Blackhole.consumeCPU(1000);
+        return key.intValue() % 2 == 0 ? null : key;
+    }
+
+    private Integer key() {
+        return keys[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    /**
+     * @return The result of the slow lookup.
+     */
+    @Benchmark
+    public Integer direct() {
+        return lookup(key());
+    }
+
+    /**
+     * @return The result cached in a {@link ConcurrentHashMap} or the result of the slow lookup.
+     */
+    @Benchmark
+    public Integer concurrentHashMap() {
+        return map.computeIfAbsent(key(), MemoizerBenchmark::lookup);
+    }
+
+    /**
+     * @return The result cached in a {@link Memoizer}.
+     */
+    @Benchmark
+    public Integer memoizer() {
+        return memoizer.apply(key());
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Nullsafe#safeGet(Object, java.util.function.Function, java.util.function.Function,
+ * java.util.function.Function, Object)} against a chain of {@link Optional#map(java.util.function.Function)} calls and
+ * {@link Nullsafe#safeLookup(Map, String, String, String)} against casting nested maps by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class NavigationBenchmark {
+
+    /** Whether the city is missing, which stops navigation after the second step. */
+    @Param({ "false", "true" })
+    public boolean missing;
+
+    /** The root of the object graph. */
+    public Person person;
+
+    /** The same graph as nested maps. */
+    public Map<String, Object> tree;
+
+    /**
+     * Creates the object graph.
+     */
+    @Setup
+    public void setUp() {
+        final City city = missing ? null : new City("Berlin");
+        person = new Person(new Address(city));
+        tree = Collections.singletonMap("address",
+                Collections.singletonMap("city", missing ? null : Collections.singletonMap("name", "Berlin")));
+    }
+
+    /**
+     * @return The name of the city through {@link Optional}.
+     */
+    @Benchmark
+    public String optional() {
+        return Optional.ofNullable(person).map(Person::getAddress).map(Address::getCity).map(City::getName)
+                .orElse("unknown");
+    }
+
+    /**
+     * @return The name of the city through {@link Nullsafe}.
+     */
+    @Benchmark
+    public String safeGet() {
+        return Nullsafe.safeGet(person, Person::getAddress, Address::getCity, City::getName, "unknown");
+    }
+
+    /**
+     * @return The name of the city through nested <code>null</code> checks.
+     */
+    @Benchmark
+    public String nullChecks() {
+        final Person currentPerson = person;
+        if (currentPerson != null) {
+            final Address address = currentPerson.getAddress();
+            if (address != null) {
+                final City city = address.getCity();
+                if (city != null) {
+                    final String name = city.getName();
+                    if (name != null) {
+                        return name;
+                    }
+                }
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * @return The name of the city through {@link Optional} and casts.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object optionalLookup() {
+        return Optional.ofNullable(tree).map(map -> map.get("address")).map(map -> ((Map<String, Object>) map).get("city"))
+                .map(map -> ((Map<String, Object>) map).get("name")).orElse(null);
+    }
+
+    /**
+     * @return The name of the city through {@link Nullsafe}.
+     */
+    @Benchmark
+    public Object safeLookup() {
+        return Nullsafe.safeLookup(tree, "address", "city", "name");
+    }
+
+    /** The root of the object graph. */
+    public static final class Person {
+
+        private final Address address;
+
+        Person(final Address address) {
+            this.address = address;
+        }
+
+        Address getAddress() {
+            return address;
+        }
+
+    }
+
+    /** The second level. */
+    public static final class Address {
+
+        private final City city;
+
+        Address(final City city) {
+            this.city = city;
+        }
+
+        City getCity() {
+            return city;
+        }
+
+    }
+
+    /** The third level. */
+    public static final class City {
+
+        private final String name;
+
+        City(final String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link Nullsafe#nonNull(Object)} and {@link Nullsafe#nonNull(Object, String)} against the usual
+ * alternatives from the JDK and hand-written checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls", "static-method" })
+public class NonNullBenchmark {
+
+    private static final String MESSAGE = "benchmark";
+
+    /** Non-final to prevent constant folding. */
+    public Object present = new Object();
+
+    /** Non-final to prevent constant folding. */
+    public Object absent = null;
+
+    /** Non-final to prevent constant folding. */
+    public String field = "customer";
+
+    /** Non-final to prevent constant folding. */
+    public Object id = "4711";
+
+    /**
+     * @return The result of {@link Nullsafe#nonNull(Object)} for a present reference.
+     */
+    @Benchmark
+    public Object nonNull() {
+        return Nullsafe.nonNull(present);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#nonNull(Object, String)} for a present reference.
+     */
+    @Benchmark
+    public Object nonNullWithMessage() {
+        return Nullsafe.nonNull(present, MESSAGE);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#nonNull(Object, String)} with an eagerly concatenated message for a
+     *         present reference.
+     */
+    @Benchmark
+    public Object nonNullWithConcatenatedMessage() {
+        return Nullsafe.nonNull(present, "Missing " + field + " for " + id);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#nonNull(Object, java.util.function.Supplier)} for a present reference.
+     */
+    @Benchmark
+    public Object nonNullWithMessageSupplier() {
+        return Nullsafe.nonNull(present, () -> MESSAGE);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#nonNull(Object, String, Object)} for a present reference.
+     */
+    @Benchmark
+    public Object nonNullWithTemplate() {
+        return Nullsafe.nonNull(present, "Missing %s", field);
+    }
+
+    /**
+     * @return The result of {@link Nullsafe#nonNull(Object, String, Object, Object)} for a present reference.
+     */
+    @Benchmark
+    public Object nonNullWithTwoArgumentTemplate() {
+        return Nullsafe.nonNull(present, "Missing %s for %s", field, id);
+    }
+
+    /**
+     * @return The exception thrown by {@link Nullsafe#nonNull(Object, String, Object, Object)} for a
+     *         <code>null</code> reference.
+     */
+    @Benchmark
+    public Object nonNullWithTwoArgumentTemplateFailure() {
+        try {
+            return Nullsafe.nonNull(absent, "Missing %s for %s", field, id);
+        } catch (final IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * @return The result of {@link Objects#requireNonNull(Object)} for a present reference.
+     */
+    @Benchmark
+    public Object requireNonNull() {
+        return Objects.requireNonNull(present);
+    }
+
+    /**
+     * @return The result of {@link Optional#orElseThrow(java.util.function.Supplier)} for a present reference.
+     */
+    @Benchmark
+    public Object optional() {
+        return Optional.ofNullable(present).orElseThrow(IllegalArgumentException::new);
+    }
+
+    /**
+     * @return The present reference after a hand-written <code>null</code> check.
+     */
+    @Benchmark
+    public Object handWritten() {
+        final Object reference = present;
+        if (reference == null) {
+            throw new IllegalArgumentException(MESSAGE);
+        }
+        return reference;
+    }
+
+    /**
+     * @return The exception thrown by {@link Nullsafe#nonNull(Object)} for a <code>null</code> reference.
+     */
+    @Benchmark
+    public Object nonNullFailure() {
+        try {
+            return Nullsafe.nonNull(absent);
+        } catch (final IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * @return The exception thrown by {@link Nullsafe#nonNull(Object, String)} for a <code>null</code> reference.
+     */
+    @Benchmark
+    public Object nonNullWithMessageFailure() {
+        try {
+            return Nullsafe.nonNull(absent, MESSAGE);
+        } catch (final IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * @return The exception thrown by {@link Objects#requireNonNull(Object)} for a <code>null</code> reference.
+     */
+    @Benchmark
+    public Object requireNonNullFailure() {
+        try {
+            return Objects.requireNonNull(absent);
+        } catch (final NullPointerException exception) {
+            return exception;
+        }
+    }
+
+    /**
+     * @return The exception thrown by {@link Optional#orElseThrow(java.util.function.Supplier)} for a
+     *         <code>null</code> reference.
+     */
+    @Benchmark
+    public Object optionalFailure() {
+        try {
+            return Optional.ofNullable(absent).orElseThrow(IllegalArgumentException::new);
+        } catch (final IllegalArgumentException exception) {
+            return exception;
+        }
+    }
+
+}
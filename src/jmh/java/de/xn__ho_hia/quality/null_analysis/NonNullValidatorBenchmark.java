@@ -0,0 +1,165 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link NonNullValidator} against hand-written {@link Nullsafe#nonNull(Object, String)} checks and
+ * against a reflective walk over the same fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls", "null" })
+public class NonNullValidatorBenchmark {
+
+    /** A DTO with five non-null and three nullable fields. */
+    public static class Customer {
+
+        /** Non-null */
+        public @NonNull String id = "id";
+        /** Non-null */
+        public @NonNull String name = "name";
+        /** Non-null */
+        public @NonNull String email = "email";
+        /** Non-null */
+        public @NonNull String country = "country";
+        /** Non-null */
+        public @NonNull Address address = new Address();
+        /** Nullable */
+        public @Nullable String nickname;
+        /** Nullable */
+        public @Nullable String phone;
+        /** Nullable */
+        public @Nullable String company;
+
+    }
+
+    /** A nested DTO. */
+    public static class Address {
+
+        /** Non-null */
+        public @NonNull String street = "street";
+        /** Non-null */
+        public @NonNull String city = "city";
+        /** Nullable */
+        public @Nullable String zip;
+
+    }
+
+    /** The object to validate. */
+    public Customer customer;
+
+    /** The non-null fields of {@link Customer}. */
+    public Field[] customerFields;
+
+    /** The non-null fields of {@link Address}. */
+    public Field[] addressFields;
+
+    /**
+     * Creates the object to validate and looks up its fields.
+     *
+     * @throws NoSuchFieldException
+     *             Should not happen
+     */
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        customer = new Customer();
+        customerFields = new Field[] { Customer.class.getField("id"), Customer.class.getField("name"),
+                Customer.class.getField("email"), Customer.class.getField("country"),
+                Customer.class.getField("address") };
+        addressFields = new Field[] { Address.class.getField("street"), Address.class.getField("city") };
+    }
+
+    private static void reflective(final Object object, final Field[] fields) {
+        try {
+            for (final Field field : fields) {
+                Nullsafe.nonNull(field.get(object), field.getName());
+            }
+        } catch (final IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * @return The validated customer.
+     */
+    @Benchmark
+    public Customer handWritten() {
+        Nullsafe.nonNull(customer.id, "id");
+        Nullsafe.nonNull(customer.name, "name");
+        Nullsafe.nonNull(customer.email, "email");
+        Nullsafe.nonNull(customer.country, "country");
+        Nullsafe.nonNull(customer.address, "address");
+        return customer;
+    }
+
+    /**
+     * @return The validated customer.
+     */
+    @Benchmark
+    public Customer reflective() {
+        reflective(customer, customerFields);
+        return customer;
+    }
+
+    /**
+     * @return The validated customer.
+     */
+    @Benchmark
+    public Customer validator() {
+        return NonNullValidator.validate(customer);
+    }
+
+    /**
+     * @return The validated customer and address.
+     */
+    @Benchmark
+    public Customer handWrittenGraph() {
+        handWritten();
+        Nullsafe.nonNull(customer.address.street, "address.street");
+        Nullsafe.nonNull(customer.address.city, "address.city");
+        return customer;
+    }
+
+    /**
+     * @return The validated customer and address.
+     */
+    @Benchmark
+    public Customer reflectiveGraph() {
+        reflective(customer, customerFields);
+        reflective(customer.address, addressFields);
+        return customer;
+    }
+
+    /**
+     * @return The validated customer and address.
+     */
+    @Benchmark
+    public Customer validatorGraph() {
+        return NonNullValidator.validateGraph(customer);
+    }
+
+}
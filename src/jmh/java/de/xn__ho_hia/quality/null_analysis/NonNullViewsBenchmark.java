@@ -0,0 +1,131 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the null-filtering views of {@link Nullsafe} against copying all non-null elements into a new
+ * collection. Allocation per operation (<code>-prof gc</code>) shows the footprint of both approaches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class NonNullViewsBenchmark {
+
+    /** The number of elements to view. */
+    @Param({ "100000" })
+    public int size;
+
+    /** Elements to view, every tenth element is <code>null</code>. */
+    public List<String> list;
+
+    /** Entries to view, every tenth value is <code>null</code>. */
+    public Map<String, String> map;
+
+    /**
+     * Creates the elements to view.
+     */
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(size);
+        map = new HashMap<>();
+        for (int index = 0; index < size; index++) {
+            final String element = index % 10 == 0 ? null : Integer.toString(index);
+            list.add(element);
+            map.put(Integer.toString(index), element);
+        }
+    }
+
+    /**
+     * @return The total length of all non-null elements after copying them into a new list.
+     */
+    @Benchmark
+    public int listCopy() {
+        final List<String> copy = Nullsafe.safelyStream(list).filter(Objects::nonNull).collect(Collectors.toList());
+        int length = 0;
+        for (final String element : copy) {
+            length += element.length();
+        }
+        return length;
+    }
+
+    /**
+     * @return The total length of all non-null elements iterated through {@link Nullsafe#nonNullView(List)}.
+     */
+    @Benchmark
+    public int listViewIteration() {
+        int length = 0;
+        for (final String element : Nullsafe.nonNullView(list)) {
+            length += element.length();
+        }
+        return length;
+    }
+
+    /**
+     * @return The total length of all non-null elements accessed by index through {@link Nullsafe#nonNullView(List)}.
+     */
+    @Benchmark
+    public int listViewRandomAccess() {
+        final List<String> view = Nullsafe.nonNullView(list);
+        int length = 0;
+        for (int index = 0; index < view.size(); index++) {
+            length += view.get(index).length();
+        }
+        return length;
+    }
+
+    /**
+     * @return The total length of all non-null values after copying them into a new map.
+     */
+    @Benchmark
+    public int mapCopy() {
+        final Map<String, String> copy = Nullsafe.safelyStreamEntries(map)
+                .filter(entry -> entry.getKey() != null && entry.getValue() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        int length = 0;
+        for (final String value : copy.values()) {
+            length += value.length();
+        }
+        return length;
+    }
+
+    /**
+     * @return The total length of all non-null values iterated through {@link Nullsafe#nonNullView(Map)}.
+     */
+    @Benchmark
+    public int mapViewIteration() {
+        int length = 0;
+        for (final String value : Nullsafe.nonNullView(map).values()) {
+            length += value.length();
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the fallback of {@link Nullsafe#ensureList(List)}, which reports a Flight Recorder event, against the same
+ * fallback without any reporting. No recording is running, therefore the event is never committed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullEventsBenchmark {
+
+    /** Always <code>null</code> to trigger the fallback. */
+    public List<Object> list;
+
+    /**
+     * @return An empty list, without reporting.
+     */
+    @Benchmark
+    public List<Object> baseline() {
+        final List<Object> current = list;
+        return current != null ? current : Collections.emptyList();
+    }
+
+    /**
+     * @return An empty list through {@link Nullsafe#ensureList(List)}.
+     */
+    @Benchmark
+    public List<Object> fallback() {
+        return Nullsafe.ensureList(list);
+    }
+
+}
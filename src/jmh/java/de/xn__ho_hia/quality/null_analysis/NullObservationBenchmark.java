@@ -0,0 +1,127 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the overhead of {@link NullObservationAgent} on a lookup that misses every fourth key, with recording
+ * disabled, sampling one out of 100 returns, and recording every return. Runs on four threads to include contention on
+ * the counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@SuppressWarnings("nls")
+public class NullObservationBenchmark {
+
+    /** A lookup in a map that misses every fourth key. */
+    public static class Lookup implements Function<String, String> {
+
+        private final Map<String, String> values = new HashMap<>();
+
+        /**
+         * Fills the map.
+         */
+        public Lookup() {
+            for (int index = 0; index < 1024; index++) {
+                if (index % 4 != 0) {
+                    values.put("key" + index, "value" + index);
+                }
+            }
+        }
+
+        @Override
+        public String apply(final String key) {
+            return values.get(key);
+        }
+
+    }
+
+    /** The keys to look up. */
+    public String[] keys;
+
+    /** The lookup without instrumentation. */
+    public Function<String, String> plain;
+
+    /** The same lookup loaded through the {@link NullReturnInstrumenter}. */
+    public Function<String, String> instrumented;
+
+    /** The sampling rate of {@link NullObservations}, 0 to disable recording. */
+    @Param({ "0", "100", "1" })
+    public int samplingRate;
+
+    /**
+     * Loads the instrumented lookup.
+     *
+     * @throws IOException
+     *             Should not happen
+     * @throws ReflectiveOperationException
+     *             Should not happen
+     */
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException, ReflectiveOperationException {
+        keys = new String[1024];
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = "key" + index;
+        }
+        plain = new Lookup();
+        final byte[] classFile = NullReturnInstrumenter.instrument(Jars.classFile(Lookup.class));
+        instrumented = (Function<String, String>) new NullReturnInstrumenterTest.Loader().define(classFile)
+                .getConstructor().newInstance();
+        NullObservations.instance().setSamplingRate(samplingRate);
+    }
+
+    /**
+     * @return The looked up values.
+     */
+    @Benchmark
+    public int plain() {
+        return lookup(plain);
+    }
+
+    /**
+     * @return The looked up values.
+     */
+    @Benchmark
+    public int instrumented() {
+        return lookup(instrumented);
+    }
+
+    private int lookup(final Function<String, String> lookup) {
+        int found = 0;
+        for (final String key : keys) {
+            if (lookup.apply(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+}
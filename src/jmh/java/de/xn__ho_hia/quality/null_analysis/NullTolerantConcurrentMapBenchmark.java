@@ -0,0 +1,111 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link NullTolerantConcurrentMap} against a {@link Collections#synchronizedMap(Map) synchronized
+ * map} and a {@link ConcurrentHashMap}, with three threads reading and one thread writing the same map. Since
+ * {@link ConcurrentHashMap} rejects <code>null</code>, it only stores the non-null values and serves as an upper bound.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullTolerantConcurrentMapBenchmark {
+
+    /** The map implementation to benchmark. */
+    @Param({ "synchronizedMap", "concurrentHashMap", "nullTolerant" })
+    public String implementation;
+
+    /** The number of keys in the map. */
+    @Param({ "1024" })
+    public int size;
+
+    /** The map shared by all threads of a group. */
+    public Map<Integer, Integer> map;
+
+    /** Keys to look up, every tenth key is mapped to <code>null</code>. */
+    public Integer[] keys;
+
+    /**
+     * Creates and fills the map.
+     */
+    @Setup
+    public void setUp() {
+        switch (implementation) {
+            case "synchronizedMap": //$NON-NLS-1$
+                map = Collections.synchronizedMap(new HashMap<>());
+                break;
+            case "concurrentHashMap": //$NON-NLS-1$
+                map = new ConcurrentHashMap<>();
+                break;
+            default:
+                map = new NullTolerantConcurrentMap<>();
+        }
+        keys = new Integer[size];
+        for (int index = 0; index < size; index++) {
+            keys[index] = Integer.valueOf(index);
+            put(keys[index]);
+        }
+    }
+
+    private Integer key() {
+        return keys[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    private Integer put(final Integer key) {
+        final boolean nullValue = key.intValue() % 10 == 0;
+        if (nullValue && map instanceof ConcurrentHashMap) {
+            return map.remove(key);
+        }
+        return map.put(key, nullValue ? null : key);
+    }
+
+    /**
+     * @return The value of a random key.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Integer read() {
+        return map.get(key());
+    }
+
+    /**
+     * @return The previous value of a random key.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Integer write() {
+        return put(key());
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the aggregations of {@link NullableLongColumn} against loops and streams over a list of boxed
+ * values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullableLongColumnBenchmark {
+
+    /** The number of values to aggregate. */
+    @Param({ "100", "100000" })
+    public int size;
+
+    /** Values to aggregate, every tenth value is <code>null</code>. */
+    public List<Long> values;
+
+    /** The same values as a column. */
+    public NullableLongColumn column;
+
+    /**
+     * Creates the values to aggregate.
+     */
+    @Setup
+    public void setUp() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        values = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            values.add(index % 10 == 0 ? null : Long.valueOf(random.nextInt()));
+        }
+        column = NullableLongColumn.of(values);
+    }
+
+    /**
+     * @return The sum of all values with a hand-written loop.
+     */
+    @Benchmark
+    public long sumLoop() {
+        long sum = 0;
+        for (final Long value : values) {
+            if (value != null) {
+                sum += value.longValue();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return The sum of all values through {@link Nullsafe#safelyStream(java.util.Collection, boolean)}.
+     */
+    @Benchmark
+    public long sumStream() {
+        return Nullsafe.safelyStream(values, true).mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return The result of {@link NullableLongColumn#sum(NullPolicy, boolean)}.
+     */
+    @Benchmark
+    public HybridInteger sumColumn() {
+        return column.sum(NullPolicy.SKIP, false);
+    }
+
+    /**
+     * @return The result of {@link NullableLongColumn#sum(NullPolicy, boolean)} in parallel.
+     */
+    @Benchmark
+    public HybridInteger sumColumnParallel() {
+        return column.sum(NullPolicy.SKIP, true);
+    }
+
+    /**
+     * @return The smallest value with a hand-written loop.
+     */
+    @Benchmark
+    public long minLoop() {
+        long min = Long.MAX_VALUE;
+        for (final Long value : values) {
+            if (value != null) {
+                min = Math.min(min, value.longValue());
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @return The result of {@link NullableLongColumn#min(NullPolicy, boolean)}.
+     */
+    @Benchmark
+    public OptionalLong minColumn() {
+        return column.min(NullPolicy.SKIP, false);
+    }
+
+    /**
+     * @return The result of {@link NullableLongColumn#min(NullPolicy, boolean)} in parallel.
+     */
+    @Benchmark
+    public OptionalLong minColumnParallel() {
+        return column.min(NullPolicy.SKIP, true);
+    }
+
+}
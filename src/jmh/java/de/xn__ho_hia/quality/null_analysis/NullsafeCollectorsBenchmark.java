@@ -0,0 +1,152 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link NullsafeCollectors} against a separate filter stage in front of the collectors of
+ * {@link Collectors}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullsafeCollectorsBenchmark {
+
+    /** The number of elements to collect. */
+    @Param({ "100000" })
+    public int size;
+
+    /** Elements to collect, every tenth element is <code>null</code>. */
+    public List<Integer> elements;
+
+    /**
+     * Creates the elements to collect.
+     */
+    @Setup
+    public void setUp() {
+        final Integer[] array = new Integer[size];
+        for (int index = 0; index < size; index++) {
+            array[index] = index % 10 == 0 ? null : Integer.valueOf(index);
+        }
+        elements = Arrays.asList(array);
+    }
+
+    private static Integer group(final Integer element) {
+        return Integer.valueOf(element.intValue() % 16);
+    }
+
+    /**
+     * @return The elements filtered in a separate stage and collected by {@link Collectors#toMap(Function, Function)}.
+     */
+    @Benchmark
+    public Map<Integer, Integer> filterToMap() {
+        return elements.stream().filter(Objects::nonNull)
+                .collect(Collectors.toMap(Function.identity(), Function.identity()));
+    }
+
+    /**
+     * @return The elements collected by
+     *         {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Benchmark
+    public Map<Integer, Integer> nullsafeToMap() {
+        return elements.stream().collect(NullsafeCollectors.toMap(Function.identity(), Function.identity(),
+                NullHandling.skip(), NullHandling.skip()));
+    }
+
+    /**
+     * @return The elements collected by
+     *         {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling, int)}.
+     */
+    @Benchmark
+    public Map<Integer, Integer> nullsafeToMapPresized() {
+        return elements.stream().collect(NullsafeCollectors.toMap(Function.identity(), Function.identity(),
+                NullHandling.skip(), NullHandling.skip(), size));
+    }
+
+    /**
+     * @return The elements filtered in a separate stage and collected in parallel by
+     *         {@link Collectors#toConcurrentMap(Function, Function)}.
+     */
+    @Benchmark
+    public Map<Integer, Integer> filterToConcurrentMapParallel() {
+        return elements.parallelStream().filter(Objects::nonNull)
+                .collect(Collectors.toConcurrentMap(Function.identity(), Function.identity()));
+    }
+
+    /**
+     * @return The elements collected in parallel by
+     *         {@link NullsafeCollectors#toConcurrentMap(Function, Function, NullHandling, NullHandling, int)}.
+     */
+    @Benchmark
+    public Map<Integer, Integer> nullsafeToConcurrentMapParallel() {
+        return elements.parallelStream().collect(NullsafeCollectors.toConcurrentMap(Function.identity(),
+                Function.identity(), NullHandling.skip(), NullHandling.skip(), size));
+    }
+
+    /**
+     * @return The elements filtered in a separate stage and grouped by {@link Collectors#groupingBy(Function)}.
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> filterGroupingBy() {
+        return elements.stream().filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(NullsafeCollectorsBenchmark::group));
+    }
+
+    /**
+     * @return The elements grouped by {@link NullsafeCollectors#groupingBy(Function, NullHandling)}, where
+     *         <code>null</code> elements end up in their own group.
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> nullsafeGroupingBy() {
+        return elements.stream().collect(NullsafeCollectors
+                .groupingBy(element -> element == null ? null : group(element), NullHandling.skip()));
+    }
+
+    /**
+     * @return The elements filtered in a separate stage and grouped in parallel by
+     *         {@link Collectors#groupingByConcurrent(Function)}.
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> filterGroupingByConcurrentParallel() {
+        return elements.parallelStream().filter(Objects::nonNull)
+                .collect(Collectors.groupingByConcurrent(NullsafeCollectorsBenchmark::group));
+    }
+
+    /**
+     * @return The elements grouped in parallel by
+     *         {@link NullsafeCollectors#groupingByConcurrent(Function, NullHandling)}.
+     */
+    @Benchmark
+    public Map<Integer, List<Integer>> nullsafeGroupingByConcurrentParallel() {
+        return elements.parallelStream().collect(NullsafeCollectors
+                .groupingByConcurrent(element -> element == null ? null : group(element), NullHandling.skip()));
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the fallback of {@link Nullsafe#ensureList(List)} with different sampling rates of the
+ * {@link NullsafeProfiler}, where 0 disables sampling and 1 locates the caller of every fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullsafeProfilerBenchmark {
+
+    /** The average number of fallbacks per sample. */
+    @Param({ "0", "1000", "100", "1" })
+    public int samplingRate;
+
+    /** Always <code>null</code> to trigger the fallback. */
+    public List<Object> list;
+
+    /**
+     * Enables sampling.
+     */
+    @Setup
+    public void setUp() {
+        NullsafeProfiler.instance().setSamplingRate(samplingRate);
+    }
+
+    /**
+     * Disables sampling.
+     */
+    @TearDown
+    public void tearDown() {
+        NullsafeProfiler.instance().setSamplingRate(0);
+        NullsafeProfiler.instance().reset();
+    }
+
+    /**
+     * @return An empty list through {@link Nullsafe#ensureList(List)}.
+     */
+    @Benchmark
+    public List<Object> fallback() {
+        return Nullsafe.ensureList(list);
+    }
+
+}
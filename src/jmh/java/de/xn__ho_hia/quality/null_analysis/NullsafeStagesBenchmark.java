@@ -0,0 +1,127 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link NullsafeStages#ensureList(java.util.function.Function)} inside the combinator of a request against
+ * a separate <code>thenApply(Nullsafe::ensureList)</code> stage. The chained requests create three stages, the fused
+ * ones two. The asynchronous variants run on an executor that is kept busy with <code>load</code> tasks, so that
+ * every additional stage waits in its queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class NullsafeStagesBenchmark {
+
+    private static final List<String> LEGACY = Arrays.asList("first", "second", "third");
+
+    /** The number of busy tasks in the queue of the executor. */
+    @Param({ "0", "4" })
+    public int load;
+
+    /** The executor of all asynchronous stages. */
+    public ExecutorService executor;
+
+    /** Whether busy tasks should re-submit themselves. */
+    public volatile boolean running;
+
+    /**
+     * Creates the executor and fills its queue with busy tasks.
+     */
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        running = true;
+        for (int index = 0; index < load; index++) {
+            executor.execute(this::busy);
+        }
+    }
+
+    private void busy() {
+        Blackhole.consumeCPU(1_000);
+        if (running) {
+            executor.execute(this::busy);
+        }
+    }
+
+    /**
+     * Stops the busy tasks and the executor.
+     */
+    @TearDown
+    public void tearDown() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return The size of the legacy result through a separate stage.
+     */
+    @Benchmark
+    public Integer chained() {
+        return CompletableFuture.completedFuture(LEGACY)
+                .thenApply(Nullsafe::ensureList)
+                .thenApply(List::size)
+                .join();
+    }
+
+    /**
+     * @return The size of the legacy result through a fused adapter.
+     */
+    @Benchmark
+    public Integer fused() {
+        return CompletableFuture.completedFuture(LEGACY)
+                .thenApply(NullsafeStages.ensureList(List::size))
+                .join();
+    }
+
+    /**
+     * @return The size of the asynchronous legacy result through a separate stage.
+     */
+    @Benchmark
+    public Integer chainedAsync() {
+        return CompletableFuture.supplyAsync(() -> LEGACY, executor)
+                .thenApplyAsync(Nullsafe::ensureList, executor)
+                .thenApplyAsync(List::size, executor)
+                .join();
+    }
+
+    /**
+     * @return The size of the asynchronous legacy result through a fused adapter.
+     */
+    @Benchmark
+    public Integer fusedAsync() {
+        return CompletableFuture.supplyAsync(() -> LEGACY, executor)
+                .thenApplyAsync(NullsafeStages.ensureList(List::size), executor)
+                .join();
+    }
+
+}
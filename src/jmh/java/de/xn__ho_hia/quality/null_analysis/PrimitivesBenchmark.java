@@ -0,0 +1,95 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the primitive stream sources and the {@link Long} cache of {@link Nullsafe} against their boxed
+ * counterparts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivesBenchmark {
+
+    /** The number of elements to stream. */
+    @Param({ "1000" })
+    public int size;
+
+    /** The value to box, outside of the default cache range. */
+    @Param({ "1000" })
+    public long value;
+
+    /** Primitive elements to stream. */
+    public int[] primitives;
+
+    /** The same elements boxed. */
+    public Integer[] boxed;
+
+    /**
+     * Creates the elements to stream.
+     */
+    @Setup
+    public void setUp() {
+        primitives = new int[size];
+        boxed = new Integer[size];
+        for (int index = 0; index < size; index++) {
+            primitives[index] = index;
+            boxed[index] = Integer.valueOf(index);
+        }
+    }
+
+    /**
+     * @return The sum of all elements seen through {@link Nullsafe#safelyIntStream(int[])}.
+     */
+    @Benchmark
+    public int intStream() {
+        return Nullsafe.safelyIntStream(primitives).sum();
+    }
+
+    /**
+     * @return The sum of all elements seen through {@link Nullsafe#safelyStream(Object[])}.
+     */
+    @Benchmark
+    public int boxedStream() {
+        return Nullsafe.safelyStream(boxed).mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * @return The value boxed with the default cache range.
+     */
+    @Benchmark
+    public Long asLong() {
+        return Nullsafe.asLong(value);
+    }
+
+    /**
+     * @return The value boxed with a cache range that includes it.
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dde.xn__ho_hia.quality.null_analysis.LongCache.high=100000")
+    public Long asLongCached() {
+        return Nullsafe.asLong(value);
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the success path of {@link Nullsafe#requireAllNonNull(Object, Object, Object, Object)} and its eight
+ * argument variant against chained {@link Nullsafe#nonNull(Object)} calls, and
+ * {@link Nullsafe#requireNoNullElements(java.util.Collection)} against {@link List#contains(Object)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class RequireAllNonNullBenchmark {
+
+    /** The arguments to check. */
+    public Object first, second, third, fourth, fifth, sixth, seventh, eighth;
+
+    /** A list of 100 elements without <code>null</code>s. */
+    public List<Object> list;
+
+    /**
+     * Creates the arguments.
+     */
+    @Setup
+    public void setUp() {
+        first = "first";
+        second = Integer.valueOf(2);
+        third = "third";
+        fourth = Long.valueOf(4);
+        fifth = "fifth";
+        sixth = Integer.valueOf(6);
+        seventh = "seventh";
+        eighth = Long.valueOf(8);
+        list = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            list.add(Integer.toString(index));
+        }
+    }
+
+    /**
+     * @return The last argument after four {@link Nullsafe#nonNull(Object)} calls.
+     */
+    @Benchmark
+    public Object chainedFour() {
+        Nullsafe.nonNull(first);
+        Nullsafe.nonNull(second);
+        Nullsafe.nonNull(third);
+        return Nullsafe.nonNull(fourth);
+    }
+
+    /**
+     * @return The last argument after {@link Nullsafe#requireAllNonNull(Object, Object, Object, Object)}.
+     */
+    @Benchmark
+    public Object requireFour() {
+        Nullsafe.requireAllNonNull(first, second, third, fourth);
+        return fourth;
+    }
+
+    /**
+     * @return The first argument after a varargs check, as a reference for the array allocation.
+     */
+    @Benchmark
+    public Object varargsFour() {
+        return requireVarargs(first, second, third, fourth);
+    }
+
+    /**
+     * @return The last argument after eight {@link Nullsafe#nonNull(Object)} calls.
+     */
+    @Benchmark
+    public Object chainedEight() {
+        Nullsafe.nonNull(first);
+        Nullsafe.nonNull(second);
+        Nullsafe.nonNull(third);
+        Nullsafe.nonNull(fourth);
+        Nullsafe.nonNull(fifth);
+        Nullsafe.nonNull(sixth);
+        Nullsafe.nonNull(seventh);
+        return Nullsafe.nonNull(eighth);
+    }
+
+    /**
+     * @return The last argument after
+     *         {@link Nullsafe#requireAllNonNull(Object, Object, Object, Object, Object, Object, Object, Object)}.
+     */
+    @Benchmark
+    public Object requireEight() {
+        Nullsafe.requireAllNonNull(first, second, third, fourth, fifth, sixth, seventh, eighth);
+        return eighth;
+    }
+
+    /**
+     * @return The last argument after
+     *         {@link Nullsafe#requireAllNonNullNamed(String, Object, Object, Object, Object, Object, Object, Object, Object)}.
+     */
+    @Benchmark
+    public Object requireEightNamed() {
+        Nullsafe.requireAllNonNullNamed("first, second, third, fourth, fifth, sixth, seventh, eighth", first, second,
+                third, fourth, fifth, sixth, seventh, eighth);
+        return eighth;
+    }
+
+    /**
+     * @return Whether the list contains <code>null</code>.
+     */
+    @Benchmark
+    public boolean listContains() {
+        return list.contains(null);
+    }
+
+    /**
+     * @return The list after {@link Nullsafe#requireNoNullElements(java.util.Collection)}.
+     */
+    @Benchmark
+    public List<Object> listRequire() {
+        Nullsafe.requireNoNullElements(list);
+        return list;
+    }
+
+    private static Object requireVarargs(final Object... arguments) {
+        for (final Object argument : arguments) {
+            Objects.requireNonNull(argument);
+        }
+        return Arrays.asList(arguments).get(0);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the heap retained per entry by copies without <code>null</code> elements, keys or values. Every copy is
+ * created many times from the same source, so that the shared elements are not counted, and the heap is measured after
+ * full garbage collections. Run it after <code>mvn -Pbenchmarks test-compile</code> with
+ * <code>java -cp target/benchmarks/classes:target/benchmarks/test-classes
+ * de.xn__ho_hia.quality.null_analysis.RetainedHeapReport</code>.
+ */
+@SuppressWarnings({ "nls" })
+public final class RetainedHeapReport {
+
+    private static final int ENTRIES = 1_000_000;
+
+    private RetainedHeapReport() {
+        // utility class
+    }
+
+    /**
+     * @param size
+     *            The number of elements
+     * @return A list in which every tenth element is <code>null</code>
+     */
+    static List<String> list(final int size) {
+        final List<String> list = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            list.add(index % 10 == 0 ? null : "element-" + index);
+        }
+        return list;
+    }
+
+    /**
+     * @param size
+     *            The number of entries
+     * @return A map in which every tenth value is <code>null</code>
+     */
+    static Map<String, String> map(final int size) {
+        final Map<String, String> map = new HashMap<>();
+        for (final String key : list(size)) {
+            map.put(key == null ? "key" : key, key);
+        }
+        return map;
+    }
+
+    /**
+     * @param arguments
+     *            Ignored
+     */
+    public static void main(final String[] arguments) {
+        System.out.println(String.format("%-38s %8s %14s", "Copy", "Size", "Bytes/entry"));
+        for (final int size : new int[] { 10, 10_000 }) {
+            final List<String> list = list(size);
+            final Set<String> set = new HashSet<>(list);
+            final Map<String, String> map = map(size);
+            final int entries = size - size / 10;
+            report("ArrayList (stream)", size, entries,
+                    () -> Nullsafe.safelyStream(list, true).collect(Collectors.toList()));
+            report("unmodifiableList(ArrayList)", size, entries, () -> Collections.unmodifiableList(
+                    new ArrayList<>(Nullsafe.safelyStream(list, true).collect(Collectors.toList()))));
+            report("compactNonNullCopy(List)", size, entries, () -> Nullsafe.compactNonNullCopy(list));
+            report("HashSet (stream)", size, entries,
+                    () -> Nullsafe.safelyStream(set, true).collect(Collectors.toSet()));
+            report("unmodifiableSet(HashSet)", size, entries, () -> Collections.unmodifiableSet(
+                    new HashSet<>(Nullsafe.safelyStream(set, true).collect(Collectors.toList()))));
+            report("compactNonNullCopy(Set)", size, entries, () -> Nullsafe.compactNonNullCopy(set));
+            report("HashMap (stream)", size, entries, () -> Nullsafe.safelyStreamEntries(map)
+                    .filter(entry -> entry.getKey() != null && entry.getValue() != null)
+                    .collect(Collectors.toMap(Entry::getKey, Entry::getValue)));
+            report("unmodifiableMap(HashMap)", size, entries, () -> Collections.unmodifiableMap(
+                    new HashMap<>(Nullsafe.compactNonNullCopy(map))));
+            report("compactNonNullCopy(Map)", size, entries, () -> Nullsafe.compactNonNullCopy(map));
+        }
+    }
+
+    private static void report(final String name, final int size, final int entries, final Supplier<?> copy) {
+        final Object[] copies = new Object[ENTRIES / entries];
+        final long before = usedHeap();
+        for (int index = 0; index < copies.length; index++) {
+            copies[index] = copy.get();
+        }
+        final long after = usedHeap();
+        System.out.println(String.format("%-38s %8d %14.1f", name, Integer.valueOf(size),
+                Double.valueOf((double) (after - before) / copies.length / entries)));
+    }
+
+    private static long usedHeap() {
+        for (int run = 0; run < 3; run++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the stream sources of {@link Nullsafe} against copying into an {@link ArrayList} and filtering
+ * <code>null</code> elements in a separate stage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings({ "nls" })
+public class StreamSourcesBenchmark {
+
+    /** The number of elements to stream. */
+    @Param({ "1000" })
+    public int size;
+
+    /** Elements to stream, every tenth element is <code>null</code>. */
+    public String[] array;
+
+    /** The same elements as a legacy collection that only offers an {@link java.util.Enumeration}. */
+    public Vector<String> vector;
+
+    /**
+     * Creates the elements to stream.
+     */
+    @Setup
+    public void setUp() {
+        array = new String[size];
+        for (int index = 0; index < size; index++) {
+            array[index] = index % 10 == 0 ? null : Integer.toString(index);
+        }
+        vector = new Vector<>(Arrays.asList(array));
+    }
+
+    /**
+     * @return The total length of all elements after copying the array into an {@link ArrayList}.
+     */
+    @Benchmark
+    public int arrayCopy() {
+        return new ArrayList<>(Arrays.asList(array)).stream().filter(Objects::nonNull).mapToInt(String::length).sum();
+    }
+
+    /**
+     * @return The total length of all elements seen through {@link Nullsafe#safelyStream(Object[])} and a filter.
+     */
+    @Benchmark
+    public int arrayFilter() {
+        return Nullsafe.safelyStream(array).filter(Objects::nonNull).mapToInt(String::length).sum();
+    }
+
+    /**
+     * @return The total length of all elements seen through {@link Nullsafe#safelyStream(Object[], boolean)}.
+     */
+    @Benchmark
+    public int arraySkipNulls() {
+        return Nullsafe.safelyStream(array, true).mapToInt(String::length).sum();
+    }
+
+    /**
+     * @return The total length of all elements seen through {@link Nullsafe#safelyParallelStream(Object[], boolean)}.
+     */
+    @Benchmark
+    public int arraySkipNullsParallel() {
+        return Nullsafe.safelyParallelStream(array, true).mapToInt(String::length).sum();
+    }
+
+    /**
+     * @return The total length of all elements after copying the enumeration into an {@link ArrayList}.
+     */
+    @Benchmark
+    public int enumerationCopy() {
+        return Collections.list(vector.elements()).stream().filter(Objects::nonNull).mapToInt(String::length).sum();
+    }
+
+    /**
+     * @return The total length of all elements seen through
+     *         {@link Nullsafe#safelyStream(java.util.Enumeration, boolean)}.
+     */
+    @Benchmark
+    public int enumerationSkipNulls() {
+        return Nullsafe.safelyStream(vector.elements(), true).mapToInt(String::length).sum();
+    }
+
+}
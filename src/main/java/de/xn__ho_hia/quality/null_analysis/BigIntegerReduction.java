@@ -0,0 +1,329 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Reduces collections of {@link BigInteger}s into a single value. {@link RandomAccess} lists are split into balanced
+ * fork/join tasks of at least <code>CHUNK_SIZE</code> elements, while other collections are iterated in the calling
+ * thread. All reductions combine partial results in encounter order, thus results are independent of the number of
+ * tasks.
+ */
+final class BigIntegerReduction {
+
+    /** Lists holding at least this many elements are split into two tasks. */
+    static final int CHUNK_SIZE = 4096;
+
+    static final BigInteger TWO_TO_THE_64 = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    private BigIntegerReduction() {
+        // utility class
+    }
+
+    static @NonNull BigInteger sum(@Nullable final Collection<BigInteger> values, final NullPolicy policy) {
+        return reduce(values, policy, Sum::new, "sumNullsafe").result(); //$NON-NLS-1$
+    }
+
+    static @NonNull BigInteger product(@Nullable final Collection<BigInteger> values, final NullPolicy policy) {
+        return reduce(values, policy, Product::new, "productNullsafe").result(); //$NON-NLS-1$
+    }
+
+    static @NonNull Optional<BigInteger> min(@Nullable final Collection<BigInteger> values, final NullPolicy policy) {
+        return reduce(values, policy, Min::new, "minNullsafe").result(); //$NON-NLS-1$
+    }
+
+    static @NonNull Optional<BigInteger> max(@Nullable final Collection<BigInteger> values, final NullPolicy policy) {
+        return reduce(values, policy, Max::new, "maxNullsafe").result(); //$NON-NLS-1$
+    }
+
+    /**
+     * @return The given values in case they can be split into tasks, otherwise <code>null</code>.
+     */
+    static @Nullable List<BigInteger> splittable(final Collection<BigInteger> values) {
+        if (values instanceof List && values instanceof RandomAccess) {
+            return (List<BigInteger>) values;
+        }
+        return null;
+    }
+
+    private static <ACCUMULATOR extends Accumulator<ACCUMULATOR>> ACCUMULATOR reduce(
+            @Nullable final Collection<BigInteger> values, final NullPolicy policy,
+            final Factory<ACCUMULATOR> factory, final String method) {
+        final ACCUMULATOR accumulator;
+        final List<BigInteger> list;
+        if (values == null) {
+            accumulator = factory.get();
+        } else if ((list = splittable(values)) != null) {
+            accumulator = new ReductionTask<>(list, policy, factory, 0, list.size()).invoke();
+        } else {
+            accumulator = factory.get();
+            int index = 0;
+            for (final BigInteger value : values) {
+                if (!accumulator.accept(value, policy, index++)) {
+                    break;
+                }
+            }
+        }
+        final int failedAt = accumulator.failedAt;
+        if (failedAt >= 0) {
+            throw Nullsafe.violation(method,
+                    String.format("Got unexpected NULL element at index %d", Integer.valueOf(failedAt))); //$NON-NLS-1$
+        }
+        return accumulator;
+    }
+
+    static @NonNull BigInteger multiply(@Nullable final BigInteger first, final BigInteger second) {
+        return first == null ? Nullsafe.nonNull(second) : Nullsafe.multiplyNullsafe(first, second);
+    }
+
+    /**
+     * Creates empty accumulators, serializable since it is part of a {@link RecursiveTask}.
+     */
+    @FunctionalInterface
+    interface Factory<ACCUMULATOR> extends Supplier<ACCUMULATOR>, Serializable {
+        // combines both interfaces
+    }
+
+    static final class ReductionTask<ACCUMULATOR extends Accumulator<ACCUMULATOR>>
+            extends RecursiveTask<ACCUMULATOR> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<BigInteger> values;
+        private final NullPolicy policy;
+        private final Factory<ACCUMULATOR> factory;
+        private final int from;
+        private final int to;
+
+        ReductionTask(final List<BigInteger> values, final NullPolicy policy, final Factory<ACCUMULATOR> factory,
+                final int from, final int to) {
+            this.values = values;
+            this.policy = policy;
+            this.factory = factory;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ACCUMULATOR compute() {
+            if ((to - from) / CHUNK_SIZE > 0) {
+                final int middle = (from + to) >>> 1;
+                final ReductionTask<ACCUMULATOR> left = new ReductionTask<>(values, policy, factory, from, middle);
+                left.fork();
+                final ACCUMULATOR right = new ReductionTask<>(values, policy, factory, middle, to).compute();
+                final ACCUMULATOR result = left.join();
+                result.merge(right);
+                return result;
+            }
+            final ACCUMULATOR accumulator = factory.get();
+            for (int index = from; index < to; index++) {
+                if (!accumulator.accept(values.get(index), policy, index)) {
+                    break;
+                }
+            }
+            return accumulator;
+        }
+
+    }
+
+    abstract static class Accumulator<SELF extends Accumulator<SELF>> {
+
+        /** The index of the first rejected <code>null</code> element, or <code>-1</code>. */
+        int failedAt = -1;
+
+        /**
+         * @return <code>false</code> in case the reduction must stop, otherwise <code>true</code>.
+         */
+        final boolean accept(@Nullable final BigInteger value, final NullPolicy policy, final int index) {
+            if (value != null) {
+                accept(value);
+            } else if (policy == NullPolicy.TREAT_AS_ZERO) {
+                accept(Nullsafe.nonNull(BigInteger.ZERO));
+            } else if (policy == NullPolicy.FAIL) {
+                failedAt = index;
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Merges the result of the elements following the elements of this accumulator.
+         */
+        final void merge(final SELF right) {
+            if (failedAt < 0) {
+                failedAt = right.failedAt;
+                combine(right);
+            }
+        }
+
+        abstract void accept(BigInteger value);
+
+        abstract void combine(SELF right);
+
+    }
+
+    /**
+     * Sums up all elements within the <code>long</code> range in a 128 bit accumulator, which cannot overflow for
+     * less than 2<sup>64</sup> elements. Only elements outside of the <code>long</code> range allocate.
+     */
+    static final class Sum extends Accumulator<Sum> {
+
+        private long low;
+        private long high;
+        private @Nullable BigInteger large;
+
+        @Override
+        void accept(final BigInteger value) {
+            if (value.bitLength() < Long.SIZE) {
+                add(value.longValue() >> (Long.SIZE - 1), value.longValue());
+            } else {
+                final BigInteger sum = large;
+                large = sum == null ? value : sum.add(value);
+            }
+        }
+
+        @Override
+        void combine(final Sum right) {
+            add(right.high, right.low);
+            final BigInteger rightLarge = right.large;
+            if (rightLarge != null) {
+                accept(rightLarge);
+            }
+        }
+
+        private void add(final long otherHigh, final long otherLow) {
+            final long sum = low + otherLow;
+            high += otherHigh + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
+        }
+
+        @NonNull
+        BigInteger result() {
+            final BigInteger unsignedLow = BigInteger.valueOf(low);
+            final BigInteger sum = BigInteger.valueOf(high).shiftLeft(Long.SIZE)
+                    .add(low < 0 ? unsignedLow.add(TWO_TO_THE_64) : unsignedLow);
+            final BigInteger largeSum = large;
+            return Nullsafe.nonNull(largeSum == null ? sum : sum.add(largeSum));
+        }
+
+    }
+
+    /**
+     * Multiplies all elements in <code>long</code> arithmetic until an overflow occurs, which flushes the current
+     * <code>long</code> product into a {@link BigInteger}.
+     */
+    static final class Product extends Accumulator<Product> {
+
+        private long small = 1L;
+        private @Nullable BigInteger large;
+
+        @Override
+        void accept(final BigInteger value) {
+            if (value.bitLength() < Long.SIZE) {
+                multiply(value.longValue());
+            } else {
+                large = BigIntegerReduction.multiply(large, value);
+            }
+        }
+
+        @Override
+        void combine(final Product right) {
+            multiply(right.small);
+            final BigInteger rightLarge = right.large;
+            if (rightLarge != null) {
+                large = BigIntegerReduction.multiply(large, rightLarge);
+            }
+        }
+
+        private void multiply(final long value) {
+            if (HybridInteger.multiplyOverflows(small, value)) {
+                large = BigIntegerReduction.multiply(large, Nullsafe.asBigInteger(small));
+                small = value;
+            } else {
+                small *= value;
+            }
+        }
+
+        @NonNull
+        BigInteger result() {
+            return BigIntegerReduction.multiply(large, Nullsafe.asBigInteger(small));
+        }
+
+    }
+
+    /**
+     * Keeps the first smallest element.
+     */
+    static final class Min extends Accumulator<Min> {
+
+        private @Nullable BigInteger best;
+
+        @Override
+        void accept(final BigInteger value) {
+            final BigInteger current = best;
+            if (current == null || value.compareTo(current) < 0) {
+                best = value;
+            }
+        }
+
+        @Override
+        void combine(final Min right) {
+            final BigInteger rightBest = right.best;
+            if (rightBest != null) {
+                accept(rightBest);
+            }
+        }
+
+        @NonNull
+        Optional<BigInteger> result() {
+            return Nullsafe.nonNull(Optional.ofNullable(best));
+        }
+
+    }
+
+    /**
+     * Keeps the first largest element.
+     */
+    static final class Max extends Accumulator<Max> {
+
+        private @Nullable BigInteger best;
+
+        @Override
+        void accept(final BigInteger value) {
+            final BigInteger current = best;
+            if (current == null || value.compareTo(current) > 0) {
+                best = value;
+            }
+        }
+
+        @Override
+        void combine(final Max right) {
+            final BigInteger rightBest = right.best;
+            if (rightBest != null) {
+                accept(rightBest);
+            }
+        }
+
+        @NonNull
+        Optional<BigInteger> result() {
+            return Nullsafe.nonNull(Optional.ofNullable(best));
+        }
+
+    }
+
+}
@@ -0,0 +1,634 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Infers the nullness of method returns and parameters from the bytecode of a single class and renders it as an Eclipse
+ * external annotation (<code>.eea</code>) file. Only simple, local patterns are recognized, all other types stay
+ * unannotated:
+ * <ul>
+ * <li>A return is nullable if <code>null</code> is returned on any path, and non-null if every returned value is a new
+ * object, a string or class constant, or <code>this</code>.</li>
+ * <li>A parameter is non-null if it is dereferenced before the first branch of its method, passed to a
+ * <code>requireNonNull</code> or <code>checkNotNull</code> method, or rejected with an exception in case it is
+ * <code>null</code>. Otherwise it is nullable if the method compares it with <code>null</code>.</li>
+ * </ul>
+ * Private, synthetic and bridge methods are skipped. Dereferences inside <code>try</code> blocks do not count, since a
+ * caught {@link NullPointerException} does not reach the caller.
+ */
+final class BytecodeNullness {
+
+    static final char NULLABLE = '0';
+    static final char NON_NULL = '1';
+    static final char UNKNOWN = 0;
+
+    private static final int CLASS = 7;
+    private static final int STRING = 8;
+
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_SKIPPED = 0x0002 | 0x0040 | 0x1000; // private, bridge and synthetic
+
+    private static final int ACONST_NULL = 1;
+    private static final int LDC = 18;
+    private static final int LDC_W = 19;
+    private static final int ALOAD = 25;
+    private static final int ALOAD_0 = 42;
+    private static final int ALOAD_1 = 43;
+    private static final int ALOAD_2 = 44;
+    private static final int ALOAD_3 = 45;
+    private static final int ASTORE = 58;
+    private static final int ASTORE_0 = 75;
+    private static final int ASTORE_1 = 76;
+    private static final int ASTORE_2 = 77;
+    private static final int ASTORE_3 = 78;
+    private static final int IINC = 132;
+    private static final int TABLESWITCH = 170;
+    private static final int LOOKUPSWITCH = 171;
+    private static final int ARETURN = 176;
+    private static final int GETFIELD = 180;
+    private static final int INVOKEVIRTUAL = 182;
+    private static final int INVOKESPECIAL = 183;
+    private static final int INVOKESTATIC = 184;
+    private static final int INVOKEINTERFACE = 185;
+    private static final int NEW = 187;
+    private static final int NEWARRAY = 188;
+    private static final int ANEWARRAY = 189;
+    private static final int ARRAYLENGTH = 190;
+    private static final int ATHROW = 191;
+    private static final int MONITORENTER = 194;
+    private static final int WIDE = 196;
+    private static final int MULTIANEWARRAY = 197;
+    private static final int IFNULL = 198;
+    private static final int IFNONNULL = 199;
+
+    /** The length of each instruction by opcode, 0 for switches and wide instructions whose length varies. */
+    private static final String LENGTHS = "11111111111111112323322222111111" //$NON-NLS-1$
+            + "11111111111111111111112222211111" //$NON-NLS-1$
+            + "11111111111111111111111111111111" //$NON-NLS-1$
+            + "11111111111111111111111111111111" //$NON-NLS-1$
+            + "11113111111111111111111113333333" //$NON-NLS-1$
+            + "33333333320011111133333335532311" //$NON-NLS-1$
+            + "3311043355"; //$NON-NLS-1$
+
+    /**
+     * The kind of each instruction by opcode: conditional <code>c</code>ontrol transfers including subroutine calls,
+     * <code>g</code>oto, <code>r</code>eturns, <code>s</code>witches, <code>t</code>hrows and all other instructions.
+     */
+    private static final String KINDS = "................................" //$NON-NLS-1$
+            + "................................" //$NON-NLS-1$
+            + "................................" //$NON-NLS-1$
+            + "................................" //$NON-NLS-1$
+            + ".........................ccccccc" //$NON-NLS-1$
+            + "cccccccgcrssrrrrrr.............t" //$NON-NLS-1$
+            + "......ccgc"; //$NON-NLS-1$
+
+    private static final char BRANCH = 'c';
+    private static final char JUMP = 'g';
+    private static final char OTHER = '.';
+
+    /** The values an instruction leaves on the stack, ordered so that merging paths keeps the maximum. */
+    private static final int NON_NULL_VALUE = 0;
+    private static final int UNKNOWN_VALUE = 1;
+    private static final int NULL_VALUE = 2;
+
+    private final ByteBuffer buffer;
+    private final int[] offsets;
+
+    // the decoded instructions of the current method
+    private int[] pcs = new int[0];
+    private int[] opcodes = new int[0];
+    private int[] operands = new int[0];
+    /** The number of branches that lead to each pc. */
+    private int[] references = new int[0];
+    /** The pcs that switches and exception handlers lead to. */
+    private BitSet switched = new BitSet();
+    /** The pcs inside <code>try</code> blocks. */
+    private BitSet guarded = new BitSet();
+    /** The slots of all local variables that are assigned. */
+    private BitSet stored = new BitSet();
+
+    private BytecodeNullness(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        offsets = new int[u2(8)];
+    }
+
+    /**
+     * @param classFile
+     *            The content of a class file
+     * @return The external annotations of the class or <code>null</code> in case no nullness could be inferred
+     * @throws IllegalArgumentException
+     *             In case the class file is malformed
+     */
+    static @Nullable String annotate(final ByteBuffer classFile) {
+        try {
+            return new BytecodeNullness(classFile.order(ByteOrder.BIG_ENDIAN)).annotate();
+        } catch (final IndexOutOfBoundsException | BufferUnderflowException exception) {
+            throw new IllegalArgumentException("Malformed class file", exception); //$NON-NLS-1$
+        }
+    }
+
+    private @Nullable String annotate() {
+        int position = constantPool();
+        final String className = utf8(u2(offsets[u2(position + 2)]));
+        position = members(position + 8 + 2 * u2(position + 6)); // skip interfaces and fields
+        final Set<String> members = new TreeSet<>();
+        for (int method = u2(position - 2); method != 0; method--) {
+            final int access = u2(position);
+            int code = 0;
+            int signature = 0;
+            int attribute = position + 8;
+            for (int count = u2(position + 6); count != 0; count--) {
+                if (is(u2(attribute), "Code")) { //$NON-NLS-1$
+                    code = attribute + 6;
+                } else if (is(u2(attribute), "Signature")) { //$NON-NLS-1$
+                    signature = u2(attribute + 6);
+                }
+                attribute += 6 + buffer.getInt(attribute + 2);
+            }
+            if ((access & ACC_SKIPPED) == 0 && code != 0) {
+                final String descriptor = utf8(u2(position + 4));
+                final String member = member(descriptor, code, (access & ACC_STATIC) != 0);
+                if (member != null) {
+                    members.add(member(utf8(u2(position + 2)), signature == 0 ? descriptor : utf8(signature),
+                            descriptor, member));
+                }
+            }
+            position = attribute;
+        }
+        return members.isEmpty() ? null : render(className, members);
+    }
+
+    /**
+     * @param className
+     *            The internal name of the class, e.g. <code>java/lang/String</code>
+     * @param members
+     *            The annotated members, see {@link #member(String, String, String, String)}
+     * @return The content of the external annotation file of the class
+     */
+    static String render(final String className, final Set<String> members) {
+        final StringBuilder builder = new StringBuilder("class ").append(className).append('\n'); //$NON-NLS-1$
+        for (final String member : members) {
+            builder.append('\n').append(member);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param name
+     *            The name of the method
+     * @param signature
+     *            The generic signature of the method, or its descriptor in case it has none
+     * @param descriptor
+     *            The descriptor of the method
+     * @param nullness
+     *            The nullness of all parameters followed by the return, {@link #NULLABLE}, {@link #NON_NULL} or
+     *            {@link #UNKNOWN}
+     * @return The annotated member
+     */
+    static String member(final String name, final String signature, final String descriptor,
+            final String nullness) {
+        return name + "\n " + annotated(signature, descriptor, nullness); //$NON-NLS-1$
+    }
+
+    private int constantPool() {
+        int position = 10;
+        for (int index = 1; index != offsets.length; index++) {
+            final int tag = u1(position);
+            offsets[index] = position + 1;
+            position += 1 + (tag == NonNullFieldScanner.UTF8 ? 2 + u2(position + 1)
+                    : NonNullFieldScanner.CONSTANT_SIZES[tag]);
+            if (tag == NonNullFieldScanner.LONG || tag == NonNullFieldScanner.DOUBLE) {
+                index++; // takes up two entries
+            }
+        }
+        return position;
+    }
+
+    /** Skips all fields starting at the given position and returns the position after the method count. */
+    private int members(final int start) {
+        int position = start + 2;
+        for (int field = u2(start); field != 0; field--) {
+            position += 8;
+            for (int attribute = u2(position - 2); attribute != 0; attribute--) {
+                position += 6 + buffer.getInt(position + 2);
+            }
+        }
+        return position + 2;
+    }
+
+    /**
+     * @return The inferred nullness of all parameters followed by the return, or <code>null</code> in case nothing
+     *         could be inferred
+     */
+    private @Nullable String member(final String descriptor, final int code, final boolean isStatic) {
+        decode(code);
+        final int[] starts = starts(descriptor);
+        final char[] nullness = new char[starts.length];
+        final BitSet nonNull = checkedParameters();
+        final BitSet nullable = comparedParameters();
+        boolean inferred = false;
+        int slot = isStatic ? 0 : 1;
+        for (int parameter = 0; parameter != starts.length - 1; parameter++) {
+            final char type = descriptor.charAt(starts[parameter]);
+            if (isReference(type)) {
+                nullness[parameter] = nonNull.get(slot) ? NON_NULL
+                        : nullable.get(slot) && !stored.get(slot) ? NULLABLE : UNKNOWN;
+                inferred |= nullness[parameter] != UNKNOWN;
+            }
+            slot += type == 'J' || type == 'D' ? 2 : 1;
+        }
+        if (isReference(descriptor.charAt(starts[starts.length - 1]))) {
+            nullness[starts.length - 1] = returned(isStatic);
+            inferred |= nullness[starts.length - 1] != UNKNOWN;
+        }
+        return inferred ? new String(nullness) : null;
+    }
+
+    static boolean isReference(final char type) {
+        return type == 'L' || type == '[';
+    }
+
+    /**
+     * Annotates the given generic signature, or the descriptor in case the signature does not match, e.g. because the
+     * compiler left out synthetic parameters.
+     */
+    private static String annotated(final String signature, final String descriptor, final String nullness) {
+        final String base = starts(signature).length == nullness.length() ? signature : descriptor;
+        final int[] starts = starts(base);
+        final StringBuilder builder = new StringBuilder(base);
+        for (int index = starts.length - 1; index >= 0; index--) {
+            if (nullness.charAt(index) != UNKNOWN) {
+                builder.insert(starts[index] + 1, nullness.charAt(index));
+            }
+        }
+        return base + "\n " + builder + "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * @return The start of each parameter type of a method descriptor or signature, followed by the start of its return
+     *         type
+     */
+    static int[] starts(final String signature) {
+        final List<Integer> starts = new ArrayList<>();
+        int position = signature.charAt(0) == '<' ? skip(signature, 0) + 1 : 1;
+        while (signature.charAt(position) != ')') {
+            starts.add(Integer.valueOf(position));
+            position = skip(signature, position);
+        }
+        starts.add(Integer.valueOf(position + 1));
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Skips a single type or the type parameters starting at the given position. */
+    private static int skip(final String signature, final int start) {
+        final char first = signature.charAt(start);
+        if (first == '[') {
+            return skip(signature, start + 1);
+        }
+        if (first != 'L' && first != 'T' && first != '<') {
+            return start + 1;
+        }
+        int depth = 0;
+        int position = start;
+        while (true) {
+            final char current = signature.charAt(position++);
+            if (current == '<') {
+                depth++;
+            } else if (current == '>') {
+                depth--;
+                if (depth == 0 && first == '<') {
+                    return position;
+                }
+            } else if (current == ';' && depth == 0) {
+                return position;
+            }
+        }
+    }
+
+    private void decode(final int code) {
+        final int length = buffer.getInt(code + 4);
+        final int start = code + 8;
+        final int[] decodedPcs = new int[length];
+        final int[] decodedOpcodes = new int[length];
+        final int[] decodedOperands = new int[length];
+        final BitSet instructions = new BitSet();
+        references = new int[length];
+        switched = new BitSet();
+        stored = new BitSet();
+        int size = 0;
+        for (int pc = 0; pc != length; size++) {
+            final int at = start + pc;
+            int opcode = u1(at);
+            final int instructionLength = LENGTHS.charAt(opcode) - '0';
+            int operand = 0;
+            int next = pc + instructionLength;
+            switch (opcode) {
+                case ALOAD_0:
+                case ALOAD_1:
+                case ALOAD_2:
+                case ALOAD_3:
+                    operand = opcode - ALOAD_0;
+                    opcode = ALOAD;
+                    break;
+                case ASTORE_0:
+                case ASTORE_1:
+                case ASTORE_2:
+                case ASTORE_3:
+                    operand = opcode - ASTORE_0;
+                    opcode = ASTORE;
+                    break;
+                case WIDE:
+                    opcode = u1(at + 1);
+                    operand = u2(at + 2);
+                    next = pc + (opcode == IINC ? 6 : 4);
+                    break;
+                case TABLESWITCH:
+                    next = tableSwitch(start, pc);
+                    break;
+                case LOOKUPSWITCH:
+                    next = lookupSwitch(start, pc);
+                    break;
+                default:
+                    if (isBranch(opcode)) {
+                        operand = pc + (instructionLength == 5 ? buffer.getInt(at + 1) : buffer.getShort(at + 1));
+                        references[operand]++;
+                    } else {
+                        // instructions without operands read a value they never use
+                        operand = instructionLength == 2 ? u1(at + 1) : u2(at + 1);
+                    }
+            }
+            if (opcode == ASTORE) {
+                stored.set(operand);
+            }
+            instructions.set(pc);
+            decodedPcs[size] = pc;
+            decodedOpcodes[size] = opcode;
+            decodedOperands[size] = operand;
+            pc = next;
+        }
+        pcs = Arrays.copyOf(decodedPcs, size);
+        opcodes = Arrays.copyOf(decodedOpcodes, size);
+        operands = Arrays.copyOf(decodedOperands, size);
+        guarded = new BitSet();
+        final int handlers = start + length;
+        for (int handler = handlers + 2; handler != handlers + 2 + 8 * u2(handlers); handler += 8) {
+            guarded.set(u2(handler), u2(handler + 2));
+            switched.set(u2(handler + 4));
+        }
+        final BitSet invalid = (BitSet) switched.clone();
+        for (int pc = 0; pc != length; pc++) {
+            if (references[pc] != 0) {
+                invalid.set(pc);
+            }
+        }
+        invalid.andNot(instructions);
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException("Invalid jump target " + invalid.nextSetBit(0)); //$NON-NLS-1$
+        }
+    }
+
+    private static boolean isBranch(final int opcode) {
+        final char kind = KINDS.charAt(opcode);
+        return kind == BRANCH || kind == JUMP;
+    }
+
+    private int tableSwitch(final int start, final int pc) {
+        final int table = start + (pc + 4 & ~3);
+        switched.set(pc + buffer.getInt(table));
+        final int cases = buffer.getInt(table + 8) - buffer.getInt(table + 4) + 1;
+        for (int index = 0; index != cases; index++) {
+            switched.set(pc + buffer.getInt(table + 12 + 4 * index));
+        }
+        return table + 12 + 4 * cases - start;
+    }
+
+    private int lookupSwitch(final int start, final int pc) {
+        final int table = start + (pc + 4 & ~3);
+        switched.set(pc + buffer.getInt(table));
+        final int pairs = buffer.getInt(table + 4);
+        for (int index = 0; index != pairs; index++) {
+            switched.set(pc + buffer.getInt(table + 12 + 8 * index));
+        }
+        return table + 8 + 8 * pairs - start;
+    }
+
+    /**
+     * Follows the instructions that run on every call, from the start of the method up to its first branch, and
+     * continues after <code>null</code> checks that throw.
+     *
+     * @return The slots of all parameters that are dereferenced or rejected in case they are <code>null</code>
+     */
+    private BitSet checkedParameters() {
+        final BitSet checked = new BitSet();
+        final BitSet overwritten = new BitSet();
+        int index = 0;
+        while (!guarded.get(pcs[index])) {
+            final int opcode = opcodes[index];
+            final int slot = checkedSlot(index);
+            if (slot >= 0 && !overwritten.get(slot)) {
+                checked.set(slot);
+            }
+            if (opcode == ASTORE) {
+                overwritten.set(operands[index]);
+            }
+            if (opcode == IFNULL || opcode == IFNONNULL) {
+                final int target = Arrays.binarySearch(pcs, operands[index]);
+                final int thrown = opcode == IFNULL ? target : index + 1;
+                final int next = opcode == IFNULL ? index + 1 : target;
+                if (opcodes[index - 1] != ALOAD || !throwsAt(thrown) || next <= index) {
+                    break;
+                }
+                if (!overwritten.get(operands[index - 1])) {
+                    checked.set(operands[index - 1]);
+                }
+                index = next;
+            } else if (KINDS.charAt(opcode) != OTHER) {
+                break;
+            } else {
+                index++;
+            }
+        }
+        return checked;
+    }
+
+    /**
+     * @return The slot of the parameter that the instruction at the given index dereferences or passes to a
+     *         <code>requireNonNull</code> method, or <code>-1</code>
+     */
+    private int checkedSlot(final int index) {
+        final int opcode = opcodes[index];
+        if (index > 0 && opcodes[index - 1] == ALOAD) {
+            if (opcode == GETFIELD || opcode == ARRAYLENGTH || opcode == MONITORENTER || opcode == ATHROW
+                    || (opcode == INVOKEVIRTUAL || opcode == INVOKEINTERFACE) && descriptor(operands[index])
+                            .startsWith("()") //$NON-NLS-1$
+                    || opcode == INVOKESTATIC && isPrecondition(operands[index], 1)) {
+                return operands[index - 1];
+            }
+        }
+        if (index > 1 && opcodes[index - 2] == ALOAD && pushesArgument(opcodes[index - 1]) && opcode == INVOKESTATIC
+                && isPrecondition(operands[index], 2)) {
+            return operands[index - 2];
+        }
+        return -1;
+    }
+
+    /** @return Whether the instruction pushes a message argument without touching the stack below. */
+    private static boolean pushesArgument(final int opcode) {
+        return opcode == ALOAD || opcode == LDC || opcode == LDC_W;
+    }
+
+    private boolean isPrecondition(final int method, final int arguments) {
+        final String name = name(method);
+        return ("requireNonNull".equals(name) || "checkNotNull".equals(name)) //$NON-NLS-1$ //$NON-NLS-2$
+                && starts(descriptor(method)).length == arguments + 1;
+    }
+
+    /** @return Whether the block starting at the given index ends with a <code>throw</code>. */
+    private boolean throwsAt(final int start) {
+        int index = start;
+        while (KINDS.charAt(opcodes[index]) == OTHER) {
+            index++;
+        }
+        return opcodes[index] == ATHROW;
+    }
+
+    /** @return The slots of all parameters that the method compares with <code>null</code> */
+    private BitSet comparedParameters() {
+        final BitSet compared = new BitSet();
+        for (int index = 1; index != opcodes.length; index++) {
+            final int opcode = opcodes[index];
+            if (opcodes[index - 1] == ALOAD && (opcode == IFNULL || opcode == IFNONNULL
+                    || opcode == INVOKESTATIC && isNullCheck(operands[index]))) {
+                compared.set(operands[index - 1]);
+            }
+        }
+        return compared;
+    }
+
+    private boolean isNullCheck(final int method) {
+        final String name = name(method);
+        return ("isNull".equals(name) || "nonNull".equals(name)) //$NON-NLS-1$ //$NON-NLS-2$
+                && "(Ljava/lang/Object;)Z".equals(descriptor(method)); //$NON-NLS-1$
+    }
+
+    private char returned(final boolean isStatic) {
+        int returned = NON_NULL_VALUE;
+        for (int index = 0; index != opcodes.length; index++) {
+            if (opcodes[index] == ARETURN) {
+                returned = Math.max(returned, returnedValue(index, isStatic));
+            }
+        }
+        return returned == NULL_VALUE ? NULLABLE : returned == NON_NULL_VALUE ? NON_NULL : UNKNOWN;
+    }
+
+    /**
+     * Merges the values of all paths that lead to the return at the given index. Values reach a return either from the
+     * previous instruction or through unconditional jumps, all other paths like switches and exception handlers are
+     * unknown.
+     */
+    private int returnedValue(final int index, final boolean isStatic) {
+        int value = fallsThrough(index - 1) ? value(index - 1, isStatic) : NON_NULL_VALUE;
+        int unknownPaths = references[pcs[index]];
+        for (int source = 0; source != opcodes.length; source++) {
+            if (KINDS.charAt(opcodes[source]) == JUMP && operands[source] == pcs[index]) {
+                unknownPaths--;
+                // the value of an instruction that does not fall through is unknown as well
+                value = Math.max(value, isTarget(pcs[source]) ? UNKNOWN_VALUE : value(source - 1, isStatic));
+            }
+        }
+        return unknownPaths == 0 && !switched.get(pcs[index]) ? value : Math.max(value, UNKNOWN_VALUE);
+    }
+
+    private boolean isTarget(final int pc) {
+        return references[pc] != 0 || switched.get(pc);
+    }
+
+    private boolean fallsThrough(final int index) {
+        final char kind = KINDS.charAt(opcodes[index]);
+        return kind == OTHER || kind == BRANCH;
+    }
+
+    private int value(final int index, final boolean isStatic) {
+        switch (opcodes[index]) {
+            case ACONST_NULL:
+                return NULL_VALUE;
+            case LDC:
+            case LDC_W:
+                final int tag = u1(offsets[operands[index]] - 1);
+                return tag == STRING || tag == CLASS ? NON_NULL_VALUE : UNKNOWN_VALUE;
+            case NEW:
+            case NEWARRAY:
+            case ANEWARRAY:
+            case MULTIANEWARRAY:
+                return NON_NULL_VALUE;
+            case INVOKESPECIAL:
+                return "<init>".equals(name(operands[index])) ? NON_NULL_VALUE : UNKNOWN_VALUE; //$NON-NLS-1$
+            case ALOAD:
+                return operands[index] == 0 && !isStatic && !stored.get(0) ? NON_NULL_VALUE : UNKNOWN_VALUE;
+            default:
+                return UNKNOWN_VALUE;
+        }
+    }
+
+    private String name(final int method) {
+        return utf8(u2(offsets[u2(offsets[method] + 2)]));
+    }
+
+    private String descriptor(final int method) {
+        return utf8(u2(offsets[u2(offsets[method] + 2)] + 2));
+    }
+
+    private int u1(final int position) {
+        return buffer.get(position) & 0xFF;
+    }
+
+    private int u2(final int position) {
+        return buffer.getShort(position) & 0xFFFF;
+    }
+
+    /** Compares a constant with an ASCII string without decoding it. */
+    private boolean is(final int index, final String ascii) {
+        final int position = offsets[index];
+        if (u2(position) != ascii.length()) {
+            return false;
+        }
+        for (int character = 0; character != ascii.length(); character++) {
+            if (u1(position + 2 + character) != ascii.charAt(character)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String utf8(final int index) {
+        final byte[] bytes = new byte[2 + u2(offsets[index])];
+        for (int position = 0; position != bytes.length; position++) {
+            bytes[position] = buffer.get(offsets[index] + position);
+        }
+        try {
+            return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+        } catch (final IOException exception) {
+            throw new IllegalArgumentException("Malformed constant " + index, exception); //$NON-NLS-1$
+        }
+    }
+
+}
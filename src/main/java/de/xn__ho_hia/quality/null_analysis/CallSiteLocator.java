@@ -0,0 +1,74 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Finds the frame that called into this library.
+ */
+interface CallSiteLocator {
+
+    /** The stack walking API of Java 9 and later. */
+    String STACK_WALKER = "java.lang.StackWalker"; //$NON-NLS-1$
+
+    /**
+     * The package prefix of all classes of this library, including nested classes and lambdas, that can appear between
+     * a caller and the locator.
+     */
+    String LIBRARY_PACKAGE = CallSiteLocator.class.getPackage().getName() + '.';
+
+    /**
+     * @return The frame that called into this library or <code>null</code> in case there is none.
+     */
+    @Nullable
+    StackTraceElement locate();
+
+    /**
+     * @param walkerClassName
+     *            The name of the stack walking API to use.
+     * @return A locator based on the given stack walking API or one based on {@link Throwable#getStackTrace()} in case
+     *         the API is not available.
+     */
+    static CallSiteLocator create(final String walkerClassName) {
+        try {
+            final Class<?> walkerType = Class.forName(walkerClassName);
+            final Class<?> frameType = Class.forName(walkerClassName + "$StackFrame"); //$NON-NLS-1$
+            return new StackWalkerCallSiteLocator(walkerType, frameType);
+        } catch (final ReflectiveOperationException exception) {
+            return new ThrowableCallSiteLocator();
+        }
+    }
+
+    /**
+     * Skips all frames until the first one of this library, and then all frames of this library.
+     *
+     * @param <FRAME>
+     *            The frame type
+     * @param frames
+     *            The frames to search, starting with the innermost one.
+     * @param className
+     *            Extracts the class name of a frame.
+     * @return The first frame after the frames of this library or <code>null</code> in case there is none.
+     */
+    static <FRAME> @Nullable FRAME caller(final Iterator<FRAME> frames, final Function<FRAME, String> className) {
+        boolean inLibrary = false;
+        while (frames.hasNext()) {
+            final FRAME frame = frames.next();
+            final boolean libraryFrame = className.apply(frame).startsWith(LIBRARY_PACKAGE);
+            if (inLibrary && !libraryFrame) {
+                return frame;
+            }
+            inLibrary |= libraryFrame;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Immutable {@link List} without <code>null</code> elements, backed by an array that holds exactly its elements.
+ *
+ * @param <TYPE>
+ *            The element type
+ */
+final class CompactList<TYPE> extends AbstractList<TYPE> implements RandomAccess {
+
+    final Object[] elements;
+
+    CompactList(final Object[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * @param list
+     *            The list to copy, must not change while it is copied.
+     * @return An immutable copy of all non-null elements, or a shared empty list in case there are none
+     */
+    static <TYPE> @NonNull List<TYPE> copyOf(final List<TYPE> list) {
+        final Object[] elements = list.toArray();
+        int size = 0;
+        for (final Object element : elements) {
+            if (element != null) {
+                elements[size++] = element;
+            }
+        }
+        if (size == 0) {
+            return Nullsafe.nonNull(Collections.<TYPE> emptyList());
+        }
+        return new CompactList<>(size == elements.length ? elements : Arrays.copyOf(elements, size));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TYPE get(final int index) {
+        return (TYPE) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable {@link Map} without <code>null</code> keys or values. Keys and values are stored next to each other in a
+ * single open-addressing table with <code>CompactSet.EXPAND_FACTOR</code> slots per entry and found through linear
+ * probing, so that no node is allocated per entry. Iterating the entry set hands out a new immutable entry per entry,
+ * while iterating keys or values or calling <code>forEach</code> does not allocate per entry. The iteration
+ * order is unspecified.
+ *
+ * @param <KEY>
+ *            The key type
+ * @param <VALUE>
+ *            The value type
+ */
+final class CompactMap<KEY, VALUE> extends AbstractMap<KEY, VALUE> {
+
+    final Object[] table;
+    final int size;
+
+    CompactMap(final Object[] table, final int size) {
+        this.table = table;
+        this.size = size;
+    }
+
+    /**
+     * @param map
+     *            The map to copy, must not change while it is copied.
+     * @return An immutable copy of all entries without a <code>null</code> key or value, or a shared empty map in case
+     *         there are none
+     */
+    static <KEY, VALUE> @NonNull Map<KEY, VALUE> copyOf(final Map<KEY, VALUE> map) {
+        final Object[] entries = new Object[2 * map.size()];
+        int count = 0;
+        for (final Entry<KEY, VALUE> entry : map.entrySet()) {
+            final KEY key = entry.getKey();
+            final VALUE value = entry.getValue();
+            if (key != null && value != null) {
+                entries[2 * count] = key;
+                entries[2 * count + 1] = value;
+                count++;
+            }
+        }
+        if (count == 0) {
+            return Nullsafe.nonNull(Collections.<KEY, VALUE> emptyMap());
+        }
+        final Object[] table = new Object[2 * count * CompactSet.EXPAND_FACTOR];
+        int size = 0;
+        for (int index = 0; index < 2 * count; index += 2) {
+            final int slot = slot(table, entries[index]);
+            // maps with inconsistent equals, e.g. identity-based ones, may contain equal keys
+            if (table[slot] == null) {
+                table[slot] = entries[index];
+                table[slot + 1] = entries[index + 1];
+                size++;
+            }
+        }
+        return new CompactMap<>(table, size);
+    }
+
+    /**
+     * @return The index of the slot that holds the given key or the empty slot at which its probe sequence ends
+     */
+    static int slot(final Object[] table, final Object key) {
+        int slot = 2 * Math.floorMod(key.hashCode(), table.length / 2);
+        while (table[slot] != null && !key.equals(table[slot])) {
+            slot = slot + 2 == table.length ? 0 : slot + 2;
+        }
+        return slot;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public VALUE get(@Nullable final Object key) {
+        return key == null ? null : (VALUE) table[slot(table, key) + 1];
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(final BiConsumer<? super KEY, ? super VALUE> action) {
+        for (int slot = 0; slot < table.length; slot += 2) {
+            if (table[slot] != null) {
+                action.accept((KEY) table[slot], (VALUE) table[slot + 1]);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Entry<KEY, VALUE>> entrySet() {
+        return new Slots<>(
+                slot -> new SimpleImmutableEntry<>((KEY) table[slot], (VALUE) table[slot + 1]));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<KEY> keySet() {
+        return new Slots<KEY>(slot -> (KEY) table[slot]) {
+
+            @Override
+            public boolean contains(@Nullable final Object key) {
+                return containsKey(key);
+            }
+
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<VALUE> values() {
+        return new AbstractCollection<VALUE>() {
+
+            @Override
+            public Iterator<VALUE> iterator() {
+                return new SlotIterator<>(table, slot -> (VALUE) table[slot + 1]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+        };
+    }
+
+    class Slots<ELEMENT> extends AbstractSet<ELEMENT> {
+
+        private final IntFunction<ELEMENT> mapper;
+
+        Slots(final IntFunction<ELEMENT> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public Iterator<ELEMENT> iterator() {
+            return new SlotIterator<>(table, mapper);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+    static final class SlotIterator<ELEMENT> implements Iterator<ELEMENT> {
+
+        private final Object[] table;
+        private final IntFunction<ELEMENT> mapper;
+        private int slot;
+
+        SlotIterator(final Object[] table, final IntFunction<ELEMENT> mapper) {
+            this.table = table;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (slot < table.length && table[slot] == null) {
+                slot += 2;
+            }
+            return slot < table.length;
+        }
+
+        @Override
+        public ELEMENT next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ELEMENT element = mapper.apply(slot);
+            slot += 2;
+            return element;
+        }
+
+    }
+
+}
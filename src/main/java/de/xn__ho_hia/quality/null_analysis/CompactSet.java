@@ -0,0 +1,97 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable {@link Set} without a <code>null</code> element. Elements are stored in a single open-addressing table
+ * with <code>EXPAND_FACTOR</code> slots per element and found through linear probing, so that no node is allocated per
+ * element. The iteration order is unspecified.
+ *
+ * @param <TYPE>
+ *            The element type
+ */
+final class CompactSet<TYPE> extends AbstractSet<TYPE> {
+
+    /** The number of slots per element, which keeps probe sequences short. */
+    static final int EXPAND_FACTOR = 2;
+
+    final Object[] table;
+    private final int size;
+
+    CompactSet(final Object[] table, final int size) {
+        this.table = table;
+        this.size = size;
+    }
+
+    /**
+     * @param set
+     *            The set to copy, must not change while it is copied.
+     * @return An immutable copy of all non-null elements, or a shared empty set in case there are none
+     */
+    static <TYPE> @NonNull Set<TYPE> copyOf(final Set<TYPE> set) {
+        final Object[] elements = set.toArray();
+        int count = 0;
+        for (final Object element : elements) {
+            if (element != null) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return Nullsafe.nonNull(Collections.<TYPE> emptySet());
+        }
+        final Object[] table = new Object[count * EXPAND_FACTOR];
+        int size = 0;
+        for (final Object element : elements) {
+            if (element != null) {
+                final int slot = slot(table, element);
+                // sets with inconsistent equals, e.g. identity-based ones, may contain equal elements
+                if (table[slot] == null) {
+                    table[slot] = element;
+                    size++;
+                }
+            }
+        }
+        return new CompactSet<>(table, size);
+    }
+
+    /**
+     * @return The slot that holds the given element or the empty slot at which its probe sequence ends
+     */
+    static int slot(final Object[] table, final Object element) {
+        int slot = Math.floorMod(element.hashCode(), table.length);
+        while (table[slot] != null && !element.equals(table[slot])) {
+            slot = slot + 1 == table.length ? 0 : slot + 1;
+        }
+        return slot;
+    }
+
+    @Override
+    public boolean contains(@Nullable final Object element) {
+        return element != null && table[slot(table, element)] != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<TYPE> iterator() {
+        return new NonNullIterator<>(Arrays.asList((TYPE[]) table).iterator());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Enumeration;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Traverses an {@link Enumeration} of unknown size without copying it first. Splitting is inherited from
+ * {@link Spliterators.AbstractSpliterator}, which hands out growing batches of elements to parallel streams.
+ *
+ * @param <TYPE>
+ *            The element type
+ */
+final class EnumerationSpliterator<TYPE> extends Spliterators.AbstractSpliterator<TYPE> {
+
+    private final Enumeration<TYPE> enumeration;
+
+    EnumerationSpliterator(final Enumeration<TYPE> enumeration) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.enumeration = enumeration;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super TYPE> action) {
+        if (enumeration.hasMoreElements()) {
+            action.accept(enumeration.nextElement());
+            return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Generates Eclipse external annotations (<code>.eea</code> files) for third-party jars without nullness information.
+ * The nullness of method returns and parameters is inferred from simple patterns in their bytecode: returns of
+ * <code>null</code> or of new objects, <code>null</code> checks of parameters and their dereferences. Jars and the
+ * classes inside each jar are scanned in parallel on a dedicated {@link ForkJoinPool} that is shut down once the
+ * generator is closed, reading entries through memory-mapped files. Results can be kept in a cache directory as one
+ * zip file per jar, keyed by the SHA-256 hash of the jar, so that re-runs only scan jars that changed. Malformed
+ * classes and classes of multi-release jars in <code>META-INF/versions</code> are skipped. In case several jars
+ * contain the same class, the first jar in the given order wins, like on a class path, and each file is written once.
+ * <p>
+ * Run from the command line with:
+ *
+ * <pre>
+ * java -cp null-analysis.jar de.xn__ho_hia.quality.null_analysis.ExternalAnnotationGenerator \
+ *     [--cache directory] [--threads count] output-directory (jar | directory of jars)...
+ * </pre>
+ */
+public final class ExternalAnnotationGenerator implements AutoCloseable {
+
+    static final String USAGE = "Usage: ExternalAnnotationGenerator [--cache directory] [--threads count] " //$NON-NLS-1$
+            + "output-directory (jar | directory of jars)..."; //$NON-NLS-1$
+
+    /** Prefixes cached results, change whenever the inference changes to ignore outdated results. */
+    static final String CACHE_VERSION = "1-"; //$NON-NLS-1$
+
+    private static final String CLASS = ".class"; //$NON-NLS-1$
+    private static final String EEA = ".eea"; //$NON-NLS-1$
+
+    private final Path output;
+    private final @Nullable Path cache;
+    private final ForkJoinPool pool;
+
+    private ExternalAnnotationGenerator(final Path output, @Nullable final Path cache, final int parallelism) {
+        this.output = output;
+        this.cache = cache;
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * @param output
+     *            The directory to write <code>.eea</code> files into
+     * @param cache
+     *            The directory to keep results of previous runs in, or <code>null</code> to disable caching
+     * @param parallelism
+     *            The number of threads to scan with
+     * @return A generator for the given directories
+     */
+    public static ExternalAnnotationGenerator of(final Path output, @Nullable final Path cache,
+            final int parallelism) {
+        return new ExternalAnnotationGenerator(output, cache, parallelism);
+    }
+
+    /**
+     * @param arguments
+     *            The command line arguments: <code>[--cache directory] [--threads count] output-directory
+     *            (jar | directory of jars)...</code>
+     * @throws IOException
+     *             In case a directory of jars cannot be read
+     * @throws IllegalArgumentException
+     *             In case the arguments are invalid
+     * @throws UncheckedIOException
+     *             In case a jar cannot be read or a file cannot be written
+     */
+    public static void main(final String... arguments) throws IOException {
+        Path cache = null;
+        Path output = null;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        final List<Path> jars = new ArrayList<>();
+        for (final Iterator<String> remaining = Arrays.asList(arguments).iterator(); remaining.hasNext();) {
+            final String argument = remaining.next();
+            if ("--cache".equals(argument) && remaining.hasNext()) { //$NON-NLS-1$
+                cache = Paths.get(remaining.next());
+            } else if ("--threads".equals(argument) && remaining.hasNext()) { //$NON-NLS-1$
+                parallelism = Integer.parseInt(remaining.next());
+            } else if (output == null) {
+                output = Paths.get(argument);
+            } else {
+                jars.addAll(jars(Nullsafe.nonNull(Paths.get(argument))));
+            }
+        }
+        if (output == null || jars.isEmpty()) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        final int files;
+        try (ExternalAnnotationGenerator generator = of(output, cache, parallelism)) {
+            files = generator.generate(jars);
+        }
+        System.out.println("Wrote " + files + " external annotation files to " + output); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    static List<Path> jars(final Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return Arrays.asList(path);
+        }
+        try (final Stream<Path> files = Files.walk(path)) {
+            return files.filter(file -> file.toString().endsWith(".jar")).sorted().collect(Collectors.toList()); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * @param jars
+     *            The jars to scan
+     * @return The number of written <code>.eea</code> files
+     * @throws UncheckedIOException
+     *             In case a jar cannot be read or a file cannot be written
+     * @throws java.util.concurrent.RejectedExecutionException
+     *             In case the generator is closed
+     */
+    public int generate(final Collection<Path> jars) {
+        // parallel streams started inside the pool use its threads instead of the common pool
+        return pool.submit(() -> Integer.valueOf(
+                write(merge(jars.parallelStream().map(this::annotate).collect(Collectors.toList())), output))).join()
+                .intValue();
+    }
+
+    /**
+     * Shuts down the threads of this generator.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private Map<String, String> annotate(final Path jar) {
+        try {
+            final MappedJar mapped = MappedJar.open(jar);
+            final Path results = cache;
+            if (results == null) {
+                return annotate(mapped);
+            }
+            final Path cached = results.resolve(CACHE_VERSION + mapped.hash("SHA-256") + ".zip"); //$NON-NLS-1$ //$NON-NLS-2$
+            if (Files.exists(cached)) {
+                return load(MappedJar.open(cached));
+            }
+            final Map<String, String> annotations = annotate(mapped);
+            store(annotations, results, cached);
+            return annotations;
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /** Keeps the annotations of the first jar that contains a class, so that no two workers write the same file. */
+    static Map<String, String> merge(final List<Map<String, String>> jars) {
+        final Map<String, String> merged = new HashMap<>();
+        for (final Map<String, String> annotations : jars) {
+            annotations.forEach(merged::putIfAbsent);
+        }
+        return merged;
+    }
+
+    /** @return The external annotations of all classes in the jar by file name */
+    static Map<String, String> annotate(final MappedJar jar) {
+        final Map<String, String> annotations = new ConcurrentHashMap<>();
+        IntStream.range(0, jar.size()).parallel()
+                .filter(entry -> jar.name(entry).endsWith(CLASS) && !jar.name(entry).startsWith("META-INF/")) //$NON-NLS-1$
+                .forEach(entry -> annotate(jar, entry, annotations));
+        return annotations;
+    }
+
+    private static void annotate(final MappedJar jar, final int entry, final Map<String, String> annotations) {
+        final String name = jar.name(entry);
+        try {
+            final String annotation = BytecodeNullness.annotate(jar.read(entry));
+            if (annotation != null) {
+                annotations.put(name.substring(0, name.length() - CLASS.length()) + EEA, annotation);
+            }
+        } catch (final IllegalArgumentException exception) {
+            // skip malformed classes
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static Map<String, String> load(final MappedJar cached) throws IOException {
+        final Map<String, String> annotations = new HashMap<>();
+        for (int entry = 0; entry < cached.size(); entry++) {
+            final ByteBuffer content = cached.read(entry);
+            annotations.put(cached.name(entry), StandardCharsets.UTF_8.decode(content).toString());
+        }
+        return annotations;
+    }
+
+    /** Writes all annotations into a temporary file first, so that concurrent runs never read partial results. */
+    private static void store(final Map<String, String> annotations, final Path directory, final Path cached)
+            throws IOException {
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, CACHE_VERSION, ".tmp"); //$NON-NLS-1$
+        try (final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(temporary))) {
+            for (final Map.Entry<String, String> annotation : annotations.entrySet()) {
+                zip.putNextEntry(new ZipEntry(annotation.getKey()));
+                zip.write(annotation.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Files.move(temporary, cached, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static int write(final Map<String, String> annotations, final Path directory) {
+        return annotations.entrySet().parallelStream().mapToInt(annotation -> write(annotation, directory)).sum();
+    }
+
+    private static int write(final Map.Entry<String, String> annotation, final Path directory) {
+        final Path file = directory.resolve(annotation.getKey()).normalize();
+        if (!file.startsWith(directory.normalize())) {
+            return 0; // skip malicious entries outside of the output directory
+        }
+        try {
+            Files.createDirectories(Nullsafe.nonNull(file.getParent()));
+            Files.write(file, annotation.getValue().getBytes(StandardCharsets.UTF_8));
+            return 1;
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+}
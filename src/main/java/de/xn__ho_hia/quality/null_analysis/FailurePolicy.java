@@ -0,0 +1,91 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Decides which exception is thrown once a strict <code>null</code> check fails. {@link Nullsafe} uses the policy
+ * named by the {@value #SYSTEM_PROPERTY} system property and falls back to {@link #STACK_TRACE} in case the property is
+ * missing or unknown. Call {@link #nonNull(Object, String)} on a policy to select it for a single check.
+ */
+public enum FailurePolicy {
+
+    /**
+     * Throws a new {@link IllegalArgumentException} including its full stack trace.
+     */
+    STACK_TRACE {
+
+        @Override
+        public IllegalArgumentException exception(final String message) {
+            return new IllegalArgumentException(message);
+        }
+
+    },
+
+    /**
+     * Throws a new {@link StacklessIllegalArgumentException} which skips the costly stack walk of
+     * {@link Throwable#fillInStackTrace()}.
+     */
+    STACKLESS {
+
+        @Override
+        public IllegalArgumentException exception(final String message) {
+            return new StacklessIllegalArgumentException(message);
+        }
+
+    };
+
+    /**
+     * The system property used to select the global failure policy, e.g.
+     * <code>-Dde.xn__ho_hia.quality.null_analysis.FailurePolicy=STACKLESS</code>.
+     */
+    public static final String SYSTEM_PROPERTY = "de.xn__ho_hia.quality.null_analysis.FailurePolicy"; //$NON-NLS-1$
+
+    /**
+     * @param message
+     *            The exception message.
+     * @return The exception to throw for a failed <code>null</code> check.
+     */
+    public abstract @NonNull IllegalArgumentException exception(String message);
+
+    /**
+     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
+     * that fails according to this policy in case a <code>null</code> reference is given.
+     *
+     * @param <TYPE>
+     *            The type of the reference
+     * @param reference
+     *            A possible <code>null</code> reference.
+     * @param message
+     *            The exception message to throw.
+     * @return Either the reference itself, or the exception of this policy, in case the reference was
+     *         <code>null</code>.
+     */
+    public final <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference, final String message) {
+        if (reference != null) {
+            return reference;
+        }
+
+        throw Nullsafe.violation(this, "nonNull", message); //$NON-NLS-1$
+    }
+
+    static FailurePolicy fromSystemProperty() {
+        return fromName(System.getProperty(SYSTEM_PROPERTY));
+    }
+
+    static FailurePolicy fromName(@Nullable final String name) {
+        for (final FailurePolicy policy : values()) {
+            if (policy.name().equals(name)) {
+                return policy;
+            }
+        }
+        return STACK_TRACE;
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+/**
+ * Commits <code>NullViolationEvent</code>s and <code>NullFallbackEvent</code>s to the Java Flight Recorder. Both events
+ * are skipped unless a recording enabled them. Their stack traces can be switched off per recording with the
+ * <code>stackTrace</code> setting. Only loaded through <code>NullEvents#load</code>, since this class links against
+ * <code>jdk.jfr</code>.
+ */
+final class FlightRecorderNullEvents implements NullEvents {
+
+    /** The message of all fallback events. */
+    static final String FALLBACK_MESSAGE = "Got NULL argument, fell back to an empty value"; //$NON-NLS-1$
+
+    @Override
+    public void violation(final String method, final String message) {
+        final NullViolationEvent event = new NullViolationEvent();
+        if (event.isEnabled()) {
+            event.method = method;
+            event.message = message;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void fallback(final String method) {
+        final NullFallbackEvent event = new NullFallbackEvent();
+        if (event.isEnabled()) {
+            event.method = method;
+            event.message = FALLBACK_MESSAGE;
+            event.commit();
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.math.BigInteger;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable integer of arbitrary size that computes in primitive <code>long</code> arithmetic and only promotes to a
+ * {@link BigInteger} once an operation overflows. Results that fit into a <code>long</code> again are demoted, so that
+ * values in the <code>long</code> range never carry a {@link BigInteger}.
+ * <p>
+ * All operations reject <code>null</code> operands like {@link Nullsafe#addNullsafe(BigInteger, BigInteger)} does.
+ */
+public final class HybridInteger extends Number implements Comparable<HybridInteger> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 127;
+    private static final HybridInteger[] CACHE = new HybridInteger[CACHE_HIGH - CACHE_LOW + 1];
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /** The <code>long</code> value of this integer, only valid in case {@link #large} is <code>null</code>. */
+    private final long small;
+
+    /** The value of this integer in case it does not fit into a <code>long</code>. */
+    private final @Nullable BigInteger large;
+
+    static {
+        for (int index = 0; index < CACHE.length; index++) {
+            CACHE[index] = new HybridInteger(CACHE_LOW + index, null);
+        }
+    }
+
+    private HybridInteger(final long small, @Nullable final BigInteger large) {
+        this.small = small;
+        this.large = large;
+    }
+
+    /**
+     * @param value
+     *            The value to wrap
+     * @return A @NonNull {@link HybridInteger}, cached for values between -128 and 127.
+     */
+    public static @NonNull HybridInteger valueOf(final long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return Nullsafe.nonNull(CACHE[(int) value - CACHE_LOW]);
+        }
+        return new HybridInteger(value, null);
+    }
+
+    /**
+     * @param value
+     *            The value to wrap
+     * @return A @NonNull {@link HybridInteger} that only keeps the given {@link BigInteger} in case it does not fit into
+     *         a <code>long</code>.
+     */
+    public static @NonNull HybridInteger valueOf(@Nullable final BigInteger value) {
+        final BigInteger nonNullValue = Nullsafe.nonNull(value);
+        if (nonNullValue.compareTo(LONG_MIN) >= 0 && nonNullValue.compareTo(LONG_MAX) <= 0) {
+            return valueOf(nonNullValue.longValue());
+        }
+        return new HybridInteger(0L, nonNullValue);
+    }
+
+    /**
+     * @param other
+     *            The value to add
+     * @return The sum of both values as a @NonNull {@link HybridInteger}
+     */
+    public @NonNull HybridInteger add(@Nullable final HybridInteger other) {
+        final HybridInteger operand = Nullsafe.nonNull(other);
+        if (large == null && operand.large == null) {
+            final long sum = small + operand.small;
+            if (((small ^ sum) & (operand.small ^ sum)) < 0) {
+                return new HybridInteger(0L, bigIntegerValue().add(operand.bigIntegerValue()));
+            }
+            return valueOf(sum);
+        }
+        return valueOf(bigIntegerValue().add(operand.bigIntegerValue()));
+    }
+
+    /**
+     * @param other
+     *            The value to subtract
+     * @return The difference of both values as a @NonNull {@link HybridInteger}
+     */
+    public @NonNull HybridInteger subtract(@Nullable final HybridInteger other) {
+        final HybridInteger operand = Nullsafe.nonNull(other);
+        if (large == null && operand.large == null) {
+            final long difference = small - operand.small;
+            if (((small ^ operand.small) & (small ^ difference)) < 0) {
+                return new HybridInteger(0L, bigIntegerValue().subtract(operand.bigIntegerValue()));
+            }
+            return valueOf(difference);
+        }
+        return valueOf(bigIntegerValue().subtract(operand.bigIntegerValue()));
+    }
+
+    /**
+     * @param other
+     *            The value to multiply
+     * @return The multiplication of both values as a @NonNull {@link HybridInteger}
+     */
+    public @NonNull HybridInteger multiply(@Nullable final HybridInteger other) {
+        final HybridInteger operand = Nullsafe.nonNull(other);
+        if (large == null && operand.large == null) {
+            if (multiplyOverflows(small, operand.small)) {
+                return new HybridInteger(0L, bigIntegerValue().multiply(operand.bigIntegerValue()));
+            }
+            return valueOf(small * operand.small);
+        }
+        return valueOf(bigIntegerValue().multiply(operand.bigIntegerValue()));
+    }
+
+    /**
+     * Checks a product for overflow without throwing an exception. Factors with more than 65 leading zero or one bits
+     * in total never overflow, factors with less than 64 always do, and only the cases in between need a division.
+     *
+     * @param first
+     *            The first factor
+     * @param second
+     *            The second factor
+     * @return <code>true</code> in case the product does not fit into a <code>long</code>.
+     */
+    static boolean multiplyOverflows(final long first, final long second) {
+        final int leadingZeros = Long.numberOfLeadingZeros(first) + Long.numberOfLeadingZeros(~first)
+                + Long.numberOfLeadingZeros(second) + Long.numberOfLeadingZeros(~second);
+        if (leadingZeros > Long.SIZE + 1) {
+            return false;
+        }
+        if (leadingZeros < Long.SIZE || first < 0 && second == Long.MIN_VALUE) {
+            return true;
+        }
+        final long product = first * second;
+        return first != 0 && product / first != second;
+    }
+
+    /**
+     * @param other
+     *            The value to divide by
+     * @return The division of both values as a @NonNull {@link HybridInteger}
+     * @throws ArithmeticException
+     *             In case the given value is zero.
+     */
+    public @NonNull HybridInteger divide(@Nullable final HybridInteger other) {
+        final HybridInteger operand = Nullsafe.nonNull(other);
+        // Long.MIN_VALUE / -1 is the only long division that overflows
+        if (large == null && operand.large == null && (small != Long.MIN_VALUE || operand.small != -1L)) {
+            return valueOf(small / operand.small);
+        }
+        return valueOf(bigIntegerValue().divide(operand.bigIntegerValue()));
+    }
+
+    /**
+     * @return <code>true</code> if this value fits into a <code>long</code>, otherwise <code>false</code>.
+     */
+    public boolean fitsInLong() {
+        return large == null;
+    }
+
+    /**
+     * @return The value as a <code>long</code>.
+     * @throws ArithmeticException
+     *             In case the value does not fit into a <code>long</code>.
+     */
+    public long longValueExact() {
+        final BigInteger value = large;
+        if (value != null) {
+            throw new ArithmeticException("HybridInteger out of long range"); //$NON-NLS-1$
+        }
+        return small;
+    }
+
+    /**
+     * @return The value as a @NonNull {@link BigInteger}. Only values outside of the <code>long</code> range are
+     *         returned without allocation.
+     */
+    public @NonNull BigInteger bigIntegerValue() {
+        final BigInteger value = large;
+        if (value != null) {
+            return value;
+        }
+        return Nullsafe.asBigInteger(small);
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        final BigInteger value = large;
+        return value != null ? value.longValue() : small;
+    }
+
+    @Override
+    public float floatValue() {
+        final BigInteger value = large;
+        return value != null ? value.floatValue() : small;
+    }
+
+    @Override
+    public double doubleValue() {
+        final BigInteger value = large;
+        return value != null ? value.doubleValue() : small;
+    }
+
+    @Override
+    public int compareTo(final HybridInteger other) {
+        if (large == null && other.large == null) {
+            return Long.compare(small, other.small);
+        }
+        return bigIntegerValue().compareTo(other.bigIntegerValue());
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof HybridInteger)) {
+            return false;
+        }
+        final HybridInteger other = (HybridInteger) object;
+        final BigInteger value = large;
+        return value != null ? value.equals(other.large) : other.large == null && small == other.small;
+    }
+
+    @Override
+    public int hashCode() {
+        final BigInteger value = large;
+        return value != null ? value.hashCode() : Long.hashCode(small);
+    }
+
+    @Override
+    public String toString() {
+        final BigInteger value = large;
+        return value != null ? value.toString() : Long.toString(small);
+    }
+
+}
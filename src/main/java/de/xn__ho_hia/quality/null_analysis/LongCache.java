@@ -0,0 +1,84 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Caches boxed {@link Long}s for a range that can be configured beyond the fixed -128 to 127 range of
+ * {@link Long#valueOf(long)}. Entries are created once they are requested for the first time. Concurrent first requests
+ * may create more than one instance for the same value, which is harmless since {@link Long} is immutable, however
+ * identity of cached values is therefore not guaranteed.
+ */
+final class LongCache {
+
+    /** The system property that lowers the lower bound of the global cache. */
+    static final String LOW_PROPERTY = "de.xn__ho_hia.quality.null_analysis.LongCache.low"; //$NON-NLS-1$
+
+    /** The system property that raises the upper bound of the global cache. */
+    static final String HIGH_PROPERTY = "de.xn__ho_hia.quality.null_analysis.LongCache.high"; //$NON-NLS-1$
+
+    /** The default lower bound, same as the one of the JDK. */
+    static final long DEFAULT_LOW = -128;
+
+    /** The default upper bound, same as the one of the JDK. */
+    static final long DEFAULT_HIGH = 127;
+
+    /** Limits both bounds to keep the cache below 8 million entries. */
+    static final long MAX_BOUND = 1 << 22;
+
+    private final long low;
+    private final long high;
+    private final @Nullable Long[] cache;
+
+    LongCache(final long low, final long high) {
+        this.low = Math.max(-MAX_BOUND, Math.min(DEFAULT_LOW, low));
+        this.high = Math.min(MAX_BOUND - 1, Math.max(DEFAULT_HIGH, high));
+        cache = new @Nullable Long[(int) (this.high - this.low + 1)];
+    }
+
+    static LongCache fromSystemProperties() {
+        return new LongCache(parse(System.getProperty(LOW_PROPERTY), DEFAULT_LOW),
+                parse(System.getProperty(HIGH_PROPERTY), DEFAULT_HIGH));
+    }
+
+    static long parse(@Nullable final String value, final long defaultValue) {
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (final NumberFormatException exception) {
+                // fall back to default below
+            }
+        }
+        return defaultValue;
+    }
+
+    long low() {
+        return low;
+    }
+
+    long high() {
+        return high;
+    }
+
+    @NonNull
+    Long valueOf(final long value) {
+        if (value >= low && value <= high) {
+            final int index = (int) (value - low);
+            final Long cached = cache[index];
+            if (cached != null) {
+                return cached;
+            }
+            final Long boxed = Nullsafe.nonNull(Long.valueOf(value));
+            cache[index] = boxed;
+            return boxed;
+        }
+        return Nullsafe.nonNull(Long.valueOf(value));
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the entries of a jar through a memory-mapped file instead of a {@link java.util.zip.ZipFile}, so that stored
+ * entries are never copied and concurrent readers do not share a stream. The central directory is parsed once, entries
+ * are read on demand and may be read from several threads. ZIP64 archives are not supported.
+ */
+final class MappedJar {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+    private static final int END_SIZE = 22;
+    private static final int CENTRAL_SIZE = 46;
+    private static final int LOCAL_SIZE = 30;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    /** Inflaters hold native memory, so each thread keeps and resets its own instead of creating one per entry. */
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final ByteBuffer buffer;
+    private final String[] names;
+    private final int[] methods;
+    private final int[] compressedSizes;
+    private final int[] sizes;
+    private final int[] offsets;
+
+    MappedJar(final ByteBuffer buffer) throws ZipException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int end = buffer.limit() - END_SIZE;
+        while (end >= 0 && buffer.getInt(end) != END_SIGNATURE) {
+            end--;
+        }
+        if (end < 0) {
+            throw new ZipException("Missing end of central directory"); //$NON-NLS-1$
+        }
+        final int count = u2(end + 10);
+        names = new String[count];
+        methods = new int[count];
+        compressedSizes = new int[count];
+        sizes = new int[count];
+        offsets = new int[count];
+        try {
+            int position = buffer.getInt(end + 16);
+            for (int entry = 0; entry != count; entry++) {
+                if (buffer.getInt(position) != CENTRAL_SIGNATURE) {
+                    throw new ZipException("Invalid central directory entry " + entry); //$NON-NLS-1$
+                }
+                final int nameLength = u2(position + 28);
+                methods[entry] = u2(position + 10);
+                compressedSizes[entry] = buffer.getInt(position + 20);
+                sizes[entry] = buffer.getInt(position + 24);
+                offsets[entry] = buffer.getInt(position + 42);
+                final byte[] name = new byte[nameLength];
+                slice(position + CENTRAL_SIZE, nameLength).get(name);
+                names[entry] = new String(name, StandardCharsets.UTF_8);
+                position += CENTRAL_SIZE + nameLength + u2(position + 30) + u2(position + 32);
+            }
+        } catch (final IndexOutOfBoundsException | IllegalArgumentException exception) {
+            // offsets beyond 2 GiB are negative and only supported by ZIP64
+            throw new ZipException("Truncated central directory: " + exception); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * @param jar
+     *            The jar to map into memory
+     * @return The mapped jar
+     * @throws IOException
+     *             In case the jar cannot be read or is not a valid archive
+     */
+    static MappedJar open(final Path jar) throws IOException {
+        try (final FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new MappedJar(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String name(final int entry) {
+        return names[entry];
+    }
+
+    /**
+     * @param entry
+     *            The index of the entry to read
+     * @return The uncompressed content of the entry, a view of the mapped file for stored entries
+     * @throws ZipException
+     *             In case the entry is corrupt or uses an unsupported compression method
+     */
+    ByteBuffer read(final int entry) throws ZipException {
+        final int local = offsets[entry];
+        if (buffer.getInt(local) != LOCAL_SIGNATURE) {
+            throw new ZipException("Invalid local header of " + names[entry]); //$NON-NLS-1$
+        }
+        final ByteBuffer data = slice(local + LOCAL_SIZE + u2(local + 26) + u2(local + 28), compressedSizes[entry]);
+        if (methods[entry] == STORED) {
+            return data;
+        }
+        if (methods[entry] != DEFLATED) {
+            throw new ZipException("Unsupported compression method " + methods[entry] + " of " + names[entry]); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        // raw deflate data needs an extra dummy byte to detect its end
+        final byte[] compressed = new byte[compressedSizes[entry] + 1];
+        data.get(compressed, 0, compressedSizes[entry]);
+        final byte[] content = new byte[sizes[entry]];
+        final Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        try {
+            inflater.setInput(compressed);
+            for (int length = 0; length < content.length;) {
+                final int inflated = inflater.inflate(content, length, content.length - length);
+                if (inflated == 0) {
+                    throw new ZipException("Truncated entry " + names[entry]); //$NON-NLS-1$
+                }
+                length += inflated;
+            }
+        } catch (final DataFormatException exception) {
+            throw new ZipException("Corrupt entry " + names[entry] + ": " + exception.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return ByteBuffer.wrap(content);
+    }
+
+    /**
+     * @param algorithm
+     *            The digest algorithm to use, e.g. <code>SHA-256</code>
+     * @return The hex encoded digest of the whole jar
+     */
+    String hash(final String algorithm) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(algorithm);
+            digest.update(slice(0, buffer.limit()));
+            return String.format("%0" + 2 * digest.getDigestLength() + "x", //$NON-NLS-1$ //$NON-NLS-2$
+                    new BigInteger(1, digest.digest()));
+        } catch (final NoSuchAlgorithmException exception) {
+            throw new IllegalArgumentException(exception);
+        }
+    }
+
+    private ByteBuffer slice(final int position, final int length) {
+        final ByteBuffer slice = buffer.duplicate();
+        slice.position(position);
+        slice.limit(position + length);
+        return slice.slice();
+    }
+
+    private int u2(final int position) {
+        return buffer.getShort(position) & 0xFFFF;
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Memoizes a slow lookup that returns <code>null</code> for values that could not be found. Unlike most caches,
+ * <code>null</code> results are cached as well (negative caching), with their own time to live. Concurrent calls for a
+ * key that is currently loading wait for that load instead of calling the lookup again. The loader must therefore not
+ * call the memoizer for the same key.
+ * <p>
+ * Once more than <code>maximumSize</code> keys are cached, expired entries are removed first, followed by arbitrary
+ * loaded entries until one eighth of the capacity is free again, so that eviction does not run on every subsequent
+ * miss. Failed loads are not cached, their exception or error is rethrown to all waiting callers.
+ *
+ * @param <KEY>
+ *            The key type
+ * @param <VALUE>
+ *            The value type
+ */
+public final class Memoizer<KEY, VALUE> implements Function<KEY, @Nullable VALUE> {
+
+    private final Map<KEY, Memo<VALUE>> memos = new NullTolerantConcurrentMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Function<KEY, @Nullable VALUE> loader;
+    private final int maximumSize;
+    private final long positiveTtl;
+    private final long negativeTtl;
+    private final LongSupplier ticker;
+
+    Memoizer(final Function<KEY, @Nullable VALUE> loader, final int maximumSize, final long positiveTtl,
+            final long negativeTtl, final LongSupplier ticker) {
+        this.loader = loader;
+        this.maximumSize = maximumSize;
+        this.positiveTtl = positiveTtl;
+        this.negativeTtl = negativeTtl;
+        this.ticker = ticker;
+    }
+
+    /**
+     * @param <KEY>
+     *            The key type
+     * @param <VALUE>
+     *            The value type
+     * @param loader
+     *            The slow lookup to memoize, returns <code>null</code> for missing values
+     * @param maximumSize
+     *            The maximum number of cached keys
+     * @param positiveTtl
+     *            How long non-null values are cached, durations beyond 292 years never expire
+     * @param negativeTtl
+     *            How long <code>null</code> values are cached, durations beyond 292 years never expire
+     * @return A memoizer for the given lookup
+     */
+    public static <KEY, VALUE> Memoizer<KEY, VALUE> of(final Function<KEY, @Nullable VALUE> loader,
+            final int maximumSize, final Duration positiveTtl, final Duration negativeTtl) {
+        return new Memoizer<>(loader, maximumSize, nanos(positiveTtl), nanos(negativeTtl), System::nanoTime);
+    }
+
+    static long nanos(final Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (final ArithmeticException exception) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * @param key
+     *            The key to look up
+     * @return The cached value or the value returned by the loader, both possibly <code>null</code>
+     */
+    @Override
+    public @Nullable VALUE apply(final KEY key) {
+        while (true) {
+            final long now = ticker.getAsLong();
+            final Memo<VALUE> existing = memos.get(key);
+            if (existing != null && !existing.expired(now)) {
+                final VALUE value = existing.await();
+                (value == null ? negativeHits : hits).increment();
+                return value;
+            }
+            final Memo<VALUE> memo = new Memo<>();
+            if (existing == null ? memos.putIfAbsent(key, memo) == null : memos.replace(key, existing, memo)) {
+                return load(key, memo);
+            }
+        }
+    }
+
+    private @Nullable VALUE load(final KEY key, final Memo<VALUE> memo) {
+        misses.increment();
+        final VALUE value;
+        try {
+            value = loader.apply(key);
+        } catch (final RuntimeException | Error exception) {
+            memos.remove(key, memo);
+            memo.future.completeExceptionally(exception);
+            throw exception;
+        }
+        memo.loadedAt = ticker.getAsLong();
+        memo.ttl = value == null ? negativeTtl : positiveTtl;
+        memo.future.complete(value);
+        evict(memo.loadedAt);
+        return value;
+    }
+
+    private void evict(final long now) {
+        if (memos.size() > maximumSize) {
+            // remove by key and memo, since another thread could invalidate and reload a key in the meantime
+            for (final Map.Entry<KEY, Memo<VALUE>> entry : memos.entrySet()) {
+                final Memo<VALUE> memo = entry.getValue();
+                if (memo.expired(now)) {
+                    memos.remove(entry.getKey(), memo);
+                }
+            }
+            final int target = maximumSize - maximumSize / 8;
+            final Iterator<Map.Entry<KEY, Memo<VALUE>>> iterator = memos.entrySet().iterator();
+            while (memos.size() > target && iterator.hasNext()) {
+                final Map.Entry<KEY, Memo<VALUE>> entry = iterator.next();
+                final Memo<VALUE> memo = entry.getValue();
+                // keep entries that are still loading, otherwise concurrent callers would load them again
+                if (memo.future.isDone() && memos.remove(entry.getKey(), memo)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the cached value of a key, the next lookup calls the loader again.
+     *
+     * @param key
+     *            The key to remove
+     */
+    public void invalidate(final KEY key) {
+        memos.remove(key);
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        memos.clear();
+    }
+
+    /**
+     * @return The number of cached keys, including expired and loading ones.
+     */
+    public int size() {
+        return memos.size();
+    }
+
+    /**
+     * @return The number of lookups that were answered with a cached non-null value.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of lookups that were answered with a cached <code>null</code> value.
+     */
+    public long negativeHitCount() {
+        return negativeHits.sum();
+    }
+
+    /**
+     * @return The number of lookups that called the loader.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of entries that were removed to stay below the maximum size.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    static final class Memo<VALUE> {
+
+        final CompletableFuture<@Nullable VALUE> future = new CompletableFuture<>();
+        long loadedAt;
+        long ttl;
+
+        boolean expired(final long now) {
+            return future.isDone() && now - loadedAt >= ttl;
+        }
+
+        @Nullable
+        VALUE await() {
+            try {
+                return future.join();
+            } catch (final CompletionException exception) {
+                final Throwable cause = exception.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : exception;
+            }
+        }
+
+    }
+
+}
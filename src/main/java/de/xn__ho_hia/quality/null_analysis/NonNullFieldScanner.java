@@ -0,0 +1,141 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Finds the fields of a class whose type is annotated with {@link org.eclipse.jdt.annotation.NonNull}. The annotation
+ * is retained in class files only, therefore this reads the <code>RuntimeInvisibleTypeAnnotations</code> of each field
+ * instead of using reflection. Annotations on type arguments or array components, e.g.
+ * <code>List&lt;@NonNull String&gt;</code>, do not mark the field itself.
+ */
+final class NonNullFieldScanner {
+
+    static final String NON_NULL = "Lorg/eclipse/jdt/annotation/NonNull;"; //$NON-NLS-1$
+    static final String TYPE_ANNOTATIONS = "RuntimeInvisibleTypeAnnotations"; //$NON-NLS-1$
+
+    static final int UTF8 = 1;
+    static final int LONG = 5;
+    static final int DOUBLE = 6;
+
+    /** The size of each constant pool entry by tag, except for UTF8 entries which carry their own length. */
+    static final int[] CONSTANT_SIZES = { 0, 0, 0, 4, 4, 8, 8, 2, 2, 4, 4, 4, 4, 0, 0, 3, 2, 4, 4, 2, 2 };
+
+    private NonNullFieldScanner() {
+        // utility class
+    }
+
+    static String resource(final Class<?> type) {
+        return "/" + type.getName().replace('.', '/') + ".class"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * @param classFile
+     *            The class file to scan or <code>null</code> in case it is not available, e.g. for generated classes
+     * @return The names of all fields annotated with {@link org.eclipse.jdt.annotation.NonNull}
+     */
+    static Set<String> scan(@Nullable final InputStream classFile) {
+        if (classFile == null) {
+            return Collections.emptySet();
+        }
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(classFile))) {
+            return scan(input);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static Set<String> scan(final DataInputStream input) throws IOException {
+        skip(input, 8); // magic and version
+        final String[] strings = new String[input.readUnsignedShort()];
+        for (int index = 1; index < strings.length; index++) {
+            final int tag = input.readUnsignedByte();
+            if (tag == UTF8) {
+                strings[index] = input.readUTF();
+            } else {
+                skip(input, CONSTANT_SIZES[tag]);
+                if (tag == LONG || tag == DOUBLE) {
+                    index++; // takes up two entries
+                }
+            }
+        }
+        skip(input, 6); // access flags, this and super class
+        skip(input, 2 * input.readUnsignedShort()); // interfaces
+
+        final Set<String> fields = new HashSet<>();
+        for (int field = input.readUnsignedShort(); field > 0; field--) {
+            skip(input, 2); // access flags
+            final String name = strings[input.readUnsignedShort()];
+            skip(input, 2); // descriptor
+            for (int attribute = input.readUnsignedShort(); attribute > 0; attribute--) {
+                final String attributeName = strings[input.readUnsignedShort()];
+                final byte[] content = new byte[input.readInt()];
+                input.readFully(content);
+                if (TYPE_ANNOTATIONS.equals(attributeName)
+                        && annotatedNonNull(new DataInputStream(new ByteArrayInputStream(content)), strings)) {
+                    fields.add(name);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static void skip(final DataInputStream input, final int count) throws IOException {
+        if (input.skipBytes(count) < count) {
+            throw new EOFException();
+        }
+    }
+
+    private static boolean annotatedNonNull(final DataInputStream input, final String[] strings) throws IOException {
+        for (int annotation = input.readUnsignedShort(); annotation > 0; annotation--) {
+            skip(input, 1); // target type, always FIELD with an empty target info for field attributes
+            final int pathLength = input.readUnsignedByte();
+            skip(input, 2 * pathLength);
+            final String type = strings[input.readUnsignedShort()];
+            if (pathLength == 0 && NON_NULL.equals(type)) {
+                return true;
+            }
+            skipElementValuePairs(input);
+        }
+        return false;
+    }
+
+    private static void skipElementValuePairs(final DataInputStream input) throws IOException {
+        for (int pair = input.readUnsignedShort(); pair > 0; pair--) {
+            skip(input, 2); // element name
+            skipElementValue(input);
+        }
+    }
+
+    private static void skipElementValue(final DataInputStream input) throws IOException {
+        final int tag = input.readUnsignedByte();
+        if (tag == '@') {
+            skip(input, 2); // annotation type
+            skipElementValuePairs(input);
+        } else if (tag == '[') {
+            for (int value = input.readUnsignedShort(); value > 0; value--) {
+                skipElementValue(input);
+            }
+        } else {
+            // enum constants reference their type and name, all other values a single constant
+            skip(input, tag == 'e' ? 4 : 2);
+        }
+    }
+
+}
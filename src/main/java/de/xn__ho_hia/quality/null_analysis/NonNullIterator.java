@@ -0,0 +1,48 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Skips <code>null</code> elements of another {@link Iterator}. Removal is not supported since all views using this
+ * iterator are read-only.
+ *
+ * @param <TYPE>
+ *            The element type
+ */
+final class NonNullIterator<TYPE> implements Iterator<TYPE> {
+
+    private final Iterator<TYPE> iterator;
+    private @Nullable TYPE next;
+
+    NonNullIterator(final Iterator<TYPE> iterator) {
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && iterator.hasNext()) {
+            next = iterator.next();
+        }
+        return next != null;
+    }
+
+    @Override
+    public TYPE next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final TYPE element = Nullsafe.nonNull(next);
+        next = null;
+        return element;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Read-only view of a {@link List} that hides its <code>null</code> elements without copying the remaining ones.
+ * Iteration and <code>contains</code> work directly on the backing list. The first call to <code>get</code> or
+ * <code>size</code> counts the non-null elements and, in case the backing list contains <code>null</code> elements,
+ * records their positions in a second pass into an <code>int</code> array with one entry per non-null element.
+ * Afterwards, <code>get</code> costs the same as a call to the backing list. Like {@link List#subList(int, int)}, the
+ * view is undefined once the backing list is modified after the positions have been recorded.
+ *
+ * @param <TYPE>
+ *            The element type
+ */
+final class NonNullListView<TYPE> extends AbstractList<TYPE> {
+
+    private final List<TYPE> list;
+    private int size;
+    private int @Nullable [] positions;
+    private volatile boolean indexed;
+
+    NonNullListView(final List<TYPE> list) {
+        this.list = list;
+    }
+
+    @Override
+    public TYPE get(final int index) {
+        index();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        final int[] indexedPositions = positions;
+        return list.get(indexedPositions != null ? indexedPositions[index] : index);
+    }
+
+    @Override
+    public int size() {
+        index();
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    @Override
+    public boolean contains(@Nullable final Object element) {
+        return element != null && list.contains(element);
+    }
+
+    @Override
+    public Iterator<TYPE> iterator() {
+        return new NonNullIterator<>(list.iterator());
+    }
+
+    private void index() {
+        if (!indexed) {
+            int count = 0;
+            for (final TYPE element : list) {
+                if (element != null) {
+                    count++;
+                }
+            }
+            if (count != list.size()) {
+                final int[] nonNullPositions = new int[count];
+                int next = 0;
+                int position = 0;
+                for (final TYPE element : list) {
+                    if (element != null) {
+                        nonNullPositions[next++] = position;
+                    }
+                    position++;
+                }
+                positions = nonNullPositions;
+            }
+            size = count;
+            indexed = true;
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Read-only view of a {@link Map} that hides all entries with a <code>null</code> key or a <code>null</code> value.
+ * Lookups are delegated to the backing map, therefore the view reflects later changes to it. Since entries of the
+ * backing map could be changed through {@link java.util.Map.Entry#setValue(Object)}, iterating the entry set hands out
+ * immutable copies of them while iterating keys or values does not allocate per entry.
+ * <p>
+ * Nothing is cached, thus <code>size()</code> of the view and its collection views scans the backing map on every call.
+ * <code>isEmpty()</code> of all of them stops at the first visible entry instead.
+ *
+ * @param <KEY>
+ *            The key type
+ * @param <VALUE>
+ *            The value type
+ */
+final class NonNullMapView<KEY, VALUE> extends AbstractMap<KEY, VALUE> {
+
+    final Map<KEY, VALUE> map;
+
+    NonNullMapView(final Map<KEY, VALUE> map) {
+        this.map = map;
+    }
+
+    @Override
+    public VALUE get(@Nullable final Object key) {
+        // entries with null keys are hidden, therefore there is nothing to look up
+        if (key == null) {
+            return null;
+        }
+        return map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (final Entry<KEY, VALUE> entry : map.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !entrySet().iterator().hasNext();
+    }
+
+    @Override
+    public Set<Entry<KEY, VALUE>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public Set<KEY> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<VALUE> values() {
+        return new Values();
+    }
+
+    final class EntrySet extends AbstractSet<Entry<KEY, VALUE>> {
+
+        @Override
+        public Iterator<Entry<KEY, VALUE>> iterator() {
+            return new EntryIterator<>(map.entrySet().iterator(),
+                    SimpleImmutableEntry<KEY, VALUE>::new);
+        }
+
+        @Override
+        public int size() {
+            return NonNullMapView.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return NonNullMapView.this.isEmpty();
+        }
+
+    }
+
+    final class KeySet extends AbstractSet<KEY> {
+
+        @Override
+        public Iterator<KEY> iterator() {
+            return new EntryIterator<>(map.entrySet().iterator(), Entry::getKey);
+        }
+
+        @Override
+        public int size() {
+            return NonNullMapView.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return NonNullMapView.this.isEmpty();
+        }
+
+        @Override
+        public boolean contains(@Nullable final Object key) {
+            return containsKey(key);
+        }
+
+    }
+
+    final class Values extends AbstractCollection<VALUE> {
+
+        @Override
+        public Iterator<VALUE> iterator() {
+            return new EntryIterator<>(map.entrySet().iterator(), Entry::getValue);
+        }
+
+        @Override
+        public int size() {
+            return NonNullMapView.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return NonNullMapView.this.isEmpty();
+        }
+
+    }
+
+    static final class EntryIterator<KEY, VALUE, ELEMENT> implements Iterator<ELEMENT> {
+
+        private final Iterator<Entry<KEY, VALUE>> iterator;
+        private final Function<Entry<KEY, VALUE>, ELEMENT> mapper;
+        private @Nullable Entry<KEY, VALUE> next;
+
+        EntryIterator(final Iterator<Entry<KEY, VALUE>> iterator, final Function<Entry<KEY, VALUE>, ELEMENT> mapper) {
+            this.iterator = iterator;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && iterator.hasNext()) {
+                final Entry<KEY, VALUE> entry = iterator.next();
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    next = entry;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ELEMENT next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Entry<KEY, VALUE> entry = Nullsafe.nonNull(next);
+            next = null;
+            return mapper.apply(entry);
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Read-only view of a {@link Set} that hides its <code>null</code> element. All operations are delegated to the
+ * backing set, therefore the view reflects later changes to it.
+ *
+ * @param <TYPE>
+ *            The element type
+ */
+final class NonNullSetView<TYPE> extends AbstractSet<TYPE> {
+
+    private final Set<TYPE> set;
+
+    NonNullSetView(final Set<TYPE> set) {
+        this.set = set;
+    }
+
+    @Override
+    public int size() {
+        return containsNull() ? set.size() - 1 : set.size();
+    }
+
+    @Override
+    public boolean contains(@Nullable final Object element) {
+        return element != null && set.contains(element);
+    }
+
+    @Override
+    public Iterator<TYPE> iterator() {
+        return new NonNullIterator<>(set.iterator());
+    }
+
+    private boolean containsNull() {
+        try {
+            return set.contains(null);
+        } catch (final NullPointerException exception) {
+            // sets that reject null elements cannot contain one
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Validates that fields annotated with {@link NonNull} do not contain <code>null</code>, e.g. for incoming DTOs at
+ * service boundaries. The annotated fields of each class are read from its class file once and turned into a plan of
+ * {@link MethodHandle} getters which is cached in a {@link ClassValue}, therefore validation does not use reflection.
+ * Fields declared in the JDK, static and synthetic fields are never checked.
+ */
+public final class NonNullValidator {
+
+    static final String VALIDATE = "validate"; //$NON-NLS-1$
+    static final String VALIDATE_GRAPH = "validateGraph"; //$NON-NLS-1$
+
+    /** The expected depth of object graphs, deeper graphs are supported. */
+    private static final int GRAPH_DEPTH = 8;
+
+    static final ClassValue<Plan> PLANS = new ClassValue<Plan>() {
+
+        @Override
+        protected Plan computeValue(final Class<?> type) {
+            return plan(type);
+        }
+
+    };
+
+    private NonNullValidator() {
+        // utility class
+    }
+
+    /**
+     * Checks all {@link NonNull} fields of the given object, without following references to other objects.
+     *
+     * @param <TYPE>
+     *            The object type
+     * @param object
+     *            The object to validate
+     * @return The given object
+     * @throws IllegalArgumentException
+     *             In case a {@link NonNull} field is <code>null</code>, e.g. "Field 'Order.customer' is null"
+     */
+    public static <TYPE> @NonNull TYPE validate(@NonNull final TYPE object) {
+        final Plan plan = PLANS.get(object.getClass());
+        final int index = plan.firstNull(object);
+        if (index >= 0) {
+            throw Nullsafe.violation(VALIDATE, message(object, plan.nonNull[index].name));
+        }
+        return object;
+    }
+
+    /**
+     * Checks all {@link NonNull} fields of the given object and of all objects reachable through its fields. Elements of
+     * arrays and collections are not checked, neither are the fields of other JDK types. Cycles are detected.
+     *
+     * @param <TYPE>
+     *            The object type
+     * @param object
+     *            The root of the object graph to validate
+     * @return The given object
+     * @throws IllegalArgumentException
+     *             In case a {@link NonNull} field is <code>null</code>, reporting its full path, e.g. "Field
+     *             'Order.customer.address.city' is null"
+     */
+    public static <TYPE> @NonNull TYPE validateGraph(@NonNull final TYPE object) {
+        final String path = firstNull(object, new Object[GRAPH_DEPTH], 0);
+        if (path != null) {
+            throw Nullsafe.violation(VALIDATE_GRAPH, message(object, path));
+        }
+        return object;
+    }
+
+    private static @Nullable String firstNull(final Object object, final Object[] ancestors, final int depth) {
+        final Plan plan = PLANS.get(object.getClass());
+        final int index = plan.firstNull(object);
+        if (index >= 0) {
+            return plan.nonNull[index].name;
+        }
+        // only objects on the current path can form a cycle, shared objects elsewhere in the graph are checked again
+        if (plan.children.length != 0 && !contains(ancestors, depth, object)) {
+            final Object[] path = depth != ancestors.length ? ancestors : Arrays.copyOf(ancestors, 2 * depth);
+            path[depth] = object;
+            for (final Check child : plan.children) {
+                final Object value = child.get(object);
+                if (value != null) {
+                    final String nested = firstNull(value, path, depth + 1);
+                    if (nested != null) {
+                        return child.name + "." + nested; //$NON-NLS-1$
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    static boolean contains(final Object[] ancestors, final int depth, final Object object) {
+        for (int index = 0; index < depth; index++) {
+            if (ancestors[index] == object) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String message(final Object object, final String path) {
+        return "Field '" + object.getClass().getSimpleName() + "." + path + "' is null"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    static Plan plan(final Class<?> type) {
+        final List<Check> nonNull = new ArrayList<>();
+        final List<Check> children = new ArrayList<>();
+        for (Class<?> current = type; current != null && current.getClassLoader() != null; current = current
+                .getSuperclass()) {
+            final Set<String> annotated = NonNullFieldScanner
+                    .scan(current.getResourceAsStream(NonNullFieldScanner.resource(current)));
+            for (final Field field : current.getDeclaredFields()) {
+                if (!field.getType().isPrimitive() && !Modifier.isStatic(field.getModifiers())
+                        && !field.isSynthetic()) {
+                    AccessController.doPrivileged(accessible(field));
+                    final Check check = new Check(field.getName(), getter(field));
+                    if (annotated.contains(field.getName())) {
+                        nonNull.add(check);
+                    }
+                    if (traversable(field.getType())) {
+                        children.add(check);
+                    }
+                }
+            }
+        }
+        return new Plan(nonNull.toArray(new Check[nonNull.size()]), children.toArray(new Check[children.size()]));
+    }
+
+    /**
+     * Final JDK types like {@link String} or arrays cannot contain checked fields, any other type might.
+     */
+    static boolean traversable(final Class<?> type) {
+        return !Modifier.isFinal(type.getModifiers()) || type.getClassLoader() != null;
+    }
+
+    private static PrivilegedAction<@Nullable Void> accessible(final Field field) {
+        return () -> {
+            field.setAccessible(true);
+            return null;
+        };
+    }
+
+    static MethodHandle getter(final Field field) {
+        return handle(() -> MethodHandles.lookup().unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class)));
+    }
+
+    static MethodHandle handle(final HandleLookup lookup) {
+        try {
+            return lookup.find();
+        } catch (final ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Chains all checks into a single handle that returns the index of the first <code>null</code> field or
+     * <code>-1</code>, so that validation invokes one handle per object which the JVM can optimize as a whole.
+     */
+    static MethodHandle firstNull(final Check[] checks) {
+        final MethodHandle isNull = handle(() -> MethodHandles.lookup().findStatic(Objects.class, "isNull", //$NON-NLS-1$
+                MethodType.methodType(boolean.class, Object.class)));
+        MethodHandle firstNull = index(-1);
+        for (int index = checks.length - 1; index >= 0; index--) {
+            firstNull = MethodHandles.guardWithTest(MethodHandles.filterReturnValue(checks[index].getter, isNull),
+                    index(index), firstNull);
+        }
+        return firstNull;
+    }
+
+    private static MethodHandle index(final int index) {
+        return MethodHandles.dropArguments(MethodHandles.constant(int.class, Integer.valueOf(index)), 0, Object.class);
+    }
+
+    @FunctionalInterface
+    interface HandleLookup {
+
+        MethodHandle find() throws ReflectiveOperationException;
+
+    }
+
+    static final class Plan {
+
+        final Check[] nonNull;
+        final Check[] children;
+        final MethodHandle firstNull;
+
+        Plan(final Check[] nonNull, final Check[] children) {
+            this.nonNull = nonNull;
+            this.children = children;
+            firstNull = NonNullValidator.firstNull(nonNull);
+        }
+
+        int firstNull(final Object object) {
+            try {
+                return (int) firstNull.invokeExact(object);
+            } catch (final Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+    }
+
+    static final class Check {
+
+        final String name;
+        final MethodHandle getter;
+
+        Check(final String name, final MethodHandle getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        @Nullable
+        Object get(final Object object) {
+            try {
+                return getter.invokeExact(object);
+            } catch (final Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+    }
+
+}
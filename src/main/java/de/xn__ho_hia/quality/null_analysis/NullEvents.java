@@ -0,0 +1,63 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+/**
+ * Reports failed <code>null</code> checks and fallbacks to an event system. Implementations based on the Java Flight
+ * Recorder are only loaded on JVMs that ship with the <code>jdk.jfr</code> API, all other JVMs do not report
+ * anything.
+ */
+interface NullEvents {
+
+    /** The class name of the implementation based on the Java Flight Recorder. */
+    String FLIGHT_RECORDER = "de.xn__ho_hia.quality.null_analysis.FlightRecorderNullEvents"; //$NON-NLS-1$
+
+    /**
+     * @param method
+     *            The name of the method whose <code>null</code> check failed.
+     * @param message
+     *            The failure message.
+     */
+    void violation(String method, String message);
+
+    /**
+     * @param method
+     *            The name of the method that fell back because of a <code>null</code> argument.
+     */
+    void fallback(String method);
+
+    /**
+     * @param className
+     *            The implementation to load.
+     * @return The given implementation or one that reports nothing in case it cannot be loaded.
+     */
+    static NullEvents load(final String className) {
+        try {
+            return (NullEvents) Class.forName(className).newInstance();
+        } catch (final ReflectiveOperationException | LinkageError exception) {
+            return new NoNullEvents();
+        }
+    }
+
+    /**
+     * Reports nothing.
+     */
+    final class NoNullEvents implements NullEvents {
+
+        @Override
+        public void violation(final String method, final String message) {
+            // JFR is not available
+        }
+
+        @Override
+        public void fallback(final String method) {
+            // JFR is not available
+        }
+
+    }
+
+}
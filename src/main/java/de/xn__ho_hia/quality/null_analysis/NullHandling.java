@@ -0,0 +1,76 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Decides how {@link NullsafeCollectors} treat <code>null</code> elements, keys and values: skip them, replace them
+ * with a sentinel or fail with the same semantics as {@link Nullsafe#nonNull(Object, String)}.
+ *
+ * @param <TYPE>
+ *            The type of the handled elements, keys or values
+ */
+public final class NullHandling<TYPE> {
+
+    private final boolean skip;
+    private final @Nullable TYPE sentinel;
+
+    private NullHandling(final boolean skip, @Nullable final TYPE sentinel) {
+        this.skip = skip;
+        this.sentinel = sentinel;
+    }
+
+    /**
+     * @param <TYPE>
+     *            The type of the handled elements, keys or values
+     * @return A handling that ignores <code>null</code>s as if they were not part of the input.
+     */
+    public static <TYPE> NullHandling<TYPE> skip() {
+        return new NullHandling<>(true, null);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The type of the handled elements, keys or values
+     * @param sentinel
+     *            The value to use instead of <code>null</code>.
+     * @return A handling that replaces <code>null</code>s with the given sentinel.
+     */
+    public static <TYPE> NullHandling<TYPE> replaceWith(@NonNull final TYPE sentinel) {
+        return new NullHandling<>(false, sentinel);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The type of the handled elements, keys or values
+     * @return A handling that fails on <code>null</code>s according to the global {@link FailurePolicy}.
+     */
+    public static <TYPE> NullHandling<TYPE> fail() {
+        return new NullHandling<>(false, null);
+    }
+
+    /**
+     * @param value
+     *            The value to handle.
+     * @param message
+     *            The exception message in case <code>null</code>s are rejected.
+     * @return The given value, the sentinel or <code>null</code> in case the value should be skipped.
+     */
+    @Nullable
+    TYPE handle(@Nullable final TYPE value, final String message) {
+        if (value != null) {
+            return value;
+        }
+        if (skip) {
+            return null;
+        }
+        return Nullsafe.nonNull(sentinel, message);
+    }
+
+}
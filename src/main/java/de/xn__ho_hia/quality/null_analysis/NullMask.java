@@ -0,0 +1,117 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A compressed bitmap that marks the <code>null</code> entries of a {@link NullableLongColumn}. Like the containers of
+ * roaring bitmaps, it keeps one of three representations: the sorted positions of all <code>null</code> entries in
+ * case they are sparse, the sorted positions of all other entries in case <code>null</code>s are dense, and one bit
+ * per entry otherwise. Positions are only kept in case they take at most half the memory of the bitmap, since reading
+ * a word from them needs a binary search.
+ */
+final class NullMask {
+
+    private final int nullCount;
+    private final long @Nullable [] words;
+    private final int[] positions;
+    private final boolean inverted;
+
+    private NullMask(final int nullCount, final long @Nullable [] words, final int[] positions,
+            final boolean inverted) {
+        this.nullCount = nullCount;
+        this.words = words;
+        this.positions = positions;
+        this.inverted = inverted;
+    }
+
+    /**
+     * @param words
+     *            One bit per entry, set for <code>null</code> entries. Bits of entries beyond the size must be clear.
+     * @param size
+     *            The number of entries
+     * @return A mask of the given bits in its smallest representation
+     */
+    static NullMask of(final long[] words, final int size) {
+        int nullCount = 0;
+        for (final long word : words) {
+            nullCount += Long.bitCount(word);
+        }
+        if (nullCount <= words.length) {
+            return new NullMask(nullCount, null, positions(words, size, false, nullCount), false);
+        }
+        if (size - nullCount <= words.length) {
+            return new NullMask(nullCount, null, positions(words, size, true, size - nullCount), true);
+        }
+        return new NullMask(nullCount, words, new int[0], false);
+    }
+
+    private static int[] positions(final long[] words, final int size, final boolean inverted, final int count) {
+        final int[] positions = new int[count];
+        int next = 0;
+        for (int word = 0; word != words.length; word++) {
+            for (long bits = inverted ? ~words[word] : words[word]; bits != 0; bits &= bits - 1) {
+                final int position = word << 6 | Long.numberOfTrailingZeros(bits);
+                if (position < size) {
+                    positions[next++] = position;
+                }
+            }
+        }
+        return positions;
+    }
+
+    int nullCount() {
+        return nullCount;
+    }
+
+    /**
+     * @param index
+     *            The index of the word, covering the entries from <code>64 * index</code> on
+     * @return The bits of 64 entries, set for <code>null</code> entries. Bits of entries beyond the size are undefined.
+     */
+    long word(final int index) {
+        final long[] bitmap = words;
+        if (bitmap != null) {
+            return bitmap[index];
+        }
+        long word = 0;
+        for (int next = first(index << 6); next != positions.length && positions[next] >>> 6 == index; next++) {
+            word |= 1L << positions[next];
+        }
+        return inverted ? ~word : word;
+    }
+
+    /** @return The index of the first position that is not smaller than the given entry */
+    private int first(final int entry) {
+        final int found = Arrays.binarySearch(positions, entry);
+        return found < 0 ? -found - 1 : found;
+    }
+
+    boolean isNull(final int entry) {
+        return (word(entry >>> 6) & 1L << entry) != 0;
+    }
+
+    /** @return The index of the first <code>null</code> entry, only to be called in case there is one. */
+    int firstNull() {
+        for (int index = 0;; index++) {
+            final long word = word(index);
+            if (word != 0) {
+                return index << 6 | Long.numberOfTrailingZeros(word);
+            }
+        }
+    }
+
+    /** @return The number of bytes held by the bitmap or positions, excluding object headers */
+    long sizeInBytes() {
+        final long[] bitmap = words;
+        return bitmap != null ? (long) Long.BYTES * bitmap.length : (long) Integer.BYTES * positions.length;
+    }
+
+}
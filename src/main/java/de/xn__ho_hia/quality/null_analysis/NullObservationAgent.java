@@ -0,0 +1,130 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A Java agent that records which methods of selected packages return <code>null</code> under real traffic, see
+ * {@link NullObservations}. The findings are written periodically and once the JVM shuts down, both as Eclipse
+ * external annotations that mark the observed returns as nullable and as a report of the methods whose results should
+ * be guarded with {@link Nullsafe}. Start the JVM with:
+ *
+ * <pre>
+ * java -javaagent:null-analysis.jar=packages=com.example.legacy:org.example,output=null-observations,interval=60 ...
+ * </pre>
+ *
+ * Only <code>packages</code> is required, its subpackages are instrumented as well. The findings are written into the
+ * <code>output</code> directory every <code>interval</code> seconds, or only at shutdown for an interval of
+ * <code>0</code>. <code>samplingRate=n</code> records one out of every <code>n</code> returns to lower the overhead.
+ */
+public final class NullObservationAgent {
+
+    static final String USAGE = "Usage: -javaagent:null-analysis.jar=packages=name[:name...][,output=directory]" //$NON-NLS-1$
+            + "[,interval=seconds][,samplingRate=n]"; //$NON-NLS-1$
+
+    static final String THREAD_NAME = "null-observations"; //$NON-NLS-1$
+
+    private static final String PACKAGES = "packages"; //$NON-NLS-1$
+    private static final String OUTPUT = "output"; //$NON-NLS-1$
+    private static final String INTERVAL = "interval"; //$NON-NLS-1$
+    private static final String SAMPLING_RATE = "samplingRate"; //$NON-NLS-1$
+    private static final List<String> OPTIONS = Arrays.asList(PACKAGES, OUTPUT, INTERVAL, SAMPLING_RATE);
+
+    private NullObservationAgent() {
+        // utility class
+    }
+
+    /**
+     * Instruments all classes of the configured packages that are loaded afterwards.
+     *
+     * @param arguments
+     *            The options of the agent: <code>packages=name[:name...][,output=directory][,interval=seconds]
+     *            [,samplingRate=n]</code>
+     * @param instrumentation
+     *            The instrumentation to add the transformer to
+     * @throws IllegalArgumentException
+     *             In case the options are invalid
+     */
+    public static void premain(@Nullable final String arguments, final Instrumentation instrumentation) {
+        premain(arguments, instrumentation, Runtime.getRuntime()::addShutdownHook);
+    }
+
+    /**
+     * @param shutdownHooks
+     *            Registers the thread that writes all findings once the JVM shuts down
+     */
+    static void premain(@Nullable final String arguments, final Instrumentation instrumentation,
+            final Consumer<Thread> shutdownHooks) {
+        shutdownHooks.accept(new Thread(install(arguments, instrumentation), THREAD_NAME));
+    }
+
+    /** @return The task that writes all findings */
+    static Runnable install(@Nullable final String arguments, final Instrumentation instrumentation) {
+        final Map<String, String> options = options(arguments);
+        final String packages = options.get(PACKAGES);
+        if (packages == null) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        final Path output = Nullsafe.nonNull(Paths.get(options.getOrDefault(OUTPUT, THREAD_NAME)));
+        final long interval = Long.parseLong(options.getOrDefault(INTERVAL, "60")); //$NON-NLS-1$
+        final String samplingRate = options.get(SAMPLING_RATE);
+        if (samplingRate != null) {
+            NullObservations.INSTANCE.setSamplingRate(Integer.parseInt(samplingRate));
+        }
+        instrumentation.addTransformer(new NullReturnInstrumenter(Arrays.asList(packages.split(":")))); //$NON-NLS-1$
+        final Runnable flush = () -> flush(NullObservations.INSTANCE, output);
+        if (interval != 0) {
+            Executors.newSingleThreadScheduledExecutor(NullObservationAgent::daemon).scheduleWithFixedDelay(flush,
+                    interval, interval, TimeUnit.SECONDS);
+        }
+        return flush;
+    }
+
+    static Map<String, String> options(@Nullable final String arguments) {
+        final Map<String, String> options = new HashMap<>();
+        if (arguments != null) {
+            for (final String option : arguments.split(",")) { //$NON-NLS-1$
+                final int separator = option.indexOf('=');
+                if (separator == -1 || !OPTIONS.contains(option.substring(0, separator))) {
+                    throw new IllegalArgumentException(USAGE);
+                }
+                options.put(option.substring(0, separator), option.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    static void flush(final NullObservations observations, final Path output) {
+        try {
+            observations.write(output);
+        } catch (final IOException | UncheckedIOException exception) {
+            // keep recording, the next flush might succeed
+            System.err.println("Cannot write null observations to " + output + ": " + exception); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private static Thread daemon(final Runnable task) {
+        final Thread thread = new Thread(task, THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+}
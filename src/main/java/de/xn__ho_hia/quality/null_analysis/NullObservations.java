@@ -0,0 +1,249 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Records the values returned by methods that the {@link NullObservationAgent} instrumented, in order to find the
+ * legacy methods that really return <code>null</code> under production traffic. Each method is registered once while
+ * its class is loaded and counts its returns and <code>null</code> returns in striped {@link LongAdder}s, therefore
+ * concurrent callers do not contend and recording does not allocate once each adder created its cells. Sampling
+ * records one out of every <code>n</code> returns on average to trade accuracy for overhead, and can be changed at
+ * runtime with {@link #setSamplingRate(int)} or at startup with <code>-D{@value #SYSTEM_PROPERTY}=10</code>. Skipped
+ * returns only cost a read of the plain sampling rate and a draw of the {@link ThreadLocalRandom} of the current thread,
+ * neither of which is shared with other threads. Since the rate is not volatile, a changed rate may reach a running
+ * loop of another thread only once that loop exits. At most {@value #CAPACITY} methods are registered, further methods
+ * are not instrumented.
+ */
+public final class NullObservations {
+
+    /**
+     * The system property used to configure sampling at startup, e.g.
+     * <code>-Dde.xn__ho_hia.quality.null_analysis.NullObservations.samplingRate=10</code>.
+     */
+    public static final String SYSTEM_PROPERTY = "de.xn__ho_hia.quality.null_analysis.NullObservations.samplingRate"; //$NON-NLS-1$
+
+    /** The maximum number of registered methods. */
+    public static final int CAPACITY = 65536;
+
+    /** The name of the report written next to the external annotations. */
+    public static final String REPORT = "null-observations.txt"; //$NON-NLS-1$
+
+    /** The observations of all instrumented methods. */
+    static final NullObservations INSTANCE = new NullObservations(CAPACITY);
+
+    int samplingRate;
+    private final AtomicReferenceArray<@Nullable ObservedMethod> methods;
+    /** Written after each registered method, so that readers up to this size never see an empty slot. */
+    private volatile int size;
+
+    NullObservations(final int capacity) {
+        samplingRate = Integer.getInteger(SYSTEM_PROPERTY, 1).intValue();
+        methods = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return The observations of all instrumented methods.
+     */
+    public static NullObservations instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Called by instrumented methods right before they return.
+     *
+     * @param value
+     *            The value returned by an instrumented method
+     * @param method
+     *            The number the method was registered with while its class was instrumented
+     * @return The given value
+     */
+    public static @Nullable Object returned(@Nullable final Object value, final int method) {
+        INSTANCE.record(value == null, method);
+        return value;
+    }
+
+    /**
+     * @return The average number of returns per sample or 0 in case recording is disabled.
+     */
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * @param samplingRate
+     *            The average number of returns per sample, e.g. 1 to record every return. Values below 1 disable
+     *            recording.
+     */
+    public void setSamplingRate(final int samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * @param className
+     *            The internal name of the class that declares the method
+     * @param name
+     *            The name of the method
+     * @param signature
+     *            The generic signature of the method, or its descriptor in case it has none
+     * @param descriptor
+     *            The descriptor of the method
+     * @return The number of the method or <code>-1</code> in case the capacity is exhausted
+     */
+    synchronized int register(final String className, final String name, final String signature,
+            final String descriptor) {
+        final int method = size;
+        if (method == methods.length()) {
+            return -1;
+        }
+        methods.set(method, new ObservedMethod(className, name, signature, descriptor));
+        size = method + 1;
+        return method;
+    }
+
+    /**
+     * Unregisters all methods, which is only safe while no instrumented method is called. Their slots are overwritten
+     * by later registrations.
+     */
+    synchronized void clear() {
+        size = 0;
+    }
+
+    void record(final boolean isNull, final int method) {
+        final int rate = samplingRate;
+        // scales a random int into [0, rate) without a division, thus a rate of 1 samples every return
+        if (rate > 0 && (Integer.toUnsignedLong(ThreadLocalRandom.current().nextInt()) * rate >>> Integer.SIZE) == 0) {
+            sample(isNull, method);
+        }
+    }
+
+    private void sample(final boolean isNull, final int method) {
+        final ObservedMethod observed = methods.get(method);
+        if (observed != null) {
+            observed.returns.increment();
+            if (isNull) {
+                observed.nulls.increment();
+            }
+        }
+    }
+
+    private List<ObservedMethod> nullReturning() {
+        final List<ObservedMethod> observed = new ArrayList<>();
+        for (int method = 0; method != size; method++) {
+            final ObservedMethod candidate = Nullsafe.nonNull(methods.get(method));
+            if (candidate.nulls.sum() != 0) {
+                observed.add(candidate);
+            }
+        }
+        return observed;
+    }
+
+    /**
+     * Creates a report of all methods that were observed returning <code>null</code>, ordered by their number of
+     * <code>null</code> returns with the most frequent method first. Each line lists the number of sampled
+     * <code>null</code> returns, the number of all sampled returns, and the method with its declaring class and
+     * descriptor. These are the methods whose results should be guarded with {@link Nullsafe}.
+     *
+     * @return The report, which is empty in case no method returned <code>null</code>.
+     */
+    public String report() {
+        final List<ObservedMethod> observed = nullReturning();
+        observed.sort((first, second) -> {
+            final int nulls = Long.compare(second.nulls.sum(), first.nulls.sum());
+            return nulls != 0 ? nulls : first.toString().compareTo(second.toString());
+        });
+        final StringBuilder report = new StringBuilder();
+        for (final ObservedMethod method : observed) {
+            report.append(method.nulls.sum()).append('\t').append(method.returns.sum()).append('\t').append(method)
+                    .append('\n');
+        }
+        return Nullsafe.nonNull(report.toString());
+    }
+
+    /**
+     * @return The external annotations of all classes with methods that were observed returning <code>null</code>,
+     *         keyed by the name of their <code>.eea</code> file
+     */
+    public Map<String, String> annotations() {
+        final Map<String, Set<String>> members = new TreeMap<>();
+        for (final ObservedMethod method : nullReturning()) {
+            final char[] nullness = new char[BytecodeNullness.starts(method.descriptor).length];
+            nullness[nullness.length - 1] = BytecodeNullness.NULLABLE;
+            members.computeIfAbsent(method.className + ".eea", file -> new TreeSet<>()) //$NON-NLS-1$
+                    .add(BytecodeNullness.member(method.name, method.signature, method.descriptor,
+                            new String(nullness)));
+        }
+        final Map<String, String> annotations = new TreeMap<>();
+        members.forEach((file, annotated) -> annotations.put(file,
+                BytecodeNullness.render(file.substring(0, file.length() - 4), annotated)));
+        return annotations;
+    }
+
+    /**
+     * Writes the {@link #annotations()} and the {@link #report()} named {@value #REPORT} into the given directory.
+     *
+     * @param directory
+     *            The directory to write into, which is created in case it does not exist
+     * @throws IOException
+     *             In case a file cannot be written
+     */
+    public void write(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ExternalAnnotationGenerator.write(annotations(), directory);
+        Files.write(directory.resolve(REPORT), report().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Removes all recorded returns, but keeps the registered methods.
+     */
+    public void reset() {
+        for (int method = 0; method != size; method++) {
+            final ObservedMethod observed = Nullsafe.nonNull(methods.get(method));
+            observed.returns.reset();
+            observed.nulls.reset();
+        }
+    }
+
+    static final class ObservedMethod {
+
+        final String className;
+        final String name;
+        final String signature;
+        final String descriptor;
+        final LongAdder returns = new LongAdder();
+        final LongAdder nulls = new LongAdder();
+
+        ObservedMethod(final String className, final String name, final String signature, final String descriptor) {
+            this.className = className;
+            this.name = name;
+            this.signature = signature;
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public String toString() {
+            return className.replace('/', '.') + '.' + name + descriptor;
+        }
+
+    }
+
+}
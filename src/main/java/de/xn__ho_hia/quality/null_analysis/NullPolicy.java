@@ -0,0 +1,30 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+/**
+ * Decides how bulk operations treat <code>null</code> elements of their input.
+ */
+public enum NullPolicy {
+
+    /**
+     * Ignores <code>null</code> elements as if they were not part of the input.
+     */
+    SKIP,
+
+    /**
+     * Treats <code>null</code> elements as zero.
+     */
+    TREAT_AS_ZERO,
+
+    /**
+     * Rejects the input with an {@link IllegalArgumentException} that names the index of the first <code>null</code>
+     * element.
+     */
+    FAIL
+
+}
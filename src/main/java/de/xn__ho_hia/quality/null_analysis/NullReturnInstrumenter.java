@@ -0,0 +1,403 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.instrument.ClassFileTransformer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.ProtectionDomain;
+import java.util.Collection;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Instruments the methods that return objects in the classes of selected packages, so that each returned value passes
+ * through {@link NullObservations#returned(Object, int)}. Each method is registered with
+ * {@link NullObservations#instance()}, the only registry that the generated calls record into. Class files are
+ * rewritten without a bytecode library: the body of each method moves into a new private synthetic method named
+ * <code>name$observed</code>, and the original method calls it and passes its result to the recorder. The original
+ * method keeps its annotations, signature and exceptions, and its new body contains no branches, therefore neither
+ * stack map frames nor jump offsets change. Interfaces, constructors, abstract, native, synthetic and bridge methods
+ * are skipped, as are the classes of this library and classes that are redefined, since redefinitions must not add
+ * methods.
+ */
+final class NullReturnInstrumenter implements ClassFileTransformer {
+
+    /** Appended to the names of the methods that keep the original bodies. */
+    static final String SUFFIX = "$observed"; //$NON-NLS-1$
+
+    private static final String OWN_PACKAGE = "de/xn__ho_hia/quality/null_analysis/"; //$NON-NLS-1$
+    private static final String RECORDER = OWN_PACKAGE + "NullObservations"; //$NON-NLS-1$
+    private static final String RETURNED = "returned"; //$NON-NLS-1$
+    private static final String RETURNED_DESCRIPTOR = "(Ljava/lang/Object;I)Ljava/lang/Object;"; //$NON-NLS-1$
+
+    private static final int INTEGER = 3;
+    private static final int CLASS = 7;
+    private static final int METHODREF = 10;
+    private static final int NAME_AND_TYPE = 12;
+
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_STRICT = 0x0800;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private static final int ACC_SKIPPED = 0x0040 | 0x0100 | 0x0400 | ACC_SYNTHETIC; // bridge, native and abstract
+
+    private static final int ILOAD = 0x15;
+    private static final int ALOAD = 0x19;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int LDC_W = 0x13;
+    private static final int ARETURN = 0xB0;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int CHECKCAST = 0xC0;
+
+    /** The offset of the load instruction of each primitive type from {@link #ILOAD}. */
+    private static final String LOADS = "IJFD"; //$NON-NLS-1$
+
+    private final String[] packages;
+
+    /**
+     * @param packages
+     *            The names of the packages to instrument, including their subpackages
+     */
+    NullReturnInstrumenter(final Collection<String> packages) {
+        this.packages = packages.stream().map(name -> name.replace('.', '/') + '/').toArray(String[]::new);
+    }
+
+    @Override
+    public byte @Nullable [] transform(@Nullable final ClassLoader loader, @Nullable final String className,
+            @Nullable final Class<?> classBeingRedefined, @Nullable final ProtectionDomain protectionDomain,
+            final byte[] classFile) {
+        if (className == null || classBeingRedefined != null || !included(className)) {
+            return null;
+        }
+        try {
+            return instrument(classFile);
+        } catch (final IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException exception) {
+            return null; // leave malformed classes to the verifier
+        }
+    }
+
+    private boolean included(final String className) {
+        if (className.startsWith(OWN_PACKAGE)) {
+            return false;
+        }
+        for (final String name : packages) {
+            if (className.startsWith(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param classFile
+     *            The content of a class file
+     * @return The instrumented class file or <code>null</code> in case no method was instrumented
+     * @throws IllegalArgumentException
+     *             In case the class file contains malformed constants
+     */
+    static byte @Nullable [] instrument(final byte[] classFile) {
+        return new Rewriter(ByteBuffer.wrap(classFile)).rewrite();
+    }
+
+    /** The state of a single class file while it is rewritten. */
+    private static final class Rewriter {
+
+        private final ByteBuffer buffer;
+        private final int[] offsets;
+        private final ByteArrayOutputStream constants = new ByteArrayOutputStream();
+        private int constantCount;
+        private int thisClass;
+        private int recorder;
+
+        Rewriter(final ByteBuffer buffer) {
+            this.buffer = buffer;
+            offsets = new int[u2(8)];
+            constantCount = offsets.length;
+        }
+
+        byte @Nullable [] rewrite() {
+            final int poolEnd = constantPool();
+            if ((u2(poolEnd) & ACC_INTERFACE) != 0) {
+                return null;
+            }
+            thisClass = u2(poolEnd + 2);
+            final String className = utf8(u2(offsets[thisClass]));
+            final int methodCount = fields(poolEnd + 8 + 2 * u2(poolEnd + 6));
+            final ByteArrayOutputStream methods = new ByteArrayOutputStream(buffer.capacity());
+            final ByteArrayOutputStream moved = new ByteArrayOutputStream();
+            int instrumented = 0;
+            int position = methodCount + 2;
+            for (int method = u2(methodCount); method != 0; method--) {
+                final int end = attributes(position + 6);
+                if (instrument(position, end, className, methods, moved)) {
+                    instrumented++;
+                } else {
+                    copy(methods, position, end);
+                }
+                position = end;
+            }
+            if (instrumented == 0 || constantCount > 0xFFFF) {
+                return null;
+            }
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(buffer.capacity());
+            copy(output, 0, 8);
+            u2(output, constantCount);
+            copy(output, 10, poolEnd);
+            append(output, constants);
+            copy(output, poolEnd, methodCount);
+            u2(output, u2(methodCount) + instrumented);
+            append(output, methods);
+            append(output, moved);
+            copy(output, position, buffer.capacity());
+            return output.toByteArray();
+        }
+
+        private int constantPool() {
+            int position = 10;
+            for (int index = 1; index != offsets.length; index++) {
+                final int tag = u1(position);
+                offsets[index] = position + 1;
+                position += 1 + (tag == NonNullFieldScanner.UTF8 ? 2 + u2(position + 1)
+                        : NonNullFieldScanner.CONSTANT_SIZES[tag]);
+                if (tag == NonNullFieldScanner.LONG || tag == NonNullFieldScanner.DOUBLE) {
+                    index++; // takes up two entries
+                }
+            }
+            return position;
+        }
+
+        /** Skips all fields starting at the given position and returns the position of the method count. */
+        private int fields(final int start) {
+            int position = start + 2;
+            for (int field = u2(start); field != 0; field--) {
+                position = attributes(position + 6);
+            }
+            return position;
+        }
+
+        /** Skips the attributes whose count is at the given position and returns the position after them. */
+        private int attributes(final int start) {
+            int position = start + 2;
+            for (int attribute = u2(start); attribute != 0; attribute--) {
+                position += 6 + buffer.getInt(position + 2);
+            }
+            return position;
+        }
+
+        private boolean instrument(final int start, final int end, final String className,
+                final ByteArrayOutputStream methods, final ByteArrayOutputStream moved) {
+            final int access = u2(start);
+            final int name = u2(start + 2);
+            final int descriptor = u2(start + 4);
+            int code = 0;
+            int signature = descriptor;
+            for (int attribute = start + 8; attribute != end; attribute += 6 + buffer.getInt(attribute + 2)) {
+                if (is(u2(attribute), "Code")) { //$NON-NLS-1$
+                    code = attribute;
+                } else if (is(u2(attribute), "Signature")) { //$NON-NLS-1$
+                    signature = u2(attribute + 6);
+                }
+            }
+            final int returnType = returnType(descriptor);
+            if ((access & ACC_SKIPPED) != 0 || code == 0
+                    || !BytecodeNullness.isReference((char) u1(returnType))) {
+                return false;
+            }
+            final int method = NullObservations.INSTANCE.register(className, utf8(name), utf8(signature), utf8(descriptor));
+            if (method == -1) {
+                return false;
+            }
+            final int codeEnd = code + 6 + buffer.getInt(code + 2);
+            final boolean isStatic = (access & ACC_STATIC) != 0;
+            final int movedName = movedName(name);
+            final int body = constant(METHODREF, thisClass, constant(NAME_AND_TYPE, movedName, descriptor));
+            copy(methods, start, code);
+            wrapper(methods, u2(code), isStatic, descriptor, body, method, returnType);
+            copy(methods, codeEnd, end);
+            u2(moved, access & (ACC_STATIC | ACC_STRICT) | ACC_PRIVATE | ACC_SYNTHETIC);
+            u2(moved, movedName);
+            u2(moved, descriptor);
+            u2(moved, 1);
+            copy(moved, code, codeEnd);
+            return true;
+        }
+
+        /** @return The position of the first byte of the return type of the given descriptor */
+        private int returnType(final int descriptor) {
+            int position = bytes(descriptor);
+            while (u1(position) != ')') {
+                position++;
+            }
+            return position + 1;
+        }
+
+        /** Writes a <code>Code</code> attribute that calls the original body and records its result. */
+        private void wrapper(final ByteArrayOutputStream methods, final int codeName, final boolean isStatic,
+                final int descriptor, final int body, final int method, final int returnType) {
+            final ByteArrayOutputStream code = new ByteArrayOutputStream();
+            int slot = 0;
+            if (!isStatic) {
+                code.write(ALOAD_0);
+                slot++;
+            }
+            for (int position = bytes(descriptor) + 1; position != returnType - 1; position++) {
+                final int type = u1(position);
+                // booleans, bytes, characters and shorts are loaded as integers
+                code.write(type == 'L' || type == '[' ? ALOAD : ILOAD + Math.max(LOADS.indexOf(type), 0));
+                code.write(slot);
+                slot += type == 'J' || type == 'D' ? 2 : 1;
+                while (u1(position) == '[') {
+                    position++;
+                }
+                if (u1(position) == 'L') {
+                    while (u1(position) != ';') {
+                        position++;
+                    }
+                }
+            }
+            code.write(isStatic ? INVOKESTATIC : INVOKESPECIAL);
+            u2(code, body);
+            code.write(LDC_W);
+            u2(code, constant(INTEGER, 0, method)); // below NullObservations.CAPACITY
+            code.write(INVOKESTATIC);
+            u2(code, recorder());
+            code.write(CHECKCAST);
+            u2(code, returnClass(returnType, bytes(descriptor) + u2(offsets[descriptor])));
+            code.write(ARETURN);
+            u2(methods, codeName);
+            u4(methods, 12 + code.size());
+            u2(methods, Math.max(slot, 2));
+            u2(methods, slot);
+            u4(methods, code.size());
+            append(methods, code);
+            u2(methods, 0); // exception table
+            u2(methods, 0); // attributes
+        }
+
+        /** @return The name of the method that keeps the original body of the method with the given name */
+        private int movedName(final int name) {
+            final byte[] suffix = SUFFIX.getBytes(StandardCharsets.US_ASCII);
+            final int length = u2(offsets[name]);
+            constants.write(NonNullFieldScanner.UTF8);
+            u2(constants, length + suffix.length);
+            copy(constants, bytes(name), bytes(name) + length);
+            constants.write(suffix, 0, suffix.length);
+            return constantCount++;
+        }
+
+        /** @return The reference to {@link NullObservations#returned(Object, int)}, added once per class */
+        private int recorder() {
+            if (recorder == 0) {
+                final int type = constant(CLASS, ascii(RECORDER));
+                recorder = constant(METHODREF, type,
+                        constant(NAME_AND_TYPE, ascii(RETURNED), ascii(RETURNED_DESCRIPTOR)));
+            }
+            return recorder;
+        }
+
+        /**
+         * @return The class of the return type between the given positions, the descriptor for arrays, e.g.
+         *         <code>[I</code>, and the name without <code>L</code> and <code>;</code> for all other types
+         */
+        private int returnClass(final int start, final int end) {
+            final boolean isArray = u1(start) == '[';
+            final int from = isArray ? start : start + 1;
+            final int to = isArray ? end : end - 1;
+            constants.write(NonNullFieldScanner.UTF8);
+            u2(constants, to - from);
+            copy(constants, from, to);
+            return constant(CLASS, constantCount++);
+        }
+
+        private int ascii(final String ascii) {
+            constants.write(NonNullFieldScanner.UTF8);
+            u2(constants, ascii.length());
+            final byte[] bytes = ascii.getBytes(StandardCharsets.US_ASCII);
+            constants.write(bytes, 0, bytes.length);
+            return constantCount++;
+        }
+
+        private int constant(final int tag, final int first) {
+            constants.write(tag);
+            u2(constants, first);
+            return constantCount++;
+        }
+
+        private int constant(final int tag, final int first, final int second) {
+            constants.write(tag);
+            u2(constants, first);
+            u2(constants, second);
+            return constantCount++;
+        }
+
+        private boolean is(final int index, final String ascii) {
+            if (u2(offsets[index]) != ascii.length()) {
+                return false;
+            }
+            for (int character = 0; character != ascii.length(); character++) {
+                if (u1(bytes(index) + character) != ascii.charAt(character)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** @return The position of the first byte of the given <code>Utf8</code> constant */
+        private int bytes(final int index) {
+            return offsets[index] + 2;
+        }
+
+        private String utf8(final int index) {
+            final byte[] bytes = new byte[2 + u2(offsets[index])];
+            buffer.position(offsets[index]);
+            buffer.get(bytes);
+            try {
+                return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+            } catch (final IOException exception) {
+                throw new IllegalArgumentException("Malformed constant " + index, exception); //$NON-NLS-1$
+            }
+        }
+
+        private void copy(final ByteArrayOutputStream output, final int from, final int to) {
+            output.write(buffer.array(), from, to - from);
+        }
+
+        private static void append(final ByteArrayOutputStream output, final ByteArrayOutputStream content) {
+            final byte[] bytes = content.toByteArray();
+            output.write(bytes, 0, bytes.length);
+        }
+
+        private int u1(final int position) {
+            return buffer.get(position) & 0xFF;
+        }
+
+        private int u2(final int position) {
+            return buffer.getShort(position) & 0xFFFF;
+        }
+
+        private static void u2(final ByteArrayOutputStream output, final int value) {
+            output.write(value >>> 8);
+            output.write(value);
+        }
+
+        /** Writes a length that stays below 64 KiB like all code in a class file. */
+        private static void u4(final ByteArrayOutputStream output, final int value) {
+            u2(output, 0);
+            u2(output, value);
+        }
+
+    }
+
+}
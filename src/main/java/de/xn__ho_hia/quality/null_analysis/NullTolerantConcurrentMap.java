@@ -0,0 +1,241 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * {@link ConcurrentMap} that accepts <code>null</code> keys and values, e.g. to replace a
+ * {@link java.util.Collections#synchronizedMap(Map) synchronized map} or {@link java.util.Hashtable} in legacy code
+ * that stores <code>null</code>. Every <code>null</code> is encoded as a private sentinel inside a
+ * {@link ConcurrentHashMap}, therefore reads do not lock and writes only lock the bin of their key.
+ * <p>
+ * Like a {@link java.util.HashMap}, {@link #get(Object)} returns <code>null</code> for both missing keys and keys
+ * mapped to <code>null</code>, use {@link #containsKey(Object)} to tell them apart. {@link #putIfAbsent(Object, Object)}
+ * and the inherited <code>compute</code> and <code>merge</code> methods treat a key mapped to <code>null</code> as
+ * absent, same as {@link Map}. Iterators are weakly consistent and never throw a
+ * {@link java.util.ConcurrentModificationException}.
+ *
+ * @param <KEY>
+ *            The key type
+ * @param <VALUE>
+ *            The value type
+ */
+public final class NullTolerantConcurrentMap<KEY, VALUE> extends AbstractMap<KEY, VALUE>
+        implements ConcurrentMap<KEY, VALUE> {
+
+    private static final @NonNull Object NULL = new Object();
+
+    final ConcurrentHashMap<Object, Object> map;
+
+    /**
+     * Creates an empty map with the default initial capacity of {@link ConcurrentHashMap}.
+     */
+    public NullTolerantConcurrentMap() {
+        map = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates an empty map that holds the given number of entries without resizing.
+     *
+     * @param initialCapacity
+     *            The expected number of entries
+     */
+    public NullTolerantConcurrentMap(final int initialCapacity) {
+        map = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    static @NonNull Object encode(@Nullable final Object object) {
+        return object == null ? NULL : object;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <TYPE> TYPE decode(@Nullable final Object object) {
+        return (TYPE) (object == NULL ? null : object);
+    }
+
+    /**
+     * @return A read-only view of this map that hides all entries with a <code>null</code> key or a <code>null</code>
+     *         value, see {@link Nullsafe#nonNullView(Map)}.
+     */
+    public @NonNull Map<KEY, VALUE> nonNullView() {
+        return Nullsafe.nonNullView(this);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+        return map.containsKey(encode(key));
+    }
+
+    @Override
+    public boolean containsValue(@Nullable final Object value) {
+        return map.containsValue(encode(value));
+    }
+
+    @Override
+    public VALUE get(@Nullable final Object key) {
+        return decode(map.get(encode(key)));
+    }
+
+    @Override
+    public VALUE getOrDefault(@Nullable final Object key, final VALUE defaultValue) {
+        final Object value = map.get(encode(key));
+        return value == null ? defaultValue : decode(value);
+    }
+
+    @Override
+    public VALUE put(final KEY key, final VALUE value) {
+        return decode(map.put(encode(key), encode(value)));
+    }
+
+    @Override
+    public VALUE remove(@Nullable final Object key) {
+        return decode(map.remove(encode(key)));
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public VALUE putIfAbsent(final KEY key, final VALUE value) {
+        final Object encodedKey = encode(key);
+        final Object encodedValue = encode(value);
+        while (true) {
+            final Object previous = map.putIfAbsent(encodedKey, encodedValue);
+            if (previous != NULL) {
+                return decode(previous);
+            }
+            // mapped to null counts as absent, retry in case another thread changed the mapping in between
+            if (map.replace(encodedKey, NULL, encodedValue)) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(@Nullable final Object key, @Nullable final Object value) {
+        return map.remove(encode(key), encode(value));
+    }
+
+    @Override
+    public boolean replace(final KEY key, final VALUE oldValue, final VALUE newValue) {
+        return map.replace(encode(key), encode(oldValue), encode(newValue));
+    }
+
+    @Override
+    public VALUE replace(final KEY key, final VALUE value) {
+        return decode(map.replace(encode(key), encode(value)));
+    }
+
+    @Override
+    public Set<Entry<KEY, VALUE>> entrySet() {
+        return new AbstractSet<Entry<KEY, VALUE>>() {
+
+            @Override
+            public Iterator<Entry<KEY, VALUE>> iterator() {
+                final Iterator<Entry<Object, Object>> entries = map.entrySet().iterator();
+                return new Iterator<Entry<KEY, VALUE>>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<KEY, VALUE> next() {
+                        final Entry<Object, Object> entry = entries.next();
+                        return new WriteThroughEntry(decode(entry.getKey()), decode(entry.getValue()));
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+        };
+    }
+
+    final class WriteThroughEntry implements Entry<KEY, VALUE> {
+
+        private final KEY key;
+        private VALUE value;
+
+        WriteThroughEntry(final KEY key, final VALUE value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public KEY getKey() {
+            return key;
+        }
+
+        @Override
+        public VALUE getValue() {
+            return value;
+        }
+
+        @Override
+        public VALUE setValue(final VALUE newValue) {
+            put(key, newValue);
+            final VALUE previous = value;
+            value = newValue;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object object) {
+            if (object instanceof Entry) {
+                final Entry<?, ?> entry = (Entry<?, ?>) object;
+                return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value; //$NON-NLS-1$
+        }
+
+    }
+
+}
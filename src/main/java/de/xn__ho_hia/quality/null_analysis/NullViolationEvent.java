@@ -0,0 +1,35 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a failed strict <code>null</code> check.
+ */
+@Name(NullViolationEvent.NAME)
+@Label("Null Violation")
+@Category("Null Analysis")
+@Description("A strict null check failed")
+@StackTrace(true)
+@SuppressWarnings("nls")
+final class NullViolationEvent extends jdk.jfr.Event {
+
+    /** The name of this event type. */
+    static final String NAME = "de.xn__ho_hia.quality.null_analysis.NullViolation";
+
+    @Label("Method")
+    String method;
+
+    @Label("Message")
+    String message;
+
+}
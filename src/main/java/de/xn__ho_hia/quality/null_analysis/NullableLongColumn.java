@@ -0,0 +1,255 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * An immutable column of nullable <code>long</code> values that stores them without boxing. Values are kept in a
+ * primitive array with zero in place of <code>null</code>, and a compressed bitmap marks the <code>null</code> entries.
+ * Aggregations read one bitmap word per 64 entries and blend <code>null</code> entries out without branching. Large
+ * columns are split into chunks of <code>CHUNK_SIZE</code> entries that can be aggregated in parallel, with results
+ * that are independent of the number of threads.
+ */
+public final class NullableLongColumn {
+
+    /** Columns holding more than this many entries are aggregated in several chunks. */
+    static final int CHUNK_SIZE = 4096;
+
+    private final long[] values;
+    private final NullMask mask;
+
+    NullableLongColumn(final long[] values, final NullMask mask) {
+        this.values = values;
+        this.mask = mask;
+    }
+
+    /**
+     * Copies a list through {@link Nullsafe#safelyStream(java.util.Collection)}. The list must not change while it is
+     * copied.
+     *
+     * @param values
+     *            The values to copy or <code>null</code>
+     * @return A column of the given values, empty for a <code>null</code> list
+     */
+    public static @NonNull NullableLongColumn of(@Nullable final List<Long> values) {
+        final Builder builder = new Builder(values == null ? 0 : values.size());
+        Nullsafe.safelyStream(values).forEachOrdered(builder);
+        return builder.build();
+    }
+
+    /**
+     * Copies an array through {@link Nullsafe#safelyStream(Object[])}.
+     *
+     * @param values
+     *            The values to copy or <code>null</code>
+     * @return A column of the given values, empty for a <code>null</code> array
+     */
+    public static @NonNull NullableLongColumn of(final Long @Nullable [] values) {
+        final Builder builder = new Builder(values == null ? 0 : values.length);
+        Nullsafe.safelyStream(values).forEachOrdered(builder);
+        return builder.build();
+    }
+
+    /**
+     * @return The number of entries, including <code>null</code> entries
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return The number of <code>null</code> entries
+     */
+    public int nullCount() {
+        return mask.nullCount();
+    }
+
+    /**
+     * @param index
+     *            The index of the entry
+     * @return <code>true</code> in case the entry is <code>null</code>
+     * @throws IndexOutOfBoundsException
+     *             In case the index is outside of the column
+     */
+    public boolean isNull(final int index) {
+        checkIndex(index);
+        return mask.isNull(index);
+    }
+
+    /**
+     * @param index
+     *            The index of the entry
+     * @return The boxed value of the entry, or <code>null</code>
+     * @throws IndexOutOfBoundsException
+     *             In case the index is outside of the column
+     */
+    public @Nullable Long get(final int index) {
+        return isNull(index) ? null : Long.valueOf(values[index]);
+    }
+
+    /**
+     * @return The number of bytes held by the values and the <code>null</code> bitmap, excluding object headers
+     */
+    public long sizeInBytes() {
+        return (long) Long.BYTES * values.length + mask.sizeInBytes();
+    }
+
+    /**
+     * @param policy
+     *            How to treat <code>null</code> entries
+     * @return The number of entries that take part in aggregations
+     */
+    public long count(final NullPolicy policy) {
+        check(policy, "count"); //$NON-NLS-1$
+        return policy == NullPolicy.TREAT_AS_ZERO ? values.length : values.length - mask.nullCount();
+    }
+
+    /**
+     * @param policy
+     *            How to treat <code>null</code> entries
+     * @param parallel
+     *            Whether chunks should be summed up in parallel
+     * @return The exact sum of all values, zero for an empty column
+     */
+    public @NonNull HybridInteger sum(final NullPolicy policy, final boolean parallel) {
+        check(policy, "sum"); //$NON-NLS-1$
+        // null entries hold zero and thus need no masking
+        return Nullsafe.nonNull(chunks(parallel).mapToObj(this::sum).reduce(HybridInteger.valueOf(0),
+                HybridInteger::add));
+    }
+
+    /**
+     * @param policy
+     *            How to treat <code>null</code> entries
+     * @param parallel
+     *            Whether chunks should be searched in parallel
+     * @return The smallest value, or an empty {@link OptionalLong} in case no value takes part
+     */
+    public @NonNull OptionalLong min(final NullPolicy policy, final boolean parallel) {
+        return extreme(policy, parallel, 0, "min"); //$NON-NLS-1$
+    }
+
+    /**
+     * @param policy
+     *            How to treat <code>null</code> entries
+     * @param parallel
+     *            Whether chunks should be searched in parallel
+     * @return The largest value, or an empty {@link OptionalLong} in case no value takes part
+     */
+    public @NonNull OptionalLong max(final NullPolicy policy, final boolean parallel) {
+        return extreme(policy, parallel, -1, "max"); //$NON-NLS-1$
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= values.length) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Index %d is outside of %d entries", Integer.valueOf(index), //$NON-NLS-1$
+                            Integer.valueOf(values.length)));
+        }
+    }
+
+    private void check(final NullPolicy policy, final String method) {
+        if (policy == NullPolicy.FAIL && mask.nullCount() != 0) {
+            throw Nullsafe.violation(method, String.format("Got unexpected NULL element at index %d", //$NON-NLS-1$
+                    Integer.valueOf(mask.firstNull())));
+        }
+    }
+
+    private IntStream chunks(final boolean parallel) {
+        return StreamSupport.intStream(
+                IntStream.range(0, (values.length + CHUNK_SIZE - 1) / CHUNK_SIZE).spliterator(), parallel);
+    }
+
+    private HybridInteger sum(final int chunk) {
+        final int from = chunk * CHUNK_SIZE;
+        final int to = Math.min(from + CHUNK_SIZE, values.length);
+        long sum = 0;
+        try {
+            for (int index = from; index != to; index++) {
+                sum = Math.addExact(sum, values[index]);
+            }
+            return HybridInteger.valueOf(sum);
+        } catch (final ArithmeticException overflow) {
+            HybridInteger exact = HybridInteger.valueOf(0);
+            for (int index = from; index != to; index++) {
+                exact = exact.add(HybridInteger.valueOf(values[index]));
+            }
+            return exact;
+        }
+    }
+
+    /**
+     * Finds the smallest value for a flip of <code>0</code>, or the largest value for a flip of <code>-1</code> since
+     * <code>~</code> reverses the order of <code>long</code>s.
+     */
+    private @NonNull OptionalLong extreme(final NullPolicy policy, final boolean parallel, final long flip,
+            final String method) {
+        check(policy, method);
+        final int nullCount = mask.nullCount();
+        if (nullCount == values.length) {
+            return Nullsafe.nonNull(nullCount == 0 || policy != NullPolicy.TREAT_AS_ZERO ? OptionalLong.empty()
+                    : OptionalLong.of(0));
+        }
+        long minimum = chunks(parallel).mapToLong(chunk -> minimum(chunk, flip)).reduce(Long.MAX_VALUE, Math::min);
+        if (nullCount != 0 && policy == NullPolicy.TREAT_AS_ZERO) {
+            minimum = Math.min(minimum, flip); // zero, flipped
+        }
+        return Nullsafe.nonNull(OptionalLong.of(minimum ^ flip));
+    }
+
+    private long minimum(final int chunk, final long flip) {
+        final int from = chunk * CHUNK_SIZE;
+        final int to = Math.min(from + CHUNK_SIZE, values.length);
+        // null entries hold zero and are replaced with a value that turns into Long.MAX_VALUE once flipped
+        final long replacement = Long.MAX_VALUE ^ flip;
+        long result = Long.MAX_VALUE;
+        for (int word = from; word < to; word += Long.SIZE) {
+            final long nulls = mask.word(word >>> 6);
+            final int end = Math.min(word + Long.SIZE, to);
+            for (int index = word; index != end; index++) {
+                result = Math.min(result, (values[index] | (replacement & -((nulls >>> index) & 1))) ^ flip);
+            }
+        }
+        return result;
+    }
+
+    private static final class Builder implements Consumer<Long> {
+
+        private final long[] values;
+        private final long[] nulls;
+        private int size;
+
+        Builder(final int capacity) {
+            values = new long[capacity];
+            nulls = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+        }
+
+        @Override
+        public void accept(@Nullable final Long value) {
+            if (value == null) {
+                nulls[size >>> 6] |= 1L << size;
+            } else {
+                values[size] = value.longValue();
+            }
+            size++;
+        }
+
+        @NonNull NullableLongColumn build() {
+            return new NullableLongColumn(values, NullMask.of(nulls, values.length));
+        }
+
+    }
+
+}
@@ -7,12 +7,27 @@
 package de.xn__ho_hia.quality.null_analysis;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -22,58 +37,1359 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 public final class Nullsafe {
 
+    /** The failure policy selected through the {@value FailurePolicy#SYSTEM_PROPERTY} system property. */
+    static final FailurePolicy FAILURE_POLICY = FailurePolicy.fromSystemProperty();
+
+    /** Reports failed <code>null</code> checks and fallbacks to the Java Flight Recorder, if available. */
+    static final NullEvents EVENTS = NullEvents.load(NullEvents.FLIGHT_RECORDER);
+
+    /** The boxed longs cached by {@link #asLong(long)}. */
+    private static final LongCache LONG_CACHE = LongCache.fromSystemProperties();
+
+    private static final String NON_NULL = "nonNull"; //$NON-NLS-1$
+    private static final String REQUIRE_ALL_NON_NULL = "requireAllNonNull"; //$NON-NLS-1$
+    private static final String REQUIRE_NO_NULL_ELEMENTS = "requireNoNullElements"; //$NON-NLS-1$
+
+    /** The control characters for which {@link Character#isWhitespace(char)} is <code>true</code>. */
+    private static final long CONTROL_WHITESPACE = 1L << '\t' | 1L << '\n' | 1L << 0x0B | 1L << '\f' | 1L << '\r'
+            | 0xFL << 0x1C;
+
+    /** No character between <code>' '</code> and this one is {@link Character#isWhitespace(char) whitespace}. */
+    private static final char FIRST_NON_ASCII_WHITESPACE = '\u1680';
+
+    private static final int @NonNull [] EMPTY_INT_ARRAY = new int[0];
+    private static final long @NonNull [] EMPTY_LONG_ARRAY = new long[0];
+    private static final double @NonNull [] EMPTY_DOUBLE_ARRAY = new double[0];
+
     private Nullsafe() {
         // utility class
     }
 
     /**
-     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
-     * that fails in case a <code>null</code> reference is given.
+     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
+     * that fails in case a <code>null</code> reference is given.
+     *
+     * @param <TYPE>
+     *            The type of the reference
+     * @param reference
+     *            A possible <code>null</code> reference.
+     * @return Either the reference itself, or an {@link IllegalArgumentException} according to the global
+     *         {@link FailurePolicy}, in case the reference was <code>null</code>.
+     */
+    public static <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference) {
+        return nonNull(reference, "Got unexpected NULL reference"); //$NON-NLS-1$
+    }
+
+    /**
+     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
+     * that fails in case a <code>null</code> reference is given.
+     *
+     * @param <TYPE>
+     *            The type of the reference
+     * @param reference
+     *            A possible <code>null</code> reference.
+     * @param message
+     *            The exception message to throw.
+     * @return Either the reference itself, or an {@link IllegalArgumentException} according to the global
+     *         {@link FailurePolicy}, in case the reference was <code>null</code>.
+     */
+    public static <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference, final String message) {
+        if (reference != null) {
+            return reference;
+        }
+
+        throw violation(NON_NULL, message);
+    }
+
+    /**
+     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
+     * that fails in case a <code>null</code> reference is given. The exception message is only created in case of a
+     * failure.
+     *
+     * @param <TYPE>
+     *            The type of the reference
+     * @param reference
+     *            A possible <code>null</code> reference.
+     * @param messageSupplier
+     *            Supplies the exception message to throw.
+     * @return Either the reference itself, or an {@link IllegalArgumentException} according to the global
+     *         {@link FailurePolicy}, in case the reference was <code>null</code>.
+     */
+    public static <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference, final Supplier<String> messageSupplier) {
+        if (reference != null) {
+            return reference;
+        }
+
+        throw violation(NON_NULL, messageSupplier.get());
+    }
+
+    /**
+     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
+     * that fails in case a <code>null</code> reference is given. The exception message is only formatted in case of a
+     * failure, thus neither a varargs array nor a capturing lambda is created for successful calls. Primitive
+     * arguments are still boxed by the caller.
+     *
+     * @param <TYPE>
+     *            The type of the reference
+     * @param reference
+     *            A possible <code>null</code> reference.
+     * @param template
+     *            The exception message template, see {@link String#format(String, Object...)}.
+     * @param argument
+     *            The template argument.
+     * @return Either the reference itself, or an {@link IllegalArgumentException} according to the global
+     *         {@link FailurePolicy}, in case the reference was <code>null</code>.
+     */
+    public static <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference, final String template,
+            @Nullable final Object argument) {
+        if (reference != null) {
+            return reference;
+        }
+
+        throw violation(NON_NULL, String.format(template, argument));
+    }
+
+    /**
+     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
+     * that fails in case a <code>null</code> reference is given. The exception message is only formatted in case of a
+     * failure, thus neither a varargs array nor a capturing lambda is created for successful calls. Primitive
+     * arguments are still boxed by the caller.
+     *
+     * @param <TYPE>
+     *            The type of the reference
+     * @param reference
+     *            A possible <code>null</code> reference.
+     * @param template
+     *            The exception message template, see {@link String#format(String, Object...)}.
+     * @param firstArgument
+     *            The first template argument.
+     * @param secondArgument
+     *            The second template argument.
+     * @return Either the reference itself, or an {@link IllegalArgumentException} according to the global
+     *         {@link FailurePolicy}, in case the reference was <code>null</code>.
+     */
+    public static <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference, final String template,
+            @Nullable final Object firstArgument, @Nullable final Object secondArgument) {
+        if (reference != null) {
+            return reference;
+        }
+
+        throw violation(NON_NULL, String.format(template, firstArgument, secondArgument));
+    }
+
+    /**
+     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
+     * that throws the exception created by the given supplier in case a <code>null</code> reference is given.
+     *
+     * @param <TYPE>
+     *            The type of the reference
+     * @param <EXCEPTION>
+     *            The type of the exception to throw
+     * @param reference
+     *            A possible <code>null</code> reference.
+     * @param exceptionSupplier
+     *            Supplies the exception to throw.
+     * @return The reference itself.
+     * @throws EXCEPTION
+     *             In case the reference was <code>null</code>.
+     */
+    public static <TYPE, EXCEPTION extends Throwable> @NonNull TYPE nonNullOrThrow(@Nullable final TYPE reference,
+            final Supplier<? extends EXCEPTION> exceptionSupplier) throws EXCEPTION {
+        if (reference != null) {
+            return reference;
+        }
+
+        final EXCEPTION exception = exceptionSupplier.get();
+        EVENTS.violation("nonNullOrThrow", String.valueOf(exception)); //$NON-NLS-1$
+        NullsafeProfiler.INSTANCE.sample("nonNullOrThrow"); //$NON-NLS-1$
+        throw exception;
+    }
+
+    static IllegalArgumentException violation(final String method, final String message) {
+        return violation(FAILURE_POLICY, method, message);
+    }
+
+    static IllegalArgumentException violation(final FailurePolicy policy, final String method, final String message) {
+        EVENTS.violation(method, message);
+        NullsafeProfiler.INSTANCE.sample(method);
+        return policy.exception(message);
+    }
+
+    /**
+     * Navigates one step through a nullable object graph without allocating intermediate {@link Optional}s. Falls back
+     * to the default value in case the root or the result of the step is <code>null</code>.
+     *
+     * @param <ROOT>
+     *            The root type
+     * @param <RESULT>
+     *            The result type
+     * @param root
+     *            The root of the object graph or <code>null</code>
+     * @param first
+     *            The step from the root to the result.
+     * @param defaultValue
+     *            The value to return in case the result is <code>null</code>.
+     * @return The result or the default value
+     */
+    public static <ROOT, RESULT> RESULT safeGet(@Nullable final ROOT root,
+            final Function<? super ROOT, ? extends @Nullable RESULT> first, final RESULT defaultValue) {
+        final @Nullable RESULT result = root != null ? first.apply(root) : null;
+        return result != null ? result : defaultValue;
+    }
+
+    /**
+     * Navigates two steps through a nullable object graph without allocating intermediate {@link Optional}s. Falls back
+     * to the default value in case the root or the result of any step is <code>null</code>.
+     *
+     * @param <ROOT>
+     *            The root type
+     * @param <FIRST>
+     *            The type of the first step
+     * @param <RESULT>
+     *            The result type
+     * @param root
+     *            The root of the object graph or <code>null</code>
+     * @param first
+     *            The first step from the root.
+     * @param second
+     *            The step to the result.
+     * @param defaultValue
+     *            The value to return in case any step yields <code>null</code>.
+     * @return The result or the default value
+     */
+    public static <ROOT, FIRST, RESULT> RESULT safeGet(@Nullable final ROOT root,
+            final Function<? super ROOT, ? extends @Nullable FIRST> first,
+            final Function<? super FIRST, ? extends @Nullable RESULT> second, final RESULT defaultValue) {
+        final @Nullable FIRST value = root != null ? first.apply(root) : null;
+        return safeGet(value, second, defaultValue);
+    }
+
+    /**
+     * Navigates three steps through a nullable object graph without allocating intermediate {@link Optional}s. Falls
+     * back to the default value in case the root or the result of any step is <code>null</code>.
+     *
+     * @param <ROOT>
+     *            The root type
+     * @param <FIRST>
+     *            The type of the first step
+     * @param <SECOND>
+     *            The type of the second step
+     * @param <RESULT>
+     *            The result type
+     * @param root
+     *            The root of the object graph or <code>null</code>
+     * @param first
+     *            The first step from the root.
+     * @param second
+     *            The second step.
+     * @param third
+     *            The step to the result.
+     * @param defaultValue
+     *            The value to return in case any step yields <code>null</code>.
+     * @return The result or the default value
+     */
+    public static <ROOT, FIRST, SECOND, RESULT> RESULT safeGet(@Nullable final ROOT root,
+            final Function<? super ROOT, ? extends @Nullable FIRST> first,
+            final Function<? super FIRST, ? extends @Nullable SECOND> second,
+            final Function<? super SECOND, ? extends @Nullable RESULT> third, final RESULT defaultValue) {
+        final @Nullable FIRST value = root != null ? first.apply(root) : null;
+        return safeGet(value, second, third, defaultValue);
+    }
+
+    /**
+     * Navigates four steps through a nullable object graph without allocating intermediate {@link Optional}s. Falls
+     * back to the default value in case the root or the result of any step is <code>null</code>.
+     *
+     * @param <ROOT>
+     *            The root type
+     * @param <FIRST>
+     *            The type of the first step
+     * @param <SECOND>
+     *            The type of the second step
+     * @param <THIRD>
+     *            The type of the third step
+     * @param <RESULT>
+     *            The result type
+     * @param root
+     *            The root of the object graph or <code>null</code>
+     * @param first
+     *            The first step from the root.
+     * @param second
+     *            The second step.
+     * @param third
+     *            The third step.
+     * @param fourth
+     *            The step to the result.
+     * @param defaultValue
+     *            The value to return in case any step yields <code>null</code>.
+     * @return The result or the default value
+     */
+    public static <ROOT, FIRST, SECOND, THIRD, RESULT> RESULT safeGet(@Nullable final ROOT root,
+            final Function<? super ROOT, ? extends @Nullable FIRST> first,
+            final Function<? super FIRST, ? extends @Nullable SECOND> second,
+            final Function<? super SECOND, ? extends @Nullable THIRD> third,
+            final Function<? super THIRD, ? extends @Nullable RESULT> fourth, final RESULT defaultValue) {
+        final @Nullable FIRST value = root != null ? first.apply(root) : null;
+        return safeGet(value, second, third, fourth, defaultValue);
+    }
+
+    /**
+     * Looks up a value in a tree of nested maps, e.g. parsed JSON or YAML documents.
+     *
+     * @param map
+     *            The root of the tree or <code>null</code>
+     * @param first
+     *            The key of the value.
+     * @return The value or <code>null</code> in case it is missing.
+     */
+    public static @Nullable Object safeLookup(@Nullable final Map<String, ?> map, final String first) {
+        return child(map, first);
+    }
+
+    /**
+     * Looks up a value in a tree of nested maps, e.g. parsed JSON or YAML documents.
+     *
+     * @param map
+     *            The root of the tree or <code>null</code>
+     * @param first
+     *            The key of the nested map.
+     * @param second
+     *            The key of the value inside the nested map.
+     * @return The value or <code>null</code> in case it, or any map on its path, is missing.
+     */
+    public static @Nullable Object safeLookup(@Nullable final Map<String, ?> map, final String first,
+            final String second) {
+        return child(child(map, first), second);
+    }
+
+    /**
+     * Looks up a value in a tree of nested maps, e.g. parsed JSON or YAML documents.
+     *
+     * @param map
+     *            The root of the tree or <code>null</code>
+     * @param first
+     *            The key of the first nested map.
+     * @param second
+     *            The key of the second nested map.
+     * @param third
+     *            The key of the value inside the second nested map.
+     * @return The value or <code>null</code> in case it, or any map on its path, is missing.
+     */
+    public static @Nullable Object safeLookup(@Nullable final Map<String, ?> map, final String first,
+            final String second, final String third) {
+        return child(child(child(map, first), second), third);
+    }
+
+    /**
+     * Looks up a value in a tree of nested maps, e.g. parsed JSON or YAML documents.
+     *
+     * @param map
+     *            The root of the tree or <code>null</code>
+     * @param first
+     *            The key of the first nested map.
+     * @param second
+     *            The key of the second nested map.
+     * @param third
+     *            The key of the third nested map.
+     * @param fourth
+     *            The key of the value inside the third nested map.
+     * @return The value or <code>null</code> in case it, or any map on its path, is missing.
+     */
+    public static @Nullable Object safeLookup(@Nullable final Map<String, ?> map, final String first,
+            final String second, final String third, final String fourth) {
+        return child(child(child(child(map, first), second), third), fourth);
+    }
+
+    private static @Nullable Object child(@Nullable final Object node, final String key) {
+        return node instanceof Map ? ((Map<?, ?>) node).get(key) : null;
+    }
+
+    /**
+     * Picks the first non-null of two references without allocating an {@link Optional} or a varargs array.
+     *
+     * @param <TYPE>
+     *            The type of the references
+     * @param first
+     *            A possible <code>null</code> reference.
+     * @param second
+     *            The fallback, fails according to the global {@link FailurePolicy} in case it is <code>null</code>
+     *            as well.
+     * @return The first non-null reference
+     */
+    public static <TYPE> @NonNull TYPE coalesce(@Nullable final TYPE first, @Nullable final TYPE second) {
+        return first != null ? first : nonNull(second);
+    }
+
+    /**
+     * Picks the first non-null of three references without allocating an {@link Optional} or a varargs array.
+     *
+     * @param <TYPE>
+     *            The type of the references
+     * @param first
+     *            A possible <code>null</code> reference.
+     * @param second
+     *            A possible <code>null</code> reference.
+     * @param third
+     *            The fallback, fails according to the global {@link FailurePolicy} in case it is <code>null</code>
+     *            as well.
+     * @return The first non-null reference
+     */
+    public static <TYPE> @NonNull TYPE coalesce(@Nullable final TYPE first, @Nullable final TYPE second,
+            @Nullable final TYPE third) {
+        return first != null ? first : coalesce(second, third);
+    }
+
+    /**
+     * Picks the first non-null of four references without allocating an {@link Optional} or a varargs array.
+     *
+     * @param <TYPE>
+     *            The type of the references
+     * @param first
+     *            A possible <code>null</code> reference.
+     * @param second
+     *            A possible <code>null</code> reference.
+     * @param third
+     *            A possible <code>null</code> reference.
+     * @param fourth
+     *            The fallback, fails according to the global {@link FailurePolicy} in case it is <code>null</code>
+     *            as well.
+     * @return The first non-null reference
+     */
+    public static <TYPE> @NonNull TYPE coalesce(@Nullable final TYPE first, @Nullable final TYPE second,
+            @Nullable final TYPE third, @Nullable final TYPE fourth) {
+        return first != null ? first : coalesce(second, third, fourth);
+    }
+
+    /**
+     * Picks a non-null reference and creates the fallback only in case it is needed, e.g. a mutable
+     * <code>ArrayList::new</code> in place of a <code>null</code> list. Use a non-capturing {@link Supplier} to keep
+     * the call free of allocations.
+     *
+     * @param <TYPE>
+     *            The type of the references
+     * @param first
+     *            A possible <code>null</code> reference.
+     * @param fallback
+     *            Creates the fallback, fails according to the global {@link FailurePolicy} in case it supplies
+     *            <code>null</code>.
+     * @return The given reference or the supplied fallback
+     */
+    public static <TYPE> @NonNull TYPE coalesceGet(@Nullable final TYPE first,
+            final Supplier<? extends @NonNull TYPE> fallback) {
+        return first != null ? first : nonNull(fallback.get());
+    }
+
+    /**
+     * Picks the first non-null of two references and creates the fallback only in case both are <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The type of the references
+     * @param first
+     *            A possible <code>null</code> reference.
+     * @param second
+     *            A possible <code>null</code> reference.
+     * @param fallback
+     *            Creates the fallback, fails according to the global {@link FailurePolicy} in case it supplies
+     *            <code>null</code>.
+     * @return The first non-null reference or the supplied fallback
+     */
+    public static <TYPE> @NonNull TYPE coalesceGet(@Nullable final TYPE first, @Nullable final TYPE second,
+            final Supplier<? extends @NonNull TYPE> fallback) {
+        return first != null ? first : coalesceGet(second, fallback);
+    }
+
+    /**
+     * Picks the first non-null of three references and creates the fallback only in case all are <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The type of the references
+     * @param first
+     *            A possible <code>null</code> reference.
+     * @param second
+     *            A possible <code>null</code> reference.
+     * @param third
+     *            A possible <code>null</code> reference.
+     * @param fallback
+     *            Creates the fallback, fails according to the global {@link FailurePolicy} in case it supplies
+     *            <code>null</code>.
+     * @return The first non-null reference or the supplied fallback
+     */
+    public static <TYPE> @NonNull TYPE coalesceGet(@Nullable final TYPE first, @Nullable final TYPE second,
+            @Nullable final TYPE third, final Supplier<? extends @NonNull TYPE> fallback) {
+        return first != null ? first : coalesceGet(second, third, fallback);
+    }
+
+    /**
+     * Checks that all two arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     */
+    public static void requireAllNonNull(@Nullable final Object first, @Nullable final Object second) {
+        if (first == null || second == null) {
+            throw nullArgument(null, first, second);
+        }
+    }
+
+    /**
+     * Checks that all three arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     */
+    public static void requireAllNonNull(@Nullable final Object first, @Nullable final Object second,
+            @Nullable final Object third) {
+        if (first == null || second == null || third == null) {
+            throw nullArgument(null, first, second, third);
+        }
+    }
+
+    /**
+     * Checks that all four arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     */
+    public static void requireAllNonNull(@Nullable final Object first, @Nullable final Object second,
+            @Nullable final Object third, @Nullable final Object fourth) {
+        if (first == null || second == null || third == null || fourth == null) {
+            throw nullArgument(null, first, second, third, fourth);
+        }
+    }
+
+    /**
+     * Checks that all five arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     */
+    public static void requireAllNonNull(@Nullable final Object first, @Nullable final Object second,
+            @Nullable final Object third, @Nullable final Object fourth, @Nullable final Object fifth) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null) {
+            throw nullArgument(null, first, second, third, fourth, fifth);
+        }
+    }
+
+    /**
+     * Checks that all six arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     * @param sixth
+     *            The sixth argument to check.
+     */
+    public static void requireAllNonNull(@Nullable final Object first, @Nullable final Object second,
+            @Nullable final Object third, @Nullable final Object fourth, @Nullable final Object fifth,
+            @Nullable final Object sixth) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null || sixth == null) {
+            throw nullArgument(null, first, second, third, fourth, fifth, sixth);
+        }
+    }
+
+    /**
+     * Checks that all seven arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     * @param sixth
+     *            The sixth argument to check.
+     * @param seventh
+     *            The seventh argument to check.
+     */
+    public static void requireAllNonNull(@Nullable final Object first, @Nullable final Object second,
+            @Nullable final Object third, @Nullable final Object fourth, @Nullable final Object fifth,
+            @Nullable final Object sixth, @Nullable final Object seventh) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null || sixth == null
+                || seventh == null) {
+            throw nullArgument(null, first, second, third, fourth, fifth, sixth, seventh);
+        }
+    }
+
+    /**
+     * Checks that all eight arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     * @param sixth
+     *            The sixth argument to check.
+     * @param seventh
+     *            The seventh argument to check.
+     * @param eighth
+     *            The eighth argument to check.
+     */
+    public static void requireAllNonNull(@Nullable final Object first, @Nullable final Object second,
+            @Nullable final Object third, @Nullable final Object fourth, @Nullable final Object fifth,
+            @Nullable final Object sixth, @Nullable final Object seventh, @Nullable final Object eighth) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null || sixth == null
+                || seventh == null || eighth == null) {
+            throw nullArgument(null, first, second, third, fourth, fifth, sixth, seventh, eighth);
+        }
+    }
+
+    /**
+     * Checks that all two arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index and the name of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param names
+     *            The comma separated names of all arguments, e.g. <code>"id, name"</code>.
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     */
+    public static void requireAllNonNullNamed(final String names, @Nullable final Object first,
+            @Nullable final Object second) {
+        if (first == null || second == null) {
+            throw nullArgument(names, first, second);
+        }
+    }
+
+    /**
+     * Checks that all three arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index and the name of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param names
+     *            The comma separated names of all arguments, e.g. <code>"id, name"</code>.
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     */
+    public static void requireAllNonNullNamed(final String names, @Nullable final Object first,
+            @Nullable final Object second, @Nullable final Object third) {
+        if (first == null || second == null || third == null) {
+            throw nullArgument(names, first, second, third);
+        }
+    }
+
+    /**
+     * Checks that all four arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index and the name of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param names
+     *            The comma separated names of all arguments, e.g. <code>"id, name"</code>.
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     */
+    public static void requireAllNonNullNamed(final String names, @Nullable final Object first,
+            @Nullable final Object second, @Nullable final Object third, @Nullable final Object fourth) {
+        if (first == null || second == null || third == null || fourth == null) {
+            throw nullArgument(names, first, second, third, fourth);
+        }
+    }
+
+    /**
+     * Checks that all five arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index and the name of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param names
+     *            The comma separated names of all arguments, e.g. <code>"id, name"</code>.
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     */
+    public static void requireAllNonNullNamed(final String names, @Nullable final Object first,
+            @Nullable final Object second, @Nullable final Object third, @Nullable final Object fourth,
+            @Nullable final Object fifth) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null) {
+            throw nullArgument(names, first, second, third, fourth, fifth);
+        }
+    }
+
+    /**
+     * Checks that all six arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index and the name of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param names
+     *            The comma separated names of all arguments, e.g. <code>"id, name"</code>.
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     * @param sixth
+     *            The sixth argument to check.
+     */
+    public static void requireAllNonNullNamed(final String names, @Nullable final Object first,
+            @Nullable final Object second, @Nullable final Object third, @Nullable final Object fourth,
+            @Nullable final Object fifth, @Nullable final Object sixth) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null || sixth == null) {
+            throw nullArgument(names, first, second, third, fourth, fifth, sixth);
+        }
+    }
+
+    /**
+     * Checks that all seven arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index and the name of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param names
+     *            The comma separated names of all arguments, e.g. <code>"id, name"</code>.
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     * @param sixth
+     *            The sixth argument to check.
+     * @param seventh
+     *            The seventh argument to check.
+     */
+    public static void requireAllNonNullNamed(final String names, @Nullable final Object first,
+            @Nullable final Object second, @Nullable final Object third, @Nullable final Object fourth,
+            @Nullable final Object fifth, @Nullable final Object sixth, @Nullable final Object seventh) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null || sixth == null
+                || seventh == null) {
+            throw nullArgument(names, first, second, third, fourth, fifth, sixth, seventh);
+        }
+    }
+
+    /**
+     * Checks that all eight arguments are not <code>null</code> without allocating a varargs array. Fails with the
+     * index and the name of the first <code>null</code> argument according to the global {@link FailurePolicy}.
+     *
+     * @param names
+     *            The comma separated names of all arguments, e.g. <code>"id, name"</code>.
+     * @param first
+     *            The first argument to check.
+     * @param second
+     *            The second argument to check.
+     * @param third
+     *            The third argument to check.
+     * @param fourth
+     *            The fourth argument to check.
+     * @param fifth
+     *            The fifth argument to check.
+     * @param sixth
+     *            The sixth argument to check.
+     * @param seventh
+     *            The seventh argument to check.
+     * @param eighth
+     *            The eighth argument to check.
+     */
+    public static void requireAllNonNullNamed(final String names, @Nullable final Object first,
+            @Nullable final Object second, @Nullable final Object third, @Nullable final Object fourth,
+            @Nullable final Object fifth, @Nullable final Object sixth, @Nullable final Object seventh,
+            @Nullable final Object eighth) {
+        if (first == null || second == null || third == null || fourth == null || fifth == null || sixth == null
+                || seventh == null || eighth == null) {
+            throw nullArgument(names, first, second, third, fourth, fifth, sixth, seventh, eighth);
+        }
+    }
+
+    private static IllegalArgumentException nullArgument(@Nullable final String names,
+            @Nullable final Object... arguments) {
+        int index = 0;
+        while (arguments[index] != null) {
+            index++;
+        }
+        final String message = "Argument" + argumentName(names, index) //$NON-NLS-1$
+                + " at index " + index + " is null"; //$NON-NLS-1$ //$NON-NLS-2$
+        return violation(REQUIRE_ALL_NON_NULL, message);
+    }
+
+    static String argumentName(@Nullable final String names, final int index) {
+        if (names != null) {
+            final String[] split = names.split(","); //$NON-NLS-1$
+            if (index < split.length) {
+                return " '" + split[index].trim() + "'"; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        return ""; //$NON-NLS-1$
+    }
+
+    /**
+     * Checks that an array and all of its elements are not <code>null</code>. Scans the array with an index loop and
+     * fails with the index of the first <code>null</code> element according to the global {@link FailurePolicy}.
+     *
+     * @param <TYPE>
+     *            The element type
+     * @param array
+     *            The array to check.
+     */
+    public static <TYPE> void requireNoNullElements(final TYPE @Nullable [] array) {
+        if (array == null) {
+            throw violation(REQUIRE_NO_NULL_ELEMENTS, "Array is null"); //$NON-NLS-1$
+        }
+        for (int index = 0; index < array.length; index++) {
+            if (array[index] == null) {
+                throw nullElement(index);
+            }
+        }
+    }
+
+    /**
+     * Checks that a collection and all of its elements are not <code>null</code>. {@link RandomAccess} lists are
+     * scanned with an index loop, all other collections with their iterator. Fails with the index of the first
+     * <code>null</code> element according to the global {@link FailurePolicy}.
+     *
+     * @param collection
+     *            The collection to check.
+     */
+    public static void requireNoNullElements(@Nullable final Collection<?> collection) {
+        if (collection == null) {
+            throw violation(REQUIRE_NO_NULL_ELEMENTS, "Collection is null"); //$NON-NLS-1$
+        }
+        if (collection instanceof RandomAccess && collection instanceof List) {
+            final List<?> list = (List<?>) collection;
+            for (int index = 0, size = list.size(); index < size; index++) {
+                if (list.get(index) == null) {
+                    throw nullElement(index);
+                }
+            }
+        } else {
+            int index = 0;
+            for (final Object element : collection) {
+                if (element == null) {
+                    throw nullElement(index);
+                }
+                index++;
+            }
+        }
+    }
+
+    private static IllegalArgumentException nullElement(final int index) {
+        final String message = "Element at index " + index + " is null"; //$NON-NLS-1$ //$NON-NLS-2$
+        return violation(REQUIRE_NO_NULL_ELEMENTS, message);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable {@link Collection collection}. Falls back to an empty stream
+     * in case the collection is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The collection type
+     * @param collection
+     *            A collection or <code>null</code>
+     * @return A stream of the given collection or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Collection<TYPE> collection) {
+        fallback(NullsafeStatistics.SAFELY_STREAM, collection);
+        return collection != null ? nonNull(collection.stream()) : nonNull(Stream.<TYPE> empty());
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable {@link Collection collection}. Falls back to an empty stream
+     * in case the collection is <code>null</code>. The stream is sized in case the collection knows its size and
+     * <code>null</code> elements are kept.
+     * <p>
+     * Skipped <code>null</code> elements are removed by a {@link Stream#filter(java.util.function.Predicate) filter}
+     * stage. A spliterator that skips them itself saves that stage, but passes every element through one more consumer
+     * and measured more than twice as slow on HotSpot 8, about 5 microseconds against 2.2 for 1000 array elements in
+     * <code>StreamSourcesBenchmark</code>.
+     *
+     * @param <TYPE>
+     *            The collection type
+     * @param collection
+     *            A collection or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped
+     * @return A stream of the given collection or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Collection<TYPE> collection,
+            final boolean skipNulls) {
+        return stream(collection != null ? collection.spliterator() : null, false, skipNulls);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Collection collection}. Falls back to an
+     * empty stream in case the collection is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The collection type
+     * @param collection
+     *            A collection or <code>null</code>
+     * @return A parallel stream of the given collection or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Collection<TYPE> collection) {
+        return safelyParallelStream(collection, false);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Collection collection}. Falls back to an
+     * empty stream in case the collection is <code>null</code>. The stream is sized in case the collection knows its
+     * size.
+     *
+     * @param <TYPE>
+     *            The collection type
+     * @param collection
+     *            A collection or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A parallel stream of the given collection or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Collection<TYPE> collection,
+            final boolean skipNulls) {
+        return stream(collection != null ? collection.spliterator() : null, true, skipNulls);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable array without copying it. Falls back to an empty stream in
+     * case the array is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The array type
+     * @param array
+     *            An array or <code>null</code>
+     * @return A stream of the given array or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(final TYPE @Nullable [] array) {
+        return safelyStream(array, false);
+    }
+
+    /**
+     * Safely creates a sized {@link Stream stream} of a nullable array without copying it. Falls back to an empty
+     * stream in case the array is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The array type
+     * @param array
+     *            An array or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A stream of the given array or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(final TYPE @Nullable [] array, final boolean skipNulls) {
+        return stream(array != null ? Arrays.spliterator(array) : null, false, skipNulls);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable array without copying it. Falls back to an empty
+     * stream in case the array is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The array type
+     * @param array
+     *            An array or <code>null</code>
+     * @return A parallel stream of the given array or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(final TYPE @Nullable [] array) {
+        return safelyParallelStream(array, false);
+    }
+
+    /**
+     * Safely creates a sized, parallel {@link Stream stream} of a nullable array without copying it. Falls back to an
+     * empty stream in case the array is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The array type
+     * @param array
+     *            An array or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A parallel stream of the given array or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(final TYPE @Nullable [] array,
+            final boolean skipNulls) {
+        return stream(array != null ? Arrays.spliterator(array) : null, true, skipNulls);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable {@link Iterable iterable}. Falls back to an empty stream in
+     * case the iterable is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The iterable type
+     * @param iterable
+     *            An iterable or <code>null</code>
+     * @return A stream of the given iterable or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Iterable<TYPE> iterable) {
+        return safelyStream(iterable, false);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable {@link Iterable iterable} based on its
+     * {@link Iterable#spliterator() spliterator}. Falls back to an empty stream in case the iterable is
+     * <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The iterable type
+     * @param iterable
+     *            An iterable or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A stream of the given iterable or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Iterable<TYPE> iterable,
+            final boolean skipNulls) {
+        return stream(iterable != null ? iterable.spliterator() : null, false, skipNulls);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Iterable iterable}. Falls back to an empty
+     * stream in case the iterable is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The iterable type
+     * @param iterable
+     *            An iterable or <code>null</code>
+     * @return A parallel stream of the given iterable or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Iterable<TYPE> iterable) {
+        return safelyParallelStream(iterable, false);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Iterable iterable} based on its
+     * {@link Iterable#spliterator() spliterator}. Falls back to an empty stream in case the iterable is
+     * <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The iterable type
+     * @param iterable
+     *            An iterable or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A parallel stream of the given iterable or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Iterable<TYPE> iterable,
+            final boolean skipNulls) {
+        return stream(iterable != null ? iterable.spliterator() : null, true, skipNulls);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable {@link Iterator iterator}. Falls back to an empty stream in
+     * case the iterator is <code>null</code>.
      *
      * @param <TYPE>
-     *            The type of the reference
-     * @param reference
-     *            A possible <code>null</code> reference.
-     * @return Either the reference itself, or an {@link IllegalArgumentException}, in case the reference was
-     *         <code>null</code>.
+     *            The iterator type
+     * @param iterator
+     *            An iterator or <code>null</code>
+     * @return A stream of the given iterator or empty stream
      */
-    public static <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference) {
-        return nonNull(reference, "Got unexpected NULL reference"); //$NON-NLS-1$
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Iterator<TYPE> iterator) {
+        return safelyStream(iterator, false);
     }
 
     /**
-     * Converts a {@link Nullable} reference into a {@link NonNull} reference. Performs a strict <code>null</code> check
-     * that fails in case a <code>null</code> reference is given.
+     * Safely creates a {@link Stream stream} of a nullable {@link Iterator iterator}, which is only advanced once the
+     * stream is consumed. Falls back to an empty stream in case the iterator is <code>null</code>.
      *
      * @param <TYPE>
-     *            The type of the reference
-     * @param reference
-     *            A possible <code>null</code> reference.
-     * @param message
-     *            The exception message to throw.
-     * @return Either the reference itself, or an {@link IllegalArgumentException}, in case the reference was
-     *         <code>null</code>.
+     *            The iterator type
+     * @param iterator
+     *            An iterator or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A stream of the given iterator or empty stream
      */
-    public static <TYPE> @NonNull TYPE nonNull(@Nullable final TYPE reference, final String message) {
-        if (reference != null) {
-            return reference;
-        }
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Iterator<TYPE> iterator,
+            final boolean skipNulls) {
+        return stream(iterator != null ? Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED) : null,
+                false, skipNulls);
+    }
 
-        throw new IllegalArgumentException(message);
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Iterator iterator}. Falls back to an empty
+     * stream in case the iterator is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The iterator type
+     * @param iterator
+     *            An iterator or <code>null</code>
+     * @return A parallel stream of the given iterator or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Iterator<TYPE> iterator) {
+        return safelyParallelStream(iterator, false);
     }
 
     /**
-     * Safely creates a {@link Stream stream} of a nullable {@link Collection collection}. Falls back to an empty stream
-     * in case the collection is <code>null</code>.
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Iterator iterator}, which is only advanced
+     * once the stream is consumed. Falls back to an empty stream in case the iterator is <code>null</code>.
      *
      * @param <TYPE>
-     *            The collection type
-     * @param collection
-     *            A collection or <code>null</code>
-     * @return A stream of the given collection or empty stream
+     *            The iterator type
+     * @param iterator
+     *            An iterator or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A parallel stream of the given iterator or empty stream
      */
-    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Collection<TYPE> collection) {
-        return collection != null ? nonNull(collection.stream()) : nonNull(Stream.<TYPE> empty());
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Iterator<TYPE> iterator,
+            final boolean skipNulls) {
+        return stream(iterator != null ? Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED) : null,
+                true, skipNulls);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable {@link Enumeration enumeration}. Falls back to an empty
+     * stream in case the enumeration is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The enumeration type
+     * @param enumeration
+     *            An enumeration or <code>null</code>
+     * @return A stream of the given enumeration or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Enumeration<TYPE> enumeration) {
+        return safelyStream(enumeration, false);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of a nullable {@link Enumeration enumeration}, which is only advanced once
+     * the stream is consumed. Falls back to an empty stream in case the enumeration is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The enumeration type
+     * @param enumeration
+     *            An enumeration or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A stream of the given enumeration or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyStream(@Nullable final Enumeration<TYPE> enumeration,
+            final boolean skipNulls) {
+        return stream(enumeration != null ? new EnumerationSpliterator<>(enumeration) : null, false, skipNulls);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Enumeration enumeration}. Falls back to an
+     * empty stream in case the enumeration is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The enumeration type
+     * @param enumeration
+     *            An enumeration or <code>null</code>
+     * @return A parallel stream of the given enumeration or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Enumeration<TYPE> enumeration) {
+        return safelyParallelStream(enumeration, false);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of a nullable {@link Enumeration enumeration}, which is only
+     * advanced once the stream is consumed. Falls back to an empty stream in case the enumeration is
+     * <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The enumeration type
+     * @param enumeration
+     *            An enumeration or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped by a filter stage, see
+     *            {@link #safelyStream(Collection, boolean)}
+     * @return A parallel stream of the given enumeration or empty stream
+     */
+    public static <TYPE> @NonNull Stream<TYPE> safelyParallelStream(@Nullable final Enumeration<TYPE> enumeration,
+            final boolean skipNulls) {
+        return stream(enumeration != null ? new EnumerationSpliterator<>(enumeration) : null, true, skipNulls);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of the entries of a nullable {@link Map map}. Falls back to an empty
+     * stream in case the map is <code>null</code>.
+     *
+     * @param <KEY>
+     *            The key type
+     * @param <VALUE>
+     *            The value type
+     * @param map
+     *            A map or <code>null</code>
+     * @return A stream of the entries of the given map or empty stream
+     */
+    public static <KEY, VALUE> @NonNull Stream<Map.Entry<KEY, VALUE>> safelyStreamEntries(
+            @Nullable final Map<KEY, VALUE> map) {
+        return stream(map != null ? map.entrySet().spliterator() : null, false, false);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of the entries of a nullable {@link Map map}. Falls back to an
+     * empty stream in case the map is <code>null</code>.
+     *
+     * @param <KEY>
+     *            The key type
+     * @param <VALUE>
+     *            The value type
+     * @param map
+     *            A map or <code>null</code>
+     * @return A parallel stream of the entries of the given map or empty stream
+     */
+    public static <KEY, VALUE> @NonNull Stream<Map.Entry<KEY, VALUE>> safelyParallelStreamEntries(
+            @Nullable final Map<KEY, VALUE> map) {
+        return stream(map != null ? map.entrySet().spliterator() : null, true, false);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of the keys of a nullable {@link Map map}. Falls back to an empty stream
+     * in case the map is <code>null</code>.
+     *
+     * @param <KEY>
+     *            The key type
+     * @param map
+     *            A map or <code>null</code>
+     * @param skipNulls
+     *            Whether a <code>null</code> key should be skipped
+     * @return A stream of the keys of the given map or empty stream
+     */
+    public static <KEY> @NonNull Stream<KEY> safelyStreamKeys(@Nullable final Map<KEY, ?> map,
+            final boolean skipNulls) {
+        return stream(map != null ? map.keySet().spliterator() : null, false, skipNulls);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of the keys of a nullable {@link Map map}. Falls back to an empty
+     * stream in case the map is <code>null</code>.
+     *
+     * @param <KEY>
+     *            The key type
+     * @param map
+     *            A map or <code>null</code>
+     * @param skipNulls
+     *            Whether a <code>null</code> key should be skipped
+     * @return A parallel stream of the keys of the given map or empty stream
+     */
+    public static <KEY> @NonNull Stream<KEY> safelyParallelStreamKeys(@Nullable final Map<KEY, ?> map,
+            final boolean skipNulls) {
+        return stream(map != null ? map.keySet().spliterator() : null, true, skipNulls);
+    }
+
+    /**
+     * Safely creates a {@link Stream stream} of the values of a nullable {@link Map map}. Falls back to an empty
+     * stream in case the map is <code>null</code>.
+     *
+     * @param <VALUE>
+     *            The value type
+     * @param map
+     *            A map or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> values should be skipped
+     * @return A stream of the values of the given map or empty stream
+     */
+    public static <VALUE> @NonNull Stream<VALUE> safelyStreamValues(@Nullable final Map<?, VALUE> map,
+            final boolean skipNulls) {
+        return stream(map != null ? map.values().spliterator() : null, false, skipNulls);
+    }
+
+    /**
+     * Safely creates a parallel {@link Stream stream} of the values of a nullable {@link Map map}. Falls back to an
+     * empty stream in case the map is <code>null</code>.
+     *
+     * @param <VALUE>
+     *            The value type
+     * @param map
+     *            A map or <code>null</code>
+     * @param skipNulls
+     *            Whether <code>null</code> values should be skipped
+     * @return A parallel stream of the values of the given map or empty stream
+     */
+    public static <VALUE> @NonNull Stream<VALUE> safelyParallelStreamValues(@Nullable final Map<?, VALUE> map,
+            final boolean skipNulls) {
+        return stream(map != null ? map.values().spliterator() : null, true, skipNulls);
+    }
+
+    /*
+     * Skipping null elements in a wrapping spliterator measured slower than the JDK filter stage on HotSpot 8, see
+     * StreamSourcesBenchmark.
+     */
+    private static <TYPE> @NonNull Stream<TYPE> stream(@Nullable final Spliterator<TYPE> spliterator,
+            final boolean parallel, final boolean skipNulls) {
+        fallback(NullsafeStatistics.SAFELY_STREAM, spliterator);
+        if (spliterator == null) {
+            return nonNull(StreamSupport.stream(Spliterators.<TYPE> emptySpliterator(), parallel));
+        }
+        final Stream<TYPE> stream = StreamSupport.stream(spliterator, parallel);
+        return nonNull(skipNulls ? stream.filter(Objects::nonNull) : stream);
+    }
+
+    private static void count(final int method, @Nullable final Object value) {
+        final NullsafeStatistics statistics = NullsafeStatistics.INSTANCE;
+        if (statistics.enabled) {
+            statistics.record(method, value == null);
+        }
+    }
+
+    /** Counts like {@link #count(int, Object)} and reports the use of a fallback for <code>null</code> values. */
+    private static void fallback(final int method, @Nullable final Object value) {
+        count(method, value);
+        if (value == null) {
+            final String methodName = NullsafeStatistics.methodName(method);
+            EVENTS.fallback(methodName);
+            NullsafeProfiler.INSTANCE.sample(methodName);
+        }
     }
 
     /**
@@ -87,6 +1403,7 @@ public final class Nullsafe {
      * @return The given list or an empty list
      */
     public static <TYPE> @NonNull List<TYPE> ensureList(@Nullable final List<TYPE> list) {
+        fallback(NullsafeStatistics.ENSURE_LIST, list);
         return list != null ? list : nonNull(Collections.<TYPE> emptyList());
     }
 
@@ -101,6 +1418,7 @@ public final class Nullsafe {
      * @return The given set or an empty set
      */
     public static <TYPE> @NonNull Set<TYPE> ensureSet(@Nullable final Set<TYPE> set) {
+        fallback(NullsafeStatistics.ENSURE_SET, set);
         return set != null ? set : nonNull(Collections.<TYPE> emptySet());
     }
 
@@ -117,9 +1435,180 @@ public final class Nullsafe {
      * @return The given map or an empty map
      */
     public static <KEY, VALUE> @NonNull Map<KEY, VALUE> ensureMap(@Nullable final Map<KEY, VALUE> map) {
+        fallback(NullsafeStatistics.ENSURE_MAP, map);
         return map != null ? map : nonNull(Collections.<KEY, VALUE> emptyMap());
     }
 
+    /**
+     * Creates a read-only view of a nullable {@link List list} that hides its <code>null</code> elements without
+     * copying the remaining ones. Falls back to an empty list in case the given list is <code>null</code>. The view
+     * records the positions of all non-null elements on first random access, afterwards {@link List#get(int)} runs in
+     * constant time for {@link java.util.RandomAccess} lists. The view is undefined once the given list is modified
+     * afterwards.
+     *
+     * @param <TYPE>
+     *            The list type
+     * @param list
+     *            A {@link List} or <code>null</code>
+     * @return A view of all non-null elements of the given list or an empty list
+     */
+    public static <TYPE> @NonNull List<TYPE> nonNullView(@Nullable final List<TYPE> list) {
+        return list != null ? new NonNullListView<>(list) : nonNull(Collections.<TYPE> emptyList());
+    }
+
+    /**
+     * Creates a read-only view of a nullable {@link Set set} that hides its <code>null</code> element. Falls back to an
+     * empty set in case the given set is <code>null</code>.
+     *
+     * @param <TYPE>
+     *            The set type
+     * @param set
+     *            A {@link Set} or <code>null</code>
+     * @return A view of all non-null elements of the given set or an empty set
+     */
+    public static <TYPE> @NonNull Set<TYPE> nonNullView(@Nullable final Set<TYPE> set) {
+        return set != null ? new NonNullSetView<>(set) : nonNull(Collections.<TYPE> emptySet());
+    }
+
+    /**
+     * Creates a read-only view of a nullable {@link Map map} that hides all entries with a <code>null</code> key or a
+     * <code>null</code> value. Falls back to an empty map in case the given map is <code>null</code>.
+     *
+     * @param <KEY>
+     *            The map key type
+     * @param <VALUE>
+     *            The map value type
+     * @param map
+     *            A {@link Map} or <code>null</code>
+     * @return A view of all entries of the given map without <code>null</code> keys or values or an empty map
+     */
+    public static <KEY, VALUE> @NonNull Map<KEY, VALUE> nonNullView(@Nullable final Map<KEY, VALUE> map) {
+        return map != null ? new NonNullMapView<>(map) : nonNull(Collections.<KEY, VALUE> emptyMap());
+    }
+
+    /**
+     * Creates an immutable copy of a nullable {@link List list} without its <code>null</code> elements, e.g. to keep a
+     * snapshot in a long-lived cache. The copy is backed by an array that holds exactly the remaining elements. Falls
+     * back to an empty list in case the given list is <code>null</code> or holds no other elements. The given list
+     * must not change while it is copied.
+     *
+     * @param <TYPE>
+     *            The list type
+     * @param list
+     *            A {@link List} or <code>null</code>
+     * @return An immutable copy of all non-null elements of the given list or an empty list
+     */
+    public static <TYPE> @NonNull List<TYPE> compactNonNullCopy(@Nullable final List<TYPE> list) {
+        return list != null ? CompactList.copyOf(list) : nonNull(Collections.<TYPE> emptyList());
+    }
+
+    /**
+     * Creates an immutable copy of a nullable {@link Set set} without its <code>null</code> element. The copy stores
+     * its elements in a flat open-addressing table with two slots per element instead of a node per element. Falls
+     * back to an empty set in case the given set is <code>null</code> or holds no other elements. The given set must
+     * not change while it is copied.
+     *
+     * @param <TYPE>
+     *            The set type
+     * @param set
+     *            A {@link Set} or <code>null</code>
+     * @return An immutable copy of all non-null elements of the given set or an empty set
+     */
+    public static <TYPE> @NonNull Set<TYPE> compactNonNullCopy(@Nullable final Set<TYPE> set) {
+        return set != null ? CompactSet.copyOf(set) : nonNull(Collections.<TYPE> emptySet());
+    }
+
+    /**
+     * Creates an immutable copy of a nullable {@link Map map} without entries that have a <code>null</code> key or a
+     * <code>null</code> value. The copy stores keys and values in a flat open-addressing table with two slots per
+     * entry instead of a node per entry. Falls back to an empty map in case the given map is <code>null</code> or holds
+     * no other entries. The given map must not change while it is copied.
+     *
+     * @param <KEY>
+     *            The map key type
+     * @param <VALUE>
+     *            The map value type
+     * @param map
+     *            A {@link Map} or <code>null</code>
+     * @return An immutable copy of all entries of the given map without <code>null</code> keys or values or an empty
+     *         map
+     */
+    public static <KEY, VALUE> @NonNull Map<KEY, VALUE> compactNonNullCopy(@Nullable final Map<KEY, VALUE> map) {
+        return map != null ? CompactMap.copyOf(map) : nonNull(Collections.<KEY, VALUE> emptyMap());
+    }
+
+    /**
+     * Ensures that callers of this method can always work with a {@link NonNull} <code>int</code> array. Falls back to
+     * a shared, empty array in case the given array is <code>null</code>.
+     *
+     * @param array
+     *            An array or <code>null</code>
+     * @return The given array or a shared, empty array
+     */
+    public static int @NonNull [] ensureArray(final int @Nullable [] array) {
+        return array != null ? array : EMPTY_INT_ARRAY;
+    }
+
+    /**
+     * Ensures that callers of this method can always work with a {@link NonNull} <code>long</code> array. Falls back to
+     * a shared, empty array in case the given array is <code>null</code>.
+     *
+     * @param array
+     *            An array or <code>null</code>
+     * @return The given array or a shared, empty array
+     */
+    public static long @NonNull [] ensureArray(final long @Nullable [] array) {
+        return array != null ? array : EMPTY_LONG_ARRAY;
+    }
+
+    /**
+     * Ensures that callers of this method can always work with a {@link NonNull} <code>double</code> array. Falls back
+     * to a shared, empty array in case the given array is <code>null</code>.
+     *
+     * @param array
+     *            An array or <code>null</code>
+     * @return The given array or a shared, empty array
+     */
+    public static double @NonNull [] ensureArray(final double @Nullable [] array) {
+        return array != null ? array : EMPTY_DOUBLE_ARRAY;
+    }
+
+    /**
+     * Safely creates an {@link IntStream} of a nullable <code>int</code> array without boxing its values. Falls back to
+     * an empty stream in case the array is <code>null</code>.
+     *
+     * @param array
+     *            An array or <code>null</code>
+     * @return A stream of the given array or empty stream
+     */
+    public static @NonNull IntStream safelyIntStream(final int @Nullable [] array) {
+        return array != null ? nonNull(Arrays.stream(array)) : nonNull(IntStream.empty());
+    }
+
+    /**
+     * Safely creates a {@link LongStream} of a nullable <code>long</code> array without boxing its values. Falls back
+     * to an empty stream in case the array is <code>null</code>.
+     *
+     * @param array
+     *            An array or <code>null</code>
+     * @return A stream of the given array or empty stream
+     */
+    public static @NonNull LongStream safelyLongStream(final long @Nullable [] array) {
+        return array != null ? nonNull(Arrays.stream(array)) : nonNull(LongStream.empty());
+    }
+
+    /**
+     * Safely creates a {@link DoubleStream} of a nullable <code>double</code> array without boxing its values. Falls
+     * back to an empty stream in case the array is <code>null</code>.
+     *
+     * @param array
+     *            An array or <code>null</code>
+     * @return A stream of the given array or empty stream
+     */
+    public static @NonNull DoubleStream safelyDoubleStream(final double @Nullable [] array) {
+        return array != null ? nonNull(Arrays.stream(array)) : nonNull(DoubleStream.empty());
+    }
+
     /**
      * Safely checks whether a given {@link Collection collection} is <code>null</code> or empty.
      *
@@ -128,6 +1617,7 @@ public final class Nullsafe {
      * @return <code>true</code> if the collection is null or empty, otherwise <code>false</code>.
      */
     public static boolean isNullOrEmpty(@Nullable final Collection<?> collection) {
+        count(NullsafeStatistics.IS_NULL_OR_EMPTY, collection);
         return collection == null || collection.isEmpty();
     }
 
@@ -139,6 +1629,7 @@ public final class Nullsafe {
      * @return <code>true</code> if the map is null or empty, otherwise <code>false</code>.
      */
     public static boolean isNullOrEmpty(@Nullable final Map<?, ?> map) {
+        count(NullsafeStatistics.IS_NULL_OR_EMPTY, map);
         return map == null || map.isEmpty();
     }
 
@@ -150,9 +1641,90 @@ public final class Nullsafe {
      * @return <code>true</code> if the string is null or empty, otherwise <code>false</code>.
      */
     public static boolean isNullOrEmpty(@Nullable final String string) {
+        count(NullsafeStatistics.IS_NULL_OR_EMPTY, string);
         return string == null || string.isEmpty();
     }
 
+    /**
+     * Safely checks whether a given {@link CharSequence sequence} is <code>null</code> or consists of
+     * {@link Character#isWhitespace(char) whitespace} only. Unlike <code>trim().isEmpty()</code> nothing is allocated.
+     * Spaces are skipped first, whitespace control characters are detected with a bit mask, and all other characters
+     * below <code>U+1680</code> are known to be no whitespace, therefore only higher characters are delegated to
+     * {@link Character#isWhitespace(char)}.
+     *
+     * @param sequence
+     *            A sequence or <code>null</code>
+     * @return <code>true</code> if the sequence is null or blank, otherwise <code>false</code>.
+     */
+    public static boolean isNullOrBlank(@Nullable final CharSequence sequence) {
+        count(NullsafeStatistics.IS_NULL_OR_BLANK, sequence);
+        return sequence == null || isBlank(sequence);
+    }
+
+    /**
+     * Checks which elements of an array are <code>null</code> or {@link #isNullOrBlank(CharSequence) blank}.
+     *
+     * @param <TYPE>
+     *            The element type
+     * @param sequences
+     *            An array or <code>null</code>
+     * @return The positions of all <code>null</code> or blank elements, which are none in case the array is
+     *         <code>null</code>.
+     */
+    public static <TYPE extends CharSequence> BitSet nullOrBlankPositions(final TYPE @Nullable [] sequences) {
+        final BitSet positions = new BitSet();
+        if (sequences != null) {
+            for (int index = 0; index < sequences.length; index++) {
+                final CharSequence sequence = sequences[index];
+                if (sequence == null || isBlank(sequence)) {
+                    positions.set(index);
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Checks which elements of a list are <code>null</code> or {@link #isNullOrBlank(CharSequence) blank}.
+     * {@link RandomAccess} lists are scanned with an index loop, all other lists with their iterator.
+     *
+     * @param sequences
+     *            A list or <code>null</code>
+     * @return The positions of all <code>null</code> or blank elements, which are none in case the list is
+     *         <code>null</code>.
+     */
+    public static BitSet nullOrBlankPositions(@Nullable final List<? extends CharSequence> sequences) {
+        final BitSet positions = new BitSet();
+        if (sequences instanceof RandomAccess) {
+            for (int index = 0, size = sequences.size(); index < size; index++) {
+                final CharSequence sequence = sequences.get(index);
+                if (sequence == null || isBlank(sequence)) {
+                    positions.set(index);
+                }
+            }
+        } else if (sequences != null) {
+            int index = 0;
+            for (final CharSequence sequence : sequences) {
+                if (sequence == null || isBlank(sequence)) {
+                    positions.set(index);
+                }
+                index++;
+            }
+        }
+        return positions;
+    }
+
+    private static boolean isBlank(final CharSequence sequence) {
+        for (int index = 0, length = sequence.length(); index < length; index++) {
+            final char character = sequence.charAt(index);
+            if (character != ' ' && (character <= 0x1F ? (1L << character & CONTROL_WHITESPACE) == 0
+                    : character < FIRST_NON_ASCII_WHITESPACE || !Character.isWhitespace(character))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @param value
      *            The value to wrap
@@ -164,13 +1736,19 @@ public final class Nullsafe {
     }
 
     /**
+     * Boxes a <code>long</code> without allocating for values between -128 and 127. The cached range can be extended
+     * with the <code>de.xn__ho_hia.quality.null_analysis.LongCache.low</code> and
+     * <code>de.xn__ho_hia.quality.null_analysis.LongCache.high</code> system properties, e.g.
+     * <code>-Dde.xn__ho_hia.quality.null_analysis.LongCache.high=100000</code>, up to 2<sup>22</sup> values on either
+     * side of zero.
+     *
      * @param value
      *            The value to wrap
      * @return A @NonNull {@link Long}
      */
     @NonNull
     public static Long asLong(final long value) {
-        return Nullsafe.nonNull(Long.valueOf(value));
+        return LONG_CACHE.valueOf(value);
     }
 
     /**
@@ -221,4 +1799,68 @@ public final class Nullsafe {
         return Nullsafe.nonNull(Nullsafe.nonNull(first).multiply(second));
     }
 
+    /**
+     * Sums up all values of a collection. Large {@link RandomAccess} lists are summed up in parallel, however the result
+     * is always the same.
+     *
+     * @param values
+     *            The values to sum up or <code>null</code>
+     * @param policy
+     *            How to treat <code>null</code> values
+     * @return The sum of all values as a @NonNull {@link BigInteger}, zero for an empty or <code>null</code>
+     *         collection.
+     */
+    @NonNull
+    public static BigInteger sumNullsafe(@Nullable final Collection<BigInteger> values, final NullPolicy policy) {
+        return BigIntegerReduction.sum(values, policy);
+    }
+
+    /**
+     * Multiplies all values of a collection. Large {@link RandomAccess} lists are multiplied in parallel, however the
+     * result is always the same.
+     *
+     * @param values
+     *            The values to multiply or <code>null</code>
+     * @param policy
+     *            How to treat <code>null</code> values
+     * @return The product of all values as a @NonNull {@link BigInteger}, one for an empty or <code>null</code>
+     *         collection.
+     */
+    @NonNull
+    public static BigInteger productNullsafe(@Nullable final Collection<BigInteger> values, final NullPolicy policy) {
+        return BigIntegerReduction.product(values, policy);
+    }
+
+    /**
+     * Finds the smallest value of a collection. Large {@link RandomAccess} lists are searched in parallel, however the
+     * first of several equal values is always returned.
+     *
+     * @param values
+     *            The values to search or <code>null</code>
+     * @param policy
+     *            How to treat <code>null</code> values
+     * @return The smallest value, or an empty {@link Optional} for an empty or <code>null</code> collection.
+     */
+    @NonNull
+    public static Optional<BigInteger> minNullsafe(@Nullable final Collection<BigInteger> values,
+            final NullPolicy policy) {
+        return BigIntegerReduction.min(values, policy);
+    }
+
+    /**
+     * Finds the largest value of a collection. Large {@link RandomAccess} lists are searched in parallel, however the
+     * first of several equal values is always returned.
+     *
+     * @param values
+     *            The values to search or <code>null</code>
+     * @param policy
+     *            How to treat <code>null</code> values
+     * @return The largest value, or an empty {@link Optional} for an empty or <code>null</code> collection.
+     */
+    @NonNull
+    public static Optional<BigInteger> maxNullsafe(@Nullable final Collection<BigInteger> values,
+            final NullPolicy policy) {
+        return BigIntegerReduction.max(values, policy);
+    }
+
 }
@@ -0,0 +1,318 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Collectors that accept <code>null</code> elements, keys and values according to a {@link NullHandling}, unlike
+ * {@link java.util.stream.Collectors#toMap(Function, Function)} and
+ * {@link java.util.stream.Collectors#groupingBy(Function)} which throw a {@link NullPointerException}. Since no
+ * <code>null</code> ever reaches the target container, the concurrent variants can use a {@link ConcurrentHashMap}
+ * which lets parallel streams accumulate without a shared lock.
+ */
+public final class NullsafeCollectors {
+
+    static final String NULL_ELEMENT = "Got unexpected NULL element"; //$NON-NLS-1$
+    static final String NULL_KEY = "Got unexpected NULL key"; //$NON-NLS-1$
+    static final String NULL_VALUE = "Got unexpected NULL value"; //$NON-NLS-1$
+
+    private NullsafeCollectors() {
+        // utility class
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param elements
+     *            Decides how <code>null</code> elements are handled.
+     * @return A collector into an {@link ArrayList}.
+     */
+    public static <TYPE> Collector<TYPE, ?, List<TYPE>> toList(final NullHandling<TYPE> elements) {
+        return toList(elements, ArrayList<TYPE>::new);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param elements
+     *            Decides how <code>null</code> elements are handled.
+     * @param expectedSize
+     *            The expected number of elements, e.g. the size of the source collection.
+     * @return A collector into an {@link ArrayList} that is pre-sized for the expected number of elements.
+     */
+    public static <TYPE> Collector<TYPE, ?, List<TYPE>> toList(final NullHandling<TYPE> elements,
+            final int expectedSize) {
+        return toList(elements, () -> new ArrayList<>(expectedSize));
+    }
+
+    private static <TYPE> Collector<TYPE, ?, List<TYPE>> toList(final NullHandling<TYPE> elements,
+            final Supplier<List<TYPE>> supplier) {
+        return Collector.of(supplier, (list, element) -> {
+            final TYPE handled = elements.handle(element, NULL_ELEMENT);
+            if (handled != null) {
+                list.add(handled);
+            }
+        }, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param <VALUE>
+     *            The value type
+     * @param keyMapper
+     *            Maps elements to keys.
+     * @param valueMapper
+     *            Maps elements to values.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @param values
+     *            Decides how <code>null</code> values are handled.
+     * @return A collector into a {@link HashMap} that fails with an {@link IllegalStateException} on duplicate keys.
+     */
+    public static <TYPE, KEY, VALUE> Collector<TYPE, ?, Map<KEY, VALUE>> toMap(
+            final Function<? super TYPE, ? extends KEY> keyMapper,
+            final Function<? super TYPE, ? extends VALUE> valueMapper, final NullHandling<KEY> keys,
+            final NullHandling<VALUE> values) {
+        return toMap(keyMapper, valueMapper, keys, values, HashMap<KEY, VALUE>::new);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param <VALUE>
+     *            The value type
+     * @param keyMapper
+     *            Maps elements to keys.
+     * @param valueMapper
+     *            Maps elements to values.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @param values
+     *            Decides how <code>null</code> values are handled.
+     * @param expectedSize
+     *            The expected number of entries, e.g. the size of the source collection.
+     * @return A collector into a {@link HashMap} that is pre-sized for the expected number of entries and fails with
+     *         an {@link IllegalStateException} on duplicate keys.
+     */
+    public static <TYPE, KEY, VALUE> Collector<TYPE, ?, Map<KEY, VALUE>> toMap(
+            final Function<? super TYPE, ? extends KEY> keyMapper,
+            final Function<? super TYPE, ? extends VALUE> valueMapper, final NullHandling<KEY> keys,
+            final NullHandling<VALUE> values, final int expectedSize) {
+        return toMap(keyMapper, valueMapper, keys, values, () -> new HashMap<>(capacity(expectedSize)));
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param <VALUE>
+     *            The value type
+     * @param keyMapper
+     *            Maps elements to keys.
+     * @param valueMapper
+     *            Maps elements to values.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @param values
+     *            Decides how <code>null</code> values are handled.
+     * @return A concurrent collector into a {@link ConcurrentHashMap} that fails with an
+     *         {@link IllegalStateException} on duplicate keys.
+     */
+    public static <TYPE, KEY, VALUE> Collector<TYPE, ?, ConcurrentMap<KEY, VALUE>> toConcurrentMap(
+            final Function<? super TYPE, ? extends KEY> keyMapper,
+            final Function<? super TYPE, ? extends VALUE> valueMapper, final NullHandling<KEY> keys,
+            final NullHandling<VALUE> values) {
+        return toMap(keyMapper, valueMapper, keys, values, ConcurrentHashMap<KEY, VALUE>::new,
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param <VALUE>
+     *            The value type
+     * @param keyMapper
+     *            Maps elements to keys.
+     * @param valueMapper
+     *            Maps elements to values.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @param values
+     *            Decides how <code>null</code> values are handled.
+     * @param expectedSize
+     *            The expected number of entries, e.g. the size of the source collection.
+     * @return A concurrent collector into a {@link ConcurrentHashMap} that is pre-sized for the expected number of
+     *         entries and fails with an {@link IllegalStateException} on duplicate keys.
+     */
+    public static <TYPE, KEY, VALUE> Collector<TYPE, ?, ConcurrentMap<KEY, VALUE>> toConcurrentMap(
+            final Function<? super TYPE, ? extends KEY> keyMapper,
+            final Function<? super TYPE, ? extends VALUE> valueMapper, final NullHandling<KEY> keys,
+            final NullHandling<VALUE> values, final int expectedSize) {
+        return toMap(keyMapper, valueMapper, keys, values, () -> new ConcurrentHashMap<>(expectedSize),
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    private static <TYPE, KEY, VALUE, MAP extends Map<KEY, VALUE>> Collector<TYPE, ?, MAP> toMap(
+            final Function<? super TYPE, ? extends KEY> keyMapper,
+            final Function<? super TYPE, ? extends VALUE> valueMapper, final NullHandling<KEY> keys,
+            final NullHandling<VALUE> values, final Supplier<MAP> supplier,
+            final Collector.Characteristics... characteristics) {
+        return Collector.of(supplier, (map, element) -> {
+            final KEY key = keys.handle(keyMapper.apply(element), NULL_KEY);
+            final VALUE value = values.handle(valueMapper.apply(element), NULL_VALUE);
+            if (key != null && value != null) {
+                putUnique(map, key, value);
+            }
+        }, (left, right) -> {
+            right.forEach((key, value) -> putUnique(left, key, value));
+            return left;
+        }, characteristics);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param classifier
+     *            Maps elements to keys.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @return A collector that groups elements by their key into a {@link HashMap} of {@link ArrayList}s.
+     */
+    public static <TYPE, KEY> Collector<TYPE, ?, Map<KEY, List<TYPE>>> groupingBy(
+            final Function<? super TYPE, ? extends KEY> classifier, final NullHandling<KEY> keys) {
+        return groupingBy(classifier, keys, HashMap<KEY, List<TYPE>>::new);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param classifier
+     *            Maps elements to keys.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @param expectedGroups
+     *            The expected number of distinct keys.
+     * @return A collector that groups elements by their key into a {@link HashMap} of {@link ArrayList}s that is
+     *         pre-sized for the expected number of groups.
+     */
+    public static <TYPE, KEY> Collector<TYPE, ?, Map<KEY, List<TYPE>>> groupingBy(
+            final Function<? super TYPE, ? extends KEY> classifier, final NullHandling<KEY> keys,
+            final int expectedGroups) {
+        return groupingBy(classifier, keys, () -> new HashMap<>(capacity(expectedGroups)));
+    }
+
+    private static <TYPE, KEY> Collector<TYPE, ?, Map<KEY, List<TYPE>>> groupingBy(
+            final Function<? super TYPE, ? extends KEY> classifier, final NullHandling<KEY> keys,
+            final Supplier<Map<KEY, List<TYPE>>> supplier) {
+        return Collector.<TYPE, Map<KEY, List<TYPE>>> of(supplier, (map, element) -> {
+            final KEY key = keys.handle(classifier.apply(element), NULL_KEY);
+            if (key != null) {
+                map.computeIfAbsent(key, newKey -> new ArrayList<>()).add(element);
+            }
+        }, NullsafeCollectors::mergeGroups);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param classifier
+     *            Maps elements to keys.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @return A concurrent collector that groups elements by their key into a {@link ConcurrentHashMap} of
+     *         {@link ArrayList}s. Each list is guarded by its own lock, therefore threads only contend when they add
+     *         elements to the same group.
+     */
+    public static <TYPE, KEY> Collector<TYPE, ?, ConcurrentMap<KEY, List<TYPE>>> groupingByConcurrent(
+            final Function<? super TYPE, ? extends KEY> classifier, final NullHandling<KEY> keys) {
+        return groupingByConcurrent(classifier, keys, ConcurrentHashMap<KEY, List<TYPE>>::new);
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <KEY>
+     *            The key type
+     * @param classifier
+     *            Maps elements to keys.
+     * @param keys
+     *            Decides how <code>null</code> keys are handled.
+     * @param expectedGroups
+     *            The expected number of distinct keys.
+     * @return A concurrent collector that groups elements by their key into a {@link ConcurrentHashMap} of
+     *         {@link ArrayList}s that is pre-sized for the expected number of groups.
+     */
+    public static <TYPE, KEY> Collector<TYPE, ?, ConcurrentMap<KEY, List<TYPE>>> groupingByConcurrent(
+            final Function<? super TYPE, ? extends KEY> classifier, final NullHandling<KEY> keys,
+            final int expectedGroups) {
+        return groupingByConcurrent(classifier, keys, () -> new ConcurrentHashMap<>(expectedGroups));
+    }
+
+    private static <TYPE, KEY> Collector<TYPE, ?, ConcurrentMap<KEY, List<TYPE>>> groupingByConcurrent(
+            final Function<? super TYPE, ? extends KEY> classifier, final NullHandling<KEY> keys,
+            final Supplier<ConcurrentMap<KEY, List<TYPE>>> supplier) {
+        return Collector.<TYPE, ConcurrentMap<KEY, List<TYPE>>> of(supplier, (map, element) -> {
+            final KEY key = keys.handle(classifier.apply(element), NULL_KEY);
+            if (key != null) {
+                final List<TYPE> group = map.computeIfAbsent(key, newKey -> new ArrayList<>());
+                synchronized (group) {
+                    group.add(element);
+                }
+            }
+        }, NullsafeCollectors::mergeGroups, Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    static <TYPE, KEY, MAP extends Map<KEY, List<TYPE>>> MAP mergeGroups(final MAP left, final MAP right) {
+        right.forEach((key, group) -> left.merge(key, group, (leftGroup, rightGroup) -> {
+            leftGroup.addAll(rightGroup);
+            return leftGroup;
+        }));
+        return left;
+    }
+
+    static <KEY, VALUE> void putUnique(final Map<KEY, VALUE> map, final KEY key, final VALUE value) {
+        if (map.putIfAbsent(key, value) != null) {
+            throw new IllegalStateException("Duplicate key " + key); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * @param expectedSize
+     *            The expected number of entries.
+     * @return The capacity of a {@link HashMap} that holds the expected number of entries without resizing.
+     */
+    static int capacity(final int expectedSize) {
+        return (int) Math.ceil(expectedSize / 0.75);
+    }
+
+}
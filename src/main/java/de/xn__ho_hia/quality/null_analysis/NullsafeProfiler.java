@@ -0,0 +1,166 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Samples the callers of failed {@link Nullsafe#nonNull(Object)} checks and of the fallbacks of {@link Nullsafe}, in
+ * order to find the legacy APIs that leak most <code>null</code>s under real load. Sampling is disabled by default and
+ * can be enabled at runtime with {@link #setSamplingRate(int)} or at startup with
+ * <code>-D{@value #SYSTEM_PROPERTY}=100</code>, which samples one out of 100 events on average. Only sampled events
+ * locate their caller, using <code>java.lang.StackWalker</code> on Java 9 and later and a full stack trace on Java 8.
+ * Samples are counted per call site in a lock-free table of at most {@value #CAPACITY} call sites. Samples of call
+ * sites that do not fit into the table are counted as dropped.
+ */
+public final class NullsafeProfiler {
+
+    /**
+     * The system property used to enable sampling at startup, e.g.
+     * <code>-Dde.xn__ho_hia.quality.null_analysis.NullsafeProfiler.samplingRate=100</code>.
+     */
+    public static final String SYSTEM_PROPERTY = "de.xn__ho_hia.quality.null_analysis.NullsafeProfiler.samplingRate"; //$NON-NLS-1$
+
+    /** The maximum number of call sites. */
+    public static final int CAPACITY = 1024;
+
+    /** The profiler of all instrumented methods. */
+    static final NullsafeProfiler INSTANCE = new NullsafeProfiler(CallSiteLocator.create(CallSiteLocator.STACK_WALKER),
+            CAPACITY);
+
+    volatile int samplingRate;
+    private final CallSiteLocator locator;
+    private final int capacity;
+    private final AtomicReferenceArray<@Nullable CallSite> table;
+    private final AtomicInteger size;
+    private final LongAdder dropped;
+
+    NullsafeProfiler(final CallSiteLocator locator, final int capacity) {
+        samplingRate = Integer.getInteger(SYSTEM_PROPERTY, 0).intValue();
+        this.locator = locator;
+        this.capacity = capacity;
+        table = new AtomicReferenceArray<>(Integer.highestOneBit(capacity) * 2);
+        size = new AtomicInteger();
+        dropped = new LongAdder();
+    }
+
+    /**
+     * @return The profiler of all instrumented methods.
+     */
+    public static NullsafeProfiler instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The average number of events per sample or 0 in case sampling is disabled.
+     */
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * @param samplingRate
+     *            The average number of events per sample, e.g. 1 to sample every event. Values below 1 disable
+     *            sampling.
+     */
+    public void setSamplingRate(final int samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
+    void sample(final String method) {
+        final int rate = samplingRate;
+        if (rate > 0 && ThreadLocalRandom.current().nextInt(rate) == 0) {
+            final StackTraceElement caller = locator.locate();
+            record(method + " <- " + (caller != null ? caller : "unknown")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    void record(final String key) {
+        final int index = key.hashCode() & (table.length() - 1);
+        while (true) {
+            final CallSite head = table.get(index);
+            for (CallSite site = head; site != null; site = site.next) {
+                if (site.key.equals(key)) {
+                    site.samples.increment();
+                    return;
+                }
+            }
+            if (size.get() >= capacity) {
+                dropped.increment();
+                return;
+            }
+            final CallSite created = new CallSite(key, head);
+            if (table.compareAndSet(index, head, created)) {
+                size.incrementAndGet();
+                created.samples.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Creates a report of all sampled call sites, ordered by their number of samples with the most frequent call site
+     * first. Each line lists the number of samples, the instrumented method and its caller.
+     *
+     * @return The report, which is empty in case nothing was sampled.
+     */
+    public String report() {
+        final List<CallSite> sites = new ArrayList<>();
+        for (int index = 0; index < table.length(); index++) {
+            for (CallSite site = table.get(index); site != null; site = site.next) {
+                sites.add(site);
+            }
+        }
+        sites.sort(Comparator.comparingLong(CallSite::sum).reversed().thenComparing(site -> site.key));
+        final StringBuilder report = new StringBuilder();
+        for (final CallSite site : sites) {
+            report.append(site.sum()).append('\t').append(site.key).append('\n');
+        }
+        final long droppedSamples = dropped.sum();
+        if (droppedSamples > 0) {
+            report.append(droppedSamples).append("\tdropped\n"); //$NON-NLS-1$
+        }
+        return Nullsafe.nonNull(report.toString());
+    }
+
+    /**
+     * Removes all call sites and samples.
+     */
+    public void reset() {
+        for (int index = 0; index < table.length(); index++) {
+            table.set(index, null);
+        }
+        size.set(0);
+        dropped.reset();
+    }
+
+    static final class CallSite {
+
+        final String key;
+        final @Nullable CallSite next;
+        final LongAdder samples = new LongAdder();
+
+        CallSite(final String key, @Nullable final CallSite next) {
+            this.key = key;
+            this.next = next;
+        }
+
+        long sum() {
+            return samples.sum();
+        }
+
+    }
+
+}
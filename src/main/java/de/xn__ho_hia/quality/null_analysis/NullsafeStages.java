@@ -0,0 +1,122 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Adapters that fuse the checks and fallbacks of {@link Nullsafe} into the function of an existing combinator of a
+ * {@link java.util.concurrent.CompletionStage}, e.g.
+ * <code>legacy.thenApply(NullsafeStages.ensureList(this::process))</code> in place of
+ * <code>legacy.thenApply(Nullsafe::ensureList).thenApply(this::process)</code>. This saves a dependent stage, its
+ * completion and a possible hop to another thread per call. A failed check throws inside the combinator, thus its
+ * stage completes exceptionally with a {@link java.util.concurrent.CompletionException} caused by the exception of the
+ * global {@link FailurePolicy}.
+ */
+public final class NullsafeStages {
+
+    private NullsafeStages() {
+        // utility class
+    }
+
+    /**
+     * @param <TYPE>
+     *            The type of the incoming value
+     * @param <RESULT>
+     *            The result type
+     * @param function
+     *            The function of the combinator, only called with non-null values.
+     * @return A function that checks its argument through {@link Nullsafe#nonNull(Object)} before it applies the given
+     *         function.
+     */
+    public static <TYPE, RESULT> Function<TYPE, RESULT> nonNull(
+            final Function<? super TYPE, ? extends RESULT> function) {
+        return value -> function.apply(Nullsafe.nonNull(value));
+    }
+
+    /**
+     * @param <TYPE>
+     *            The list type
+     * @param <RESULT>
+     *            The result type
+     * @param function
+     *            The function of the combinator, called with an empty list in place of <code>null</code>.
+     * @return A function that passes its argument through {@link Nullsafe#ensureList(List)} to the given function.
+     */
+    public static <TYPE, RESULT> Function<List<TYPE>, RESULT> ensureList(
+            final Function<? super List<TYPE>, ? extends RESULT> function) {
+        return list -> function.apply(Nullsafe.ensureList(list));
+    }
+
+    /**
+     * @param <TYPE>
+     *            The set type
+     * @param <RESULT>
+     *            The result type
+     * @param function
+     *            The function of the combinator, called with an empty set in place of <code>null</code>.
+     * @return A function that passes its argument through {@link Nullsafe#ensureSet(Set)} to the given function.
+     */
+    public static <TYPE, RESULT> Function<Set<TYPE>, RESULT> ensureSet(
+            final Function<? super Set<TYPE>, ? extends RESULT> function) {
+        return set -> function.apply(Nullsafe.ensureSet(set));
+    }
+
+    /**
+     * @param <KEY>
+     *            The map key type
+     * @param <VALUE>
+     *            The map value type
+     * @param <RESULT>
+     *            The result type
+     * @param function
+     *            The function of the combinator, called with an empty map in place of <code>null</code>.
+     * @return A function that passes its argument through {@link Nullsafe#ensureMap(Map)} to the given function.
+     */
+    public static <KEY, VALUE, RESULT> Function<Map<KEY, VALUE>, RESULT> ensureMap(
+            final Function<? super Map<KEY, VALUE>, ? extends RESULT> function) {
+        return map -> function.apply(Nullsafe.ensureMap(map));
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <RESULT>
+     *            The result type
+     * @param function
+     *            The function of the combinator, called with an empty stream in place of <code>null</code>.
+     * @return A function that passes its argument through {@link Nullsafe#safelyStream(Collection)} to the given
+     *         function.
+     */
+    public static <TYPE, RESULT> Function<Collection<TYPE>, RESULT> safelyStream(
+            final Function<? super Stream<TYPE>, ? extends RESULT> function) {
+        return collection -> function.apply(Nullsafe.safelyStream(collection));
+    }
+
+    /**
+     * @param <TYPE>
+     *            The element type
+     * @param <RESULT>
+     *            The result type
+     * @param function
+     *            The function of the combinator, called with an empty stream in place of <code>null</code>.
+     * @param skipNulls
+     *            Whether <code>null</code> elements should be skipped.
+     * @return A function that passes its argument through {@link Nullsafe#safelyStream(Collection, boolean)} to the
+     *         given function.
+     */
+    public static <TYPE, RESULT> Function<Collection<TYPE>, RESULT> safelyStream(
+            final Function<? super Stream<TYPE>, ? extends RESULT> function, final boolean skipNulls) {
+        return collection -> function.apply(Nullsafe.safelyStream(collection, skipNulls));
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts how often the fallbacks of {@link Nullsafe} kick in, in order to find the legacy APIs that return
+ * <code>null</code> most often. Counting is disabled by default and can be switched at runtime, either through
+ * {@link #setEnabled(boolean)}, JMX, or at startup with <code>-D{@value #SYSTEM_PROPERTY}=true</code>. While
+ * disabled, each instrumented method only reads a single volatile flag. Counters are striped {@link LongAdder}s, so
+ * that concurrent callers do not contend on them.
+ */
+public final class NullsafeStatistics implements NullsafeStatisticsMXBean {
+
+    /**
+     * The system property used to enable counting at startup, e.g.
+     * <code>-Dde.xn__ho_hia.quality.null_analysis.NullsafeStatistics.enabled=true</code>.
+     */
+    public static final String SYSTEM_PROPERTY = "de.xn__ho_hia.quality.null_analysis.NullsafeStatistics.enabled"; //$NON-NLS-1$
+
+    /** The name under which {@link #register()} publishes the statistics. */
+    public static final String OBJECT_NAME = "de.xn__ho_hia.quality.null_analysis:type=NullsafeStatistics"; //$NON-NLS-1$
+
+    static final int ENSURE_LIST = 0;
+    static final int ENSURE_SET = 1;
+    static final int ENSURE_MAP = 2;
+    static final int SAFELY_STREAM = 3;
+    static final int IS_NULL_OR_EMPTY = 4;
+    static final int IS_NULL_OR_BLANK = 5;
+
+    @SuppressWarnings("nls")
+    private static final String[] METHODS = { "ensureList", "ensureSet", "ensureMap", "safelyStream",
+            "isNullOrEmpty", "isNullOrBlank" };
+
+    /** The statistics of all instrumented methods. */
+    static final NullsafeStatistics INSTANCE = new NullsafeStatistics();
+
+    volatile boolean enabled;
+    private final LongAdder[] hits;
+    private final LongAdder[] fallbacks;
+
+    NullsafeStatistics() {
+        enabled = Boolean.getBoolean(SYSTEM_PROPERTY);
+        hits = counters();
+        fallbacks = counters();
+    }
+
+    private static LongAdder[] counters() {
+        final LongAdder[] counters = new LongAdder[METHODS.length];
+        for (int index = 0; index < counters.length; index++) {
+            counters[index] = new LongAdder();
+        }
+        return counters;
+    }
+
+    /**
+     * @return The statistics of all instrumented methods.
+     */
+    public static NullsafeStatistics instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Publishes the statistics in the platform MBean server under {@value #OBJECT_NAME}. Does nothing in case they are
+     * already published.
+     */
+    public static void register() {
+        register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    static void register(final MBeanServer server) {
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (final JMException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Removes the statistics from the platform MBean server. Does nothing in case they are not published.
+     */
+    public static void unregister() {
+        unregister(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    static void unregister(final MBeanServer server) {
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (final JMException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    static String methodName(final int method) {
+        return METHODS[method];
+    }
+
+    void record(final int method, final boolean fallback) {
+        if (fallback) {
+            fallbacks[method].increment();
+        } else {
+            hits[method].increment();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Map<String, Long> getHits() {
+        return snapshot(hits);
+    }
+
+    @Override
+    public Map<String, Long> getFallbacks() {
+        return snapshot(fallbacks);
+    }
+
+    private static Map<String, Long> snapshot(final LongAdder[] counters) {
+        final Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (int index = 0; index < counters.length; index++) {
+            snapshot.put(METHODS[index], Long.valueOf(counters[index].sum()));
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void reset() {
+        for (int index = 0; index < METHODS.length; index++) {
+            hits[index].reset();
+            fallbacks[index].reset();
+        }
+    }
+
+}
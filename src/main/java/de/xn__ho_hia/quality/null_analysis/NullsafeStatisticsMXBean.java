@@ -0,0 +1,42 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link NullsafeStatistics}.
+ */
+public interface NullsafeStatisticsMXBean {
+
+    /**
+     * @return Whether calls are currently counted.
+     */
+    boolean isEnabled();
+
+    /**
+     * @param enabled
+     *            Whether calls should be counted from now on.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return The number of calls per method that used the given value as is.
+     */
+    Map<String, Long> getHits();
+
+    /**
+     * @return The number of calls per method that fell back because the given value was <code>null</code>.
+     */
+    Map<String, Long> getFallbacks();
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset();
+
+}
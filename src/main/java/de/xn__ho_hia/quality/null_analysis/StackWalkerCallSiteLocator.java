@@ -0,0 +1,57 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Locates callers through <code>java.lang.StackWalker</code>, which only materializes the frames that are actually
+ * inspected. The API is bound reflectively since this library is compiled for Java 8. The lookup must not be the public
+ * one, since <code>walk</code> is caller sensitive.
+ */
+final class StackWalkerCallSiteLocator implements CallSiteLocator {
+
+    private final Function<Function<Stream<Object>, @Nullable Object>, @Nullable Object> walk;
+    private final Function<Object, String> className;
+    private final Function<Object, StackTraceElement> element;
+
+    StackWalkerCallSiteLocator(final Class<?> walkerType, final Class<?> frameType)
+            throws ReflectiveOperationException {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final Object walker = function(Supplier.class,
+                lookup.findStatic(walkerType, "getInstance", MethodType.methodType(walkerType))).get(); //$NON-NLS-1$
+        walk = function(Function.class, lookup
+                .findVirtual(walkerType, "walk", MethodType.methodType(Object.class, Function.class)) //$NON-NLS-1$
+                .bindTo(walker));
+        className = function(Function.class,
+                lookup.findVirtual(frameType, "getClassName", MethodType.methodType(String.class))); //$NON-NLS-1$
+        element = function(Function.class, lookup.findVirtual(frameType, "toStackTraceElement", //$NON-NLS-1$
+                MethodType.methodType(StackTraceElement.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <TYPE> TYPE function(final Class<? super TYPE> type, final MethodHandle handle) {
+        return (TYPE) MethodHandleProxies.asInterfaceInstance(type, handle);
+    }
+
+    @Override
+    public @Nullable StackTraceElement locate() {
+        return (StackTraceElement) walk.apply(frames -> {
+            final Object frame = CallSiteLocator.caller(frames.iterator(), className);
+            return frame != null ? element.apply(frame) : null;
+        });
+    }
+
+}
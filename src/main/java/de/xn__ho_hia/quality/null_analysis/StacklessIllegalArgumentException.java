@@ -0,0 +1,32 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+/**
+ * {@link IllegalArgumentException} that does not capture a stack trace. Creating it costs about as much as any other
+ * small object, which makes it suitable for high-rate rejection of invalid input.
+ *
+ * @see FailurePolicy#STACKLESS
+ */
+public final class StacklessIllegalArgumentException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message
+     *            The exception message.
+     */
+    public StacklessIllegalArgumentException(final String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
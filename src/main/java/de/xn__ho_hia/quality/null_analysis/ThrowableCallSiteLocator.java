@@ -0,0 +1,25 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Locates callers through {@link Throwable#getStackTrace()}, which captures the full stack. Used on Java 8 which lacks
+ * a cheaper alternative.
+ */
+final class ThrowableCallSiteLocator implements CallSiteLocator {
+
+    @Override
+    public @Nullable StackTraceElement locate() {
+        return CallSiteLocator.caller(Arrays.asList(new Throwable().getStackTrace()).iterator(),
+                StackTraceElement::getClassName);
+    }
+
+}
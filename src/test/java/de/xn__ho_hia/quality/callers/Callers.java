@@ -0,0 +1,40 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.callers;
+
+import java.util.function.Supplier;
+
+/**
+ * Calls into the library from outside of its package. Call site locators treat every class of the library package as
+ * part of the library, including the tests living next to it, therefore tests use this class as the located caller.
+ */
+public final class Callers {
+
+    private Callers() {
+        // utility class
+    }
+
+    /**
+     * @param <RESULT>
+     *            The result type
+     * @param supplier
+     *            The call to make.
+     * @return The result of the given call.
+     */
+    public static <RESULT> RESULT call(final Supplier<RESULT> supplier) {
+        return supplier.get();
+    }
+
+    /**
+     * @param runnable
+     *            The call to make.
+     */
+    public static void run(final Runnable runnable) {
+        runnable.run();
+    }
+
+}
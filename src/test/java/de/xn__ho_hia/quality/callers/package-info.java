@@ -0,0 +1,13 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+/**
+ * Callers outside of the library package, used to test call site locators.
+ */
+@NonNullByDefault
+package de.xn__ho_hia.quality.callers;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -0,0 +1,70 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Measures the bytes that a call allocates in the current thread. Calls are warmed up first so that the measurement
+ * sees JIT-compiled code, and their results are kept in a volatile field so that escape analysis cannot remove
+ * allocations that real callers would see. The JIT compiles in the background and might still run profiled code
+ * during the first rounds, thus the round with the fewest allocations counts.
+ */
+final class Allocations {
+
+    /** The number of calls before the measurement starts. */
+    static final int WARM_UP = 20_000;
+
+    /** The number of measured calls per round, which also hides the allocations of the measurement itself. */
+    static final int ITERATIONS = 10_000;
+
+    /** The number of measured rounds. */
+    static final int ROUNDS = 5;
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Keeps the result of the last call. */
+    static volatile @Nullable Object sink;
+
+    private Allocations() {
+        // utility class
+    }
+
+    /**
+     * @return <code>true</code> in case the JVM counts the bytes allocated per thread
+     */
+    static boolean isSupported() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @param call
+     *            The call to measure
+     * @return The average number of bytes allocated per call in the best round, rounded down
+     */
+    static long bytesPerCall(final Supplier<?> call) {
+        for (int index = 0; index < WARM_UP; index++) {
+            sink = call.get();
+        }
+        final long thread = Thread.currentThread().getId();
+        long bytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long before = THREADS.getThreadAllocatedBytes(thread);
+            for (int index = 0; index < ITERATIONS; index++) {
+                sink = call.get();
+            }
+            bytes = Math.min(bytes, THREADS.getThreadAllocatedBytes(thread) - before);
+        }
+        return bytes / ITERATIONS;
+    }
+
+}
@@ -0,0 +1,666 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class BigIntegerReductionTest {
+
+    private static final int PARALLEL_SIZE = BigIntegerReduction.CHUNK_SIZE * 4 + 123;
+
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    private static final BigInteger BEYOND_MAX = LONG_MAX.add(BigInteger.ONE);
+    private static final BigInteger BEYOND_MIN = BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE);
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumNullCollectionToZero() {
+        // given
+        final List<BigInteger> values = null;
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.FAIL);
+
+        // then
+        Assert.assertEquals(BigInteger.ZERO, sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumEmptyCollectionToZero() {
+        // given
+        final List<BigInteger> values = Collections.emptyList();
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.FAIL);
+
+        // then
+        Assert.assertEquals(BigInteger.ZERO, sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumAndSkipNulls() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.ONE, null, BigInteger.TEN, BigInteger.ZERO);
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(11), sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumNegativeValues() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.valueOf(-5), BigInteger.ONE, BigInteger.ZERO);
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(-4), sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumBeyondLongRange() {
+        // given
+        final List<BigInteger> values = Arrays.asList(LONG_MAX, LONG_MAX, BigInteger.ZERO, LONG_MAX, BigInteger.ONE);
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(LONG_MAX.multiply(BigInteger.valueOf(3)).add(BigInteger.ONE), sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumValuesOutsideOfLongRange() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BEYOND_MAX, BigInteger.ONE, BEYOND_MIN, BEYOND_MAX);
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.add(BigInteger.ONE).add(BEYOND_MIN).add(BEYOND_MAX), sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumLinkedLists() {
+        // given
+        final List<BigInteger> values = new LinkedList<>(Arrays.asList(BigInteger.ONE, null, BEYOND_MAX));
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.TREAT_AS_ZERO);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.add(BigInteger.ONE), sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldSumLargeListsInParallel() {
+        // given
+        final List<BigInteger> values = largeList();
+
+        // when
+        final BigInteger sum = BigIntegerReduction.sum(values, NullPolicy.SKIP);
+
+        // then
+        BigInteger expected = BigInteger.ZERO;
+        for (final BigInteger value : values) {
+            if (value != null) {
+                expected = expected.add(value);
+            }
+        }
+        Assert.assertEquals(expected, sum);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldRejectNullAtFirstIndex() {
+        // given
+        final List<BigInteger> values = Arrays.asList(null, BigInteger.ONE);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index 0");
+
+        // when
+        BigIntegerReduction.sum(values, NullPolicy.FAIL);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldRejectFirstNullOfLinkedList() {
+        // given
+        final List<BigInteger> values = new LinkedList<>(Arrays.asList(BigInteger.ONE, null, BigInteger.ONE, null));
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index 1");
+
+        // when
+        BigIntegerReduction.sum(values, NullPolicy.FAIL);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldRejectFirstNullOfSmallList() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.ONE, BigInteger.ONE, null, null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index 2");
+
+        // when
+        BigIntegerReduction.sum(values, NullPolicy.FAIL);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldRejectFirstNullOfLargeList() {
+        // given
+        final List<BigInteger> values = new ArrayList<>(Collections.nCopies(PARALLEL_SIZE, BigInteger.ONE));
+        values.set(0, null);
+        values.set(PARALLEL_SIZE - 1, null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index 0");
+
+        // when
+        BigIntegerReduction.sum(values, NullPolicy.FAIL);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#sum</code>.
+     */
+    @Test
+    public final void shouldRejectNullOfLastChunk() {
+        // given
+        final List<BigInteger> values = new ArrayList<>(Collections.nCopies(PARALLEL_SIZE, BigInteger.ONE));
+        values.set(PARALLEL_SIZE - 1, null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index " + (PARALLEL_SIZE - 1));
+
+        // when
+        BigIntegerReduction.sum(values, NullPolicy.FAIL);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#product</code>.
+     */
+    @Test
+    public final void shouldMultiplyNullCollectionToOne() {
+        // given
+        final List<BigInteger> values = null;
+
+        // when
+        final BigInteger product = BigIntegerReduction.product(values, NullPolicy.FAIL);
+
+        // then
+        Assert.assertEquals(BigInteger.ONE, product);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#product</code>.
+     */
+    @Test
+    public final void shouldMultiplyAndSkipNulls() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, null, BigInteger.valueOf(-3));
+
+        // when
+        final BigInteger product = BigIntegerReduction.product(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(-30), product);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#product</code>.
+     */
+    @Test
+    public final void shouldMultiplyNullsAsZero() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, null, BigInteger.valueOf(-3));
+
+        // when
+        final BigInteger product = BigIntegerReduction.product(values, NullPolicy.TREAT_AS_ZERO);
+
+        // then
+        Assert.assertEquals(BigInteger.ZERO, product);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#product</code>.
+     */
+    @Test
+    public final void shouldMultiplyBeyondLongRange() {
+        // given
+        final List<BigInteger> values = Arrays.asList(LONG_MAX, BigInteger.TEN, LONG_MAX, BigInteger.valueOf(7));
+
+        // when
+        final BigInteger product = BigIntegerReduction.product(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(LONG_MAX.multiply(BigInteger.TEN).multiply(LONG_MAX).multiply(BigInteger.valueOf(7)),
+                product);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#product</code>.
+     */
+    @Test
+    public final void shouldMultiplyValuesOutsideOfLongRange() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BEYOND_MAX, BigInteger.TEN, BEYOND_MIN);
+
+        // when
+        final BigInteger product = BigIntegerReduction.product(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.multiply(BigInteger.TEN).multiply(BEYOND_MIN), product);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#product</code>.
+     */
+    @Test
+    public final void shouldMultiplyLargeListsInParallel() {
+        // given
+        final List<BigInteger> values = largeList();
+
+        // when
+        final BigInteger product = BigIntegerReduction.product(values, NullPolicy.SKIP);
+
+        // then
+        BigInteger expected = BigInteger.ONE;
+        for (final BigInteger value : values) {
+            if (value != null) {
+                expected = expected.multiply(value);
+            }
+        }
+        Assert.assertEquals(expected, product);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#min</code>.
+     */
+    @Test
+    public final void shouldFindNoMinimumOfNullCollection() {
+        // given
+        final List<BigInteger> values = null;
+
+        // when
+        final Optional<BigInteger> min = BigIntegerReduction.min(values, NullPolicy.FAIL);
+
+        // then
+        Assert.assertFalse(min.isPresent());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#min</code>.
+     */
+    @Test
+    public final void shouldFindMinimum() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, null, BigInteger.ONE, BEYOND_MIN);
+
+        // when
+        final Optional<BigInteger> min = BigIntegerReduction.min(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BEYOND_MIN, min.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#min</code>.
+     */
+    @Test
+    public final void shouldFindMinimumWithNullsAsZero() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, null, BigInteger.ONE);
+
+        // when
+        final Optional<BigInteger> min = BigIntegerReduction.min(values, NullPolicy.TREAT_AS_ZERO);
+
+        // then
+        Assert.assertEquals(BigInteger.ZERO, min.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#min</code>.
+     */
+    @Test
+    public final void shouldFindFirstMinimum() {
+        // given
+        final BigInteger first = new BigInteger("5");
+        final BigInteger second = new BigInteger("5");
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, first, second);
+
+        // when
+        final Optional<BigInteger> min = BigIntegerReduction.min(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertSame(first, min.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#min</code>.
+     */
+    @Test
+    public final void shouldFindFirstMinimumOfLargeList() {
+        // given
+        final BigInteger first = BEYOND_MIN.add(BEYOND_MIN);
+        final BigInteger second = BEYOND_MIN.add(BEYOND_MIN);
+        final List<BigInteger> values = largeList();
+        values.set(BigIntegerReduction.CHUNK_SIZE - 1, first);
+        values.set(PARALLEL_SIZE - 1, second);
+
+        // when
+        final Optional<BigInteger> min = BigIntegerReduction.min(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertSame(first, min.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#min</code>.
+     */
+    @Test
+    public final void shouldFindMinimumOfLastChunk() {
+        // given
+        final List<BigInteger> values = largeList();
+        values.set(PARALLEL_SIZE - 1, BEYOND_MIN);
+
+        // when
+        final Optional<BigInteger> min = BigIntegerReduction.min(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BEYOND_MIN, min.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#min</code>.
+     */
+    @Test
+    public final void shouldIgnoreChunksOfNullsForMinimum() {
+        // given
+        final List<BigInteger> values = new ArrayList<>(Collections.nCopies(PARALLEL_SIZE, null));
+        values.set(0, BigInteger.TEN);
+
+        // when
+        final Optional<BigInteger> min = BigIntegerReduction.min(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.TEN, min.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#max</code>.
+     */
+    @Test
+    public final void shouldFindNoMaximumOfNullCollection() {
+        // given
+        final List<BigInteger> values = null;
+
+        // when
+        final Optional<BigInteger> max = BigIntegerReduction.max(values, NullPolicy.FAIL);
+
+        // then
+        Assert.assertFalse(max.isPresent());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#max</code>.
+     */
+    @Test
+    public final void shouldFindMaximum() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, null, BigInteger.ONE, BEYOND_MAX);
+
+        // when
+        final Optional<BigInteger> max = BigIntegerReduction.max(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX, max.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#max</code>.
+     */
+    @Test
+    public final void shouldFindFirstMaximum() {
+        // given
+        final BigInteger first = new BigInteger("5");
+        final BigInteger second = new BigInteger("5");
+        final List<BigInteger> values = Arrays.asList(BigInteger.ONE, first, second);
+
+        // when
+        final Optional<BigInteger> max = BigIntegerReduction.max(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertSame(first, max.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#max</code>.
+     */
+    @Test
+    public final void shouldFindFirstMaximumOfLargeList() {
+        // given
+        final BigInteger first = BEYOND_MAX.add(BEYOND_MAX);
+        final BigInteger second = BEYOND_MAX.add(BEYOND_MAX);
+        final List<BigInteger> values = largeList();
+        values.set(BigIntegerReduction.CHUNK_SIZE - 1, first);
+        values.set(PARALLEL_SIZE - 1, second);
+
+        // when
+        final Optional<BigInteger> max = BigIntegerReduction.max(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertSame(first, max.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#max</code>.
+     */
+    @Test
+    public final void shouldIgnoreChunksOfNullsForMaximum() {
+        // given
+        final List<BigInteger> values = new ArrayList<>(Collections.nCopies(PARALLEL_SIZE, null));
+        values.set(0, BigInteger.TEN);
+
+        // when
+        final Optional<BigInteger> max = BigIntegerReduction.max(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.TEN, max.get());
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#splittable</code>.
+     */
+    @Test
+    public final void shouldSplitRandomAccessLists() {
+        // given
+        final List<BigInteger> values = new ArrayList<>();
+
+        // when
+        final List<BigInteger> splittable = BigIntegerReduction.splittable(values);
+
+        // then
+        Assert.assertSame(values, splittable);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#splittable</code>.
+     */
+    @Test
+    public final void shouldNotSplitLinkedLists() {
+        // given
+        final List<BigInteger> values = new LinkedList<>();
+
+        // when
+        final List<BigInteger> splittable = BigIntegerReduction.splittable(values);
+
+        // then
+        Assert.assertNull(splittable);
+    }
+
+    /**
+     * Test method for <code>BigIntegerReduction#splittable</code>.
+     */
+    @Test
+    public final void shouldNotSplitRandomAccessCollections() {
+        // given
+        final Collection<BigInteger> values = new RandomAccessCollection();
+
+        // when
+        final List<BigInteger> splittable = BigIntegerReduction.splittable(values);
+
+        // then
+        Assert.assertNull(splittable);
+    }
+
+    /**
+     * Ensures that the constructor of the <code>BigIntegerReduction</code> class is private.
+     *
+     * @throws NoSuchMethodException
+     *             Should not fail in case the class has a constructor.
+     * @throws IllegalAccessException
+     *             Should not fail in case the class has a constructor.
+     * @throws InvocationTargetException
+     *             Should not fail in case the class has a constructor.
+     * @throws InstantiationException
+     *             Should not fail in case the class has a constructor.
+     */
+    @Test
+    public void shouldDeclarePrivateConstructor()
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // Given
+        final Constructor<BigIntegerReduction> constructor = BigIntegerReduction.class.getDeclaredConstructor();
+
+        // When
+        final boolean isPrivate = Modifier.isPrivate(constructor.getModifiers());
+
+        // Then
+        Assert.assertTrue("Constructor is not private", isPrivate);
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+    private static final class RandomAccessCollection extends AbstractCollection<BigInteger> implements RandomAccess {
+
+        RandomAccessCollection() {
+            // package-private constructor
+        }
+
+        @Override
+        public Iterator<BigInteger> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+    }
+
+    /**
+     * Mixes small, negative, zero, <code>null</code> and out of <code>long</code> range values so that every chunk has
+     * to carry, overflow and merge large values.
+     */
+    private static List<BigInteger> largeList() {
+        final List<BigInteger> values = new ArrayList<>(PARALLEL_SIZE);
+        for (int index = 0; index < PARALLEL_SIZE; index++) {
+            switch (index % 7) {
+                case 0:
+                    values.add(LONG_MAX);
+                    break;
+                case 1:
+                    values.add(null);
+                    break;
+                case 2:
+                    values.add(BigInteger.valueOf(-index));
+                    break;
+                case 3:
+                    values.add(index % 1000 == 3 ? BEYOND_MAX : BigInteger.ONE);
+                    break;
+                case 4:
+                    values.add(index % 500 == 4 ? BigInteger.valueOf(3) : BigInteger.ONE);
+                    break;
+                default:
+                    values.add(BigInteger.valueOf(index));
+            }
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,1063 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class BytecodeNullnessTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    static class Patterns implements Cloneable {
+
+        static final String CONSTANT = "constant";
+
+        Object field = new Object();
+
+        Patterns(final String value) {
+            Objects.requireNonNull(value);
+        }
+
+        public String nullReturn() {
+            return null;
+        }
+
+        public String constantReturn() {
+            return "constant";
+        }
+
+        public Class<?> classReturn() {
+            return String.class;
+        }
+
+        public Patterns thisReturn() {
+            return this;
+        }
+
+        public Object newReturn() {
+            return new Object();
+        }
+
+        public int[] arrayReturn() {
+            return new int[1];
+        }
+
+        public Object[] objectArrayReturn() {
+            return new Object[1];
+        }
+
+        public int[][] matrixReturn() {
+            return new int[1][1];
+        }
+
+        public Object fieldReturn() {
+            return field;
+        }
+
+        public static Object staticReturn(final Object value) {
+            return value;
+        }
+
+        public String conditionalReturn(final boolean flag) {
+            return flag ? "yes" : null;
+        }
+
+        public String conditionalNonNullReturn(final boolean flag) {
+            return flag ? "yes" : "no";
+        }
+
+        public String earlyReturn(final boolean flag) {
+            if (flag) {
+                return "yes";
+            }
+            return null;
+        }
+
+        public String defaultValue(final String value) {
+            if (value == null) {
+                return "none";
+            }
+            return value;
+        }
+
+        public void rejected(final Object value) {
+            if (value == null) {
+                throw new IllegalArgumentException();
+            }
+            field = value;
+        }
+
+        public void rejectedInverted(final Object value) {
+            if (value != null) {
+                field = value;
+                return;
+            }
+            throw new IllegalArgumentException();
+        }
+
+        public void rejectedBoth(final Object first, final Object second) {
+            if (first == null) {
+                throw new IllegalArgumentException();
+            }
+            if (second == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+
+        public void required(final Object value) {
+            Objects.requireNonNull(value);
+        }
+
+        public void requiredWithMessage(final Object value) {
+            Objects.requireNonNull(value, "value");
+        }
+
+        public void requiredWithParameter(final Object value, final String message) {
+            Objects.requireNonNull(value, message);
+        }
+
+        public void requiredWithComputedMessage(final Object value, final Object message) {
+            Objects.requireNonNull(value, String.valueOf(message));
+        }
+
+        public boolean isNull(final Object value) {
+            return Objects.isNull(value);
+        }
+
+        public boolean nonNull(final Object value) {
+            return Objects.nonNull(value);
+        }
+
+        public void checkedByNullsafe(final Object value) {
+            Nullsafe.nonNull(value);
+        }
+
+        public int length(final String value) {
+            return value.length();
+        }
+
+        public int arrayLength(final int[] values) {
+            return values.length;
+        }
+
+        public Object fieldOf(final Patterns other) {
+            return other.field;
+        }
+
+        public void rethrow(final RuntimeException exception) {
+            throw exception;
+        }
+
+        public int size(final List<String> values) {
+            return values.size();
+        }
+
+        public int guarded(final String value) {
+            try {
+                return value.length();
+            } catch (final NullPointerException exception) {
+                return 0;
+            }
+        }
+
+        public int guardedLater(final String value, final String other) {
+            final int first = other.length();
+            try {
+                return value.length() + first;
+            } catch (final NullPointerException exception) {
+                return 0;
+            }
+        }
+
+        @SuppressWarnings("all")
+        public int reassigned(String value) {
+            value = "value";
+            return value.length();
+        }
+
+        @SuppressWarnings("all")
+        public void reassignedRejected(Object value) {
+            value = field;
+            if (value == null) {
+                throw new IllegalArgumentException();
+            }
+        }
+
+        @SuppressWarnings("all")
+        public String reassignedDefault(String value) {
+            if (value == null) {
+                value = "none";
+            }
+            return value;
+        }
+
+        public int conditionalLength(final boolean flag, final String value) {
+            if (flag) {
+                return value.length();
+            }
+            return 0;
+        }
+
+        @SuppressWarnings("unused")
+        public int wideSlots(final long first, final double second, final String value) {
+            return value.length();
+        }
+
+        @SuppressWarnings("unused")
+        public int slotFive(final String first, final String second, final String third, final String fourth,
+                final String value) {
+            return value.length();
+        }
+
+        public <TYPE> TYPE generic(final TYPE value) {
+            return Objects.requireNonNull(value);
+        }
+
+        public String tableSwitch(final int value) {
+            switch (value) {
+                case 1:
+                    return "one";
+                case 2:
+                    return "two";
+                case 3:
+                    return "three";
+                default:
+                    return null;
+            }
+        }
+
+        public String lookupSwitch(final int value) {
+            switch (value) {
+                case 1:
+                    return "one";
+                case 1000:
+                    return "thousand";
+                default:
+                    return "many";
+            }
+        }
+
+        public String wideIncrement(final int value) {
+            int local = value;
+            local += 1000;
+            return local > 0 ? "positive" : null;
+        }
+
+        private String hidden() {
+            return null;
+        }
+
+        public String callsPrivate() {
+            return hidden();
+        }
+
+        public Object identity(final Object value) {
+            return value;
+        }
+
+        public boolean equalsOf(final Object first, final Object second) {
+            return first.equals(second);
+        }
+
+        public void requiredMessage(final String message) {
+            Objects.requireNonNull("constant", message);
+        }
+
+        public String presentValue(final String value) {
+            if (value != null) {
+                return value;
+            }
+            return "none";
+        }
+
+        public static int staticLength(final String value) {
+            return value.length();
+        }
+
+        static Object checkNotNull(final Object value) {
+            return value;
+        }
+
+        public void checked(final Object value) {
+            checkNotNull(value);
+        }
+
+        public String constants(final long first, final double second) {
+            return first > 10_000_000_000L && second > 0.5 ? "large" : null;
+        }
+
+        class Inner {
+
+            Inner(final List<String> values) {
+                values.size();
+            }
+
+        }
+
+    }
+
+    static class Silent {
+
+        public void run() {
+            // nothing to infer
+        }
+
+    }
+
+    private static final String PATTERNS = "de/xn__ho_hia/quality/null_analysis/BytecodeNullnessTest$Patterns";
+
+    private static String annotate(final Class<?> type) throws IOException {
+        return Nullsafe.nonNull(BytecodeNullness.annotate(ByteBuffer.wrap(Jars.classFile(type))));
+    }
+
+    private static String member(final String name, final String descriptor, final String annotated) {
+        return "\n" + name + "\n " + descriptor + "\n " + annotated + "\n";
+    }
+
+    private static final int[] NO_HANDLER = {};
+
+    /**
+     * Creates a class with a single method <code>method</code> that has an unknown attribute named <code>Cake</code>,
+     * an <code>Integer</code> constant at index <code>9</code> and a reference to
+     * <code>Objects.requireNonNull(Object, String)</code> at index <code>15</code>.
+     */
+    private static ByteBuffer crafted(final int access, final String descriptor, final int[] handler,
+            final int... code) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(0xCAFEBABE);
+            output.writeShort(0);
+            output.writeShort(52);
+            output.writeShort(16);
+            for (final String constant : Arrays.asList("Crafted", "java/lang/Object")) {
+                output.writeByte(1); // utf8
+                output.writeUTF(constant);
+                output.writeByte(7); // class
+                output.writeShort(constant.equals("Crafted") ? 1 : 3);
+            }
+            for (final String constant : Arrays.asList("Code", "method", descriptor, "Cake")) {
+                output.writeByte(1); // utf8
+                output.writeUTF(constant);
+            }
+            output.writeByte(3); // integer
+            output.writeInt(42);
+            output.writeByte(1); // utf8
+            output.writeUTF("java/util/Objects");
+            output.writeByte(7); // class
+            output.writeShort(10);
+            for (final String constant : Arrays.asList("requireNonNull",
+                    "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;")) {
+                output.writeByte(1); // utf8
+                output.writeUTF(constant);
+            }
+            output.writeByte(12); // name and type
+            output.writeShort(12);
+            output.writeShort(13);
+            output.writeByte(10); // method
+            output.writeShort(11);
+            output.writeShort(14);
+            output.writeShort(0x0021); // public super
+            output.writeShort(2); // this class
+            output.writeShort(4); // super class
+            output.writeShort(0); // interfaces
+            output.writeShort(0); // fields
+            output.writeShort(1); // methods
+            output.writeShort(access);
+            output.writeShort(6); // name
+            output.writeShort(7); // descriptor
+            output.writeShort(2); // attributes
+            output.writeShort(5); // Code
+            output.writeInt(12 + code.length + 2 * handler.length);
+            output.writeShort(4); // max stack
+            output.writeShort(4); // max locals
+            output.writeInt(code.length);
+            for (final int instruction : code) {
+                output.writeByte(instruction);
+            }
+            output.writeShort(handler.length / 4); // exception table
+            for (final int value : handler) {
+                output.writeShort(value);
+            }
+            output.writeShort(0); // code attributes
+            output.writeShort(8); // Cake
+            output.writeInt(0);
+            output.writeShort(0); // class attributes
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldStartWithClassName() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertTrue(annotations.startsWith("class " + PATTERNS + "\n\n"));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateNullableReturns() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(
+                        member("nullReturn", "()Ljava/lang/String;", "()L0java/lang/String;")),
+                CoreMatchers.containsString(
+                        member("conditionalReturn", "(Z)Ljava/lang/String;", "(Z)L0java/lang/String;")),
+                CoreMatchers.containsString(
+                        member("earlyReturn", "(Z)Ljava/lang/String;", "(Z)L0java/lang/String;")),
+                CoreMatchers.containsString(
+                        member("wideIncrement", "(I)Ljava/lang/String;", "(I)L0java/lang/String;")),
+                CoreMatchers.containsString(
+                        member("constants", "(JD)Ljava/lang/String;", "(JD)L0java/lang/String;"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateNonNullReturns() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(
+                        member("constantReturn", "()Ljava/lang/String;", "()L1java/lang/String;")),
+                CoreMatchers.containsString(
+                        member("classReturn", "()Ljava/lang/Class<*>;", "()L1java/lang/Class<*>;")),
+                CoreMatchers.containsString(
+                        member("thisReturn", "()L" + PATTERNS + ";", "()L1" + PATTERNS + ";")),
+                CoreMatchers.containsString(member("newReturn", "()Ljava/lang/Object;", "()L1java/lang/Object;")),
+                CoreMatchers.containsString(
+                        member("conditionalNonNullReturn", "(Z)Ljava/lang/String;", "(Z)L1java/lang/String;"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateArrayReturns() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(member("arrayReturn", "()[I", "()[1I")),
+                CoreMatchers.containsString(
+                        member("objectArrayReturn", "()[Ljava/lang/Object;", "()[1Ljava/lang/Object;")),
+                CoreMatchers.containsString(member("matrixReturn", "()[[I", "()[1[I"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateSwitchReturns() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(
+                        member("tableSwitch", "(I)Ljava/lang/String;", "(I)L0java/lang/String;")),
+                CoreMatchers.containsString(
+                        member("lookupSwitch", "(I)Ljava/lang/String;", "(I)L1java/lang/String;"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateDereferencedParameters() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(member("length", "(Ljava/lang/String;)I", "(L1java/lang/String;)I")),
+                CoreMatchers.containsString(
+                        member("staticLength", "(Ljava/lang/String;)I", "(L1java/lang/String;)I")),
+                CoreMatchers.containsString(member("arrayLength", "([I)I", "([1I)I")),
+                CoreMatchers.containsString(member("fieldOf", "(L" + PATTERNS + ";)Ljava/lang/Object;",
+                        "(L1" + PATTERNS + ";)Ljava/lang/Object;")),
+                CoreMatchers.containsString(member("rethrow", "(Ljava/lang/RuntimeException;)V",
+                        "(L1java/lang/RuntimeException;)V")),
+                CoreMatchers.containsString(member("size", "(Ljava/util/List<Ljava/lang/String;>;)I",
+                        "(L1java/util/List<Ljava/lang/String;>;)I"))));
+        Assert.assertThat(annotations, CoreMatchers.containsString(member("guardedLater",
+                "(Ljava/lang/String;Ljava/lang/String;)I", "(Ljava/lang/String;L1java/lang/String;)I")));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateRequiredParameters() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(member("<init>", "(Ljava/lang/String;)V", "(L1java/lang/String;)V")),
+                CoreMatchers.containsString(member("required", "(Ljava/lang/Object;)V", "(L1java/lang/Object;)V")),
+                CoreMatchers.containsString(
+                        member("requiredWithMessage", "(Ljava/lang/Object;)V", "(L1java/lang/Object;)V")),
+                CoreMatchers.containsString(member("checked", "(Ljava/lang/Object;)V", "(L1java/lang/Object;)V")),
+                CoreMatchers.containsString(member("requiredWithParameter",
+                        "(Ljava/lang/Object;Ljava/lang/String;)V", "(L1java/lang/Object;Ljava/lang/String;)V")),
+                CoreMatchers.containsString(member("generic", "<TYPE:Ljava/lang/Object;>(TTYPE;)TTYPE;",
+                        "<TYPE:Ljava/lang/Object;>(T1TYPE;)TTYPE;"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateRejectedParameters() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(member("rejected", "(Ljava/lang/Object;)V", "(L1java/lang/Object;)V")),
+                CoreMatchers.containsString(
+                        member("rejectedInverted", "(Ljava/lang/Object;)V", "(L1java/lang/Object;)V")),
+                CoreMatchers.containsString(member("rejectedBoth", "(Ljava/lang/Object;Ljava/lang/Object;)V",
+                        "(L1java/lang/Object;L1java/lang/Object;)V"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldAnnotateComparedParameters() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(member("defaultValue", "(Ljava/lang/String;)Ljava/lang/String;",
+                        "(L0java/lang/String;)Ljava/lang/String;")),
+                CoreMatchers.containsString(member("presentValue", "(Ljava/lang/String;)Ljava/lang/String;",
+                        "(L0java/lang/String;)Ljava/lang/String;")),
+                CoreMatchers.containsString(member("isNull", "(Ljava/lang/Object;)Z", "(L0java/lang/Object;)Z")),
+                CoreMatchers.containsString(member("nonNull", "(Ljava/lang/Object;)Z", "(L0java/lang/Object;)Z"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldCountParameterSlots() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertThat(annotations, CoreMatchers.allOf(
+                CoreMatchers.containsString(
+                        member("wideSlots", "(JDLjava/lang/String;)I", "(JDL1java/lang/String;)I")),
+                CoreMatchers.containsString(member("slotFive",
+                        "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;)I",
+                        "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;L1java/lang/String;)I"))));
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldSkipUnknownMembers() throws IOException {
+        // given
+        final Class<?> type = Patterns.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        for (final String name : Arrays.asList("fieldReturn", "staticReturn", "identity", "callsPrivate", "guarded",
+                "reassigned", "reassignedDefault", "reassignedRejected", "conditionalLength", "equalsOf",
+                "requiredMessage", "requiredWithComputedMessage", "hidden", "checkNotNull", "checkedByNullsafe")) {
+            Assert.assertThat(annotations, CoreMatchers.not(CoreMatchers.containsString("\n" + name + "\n")));
+        }
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldFallBackToDescriptor() throws IOException {
+        // given
+        final Class<?> type = Patterns.Inner.class;
+
+        // when
+        final String annotations = annotate(type);
+
+        // then
+        Assert.assertEquals("class " + PATTERNS + "$Inner\n" + member("<init>",
+                "(L" + PATTERNS + ";Ljava/util/List;)V", "(L" + PATTERNS + ";L1java/util/List;)V"), annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldReturnNullWithoutInferences() throws IOException {
+        // given
+        final ByteBuffer classFile = ByteBuffer.wrap(Jars.classFile(Silent.class));
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldSkipAbstractMethods() throws IOException {
+        // given
+        final ByteBuffer classFile = ByteBuffer.wrap(Jars.classFile(Runnable.class));
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldFollowWideJumps() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "()Ljava/lang/Object;", NO_HANDLER,
+                0xBB, 0x00, 0x02, 0xC8, 0x00, 0x00, 0x00, 0x05, 0xB0); // new, goto_w +5, areturn
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertEquals("class Crafted\n" + member("method", "()Ljava/lang/Object;", "()L1java/lang/Object;"),
+                annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldDecodeWideLoads() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(I[I)I", NO_HANDLER,
+                0xC4, 0x19, 0x00, 0x01, 0xBE, 0xAC); // wide aload 1, arraylength, ireturn
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertEquals("class Crafted\n" + member("method", "(I[I)I", "(I[1I)I"), annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldDetectMonitors() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(Ljava/lang/Object;)V", NO_HANDLER,
+                0x2A, 0xC2, 0xB1); // aload_0, monitorenter, return
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertEquals("class Crafted\n" + member("method", "(Ljava/lang/Object;)V", "(L1java/lang/Object;)V"),
+                annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldStopAtBackwardChecks() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(Ljava/lang/Object;)V", NO_HANDLER,
+                0x2A, 0xC7, 0x00, 0x00, 0x01, 0xBF); // aload_0, ifnonnull +0, aconst_null, athrow
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertEquals("class Crafted\n" + member("method", "(Ljava/lang/Object;)V", "(L0java/lang/Object;)V"),
+                annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldIgnoreOtherConstants() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "()Ljava/lang/Object;", NO_HANDLER,
+                0x12, 0x09, 0xB0); // ldc #9, areturn
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldDetectWideConstantMessages() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(Ljava/lang/Object;)V", NO_HANDLER,
+                0x2A, 0x13, 0x00, 0x09, 0xB8, 0x00, 0x0F, 0x57, 0xB1); // aload_0, ldc_w, invokestatic, pop, return
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertEquals("class Crafted\n" + member("method", "(Ljava/lang/Object;)V", "(L1java/lang/Object;)V"),
+                annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldTreatHandlersAsUnknownPaths() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "()Ljava/lang/Object;", new int[] { 0, 3, 3, 0 },
+                0xBB, 0x00, 0x02, 0xB0); // new, areturn
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldTreatTableSwitchCasesAsUnknownPaths() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(I)Ljava/lang/Object;", NO_HANDLER, switchTo(0xAA, true));
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldTreatTableSwitchDefaultsAsUnknownPaths() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(I)Ljava/lang/Object;", NO_HANDLER, switchTo(0xAA, false));
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldTreatLookupSwitchCasesAsUnknownPaths() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(I)Ljava/lang/Object;", NO_HANDLER, switchTo(0xAB, true));
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldTreatLookupSwitchDefaultsAsUnknownPaths() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(I)Ljava/lang/Object;", NO_HANDLER, switchTo(0xAB, false));
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldTreatJumpsFromSwitchTargetsAsUnknownPaths() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "(I)Ljava/lang/Object;", NO_HANDLER,
+                0x1A, 0xAA, 0x00, 0x00, // iload_0, tableswitch
+                0x00, 0x00, 0x00, 0x16, 0x00, 0x00, 0x00, 0x00, // default to goto, low
+                0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x19, // high, case to athrow
+                0xBB, 0x00, 0x02, 0xA7, 0x00, 0x04, 0xBF, 0xB0); // new, goto +4, athrow, areturn
+
+        // when
+        final String annotations = BytecodeNullness.annotate(classFile);
+
+        // then
+        Assert.assertNull(annotations);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class can be written.
+     */
+    @Test
+    public final void shouldRejectJumpsIntoInstructions() throws IOException {
+        // given
+        final ByteBuffer classFile = crafted(0x0009, "()Ljava/lang/Object;", NO_HANDLER,
+                0xA7, 0x00, 0x04, 0xBB, 0x00, 0x02, 0xB0); // goto +4, new, areturn
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Invalid jump target 4");
+
+        // then
+        BytecodeNullness.annotate(classFile);
+    }
+
+    /**
+     * Creates the code <code>new, iload_0, switch, areturn, athrow</code> with cases for the keys <code>5</code> and
+     * <code>6</code>. The switch starts at pc <code>4</code>, its table is followed by the <code>areturn</code>. Only
+     * the default or the last case leads to the <code>areturn</code>, all others lead to the <code>athrow</code>.
+     */
+    private static int[] switchTo(final int opcode, final boolean caseReturns) {
+        final boolean table = opcode == 0xAA;
+        final int returnOffset = table ? 24 : 28;
+        final ByteBuffer code = ByteBuffer.allocate(returnOffset + 6);
+        code.put((byte) 0xBB).putShort((short) 2).put((byte) 0x1A).put((byte) opcode).put(new byte[3]);
+        code.putInt(caseReturns ? returnOffset + 1 : returnOffset);
+        if (table) {
+            code.putInt(5).putInt(6); // low and high
+        } else {
+            code.putInt(2).putInt(5); // number of pairs and first key
+        }
+        code.putInt(returnOffset + 1);
+        if (!table) {
+            code.putInt(6); // second key
+        }
+        code.putInt(caseReturns ? returnOffset : returnOffset + 1).put((byte) 0xB0).put((byte) 0xBF);
+        final int[] instructions = new int[code.capacity()];
+        for (int index = 0; index < instructions.length; index++) {
+            instructions[index] = code.get(index) & 0xFF;
+        }
+        return instructions;
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldRejectTruncatedClassFiles() throws IOException {
+        // given
+        final ByteBuffer classFile = ByteBuffer.wrap(Arrays.copyOf(Jars.classFile(Patterns.class), 100));
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Malformed class file");
+
+        // then
+        BytecodeNullness.annotate(classFile);
+    }
+
+    /**
+     * Test method for <code>BytecodeNullness#annotate</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldRejectMalformedConstants() throws IOException {
+        // given
+        final byte[] bytes = Jars.classFile(Patterns.class);
+        final byte[] name = ("\u0001\u0000" + (char) PATTERNS.length() + PATTERNS).getBytes(StandardCharsets.UTF_8);
+        final int position = Collections.indexOfSubList(toList(bytes), toList(name));
+        bytes[position + 3] = (byte) 0xFF;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Malformed constant");
+
+        // then
+        BytecodeNullness.annotate(ByteBuffer.wrap(bytes));
+    }
+
+    private static List<Byte> toList(final byte[] bytes) {
+        final List<Byte> list = new ArrayList<>();
+        for (final byte value : bytes) {
+            list.add(Byte.valueOf(value));
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class CallSiteLocatorTest {
+
+    private static final String LIBRARY = Nullsafe.class.getName();
+
+    private static String caller(final String... classNames) {
+        final Iterator<String> frames = Arrays.asList(classNames).iterator();
+        return CallSiteLocator.caller(frames, frame -> frame);
+    }
+
+    /**
+     * Test method for <code>CallSiteLocator#create</code>.
+     */
+    @Test
+    public final void shouldUseStackWalkerIfAvailable() {
+        // given
+        final String walkerClassName = FakeStackWalker.class.getName();
+
+        // when
+        final CallSiteLocator locator = CallSiteLocator.create(walkerClassName);
+
+        // then
+        Assert.assertTrue(locator instanceof StackWalkerCallSiteLocator);
+    }
+
+    /**
+     * Test method for <code>CallSiteLocator#create</code>.
+     */
+    @Test
+    public final void shouldFallBackToThrowable() {
+        // given
+        final String walkerClassName = "java.lang.MissingStackWalker";
+
+        // when
+        final CallSiteLocator locator = CallSiteLocator.create(walkerClassName);
+
+        // then
+        Assert.assertTrue(locator instanceof ThrowableCallSiteLocator);
+    }
+
+    /**
+     * Test method for <code>CallSiteLocator#caller</code>.
+     */
+    @Test
+    public final void shouldFindFrameAfterLibrary() {
+        // given
+        final String[] frames = { "walker", LIBRARY, LIBRARY, "caller", "outer" };
+
+        // when
+        final String caller = caller(frames);
+
+        // then
+        Assert.assertEquals("caller", caller);
+    }
+
+    /**
+     * Test method for <code>CallSiteLocator#caller</code>.
+     */
+    @Test
+    public final void shouldFindFrameAfterLeadingLibrary() {
+        // given
+        final String[] frames = { LIBRARY, "caller" };
+
+        // when
+        final String caller = caller(frames);
+
+        // then
+        Assert.assertEquals("caller", caller);
+    }
+
+    /**
+     * Test method for <code>CallSiteLocator#caller</code>.
+     */
+    @Test
+    public final void shouldTreatNestedClassesAsLibrary() {
+        // given
+        final String[] frames = { LIBRARY, BigIntegerReduction.Product.class.getName(), LIBRARY + "$$Lambda$1/1",
+                "caller" };
+
+        // when
+        final String caller = caller(frames);
+
+        // then
+        Assert.assertEquals("caller", caller);
+    }
+
+    /**
+     * Test method for <code>CallSiteLocator#caller</code>.
+     */
+    @Test
+    public final void shouldNotFindCallerWithoutLibrary() {
+        // given
+        final String[] frames = { "caller", "outer" };
+
+        // when
+        final String caller = caller(frames);
+
+        // then
+        Assert.assertNull(caller);
+    }
+
+    /**
+     * Test method for <code>CallSiteLocator#caller</code>.
+     */
+    @Test
+    public final void shouldNotFindCallerOutsideLibrary() {
+        // given
+        final String[] frames = { "walker", LIBRARY };
+
+        // when
+        final String caller = caller(frames);
+
+        // then
+        Assert.assertNull(caller);
+    }
+
+}
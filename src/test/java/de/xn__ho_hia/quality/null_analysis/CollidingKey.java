@@ -0,0 +1,39 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A key with a chosen hash code, in order to place keys in specific slots of open-addressing tables.
+ */
+final class CollidingKey {
+
+    private final int hash;
+    private final String name;
+
+    CollidingKey(final int hash, final String name) {
+        this.hash = hash;
+        this.name = name;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object other) {
+        return other instanceof CollidingKey && name.equals(((CollidingKey) other).name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
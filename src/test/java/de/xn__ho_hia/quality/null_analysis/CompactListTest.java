@@ -0,0 +1,109 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class CompactListTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for <code>CompactList#copyOf</code>.
+     */
+    @Test
+    public final void shouldDropNullElements() {
+        // given
+        final List<String> list = Arrays.asList("first", null, "second", null);
+
+        // when
+        final List<String> copy = CompactList.copyOf(list);
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "second"), copy);
+        Assert.assertEquals(2, ((CompactList<String>) copy).elements.length);
+    }
+
+    /**
+     * Test method for <code>CompactList#copyOf</code>.
+     */
+    @Test
+    public final void shouldCopyListWithoutNulls() {
+        // given
+        final List<String> list = Arrays.asList("first", "second");
+
+        // when
+        final List<String> copy = CompactList.copyOf(list);
+
+        // then
+        Assert.assertEquals(list, copy);
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals("second", copy.get(1));
+        Assert.assertTrue(copy instanceof RandomAccess);
+    }
+
+    /**
+     * Test method for <code>CompactList#copyOf</code>.
+     */
+    @Test
+    public final void shouldShareEmptyListWithoutNonNullElements() {
+        // given
+        final List<String> list = Arrays.asList(null, null);
+
+        // when
+        final List<String> copy = CompactList.copyOf(list);
+
+        // then
+        Assert.assertSame(Collections.emptyList(), copy);
+    }
+
+    /**
+     * Test method for <code>CompactList#copyOf</code>.
+     */
+    @Test
+    public final void shouldNotReflectChangesOfOriginal() {
+        // given
+        final String[] elements = { "first", "second" };
+        final List<String> copy = CompactList.copyOf(Arrays.asList(elements));
+
+        // when
+        elements[0] = "changed";
+
+        // then
+        Assert.assertEquals("first", copy.get(0));
+    }
+
+    /**
+     * Test method for <code>CompactList#add</code>.
+     */
+    @Test
+    public final void shouldRejectChanges() {
+        // given
+        final List<String> copy = CompactList.copyOf(Arrays.asList("first"));
+
+        // when
+        thrown.expect(UnsupportedOperationException.class);
+
+        // then
+        copy.add("second");
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class CompactMapTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private static Map<String, String> map() {
+        final Map<String, String> map = new HashMap<>();
+        map.put(null, "null key");
+        map.put("null value", null);
+        map.put("first", "1");
+        map.put("second", "2");
+        return map;
+    }
+
+    private static Map<String, String> expected() {
+        final Map<String, String> map = new HashMap<>();
+        map.put("first", "1");
+        map.put("second", "2");
+        return map;
+    }
+
+    /**
+     * Test method for <code>CompactMap#copyOf</code>.
+     */
+    @Test
+    public final void shouldDropEntriesWithNullKeysOrValues() {
+        // given
+        final Map<String, String> map = map();
+
+        // when
+        final Map<String, String> copy = CompactMap.copyOf(map);
+
+        // then
+        Assert.assertEquals(expected(), copy);
+        Assert.assertEquals(expected().hashCode(), copy.hashCode());
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals(2 * 2 * CompactSet.EXPAND_FACTOR, ((CompactMap<String, String>) copy).table.length);
+    }
+
+    /**
+     * Test method for <code>CompactMap#copyOf</code>.
+     */
+    @Test
+    public final void shouldShareEmptyMapWithoutNonNullEntries() {
+        // given
+        final Map<String, String> map = Collections.singletonMap("key", null);
+
+        // when
+        final Map<String, String> copy = CompactMap.copyOf(map);
+
+        // then
+        Assert.assertSame(Collections.emptyMap(), copy);
+    }
+
+    /**
+     * Test method for <code>CompactMap#copyOf</code>.
+     */
+    @Test
+    public final void shouldSkipEqualKeysOfIdentityMaps() {
+        // given
+        final Map<String, String> map = new IdentityHashMap<>();
+        map.put(new String("first"), "1");
+        map.put(new String("first"), "1");
+
+        // when
+        final Map<String, String> copy = CompactMap.copyOf(map);
+
+        // then
+        Assert.assertEquals(1, copy.size());
+        Assert.assertEquals(Collections.singletonMap("first", "1"), copy);
+    }
+
+    /**
+     * Test method for <code>CompactMap#get</code>.
+     */
+    @Test
+    public final void shouldGetValues() {
+        // given
+        final Map<String, String> copy = CompactMap.copyOf(map());
+
+        // when
+        final String first = copy.get("first");
+        final String other = copy.get("other");
+
+        // then
+        Assert.assertEquals("1", first);
+        Assert.assertNull(other);
+        Assert.assertNull(copy.get(null));
+        Assert.assertTrue(copy.containsKey("second"));
+        Assert.assertFalse(copy.containsKey("null value"));
+    }
+
+    /**
+     * Test method for <code>CompactMap#get</code>.
+     */
+    @Test
+    public final void shouldProbePastCollidingKeys() {
+        // given
+        final CollidingKey first = new CollidingKey(1, "first");
+        final CollidingKey second = new CollidingKey(1, "second");
+        final Map<CollidingKey, String> map = new LinkedHashMap<>();
+        map.put(first, "1");
+        map.put(second, "2");
+        final Map<CollidingKey, String> copy = CompactMap.copyOf(map);
+
+        // when
+        final String value = copy.get(new CollidingKey(1, "second"));
+
+        // then
+        Assert.assertEquals("2", value);
+        Assert.assertArrayEquals(new Object[] { null, null, first, "1", second, "2", null, null },
+                ((CompactMap<?, ?>) copy).table);
+    }
+
+    /**
+     * Test method for <code>CompactMap#get</code>.
+     */
+    @Test
+    public final void shouldWrapAroundEndOfTable() {
+        // given
+        final CollidingKey first = new CollidingKey(-1, "first");
+        final CollidingKey second = new CollidingKey(3, "second");
+        final Map<CollidingKey, String> map = new LinkedHashMap<>();
+        map.put(first, "1");
+        map.put(second, "2");
+        final Map<CollidingKey, String> copy = CompactMap.copyOf(map);
+
+        // when
+        final String found = copy.get(new CollidingKey(3, "second"));
+        final String missing = copy.get(new CollidingKey(3, "third"));
+
+        // then
+        Assert.assertEquals("2", found);
+        Assert.assertNull(missing);
+        Assert.assertArrayEquals(new Object[] { second, "2", null, null, null, null, first, "1" },
+                ((CompactMap<?, ?>) copy).table);
+    }
+
+    /**
+     * Test method for <code>CompactMap#forEach</code>.
+     */
+    @Test
+    public final void shouldVisitEntries() {
+        // given
+        final Map<String, String> copy = CompactMap.copyOf(map());
+
+        // when
+        final Map<String, String> visited = new HashMap<>();
+        copy.forEach(visited::put);
+
+        // then
+        Assert.assertEquals(expected(), visited);
+    }
+
+    /**
+     * Test method for <code>CompactMap#entrySet</code>.
+     */
+    @Test
+    public final void shouldIterateEntries() {
+        // given
+        final Map<String, String> copy = CompactMap.copyOf(map());
+
+        // when
+        final Set<Entry<String, String>> entries = copy.entrySet();
+
+        // then
+        Assert.assertEquals(expected().entrySet(), entries);
+        Assert.assertEquals(2, entries.size());
+    }
+
+    /**
+     * Test method for <code>CompactMap#entrySet</code>.
+     */
+    @Test
+    public final void shouldRejectChangesOfEntries() {
+        // given
+        final Entry<String, String> entry = CompactMap.copyOf(map()).entrySet().iterator().next();
+
+        // when
+        thrown.expect(UnsupportedOperationException.class);
+
+        // then
+        entry.setValue("other");
+    }
+
+    /**
+     * Test method for <code>CompactMap#keySet</code>.
+     */
+    @Test
+    public final void shouldIterateKeys() {
+        // given
+        final Map<String, String> copy = CompactMap.copyOf(map());
+
+        // when
+        final Set<String> keys = copy.keySet();
+
+        // then
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), new HashSet<>(keys));
+        Assert.assertEquals(2, keys.size());
+        Assert.assertTrue(keys.contains("first"));
+        Assert.assertFalse(keys.contains("null value"));
+    }
+
+    /**
+     * Test method for <code>CompactMap#values</code>.
+     */
+    @Test
+    public final void shouldIterateValues() {
+        // given
+        final Map<String, String> copy = CompactMap.copyOf(map());
+
+        // when
+        final Collection<String> values = copy.values();
+
+        // then
+        final List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        Assert.assertEquals(Arrays.asList("1", "2"), sorted);
+        Assert.assertEquals(2, values.size());
+    }
+
+    /**
+     * Test method for <code>CompactMap.SlotIterator#next</code>.
+     */
+    @Test
+    public final void shouldFailBeyondLastEntry() {
+        // given
+        final Iterator<String> keys = CompactMap.copyOf(Collections.singletonMap("first", "1")).keySet().iterator();
+        keys.next();
+
+        // when
+        thrown.expect(NoSuchElementException.class);
+
+        // then
+        keys.next();
+    }
+
+    /**
+     * Test method for <code>CompactMap#put</code>.
+     */
+    @Test
+    public final void shouldRejectChanges() {
+        // given
+        final Map<String, String> copy = CompactMap.copyOf(map());
+
+        // when
+        thrown.expect(UnsupportedOperationException.class);
+
+        // then
+        copy.put("third", "3");
+    }
+
+}
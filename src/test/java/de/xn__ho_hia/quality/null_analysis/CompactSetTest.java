@@ -0,0 +1,187 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class CompactSetTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for <code>CompactSet#copyOf</code>.
+     */
+    @Test
+    public final void shouldDropNullElement() {
+        // given
+        final Set<String> set = new HashSet<>(Arrays.asList(null, "first", "second"));
+
+        // when
+        final Set<String> copy = CompactSet.copyOf(set);
+
+        // then
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), copy);
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals(2 * CompactSet.EXPAND_FACTOR, ((CompactSet<String>) copy).table.length);
+    }
+
+    /**
+     * Test method for <code>CompactSet#copyOf</code>.
+     */
+    @Test
+    public final void shouldShareEmptySetWithoutNonNullElements() {
+        // given
+        final Set<String> set = Collections.singleton(null);
+
+        // when
+        final Set<String> copy = CompactSet.copyOf(set);
+
+        // then
+        Assert.assertSame(Collections.emptySet(), copy);
+    }
+
+    /**
+     * Test method for <code>CompactSet#copyOf</code>.
+     */
+    @Test
+    public final void shouldSkipEqualElementsOfIdentitySets() {
+        // given
+        final Set<String> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.add(new String("first"));
+        set.add(new String("first"));
+
+        // when
+        final Set<String> copy = CompactSet.copyOf(set);
+
+        // then
+        Assert.assertEquals(1, copy.size());
+        Assert.assertEquals(Collections.singleton("first"), copy);
+    }
+
+    /**
+     * Test method for <code>CompactSet#contains</code>.
+     */
+    @Test
+    public final void shouldFindElements() {
+        // given
+        final Set<String> copy = CompactSet.copyOf(new HashSet<>(Arrays.asList("first", "second", "third")));
+
+        // when
+        final boolean first = copy.contains("first");
+        final boolean other = copy.contains("other");
+
+        // then
+        Assert.assertTrue(first);
+        Assert.assertFalse(other);
+        Assert.assertFalse(copy.contains(null));
+    }
+
+    /**
+     * Test method for <code>CompactSet#contains</code>.
+     */
+    @Test
+    public final void shouldProbePastCollidingElements() {
+        // given
+        final CollidingKey first = new CollidingKey(1, "first");
+        final CollidingKey second = new CollidingKey(1, "second");
+        final Set<CollidingKey> copy = CompactSet.copyOf(new LinkedHashSet<>(Arrays.asList(first, second)));
+
+        // when
+        final boolean found = copy.contains(new CollidingKey(1, "second"));
+
+        // then
+        Assert.assertTrue(found);
+        Assert.assertArrayEquals(new Object[] { null, first, second, null }, ((CompactSet<?>) copy).table);
+    }
+
+    /**
+     * Test method for <code>CompactSet#contains</code>.
+     */
+    @Test
+    public final void shouldWrapAroundEndOfTable() {
+        // given
+        final CollidingKey first = new CollidingKey(-1, "first");
+        final CollidingKey second = new CollidingKey(3, "second");
+        final Set<CollidingKey> copy = CompactSet.copyOf(new LinkedHashSet<>(Arrays.asList(first, second)));
+
+        // when
+        final boolean found = copy.contains(new CollidingKey(3, "second"));
+        final boolean missing = copy.contains(new CollidingKey(3, "third"));
+
+        // then
+        Assert.assertTrue(found);
+        Assert.assertFalse(missing);
+        Assert.assertArrayEquals(new Object[] { second, null, null, first }, ((CompactSet<?>) copy).table);
+    }
+
+    /**
+     * Test method for <code>CompactSet#iterator</code>.
+     */
+    @Test
+    public final void shouldIterateElements() {
+        // given
+        final Set<String> copy = CompactSet.copyOf(new HashSet<>(Arrays.asList(null, "first", "second")));
+
+        // when
+        final Set<String> elements = new HashSet<>();
+        for (final String element : copy) {
+            elements.add(element);
+        }
+
+        // then
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), elements);
+    }
+
+    /**
+     * Test method for <code>CompactSet#iterator</code>.
+     */
+    @Test
+    public final void shouldRejectRemovalThroughIterator() {
+        // given
+        final Iterator<String> iterator = CompactSet.copyOf(Collections.singleton("first")).iterator();
+        iterator.next();
+
+        // when
+        thrown.expect(UnsupportedOperationException.class);
+
+        // then
+        iterator.remove();
+    }
+
+    /**
+     * Test method for <code>CompactSet#add</code>.
+     */
+    @Test
+    public final void shouldRejectChanges() {
+        // given
+        final Set<String> copy = CompactSet.copyOf(Collections.singleton("first"));
+
+        // when
+        thrown.expect(UnsupportedOperationException.class);
+
+        // then
+        copy.add("second");
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class EnumerationSpliteratorTest {
+
+    /**
+     * Test method for <code>EnumerationSpliterator#tryAdvance</code>.
+     */
+    @Test
+    public final void shouldAdvanceThroughEnumeration() {
+        // given
+        final EnumerationSpliterator<Object> spliterator = new EnumerationSpliterator<>(
+                Collections.enumeration(Arrays.asList("first", null)));
+        final List<Object> elements = new ArrayList<>();
+
+        // when
+        final boolean first = spliterator.tryAdvance(elements::add);
+        final boolean second = spliterator.tryAdvance(elements::add);
+        final boolean third = spliterator.tryAdvance(elements::add);
+
+        // then
+        Assert.assertTrue(first);
+        Assert.assertTrue(second);
+        Assert.assertFalse(third);
+        Assert.assertEquals(Arrays.asList("first", null), elements);
+    }
+
+    /**
+     * Test method for <code>EnumerationSpliterator#trySplit</code>.
+     */
+    @Test
+    public final void shouldSplitIntoBatches() {
+        // given
+        final EnumerationSpliterator<Object> spliterator = new EnumerationSpliterator<>(
+                Collections.enumeration(Arrays.asList("first", "second")));
+        final List<Object> elements = new ArrayList<>();
+
+        // when
+        final Spliterator<Object> batch = spliterator.trySplit();
+
+        // then
+        Assert.assertNotNull(batch);
+        batch.forEachRemaining(elements::add);
+        Assert.assertEquals(Arrays.asList("first", "second"), elements);
+    }
+
+    /**
+     * Test method for <code>EnumerationSpliterator#characteristics</code>.
+     */
+    @Test
+    public final void shouldBeOrderedWithUnknownSize() {
+        // given
+        final EnumerationSpliterator<Object> spliterator = new EnumerationSpliterator<>(
+                Collections.emptyEnumeration());
+
+        // when
+        final int characteristics = spliterator.characteristics();
+        final long size = spliterator.estimateSize();
+
+        // then
+        Assert.assertEquals(Spliterator.ORDERED, characteristics);
+        Assert.assertEquals(Long.MAX_VALUE, size);
+    }
+
+}
@@ -0,0 +1,458 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import de.xn__ho_hia.quality.null_analysis.BytecodeNullnessTest.Patterns;
+import de.xn__ho_hia.quality.null_analysis.BytecodeNullnessTest.Silent;
+
+/**
+ *
+ */
+@SuppressWarnings("nls")
+public class ExternalAnnotationGeneratorTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /** Provides directories for jars, annotations and caches. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String PATTERNS = "de/xn__ho_hia/quality/null_analysis/BytecodeNullnessTest$Patterns";
+
+    private Path jar(final String name, final Map<String, byte[]> entries) throws IOException {
+        final Path jar = folder.getRoot().toPath().resolve(name);
+        Files.createDirectories(jar.getParent());
+        Files.write(jar, Jars.jar(entries, false));
+        return jar;
+    }
+
+    private Path library() throws IOException {
+        final byte[] patterns = Jars.classFile(Patterns.class);
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put(PATTERNS + ".class", patterns);
+        entries.put("Silent.class", Jars.classFile(Silent.class));
+        entries.put("Broken.class", new byte[] { 1, 2, 3 });
+        entries.put("Patterns.txt", patterns);
+        entries.put("META-INF/versions/9/Patterns.class", patterns);
+        return jar("libraries/library.jar", entries);
+    }
+
+    private static String expected() throws IOException {
+        return BytecodeNullness.annotate(ByteBuffer.wrap(Jars.classFile(Patterns.class)));
+    }
+
+    private static String read(final Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private static long count(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldGenerateAnnotations() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+
+        // when
+        final int files;
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, null, 2)) {
+            files = generator.generate(Arrays.asList(library()));
+        }
+
+        // then
+        Assert.assertEquals(1, files);
+        Assert.assertEquals(1, count(output));
+        Assert.assertEquals(expected(), read(output.resolve(PATTERNS + ".eea")));
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldSkipEntriesOutsideOfOutput() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+        final Path jar = jar("escape.jar", Collections.singletonMap("../escape.class", Jars.classFile(Patterns.class)));
+
+        // when
+        final int files;
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, null, 1)) {
+            files = generator.generate(Arrays.asList(jar));
+        }
+
+        // then
+        Assert.assertEquals(0, files);
+        Assert.assertFalse(Files.exists(output.resolveSibling("escape.eea")));
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldStoreResultsInCache() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+        final Path cache = folder.getRoot().toPath().resolve("cache");
+        final Path jar = library();
+
+        // when
+        final int files;
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, cache, 2)) {
+            files = generator.generate(Arrays.asList(jar));
+        }
+
+        // then
+        final Path cached = cache.resolve(ExternalAnnotationGenerator.CACHE_VERSION
+                + MappedJar.open(jar).hash("SHA-256") + ".zip");
+        Assert.assertEquals(1, files);
+        Assert.assertEquals(1, count(cache));
+        Assert.assertEquals(expected(), StandardCharsets.UTF_8
+                .decode(new MappedJar(ByteBuffer.wrap(Files.readAllBytes(cached))).read(0)).toString());
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldReuseCachedResults() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+        final Path cache = folder.newFolder("cache").toPath();
+        final Path jar = library();
+        final Map<String, byte[]> cachedEntries = new LinkedHashMap<>();
+        cachedEntries.put("cached/First.eea", "first".getBytes(StandardCharsets.UTF_8));
+        cachedEntries.put("cached/Second.eea", "second".getBytes(StandardCharsets.UTF_8));
+        Files.write(cache.resolve(ExternalAnnotationGenerator.CACHE_VERSION + MappedJar.open(jar).hash("SHA-256")
+                + ".zip"), Jars.jar(cachedEntries, false));
+
+        // when
+        final int files;
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, cache, 2)) {
+            files = generator.generate(Arrays.asList(jar));
+        }
+
+        // then
+        Assert.assertEquals(2, files);
+        Assert.assertEquals("first", read(output.resolve("cached/First.eea")));
+        Assert.assertEquals("second", read(output.resolve("cached/Second.eea")));
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldWriteClassesOfSeveralJarsOnce() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+        final Path cache = folder.newFolder("cache").toPath();
+        final Path first = library();
+        final Path second = jar("other.jar", Collections.singletonMap("Silent.class", Jars.classFile(Silent.class)));
+        final Map<String, byte[]> firstEntries = new LinkedHashMap<>();
+        firstEntries.put("shared/Type.eea", "first".getBytes(StandardCharsets.UTF_8));
+        firstEntries.put("first/Type.eea", "first only".getBytes(StandardCharsets.UTF_8));
+        final Map<String, byte[]> secondEntries = new LinkedHashMap<>();
+        secondEntries.put("shared/Type.eea", "second".getBytes(StandardCharsets.UTF_8));
+        secondEntries.put("second/Type.eea", "second only".getBytes(StandardCharsets.UTF_8));
+        Files.write(cache.resolve(ExternalAnnotationGenerator.CACHE_VERSION + MappedJar.open(first).hash("SHA-256")
+                + ".zip"), Jars.jar(firstEntries, false));
+        Files.write(cache.resolve(ExternalAnnotationGenerator.CACHE_VERSION + MappedJar.open(second).hash("SHA-256")
+                + ".zip"), Jars.jar(secondEntries, false));
+
+        // when
+        final int files;
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, cache, 2)) {
+            files = generator.generate(Arrays.asList(first, second));
+        }
+
+        // then
+        Assert.assertEquals(3, files);
+        Assert.assertEquals("first", read(output.resolve("shared/Type.eea")));
+        Assert.assertEquals("first only", read(output.resolve("first/Type.eea")));
+        Assert.assertEquals("second only", read(output.resolve("second/Type.eea")));
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldFailForMissingJars() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+
+        // when
+        thrown.expect(UncheckedIOException.class);
+
+        // then
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, null, 1)) {
+            generator.generate(Arrays.asList(output.resolve("missing.jar")));
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldFailForCorruptEntries() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+        final Path jar = jar("corrupt.jar", Collections.singletonMap("Corrupt.class", new byte[100]));
+        final byte[] bytes = Files.readAllBytes(jar);
+        bytes[30 + "Corrupt.class".length() + Jars.EXTRA.length] = (byte) 0xFF; // reserved block type
+        Files.write(jar, bytes);
+
+        // when
+        thrown.expect(UncheckedIOException.class);
+
+        // then
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, null, 1)) {
+            generator.generate(Arrays.asList(jar));
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldFailForUnwritableOutput() throws IOException {
+        // given
+        final Path output = folder.newFile("output").toPath();
+
+        // when
+        thrown.expect(UncheckedIOException.class);
+
+        // then
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, null, 1)) {
+            generator.generate(Arrays.asList(library()));
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#generate(java.util.Collection)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldFailForUnwritableCache() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+        final Path cache = folder.newFile("cache").toPath();
+
+        // when
+        thrown.expect(UncheckedIOException.class);
+
+        // then
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, cache, 1)) {
+            generator.generate(Arrays.asList(library()));
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#close()}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldRejectGenerationAfterClose() throws IOException {
+        // given
+        final Path output = folder.newFolder("output").toPath();
+        final Path jar = library();
+
+        // when
+        thrown.expect(RejectedExecutionException.class);
+
+        // then
+        try (ExternalAnnotationGenerator generator = ExternalAnnotationGenerator.of(output, null, 1)) {
+            generator.close();
+            generator.generate(Arrays.asList(jar));
+        }
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#main(String...)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldGenerateFromCommandLine() throws IOException {
+        // given
+        final Path output = folder.getRoot().toPath().resolve("output");
+        final Path cache = folder.getRoot().toPath().resolve("cache");
+        final Path jar = library();
+        Files.write(jar.resolveSibling("notes.txt"), new byte[] { 1, 2, 3 });
+
+        final ByteArrayOutputStream console = new ByteArrayOutputStream();
+        final PrintStream standardOutput = System.out;
+
+        // when
+        System.setOut(new PrintStream(console, true, "UTF-8"));
+        try {
+            ExternalAnnotationGenerator.main("--cache", cache.toString(), "--threads", "2", output.toString(),
+                    jar.getParent().toString());
+        } finally {
+            System.setOut(standardOutput);
+        }
+
+        // then
+        Assert.assertEquals(expected(), read(output.resolve(PATTERNS + ".eea")));
+        Assert.assertEquals(1, count(cache));
+        Assert.assertEquals("Wrote 1 external annotation files to " + output + System.lineSeparator(),
+                new String(console.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#main(String...)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldAcceptSingleJars() throws IOException {
+        // given
+        final Path output = folder.getRoot().toPath().resolve("output");
+        final Path jar = library();
+
+        // when
+        ExternalAnnotationGenerator.main(output.toString(), jar.toString());
+
+        // then
+        Assert.assertEquals(expected(), read(output.resolve(PATTERNS + ".eea")));
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#main(String...)}.
+     *
+     * @throws IOException
+     *             Should fail in case the arguments are missing.
+     */
+    @Test
+    public final void shouldRequireOutput() throws IOException {
+        // given
+        final String[] arguments = {};
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ExternalAnnotationGenerator.USAGE);
+
+        // then
+        ExternalAnnotationGenerator.main(arguments);
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#main(String...)}.
+     *
+     * @throws IOException
+     *             Should fail in case the arguments are missing.
+     */
+    @Test
+    public final void shouldRequireJars() throws IOException {
+        // given
+        final String output = folder.getRoot().getPath() + File.separator + "output";
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ExternalAnnotationGenerator.USAGE);
+
+        // then
+        ExternalAnnotationGenerator.main(output);
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#main(String...)}.
+     *
+     * @throws IOException
+     *             Should fail in case the arguments are missing.
+     */
+    @Test
+    public final void shouldRequireCacheDirectory() throws IOException {
+        // given
+        final String argument = "--cache";
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ExternalAnnotationGenerator.USAGE);
+
+        // then
+        ExternalAnnotationGenerator.main(argument);
+    }
+
+    /**
+     * Test method for {@link ExternalAnnotationGenerator#main(String...)}.
+     *
+     * @throws IOException
+     *             Should fail in case the arguments are missing.
+     */
+    @Test
+    public final void shouldRequireThreadCount() throws IOException {
+        // given
+        final String argument = "--threads";
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(ExternalAnnotationGenerator.USAGE);
+
+        // then
+        ExternalAnnotationGenerator.main(argument);
+    }
+
+}
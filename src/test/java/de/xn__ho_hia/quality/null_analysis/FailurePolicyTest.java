@@ -0,0 +1,185 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class FailurePolicyTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for {@link FailurePolicy#exception(String)}.
+     */
+    @Test
+    public final void shouldCreateExceptionWithStackTrace() {
+        // given
+        final FailurePolicy policy = FailurePolicy.STACK_TRACE;
+
+        // when
+        final IllegalArgumentException exception = policy.exception("test");
+
+        // then
+        Assert.assertEquals(IllegalArgumentException.class, exception.getClass());
+        Assert.assertEquals("test", exception.getMessage());
+        Assert.assertTrue(exception.getStackTrace().length > 0);
+    }
+
+    /**
+     * Test method for {@link FailurePolicy#exception(String)}.
+     */
+    @Test
+    public final void shouldCreateStacklessException() {
+        // given
+        final FailurePolicy policy = FailurePolicy.STACKLESS;
+
+        // when
+        final IllegalArgumentException exception = policy.exception("test");
+
+        // then
+        Assert.assertEquals(StacklessIllegalArgumentException.class, exception.getClass());
+        Assert.assertEquals("test", exception.getMessage());
+        Assert.assertEquals(0, exception.getStackTrace().length);
+    }
+
+    /**
+     * Test method for {@link FailurePolicy#nonNull(Object, String)}.
+     */
+    @Test
+    public final void shouldConvertNullableIntoNonNull() {
+        // given
+        @Nullable
+        final Object test = "unit test";
+
+        // when
+        @NonNull
+        final Object nonNullObject = FailurePolicy.STACKLESS.nonNull(test, "test");
+
+        // then
+        Assert.assertSame(test, nonNullObject);
+    }
+
+    /**
+     * Test method for {@link FailurePolicy#nonNull(Object, String)}.
+     */
+    @Test
+    public final void shouldThrowExceptionOfPolicy() {
+        // given
+        @Nullable
+        final Object test = null;
+
+        // when
+        thrown.expect(StacklessIllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("this is a problem"));
+
+        // then
+        FailurePolicy.STACKLESS.nonNull(test, "this is a problem");
+    }
+
+    /**
+     * Test method for {@link FailurePolicy#nonNull(Object, String)}.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldRecordViolations() throws IOException {
+        // given
+        final FailurePolicy policy = FailurePolicy.STACKLESS;
+
+        // when
+        final List<RecordedEvent> events = FlightRecordings.record(() -> policy.nonNull(null, "message"));
+
+        // then
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("message", events.get(0).getString("message"));
+    }
+
+    /**
+     * Test method for <code>FailurePolicy#fromName(String)</code>.
+     */
+    @Test
+    public final void shouldResolvePolicyByName() {
+        // given
+        final String name = "STACKLESS";
+
+        // when
+        final FailurePolicy policy = FailurePolicy.fromName(name);
+
+        // then
+        Assert.assertEquals(FailurePolicy.STACKLESS, policy);
+    }
+
+    /**
+     * Test method for <code>FailurePolicy#fromName(String)</code>.
+     */
+    @Test
+    public final void shouldFallBackToStackTraceForMissingName() {
+        // given
+        @Nullable
+        final String name = null;
+
+        // when
+        final FailurePolicy policy = FailurePolicy.fromName(name);
+
+        // then
+        Assert.assertEquals(FailurePolicy.STACK_TRACE, policy);
+    }
+
+    /**
+     * Test method for <code>FailurePolicy#fromName(String)</code>.
+     */
+    @Test
+    public final void shouldFallBackToStackTraceForUnknownName() {
+        // given
+        final String name = "unknown";
+
+        // when
+        final FailurePolicy policy = FailurePolicy.fromName(name);
+
+        // then
+        Assert.assertEquals(FailurePolicy.STACK_TRACE, policy);
+    }
+
+    /**
+     * Test method for <code>FailurePolicy#fromSystemProperty()</code>.
+     */
+    @Test
+    public final void shouldReadPolicyFromSystemProperty() {
+        // given
+        System.setProperty(FailurePolicy.SYSTEM_PROPERTY, "STACKLESS");
+
+        // when
+        final FailurePolicy policy;
+        try {
+            policy = FailurePolicy.fromSystemProperty();
+        } finally {
+            System.clearProperty(FailurePolicy.SYSTEM_PROPERTY);
+        }
+
+        // then
+        Assert.assertEquals(FailurePolicy.STACKLESS, policy);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Has the same shape as <code>java.lang.StackWalker</code>, in order to test the reflective binding on Java 8. Like the
+ * real API, walks start at the frame that called {@link #walk(Function)}.
+ */
+@SuppressWarnings("static-method")
+public class FakeStackWalker {
+
+    /**
+     * @return A new walker.
+     */
+    public static FakeStackWalker getInstance() {
+        return new FakeStackWalker();
+    }
+
+    /**
+     * @param <TYPE>
+     *            The result type
+     * @param function
+     *            The function to apply to the frames.
+     * @return The result of the given function.
+     */
+    public <TYPE> TYPE walk(final Function<? super Stream<StackFrame>, ? extends TYPE> function) {
+        final StackTraceElement[] elements = new Throwable().getStackTrace();
+        return function.apply(Arrays.stream(elements, 1, elements.length).map(StackFrame::new));
+    }
+
+    /**
+     * Never sees any frames.
+     */
+    public static final class Empty {
+
+        /**
+         * @return A new walker.
+         */
+        public static Empty getInstance() {
+            return new Empty();
+        }
+
+        /**
+         * @param <TYPE>
+         *            The result type
+         * @param function
+         *            The function to apply to the frames.
+         * @return The result of the given function.
+         */
+        public <TYPE> TYPE walk(final Function<? super Stream<StackFrame>, ? extends TYPE> function) {
+            return function.apply(Stream.empty());
+        }
+
+    }
+
+    /**
+     * A single frame.
+     */
+    public static final class StackFrame {
+
+        private final StackTraceElement element;
+
+        StackFrame(final StackTraceElement element) {
+            this.element = element;
+        }
+
+        /**
+         * @return The name of the class of this frame.
+         */
+        public String getClassName() {
+            return element.getClassName();
+        }
+
+        /**
+         * @return This frame as a stack trace element.
+         */
+        public StackTraceElement toStackTraceElement() {
+            return element;
+        }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.util.List;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class FlightRecorderNullEventsTest {
+
+    /**
+     * Test method for <code>FlightRecorderNullEvents#violation</code>.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldRecordViolations() throws IOException {
+        // given
+        final NullEvents events = new FlightRecorderNullEvents();
+
+        // when
+        final List<RecordedEvent> recorded = FlightRecordings.record(() -> events.violation("nonNull", "message"));
+
+        // then
+        Assert.assertEquals(1, recorded.size());
+        final RecordedEvent event = recorded.get(0);
+        Assert.assertEquals(NullViolationEvent.NAME, event.getEventType().getName());
+        Assert.assertEquals("nonNull", event.getString("method"));
+        Assert.assertEquals("message", event.getString("message"));
+        Assert.assertNotNull(event.getStackTrace());
+    }
+
+    /**
+     * Test method for <code>FlightRecorderNullEvents#fallback</code>.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldRecordFallbacks() throws IOException {
+        // given
+        final NullEvents events = new FlightRecorderNullEvents();
+
+        // when
+        final List<RecordedEvent> recorded = FlightRecordings.record(() -> events.fallback("ensureList"));
+
+        // then
+        Assert.assertEquals(1, recorded.size());
+        final RecordedEvent event = recorded.get(0);
+        Assert.assertEquals(NullFallbackEvent.NAME, event.getEventType().getName());
+        Assert.assertEquals("ensureList", event.getString("method"));
+        Assert.assertEquals(FlightRecorderNullEvents.FALLBACK_MESSAGE, event.getString("message"));
+    }
+
+    /**
+     * Test method for <code>FlightRecorderNullEvents#violation</code>.
+     */
+    @Test
+    public final void shouldSkipEventsWithoutRecording() {
+        // given
+        final NullEvents events = new FlightRecorderNullEvents();
+
+        // when
+        events.violation("nonNull", "message");
+        events.fallback("ensureList");
+
+        // then
+        Assert.assertNotNull(events);
+    }
+
+}
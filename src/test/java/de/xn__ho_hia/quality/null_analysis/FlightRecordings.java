@@ -0,0 +1,54 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records the events of this library while running an action.
+ */
+final class FlightRecordings {
+
+    private FlightRecordings() {
+        // utility class
+    }
+
+    /**
+     * @param action
+     *            The action to record, which may fail.
+     * @return All events of this library committed while running the action.
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @SuppressWarnings("nls")
+    static List<RecordedEvent> record(final Runnable action) throws IOException {
+        final Path file = Files.createTempFile("null-analysis", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(NullViolationEvent.NAME);
+            recording.enable(NullFallbackEvent.NAME);
+            recording.start();
+            try {
+                action.run();
+            } catch (final RuntimeException exception) {
+                // expected for violations
+            }
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,696 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.math.BigInteger;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class HybridIntegerTest {
+
+    private static final BigInteger BEYOND_MAX = BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE);
+
+    /** Operands around the bounds of <code>long</code> and of the square root of its range. */
+    private static final long[] EDGES = { 0, 1, -1, 2, -2, 3, Integer.MAX_VALUE, Integer.MIN_VALUE, 1L << 31,
+            (1L << 32) - 1, 1L << 32, -(1L << 32), 3_037_000_499L, 3_037_000_500L, -3_037_000_499L, -3_037_000_500L,
+            Long.MAX_VALUE / 2, Long.MIN_VALUE / 2, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1, Long.MAX_VALUE,
+            Long.MIN_VALUE };
+
+    private static boolean fits(final BigInteger value) {
+        return value.bitLength() < Long.SIZE;
+    }
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(long)}.
+     */
+    @Test
+    public final void shouldCacheSmallValues() {
+        // given
+        final long value = 127;
+
+        // when
+        final HybridInteger first = HybridInteger.valueOf(value);
+        final HybridInteger second = HybridInteger.valueOf(value);
+
+        // then
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(long)}.
+     */
+    @Test
+    public final void shouldCacheSmallNegativeValues() {
+        // given
+        final long value = -128;
+
+        // when
+        final HybridInteger first = HybridInteger.valueOf(value);
+        final HybridInteger second = HybridInteger.valueOf(value);
+
+        // then
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(long)}.
+     */
+    @Test
+    public final void shouldNotCacheLargeValues() {
+        // given
+        final long value = 128;
+
+        // when
+        final HybridInteger first = HybridInteger.valueOf(value);
+        final HybridInteger second = HybridInteger.valueOf(value);
+
+        // then
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, second);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(long)}.
+     */
+    @Test
+    public final void shouldNotCacheValuesBelowCache() {
+        // given
+        final long value = -129;
+
+        // when
+        final HybridInteger first = HybridInteger.valueOf(value);
+        final HybridInteger second = HybridInteger.valueOf(value);
+
+        // then
+        Assert.assertNotSame(first, second);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(BigInteger)}.
+     */
+    @Test
+    public final void shouldDemoteBigIntegerInLongRange() {
+        // given
+        final BigInteger value = BigInteger.valueOf(Long.MIN_VALUE);
+
+        // when
+        final HybridInteger result = HybridInteger.valueOf(value);
+
+        // then
+        Assert.assertTrue(result.fitsInLong());
+        Assert.assertEquals(Long.MIN_VALUE, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(BigInteger)}.
+     */
+    @Test
+    public final void shouldKeepBigIntegerOutOfLongRange() {
+        // given
+        final BigInteger value = BEYOND_MAX;
+
+        // when
+        final HybridInteger result = HybridInteger.valueOf(value);
+
+        // then
+        Assert.assertFalse(result.fitsInLong());
+        Assert.assertSame(value, result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(BigInteger)}.
+     */
+    @Test
+    public final void shouldKeepBigIntegerBelowLongRange() {
+        // given
+        final BigInteger value = BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE);
+
+        // when
+        final HybridInteger result = HybridInteger.valueOf(value);
+
+        // then
+        Assert.assertFalse(result.fitsInLong());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#valueOf(BigInteger)}.
+     */
+    @Test
+    public final void shouldRejectNullBigInteger() {
+        // given
+        @Nullable
+        final BigInteger value = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+
+        // then
+        HybridInteger.valueOf(value);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#add(HybridInteger)}.
+     */
+    @Test
+    public final void shouldAddInLongRange() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(123);
+        final HybridInteger second = HybridInteger.valueOf(567);
+
+        // when
+        final HybridInteger result = first.add(second);
+
+        // then
+        Assert.assertTrue(result.fitsInLong());
+        Assert.assertEquals(690, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#add(HybridInteger)}.
+     */
+    @Test
+    public final void shouldPromoteOnAddOverflow() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(Long.MAX_VALUE);
+        final HybridInteger second = HybridInteger.valueOf(1);
+
+        // when
+        final HybridInteger result = first.add(second);
+
+        // then
+        Assert.assertFalse(result.fitsInLong());
+        Assert.assertEquals(BEYOND_MAX, result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#add(HybridInteger)}.
+     */
+    @Test
+    public final void shouldDemoteAfterAddingIntoLongRange() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(BEYOND_MAX);
+        final HybridInteger second = HybridInteger.valueOf(-1);
+
+        // when
+        final HybridInteger result = first.add(second);
+
+        // then
+        Assert.assertTrue(result.fitsInLong());
+        Assert.assertEquals(Long.MAX_VALUE, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#add(HybridInteger)}.
+     */
+    @Test
+    public final void shouldAddSmallToLargeValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(1);
+        final HybridInteger second = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final HybridInteger result = first.add(second);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.add(BigInteger.ONE), result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#add(HybridInteger)}.
+     */
+    @Test
+    public final void shouldRejectNullOnAdd() {
+        // given
+        @Nullable
+        final HybridInteger other = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+
+        // then
+        HybridInteger.valueOf(1).add(other);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#subtract(HybridInteger)}.
+     */
+    @Test
+    public final void shouldSubtractInLongRange() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(123);
+        final HybridInteger second = HybridInteger.valueOf(567);
+
+        // when
+        final HybridInteger result = first.subtract(second);
+
+        // then
+        Assert.assertEquals(-444, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#subtract(HybridInteger)}.
+     */
+    @Test
+    public final void shouldPromoteOnSubtractOverflow() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(Long.MIN_VALUE);
+        final HybridInteger second = HybridInteger.valueOf(1);
+
+        // when
+        final HybridInteger result = first.subtract(second);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE), result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#subtract(HybridInteger)}.
+     */
+    @Test
+    public final void shouldSubtractFromLargeValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(BEYOND_MAX);
+        final HybridInteger second = HybridInteger.valueOf(1);
+
+        // when
+        final HybridInteger result = first.subtract(second);
+
+        // then
+        Assert.assertEquals(Long.MAX_VALUE, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#subtract(HybridInteger)}.
+     */
+    @Test
+    public final void shouldSubtractLargeFromSmallValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(1);
+        final HybridInteger second = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final HybridInteger result = first.subtract(second);
+
+        // then
+        Assert.assertEquals(-Long.MAX_VALUE, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#multiply(HybridInteger)}.
+     */
+    @Test
+    public final void shouldMultiplyInLongRange() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(123);
+        final HybridInteger second = HybridInteger.valueOf(567);
+
+        // when
+        final HybridInteger result = first.multiply(second);
+
+        // then
+        Assert.assertEquals(69741, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#multiply(HybridInteger)}.
+     */
+    @Test
+    public final void shouldPromoteOnMultiplyOverflow() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(Long.MAX_VALUE);
+        final HybridInteger second = HybridInteger.valueOf(2);
+
+        // when
+        final HybridInteger result = first.multiply(second);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1), result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#multiply(HybridInteger)}.
+     */
+    @Test
+    public final void shouldMultiplyLargeValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(BEYOND_MAX);
+        final HybridInteger second = HybridInteger.valueOf(0);
+
+        // when
+        final HybridInteger result = first.multiply(second);
+
+        // then
+        Assert.assertSame(HybridInteger.valueOf(0), result);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#multiply(HybridInteger)}.
+     */
+    @Test
+    public final void shouldMultiplyLargeWithSmallValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(BEYOND_MAX);
+        final HybridInteger second = HybridInteger.valueOf(-1);
+
+        // when
+        final HybridInteger result = first.multiply(second);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.negate(), result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#multiply(HybridInteger)}.
+     */
+    @Test
+    public final void shouldMultiplySmallWithLargeValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(2);
+        final HybridInteger second = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final HybridInteger result = first.multiply(second);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.shiftLeft(1), result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#add(HybridInteger)}, {@link HybridInteger#subtract(HybridInteger)} and
+     * {@link HybridInteger#multiply(HybridInteger)}.
+     */
+    @Test
+    public final void shouldPromoteExactlyOnOverflow() {
+        for (final long first : EDGES) {
+            for (final long second : EDGES) {
+                // given
+                final BigInteger firstBig = BigInteger.valueOf(first);
+                final BigInteger secondBig = BigInteger.valueOf(second);
+
+                // when
+                final HybridInteger sum = HybridInteger.valueOf(first).add(HybridInteger.valueOf(second));
+                final HybridInteger difference = HybridInteger.valueOf(first).subtract(HybridInteger.valueOf(second));
+                final HybridInteger product = HybridInteger.valueOf(first).multiply(HybridInteger.valueOf(second));
+
+                // then
+                final String operands = first + ", " + second;
+                Assert.assertEquals(operands, firstBig.add(secondBig), sum.bigIntegerValue());
+                Assert.assertTrue(operands, fits(firstBig.add(secondBig)) == sum.fitsInLong());
+                Assert.assertEquals(operands, firstBig.subtract(secondBig), difference.bigIntegerValue());
+                Assert.assertTrue(operands, fits(firstBig.subtract(secondBig)) == difference.fitsInLong());
+                Assert.assertEquals(operands, firstBig.multiply(secondBig), product.bigIntegerValue());
+                Assert.assertTrue(operands, fits(firstBig.multiply(secondBig)) == product.fitsInLong());
+                Assert.assertTrue(operands,
+                        fits(firstBig.multiply(secondBig)) != HybridInteger.multiplyOverflows(first, second));
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link HybridInteger#add(HybridInteger)}, {@link HybridInteger#subtract(HybridInteger)},
+     * {@link HybridInteger#multiply(HybridInteger)} and {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldReturnCachedResults() {
+        // given
+        final HybridInteger ten = HybridInteger.valueOf(10);
+        final HybridInteger two = HybridInteger.valueOf(2);
+
+        // when
+        final HybridInteger sum = ten.add(two);
+        final HybridInteger difference = ten.subtract(two);
+        final HybridInteger product = ten.multiply(two);
+        final HybridInteger quotient = ten.divide(two);
+
+        // then
+        Assert.assertSame(HybridInteger.valueOf(12), sum);
+        Assert.assertSame(HybridInteger.valueOf(8), difference);
+        Assert.assertSame(HybridInteger.valueOf(20), product);
+        Assert.assertSame(HybridInteger.valueOf(5), quotient);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldDivideInLongRange() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(567);
+        final HybridInteger second = HybridInteger.valueOf(123);
+
+        // when
+        final HybridInteger result = first.divide(second);
+
+        // then
+        Assert.assertEquals(4, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldPromoteOnDivideOverflow() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(Long.MIN_VALUE);
+        final HybridInteger second = HybridInteger.valueOf(-1);
+
+        // when
+        final HybridInteger result = first.divide(second);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX, result.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldDivideLongMinValueByOtherValues() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(Long.MIN_VALUE);
+        final HybridInteger second = HybridInteger.valueOf(2);
+
+        // when
+        final HybridInteger result = first.divide(second);
+
+        // then
+        Assert.assertEquals(Long.MIN_VALUE / 2, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldDivideOtherValuesByMinusOne() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(Long.MAX_VALUE);
+        final HybridInteger second = HybridInteger.valueOf(-1);
+
+        // when
+        final HybridInteger result = first.divide(second);
+
+        // then
+        Assert.assertEquals(-Long.MAX_VALUE, result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldDivideLargeValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(BEYOND_MAX);
+        final HybridInteger second = HybridInteger.valueOf(2);
+
+        // when
+        final HybridInteger result = first.divide(second);
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.shiftRight(1).longValue(), result.longValueExact());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldDivideSmallByLargeValue() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(Long.MAX_VALUE);
+        final HybridInteger second = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final HybridInteger result = first.divide(second);
+
+        // then
+        Assert.assertSame(HybridInteger.valueOf(0), result);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#divide(HybridInteger)}.
+     */
+    @Test
+    public final void shouldFailDivisionByZero() {
+        // given
+        final HybridInteger first = HybridInteger.valueOf(1);
+        final HybridInteger second = HybridInteger.valueOf(0);
+
+        // when
+        thrown.expect(ArithmeticException.class);
+
+        // then
+        first.divide(second);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#longValueExact()}.
+     */
+    @Test
+    public final void shouldFailExactConversionOfLargeValue() {
+        // given
+        final HybridInteger value = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        thrown.expect(ArithmeticException.class);
+
+        // then
+        value.longValueExact();
+    }
+
+    /**
+     * Test method for {@link HybridInteger#bigIntegerValue()}.
+     */
+    @Test
+    public final void shouldConvertSmallValueToBigInteger() {
+        // given
+        final HybridInteger value = HybridInteger.valueOf(4711);
+
+        // when
+        final BigInteger result = value.bigIntegerValue();
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(4711), result);
+    }
+
+    /**
+     * Test method for the {@link Number} methods of {@link HybridInteger}.
+     */
+    @Test
+    public final void shouldConvertSmallValueToPrimitives() {
+        // given
+        final HybridInteger value = HybridInteger.valueOf(4711);
+
+        // when
+        final int intValue = value.intValue();
+        final long longValue = value.longValue();
+        final float floatValue = value.floatValue();
+        final double doubleValue = value.doubleValue();
+
+        // then
+        Assert.assertEquals(4711, intValue);
+        Assert.assertEquals(4711L, longValue);
+        Assert.assertEquals(4711F, floatValue, 0F);
+        Assert.assertEquals(4711D, doubleValue, 0D);
+    }
+
+    /**
+     * Test method for the {@link Number} methods of {@link HybridInteger}.
+     */
+    @Test
+    public final void shouldConvertLargeValueToPrimitives() {
+        // given
+        final HybridInteger value = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final long longValue = value.longValue();
+        final float floatValue = value.floatValue();
+        final double doubleValue = value.doubleValue();
+
+        // then
+        Assert.assertEquals(BEYOND_MAX.longValue(), longValue);
+        Assert.assertEquals(BEYOND_MAX.floatValue(), floatValue, 0F);
+        Assert.assertEquals(BEYOND_MAX.doubleValue(), doubleValue, 0D);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#compareTo(HybridInteger)}.
+     */
+    @Test
+    public final void shouldCompareValues() {
+        // given
+        final HybridInteger small = HybridInteger.valueOf(1);
+        final HybridInteger smaller = HybridInteger.valueOf(-1);
+        final HybridInteger large = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final int smallToSmaller = small.compareTo(smaller);
+        final int smallToLarge = small.compareTo(large);
+        final int largeToSmall = large.compareTo(small);
+
+        // then
+        Assert.assertTrue(smallToSmaller > 0);
+        Assert.assertTrue(smallToLarge < 0);
+        Assert.assertTrue(largeToSmall > 0);
+    }
+
+    /**
+     * Test method for {@link HybridInteger#equals(Object)} and {@link HybridInteger#hashCode()}.
+     */
+    @Test
+    public final void shouldImplementEqualsAndHashCode() {
+        // given
+        final HybridInteger small = HybridInteger.valueOf(4711);
+        final HybridInteger large = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final HybridInteger sameSmall = HybridInteger.valueOf(BigInteger.valueOf(4711));
+        final HybridInteger sameLarge = HybridInteger.valueOf(Long.MAX_VALUE).add(HybridInteger.valueOf(1));
+
+        // then
+        Assert.assertEquals(small, small);
+        Assert.assertEquals(small, sameSmall);
+        Assert.assertEquals(small.hashCode(), sameSmall.hashCode());
+        Assert.assertEquals(large, sameLarge);
+        Assert.assertEquals(large.hashCode(), sameLarge.hashCode());
+        Assert.assertNotEquals(small, large);
+        Assert.assertNotEquals(large, small);
+        Assert.assertNotEquals(small, HybridInteger.valueOf(4712));
+        Assert.assertNotEquals(small, Long.valueOf(4711));
+        Assert.assertEquals(Long.hashCode(4711), small.hashCode());
+        Assert.assertEquals(BEYOND_MAX.hashCode(), large.hashCode());
+    }
+
+    /**
+     * Test method for {@link HybridInteger#toString()}.
+     */
+    @Test
+    public final void shouldFormatValues() {
+        // given
+        final HybridInteger small = HybridInteger.valueOf(-4711);
+        final HybridInteger large = HybridInteger.valueOf(BEYOND_MAX);
+
+        // when
+        final String smallText = small.toString();
+        final String largeText = large.toString();
+
+        // then
+        Assert.assertEquals("-4711", smallText);
+        Assert.assertEquals("9223372036854775808", largeText);
+    }
+
+}
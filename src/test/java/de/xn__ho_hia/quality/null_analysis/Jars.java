@@ -0,0 +1,77 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Creates class files and jars for tests of the bytecode scanner.
+ */
+final class Jars {
+
+    private Jars() {
+        // utility class
+    }
+
+    /**
+     * @param type
+     *            The class to read
+     * @return The content of its class file
+     * @throws IOException
+     *             In case the class file cannot be read
+     */
+    static byte[] classFile(final Class<?> type) throws IOException {
+        try (InputStream input = Nullsafe.nonNull(type.getResourceAsStream(NonNullFieldScanner.resource(type)))) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    /** The extra field of each entry: an unknown header with four bytes of data. */
+    static final byte[] EXTRA = { (byte) 0xFE, (byte) 0xCA, 4, 0, 1, 2, 3, 4 };
+
+    /**
+     * @param entries
+     *            The content of each entry by name
+     * @param stored
+     *            Whether to store the entries instead of compressing them
+     * @return The content of a jar with the given entries, each with an {@link #EXTRA} field and its name as comment
+     * @throws IOException
+     *             In case the jar cannot be written
+     */
+    static byte[] jar(final Map<String, byte[]> entries, final boolean stored) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream jar = new ZipOutputStream(output)) {
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                final ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setExtra(EXTRA);
+                zipEntry.setComment(entry.getKey());
+                if (stored) {
+                    final CRC32 crc = new CRC32();
+                    crc.update(entry.getValue());
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(entry.getValue().length);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                jar.putNextEntry(zipEntry);
+                jar.write(entry.getValue());
+            }
+        }
+        return output.toByteArray();
+    }
+
+}
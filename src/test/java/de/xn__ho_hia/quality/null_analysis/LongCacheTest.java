@@ -0,0 +1,190 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class LongCacheTest {
+
+    /**
+     * Test method for <code>LongCache#valueOf</code>.
+     */
+    @Test
+    public final void shouldCacheUpperBound() {
+        // given
+        final LongCache cache = new LongCache(-1000, 1000);
+
+        // when
+        final Long first = cache.valueOf(1000);
+        final Long second = cache.valueOf(1000);
+
+        // then
+        Assert.assertEquals(1000L, first.longValue());
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for <code>LongCache#valueOf</code>.
+     */
+    @Test
+    public final void shouldCacheLowerBound() {
+        // given
+        final LongCache cache = new LongCache(-1000, 1000);
+
+        // when
+        final Long first = cache.valueOf(-1000);
+        final Long second = cache.valueOf(-1000);
+
+        // then
+        Assert.assertEquals(-1000L, first.longValue());
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for <code>LongCache#valueOf</code>.
+     */
+    @Test
+    public final void shouldNotCacheAboveUpperBound() {
+        // given
+        final LongCache cache = new LongCache(-1000, 1000);
+
+        // when
+        final Long first = cache.valueOf(1001);
+        final Long second = cache.valueOf(1001);
+
+        // then
+        Assert.assertEquals(first, second);
+        Assert.assertNotSame(first, second);
+    }
+
+    /**
+     * Test method for <code>LongCache#valueOf</code>.
+     */
+    @Test
+    public final void shouldNotCacheBelowLowerBound() {
+        // given
+        final LongCache cache = new LongCache(-1000, 1000);
+
+        // when
+        final Long first = cache.valueOf(-1001);
+        final Long second = cache.valueOf(-1001);
+
+        // then
+        Assert.assertEquals(first, second);
+        Assert.assertNotSame(first, second);
+    }
+
+    /**
+     * Test method for <code>LongCache#valueOf</code>.
+     */
+    @Test
+    public final void shouldReuseJdkCache() {
+        // given
+        final LongCache cache = new LongCache(-1000, 1000);
+
+        // when
+        final Long value = cache.valueOf(127);
+
+        // then
+        Assert.assertSame(Long.valueOf(127), value);
+    }
+
+    /**
+     * Test method for <code>LongCache#LongCache</code>.
+     */
+    @Test
+    public final void shouldAlwaysCoverJdkRange() {
+        // given
+        final long low = 0;
+        final long high = 0;
+
+        // when
+        final LongCache cache = new LongCache(low, high);
+
+        // then
+        Assert.assertEquals(-128, cache.low());
+        Assert.assertEquals(127, cache.high());
+    }
+
+    /**
+     * Test method for <code>LongCache#LongCache</code>.
+     */
+    @Test
+    public final void shouldLimitBounds() {
+        // given
+        final long low = Long.MIN_VALUE;
+        final long high = Long.MAX_VALUE;
+
+        // when
+        final LongCache cache = new LongCache(low, high);
+
+        // then
+        Assert.assertEquals(-LongCache.MAX_BOUND, cache.low());
+        Assert.assertEquals(LongCache.MAX_BOUND - 1, cache.high());
+        Assert.assertEquals(LongCache.MAX_BOUND - 1, cache.valueOf(LongCache.MAX_BOUND - 1).longValue());
+    }
+
+    /**
+     * Test method for <code>LongCache#fromSystemProperties</code>.
+     */
+    @Test
+    public final void shouldReadBoundsFromSystemProperties() {
+        // given
+        System.setProperty(LongCache.LOW_PROPERTY, "-500");
+        System.setProperty(LongCache.HIGH_PROPERTY, " 100000 ");
+
+        try {
+            // when
+            final LongCache cache = LongCache.fromSystemProperties();
+
+            // then
+            Assert.assertEquals(-500, cache.low());
+            Assert.assertEquals(100000, cache.high());
+        } finally {
+            System.clearProperty(LongCache.LOW_PROPERTY);
+            System.clearProperty(LongCache.HIGH_PROPERTY);
+        }
+    }
+
+    /**
+     * Test method for <code>LongCache#fromSystemProperties</code>.
+     */
+    @Test
+    public final void shouldUseJdkRangeByDefault() {
+        // given
+        System.clearProperty(LongCache.LOW_PROPERTY);
+        System.clearProperty(LongCache.HIGH_PROPERTY);
+
+        // when
+        final LongCache cache = LongCache.fromSystemProperties();
+
+        // then
+        Assert.assertEquals(LongCache.DEFAULT_LOW, cache.low());
+        Assert.assertEquals(LongCache.DEFAULT_HIGH, cache.high());
+    }
+
+    /**
+     * Test method for <code>LongCache#parse</code>.
+     */
+    @Test
+    public final void shouldFallBackForInvalidNumbers() {
+        // given
+        final String value = "many";
+
+        // when
+        final long parsed = LongCache.parse(value, 42);
+
+        // then
+        Assert.assertEquals(42, parsed);
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class MappedJarTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /** Provides a directory for jars on disk. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String CONTENT = "The quick brown fox jumps over the lazy dog";
+
+    private static byte[] jar(final boolean stored) throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("first.txt", CONTENT.getBytes(StandardCharsets.UTF_8));
+        entries.put("second.txt", "second".getBytes(StandardCharsets.UTF_8));
+        return Jars.jar(entries, stored);
+    }
+
+    /** @return The position of the first central directory entry, assuming there is no archive comment */
+    private static int central(final byte[] jar) {
+        return ByteBuffer.wrap(jar).order(ByteOrder.LITTLE_ENDIAN).getInt(jar.length - 22 + 16);
+    }
+
+    private static void putInt(final byte[] jar, final int position, final int value) {
+        ByteBuffer.wrap(jar).order(ByteOrder.LITTLE_ENDIAN).putInt(position, value);
+    }
+
+    private static String read(final MappedJar jar, final int entry) throws ZipException {
+        return StandardCharsets.UTF_8.decode(jar.read(entry)).toString();
+    }
+
+    /**
+     * Test method for <code>MappedJar#name</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the jar can be written.
+     */
+    @Test
+    public final void shouldListEntries() throws IOException {
+        // given
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(jar(false)));
+
+        // when
+        final int size = jar.size();
+
+        // then
+        Assert.assertEquals(2, size);
+        Assert.assertEquals("first.txt", jar.name(0));
+        Assert.assertEquals("second.txt", jar.name(1));
+    }
+
+    /**
+     * Test method for <code>MappedJar#read</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the jar can be written.
+     */
+    @Test
+    public final void shouldReadStoredEntries() throws IOException {
+        // given
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(jar(true)));
+
+        // when
+        final String content = read(jar, 0);
+
+        // then
+        Assert.assertEquals(CONTENT, content);
+        Assert.assertEquals("second", read(jar, 1));
+    }
+
+    /**
+     * Test method for <code>MappedJar#read</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the jar can be written.
+     */
+    @Test
+    public final void shouldReadDeflatedEntries() throws IOException {
+        // given
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(jar(false)));
+
+        // when
+        final String content = read(jar, 0);
+
+        // then
+        Assert.assertEquals(CONTENT, content);
+        Assert.assertEquals("second", read(jar, 1));
+    }
+
+    /**
+     * Test method for <code>MappedJar#MappedJar</code>.
+     *
+     * @throws ZipException
+     *             Should not fail in case the archive is valid.
+     */
+    @Test
+    public final void shouldReadEmptyArchives() throws ZipException {
+        // given
+        final byte[] empty = new byte[22];
+        putInt(empty, 0, 0x06054b50);
+
+        // when
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(empty));
+
+        // then
+        Assert.assertEquals(0, jar.size());
+    }
+
+    /**
+     * Test method for <code>MappedJar#MappedJar</code>.
+     *
+     * @throws ZipException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectMissingEndOfCentralDirectory() throws ZipException {
+        // given
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[40]);
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Missing end of central directory");
+
+        // then
+        Assert.assertNotNull(new MappedJar(buffer));
+    }
+
+    /**
+     * Test method for <code>MappedJar#MappedJar</code>.
+     *
+     * @throws IOException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectInvalidCentralDirectoryEntries() throws IOException {
+        // given
+        final byte[] bytes = jar(false);
+        putInt(bytes, central(bytes), 0);
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Invalid central directory entry 0");
+
+        // then
+        Assert.assertNotNull(new MappedJar(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Test method for <code>MappedJar#MappedJar</code>.
+     *
+     * @throws IOException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectZip64Offsets() throws IOException {
+        // given
+        final byte[] bytes = jar(false);
+        putInt(bytes, bytes.length - 22 + 16, 0xFFFFFFFF);
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Truncated central directory");
+
+        // then
+        Assert.assertNotNull(new MappedJar(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Test method for <code>MappedJar#MappedJar</code>.
+     *
+     * @throws IOException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectTruncatedNames() throws IOException {
+        // given
+        final byte[] bytes = jar(false);
+        putInt(bytes, central(bytes) + 28, 0xFFFF);
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Truncated central directory");
+
+        // then
+        Assert.assertNotNull(new MappedJar(ByteBuffer.wrap(bytes)));
+    }
+
+    /**
+     * Test method for <code>MappedJar#read</code>.
+     *
+     * @throws IOException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectInvalidLocalHeaders() throws IOException {
+        // given
+        final byte[] bytes = jar(true);
+        putInt(bytes, 0, 0);
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(bytes));
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Invalid local header of first.txt");
+
+        // then
+        jar.read(0);
+    }
+
+    /**
+     * Test method for <code>MappedJar#read</code>.
+     *
+     * @throws IOException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectUnsupportedCompressionMethods() throws IOException {
+        // given
+        final byte[] bytes = jar(false);
+        bytes[central(bytes) + 10] = 12;
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(bytes));
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Unsupported compression method 12 of first.txt");
+
+        // then
+        jar.read(0);
+    }
+
+    /**
+     * Test method for <code>MappedJar#read</code>.
+     *
+     * @throws IOException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectTruncatedEntries() throws IOException {
+        // given
+        final byte[] bytes = jar(false);
+        putInt(bytes, central(bytes) + 24, CONTENT.length() + 1);
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(bytes));
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Truncated entry first.txt");
+
+        // then
+        jar.read(0);
+    }
+
+    /**
+     * Test method for <code>MappedJar#read</code>.
+     *
+     * @throws IOException
+     *             Should fail in case the archive is invalid.
+     */
+    @Test
+    public final void shouldRejectCorruptEntries() throws IOException {
+        // given
+        final byte[] bytes = jar(false);
+        bytes[30 + "first.txt".length() + Jars.EXTRA.length] = (byte) 0xFF; // reserved block type
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(bytes));
+
+        // when
+        thrown.expect(ZipException.class);
+        thrown.expectMessage("Corrupt entry first.txt");
+
+        // then
+        jar.read(0);
+    }
+
+    /**
+     * Test method for <code>MappedJar#hash</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the jar can be written.
+     * @throws NoSuchAlgorithmException
+     *             Should not fail in case SHA-256 is available.
+     */
+    @Test
+    public final void shouldHashWholeJar() throws IOException, NoSuchAlgorithmException {
+        // given
+        final byte[] bytes = jar(false);
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(bytes));
+
+        // when
+        final String hash = jar.hash("SHA-256");
+
+        // then
+        final BigInteger expected = new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(bytes));
+        Assert.assertEquals(64, hash.length());
+        Assert.assertEquals(expected, new BigInteger(hash, 16));
+    }
+
+    /**
+     * Test method for <code>MappedJar#hash</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the jar can be written.
+     */
+    @Test
+    public final void shouldRejectUnknownAlgorithms() throws IOException {
+        // given
+        final MappedJar jar = new MappedJar(ByteBuffer.wrap(jar(false)));
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+
+        // then
+        jar.hash("unknown");
+    }
+
+    /**
+     * Test method for <code>MappedJar#open</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the jar can be written.
+     */
+    @Test
+    public final void shouldMapFiles() throws IOException {
+        // given
+        final Path file = folder.newFile("test.jar").toPath();
+        Files.write(file, jar(false));
+
+        // when
+        final MappedJar jar = MappedJar.open(file);
+
+        // then
+        Assert.assertEquals(CONTENT, read(jar, 0));
+    }
+
+}
@@ -0,0 +1,584 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.xn__ho_hia.quality.null_analysis.Memoizer.Memo;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class MemoizerTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Memoizer<String, String> memoizer(final int maximumSize) {
+        return new Memoizer<>(key -> {
+            loads.incrementAndGet();
+            return key == null || key.isEmpty() ? null : key.toUpperCase();
+        }, maximumSize, 10, 5, time::get);
+    }
+
+    private static void load(final Memoizer<String, String> memoizer, final int keys) {
+        for (int key = 0; key < keys; key++) {
+            memoizer.apply(Integer.toString(key));
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldLoadOnMiss() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+
+        // when
+        final String value = memoizer.apply("key");
+
+        // then
+        Assert.assertEquals("KEY", value);
+        Assert.assertEquals(1, memoizer.missCount());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldHitCachedValue() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("key");
+
+        // when
+        final String value = memoizer.apply("key");
+
+        // then
+        Assert.assertEquals("KEY", value);
+        Assert.assertEquals(1, memoizer.hitCount());
+        Assert.assertEquals(0, memoizer.negativeHitCount());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldCacheNull() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("");
+
+        // when
+        final String value = memoizer.apply("");
+
+        // then
+        Assert.assertNull(value);
+        Assert.assertEquals(0, memoizer.hitCount());
+        Assert.assertEquals(1, memoizer.negativeHitCount());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldCacheNullKey() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply(null);
+
+        // when
+        final String value = memoizer.apply(null);
+
+        // then
+        Assert.assertNull(value);
+        Assert.assertEquals(1, memoizer.negativeHitCount());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldHitBeforePositiveTtl() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("key");
+        time.set(9);
+
+        // when
+        memoizer.apply("key");
+
+        // then
+        Assert.assertEquals(1, memoizer.hitCount());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldExpireAfterPositiveTtl() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("key");
+        time.set(10);
+
+        // when
+        final String value = memoizer.apply("key");
+
+        // then
+        Assert.assertEquals("KEY", value);
+        Assert.assertEquals(0, memoizer.hitCount());
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(1, memoizer.size());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldHitBeforeNegativeTtl() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("");
+        time.set(4);
+
+        // when
+        memoizer.apply("");
+
+        // then
+        Assert.assertEquals(1, memoizer.negativeHitCount());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldExpireAfterNegativeTtl() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("");
+        time.set(5);
+
+        // when
+        memoizer.apply("");
+
+        // then
+        Assert.assertEquals(0, memoizer.negativeHitCount());
+        Assert.assertEquals(2, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldMeasureTtlFromEndOfLoad() {
+        // given
+        final Memoizer<String, String> memoizer = new Memoizer<>(key -> {
+            time.addAndGet(100);
+            return key;
+        }, 8, 10, 5, time::get);
+        memoizer.apply("key");
+        time.set(109);
+
+        // when
+        memoizer.apply("key");
+
+        // then
+        Assert.assertEquals(1, memoizer.hitCount());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldNotCacheFailedLoads() {
+        // given
+        final Memoizer<String, String> memoizer = new Memoizer<>(key -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException(key);
+        }, 8, 10, 5, time::get);
+
+        try {
+            memoizer.apply("key");
+            Assert.fail("Expected an exception");
+        } catch (final IllegalStateException exception) {
+            Assert.assertEquals("key", exception.getMessage());
+        }
+
+        // when
+        final int size = memoizer.size();
+
+        // then
+        Assert.assertEquals(0, size);
+        Assert.assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldNotCacheErrors() {
+        // given
+        final Memoizer<String, String> memoizer = new Memoizer<>(key -> {
+            throw new AssertionError(key);
+        }, 8, 10, 5, time::get);
+
+        // when
+        try {
+            memoizer.apply("key");
+            Assert.fail("Expected an error");
+        } catch (final AssertionError error) {
+            Assert.assertEquals("key", error.getMessage());
+        }
+
+        // then
+        Assert.assertEquals(0, memoizer.size());
+        Assert.assertEquals(1, memoizer.missCount());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldKeepMaximumSize() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+
+        // when
+        load(memoizer, 8);
+
+        // then
+        Assert.assertEquals(8, memoizer.size());
+        Assert.assertEquals(0, memoizer.evictionCount());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldEvictBeyondMaximumSize() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+
+        // when
+        load(memoizer, 9);
+
+        // then
+        Assert.assertEquals(7, memoizer.size());
+        Assert.assertEquals(2, memoizer.evictionCount());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldEvictExpiredEntriesFirst() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(2);
+        memoizer.apply("expired");
+        time.set(10);
+        memoizer.apply("first");
+
+        // when
+        memoizer.apply("second");
+
+        // then
+        Assert.assertEquals(2, memoizer.size());
+        Assert.assertEquals(0, memoizer.evictionCount());
+        memoizer.apply("first");
+        memoizer.apply("second");
+        Assert.assertEquals(2, memoizer.hitCount());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     */
+    @Test
+    public final void shouldNotEvictLoadingEntries() {
+        // given
+        final AtomicReference<Memoizer<String, String>> reference = new AtomicReference<>();
+        final Memoizer<String, String> memoizer = new Memoizer<>(key -> {
+            if ("outer".equals(key)) {
+                Nullsafe.nonNull(reference.get()).apply("inner");
+            }
+            return key;
+        }, 1, 10, 5, time::get);
+        reference.set(memoizer);
+
+        // when
+        memoizer.apply("outer");
+
+        // then
+        Assert.assertEquals(1, memoizer.size());
+        Assert.assertEquals(1, memoizer.evictionCount());
+        memoizer.apply("outer");
+        Assert.assertEquals(1, memoizer.hitCount());
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     *
+     * @throws InterruptedException
+     *             Should not fail in case the reload completes.
+     * @throws ExecutionException
+     *             Should not fail in case the reload completes.
+     */
+    @Test
+    public final void shouldNotEvictEntriesReloadedDuringEviction() throws InterruptedException, ExecutionException {
+        // given
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<Runnable> reload = new AtomicReference<>();
+        final Object trap = new Object() {
+
+            @Override
+            public int hashCode() {
+                // the first bin of the map is iterated first, eviction removes by key and hashes it right before
+                final Runnable hook = reload.getAndSet(null);
+                if (hook != null) {
+                    hook.run();
+                }
+                return 0;
+            }
+
+        };
+        final Memoizer<Object, Object> memoizer = new Memoizer<>(key -> {
+            if (key == trap && loads.incrementAndGet() == 2) {
+                loading.countDown();
+                await(release);
+            }
+            return key;
+        }, 1, 10, 5, time::get);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        memoizer.apply(trap);
+        final AtomicReference<Future<Object>> reloaded = new AtomicReference<>();
+        reload.set(() -> {
+            memoizer.invalidate(trap);
+            reloaded.set(executor.submit(() -> memoizer.apply(trap)));
+            await(loading);
+        });
+
+        // when
+        memoizer.apply(Integer.valueOf(1));
+        release.countDown();
+        Nullsafe.nonNull(reloaded.get()).get();
+        memoizer.apply(trap);
+
+        // then
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(1, memoizer.hitCount());
+        Assert.assertEquals(1, memoizer.evictionCount());
+        executor.shutdown();
+    }
+
+    /**
+     * Test method for {@link Memoizer#apply(Object)}.
+     *
+     * @throws InterruptedException
+     *             Should not fail in case both lookups complete.
+     * @throws ExecutionException
+     *             Should not fail in case both lookups complete.
+     */
+    @Test
+    public final void shouldLoadOncePerKey() throws InterruptedException, ExecutionException {
+        // given
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Memoizer<String, String> memoizer = new Memoizer<>(key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return key;
+        }, 8, 10, 5, time::get);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        final Future<String> first = executor.submit(() -> memoizer.apply("key"));
+        await(loading);
+        final Future<String> second = executor.submit(() -> memoizer.apply("key"));
+        release.countDown();
+
+        // then
+        Assert.assertEquals("key", first.get());
+        Assert.assertEquals("key", second.get());
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, memoizer.hitCount());
+        executor.shutdown();
+    }
+
+    /**
+     * Test method for {@link Memoizer#invalidate(Object)}.
+     */
+    @Test
+    public final void shouldInvalidateKey() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("key");
+        memoizer.apply("other");
+
+        // when
+        memoizer.invalidate("key");
+
+        // then
+        Assert.assertEquals(1, memoizer.size());
+        memoizer.apply("key");
+        Assert.assertEquals(3, loads.get());
+    }
+
+    /**
+     * Test method for {@link Memoizer#invalidateAll()}.
+     */
+    @Test
+    public final void shouldInvalidateAllKeys() {
+        // given
+        final Memoizer<String, String> memoizer = memoizer(8);
+        memoizer.apply("key");
+        memoizer.apply("other");
+
+        // when
+        memoizer.invalidateAll();
+
+        // then
+        Assert.assertEquals(0, memoizer.size());
+    }
+
+    /**
+     * Test method for {@link Memoizer#of(java.util.function.Function, int, Duration, Duration)}.
+     */
+    @Test
+    public final void shouldMemoizeWithSystemTicker() {
+        // given
+        final Memoizer<String, String> memoizer = Memoizer.of(String::trim, 8, Duration.ofHours(1),
+                Duration.ofHours(1));
+        memoizer.apply(" key ");
+
+        // when
+        final String value = memoizer.apply(" key ");
+
+        // then
+        Assert.assertEquals("key", value);
+        Assert.assertEquals(1, memoizer.hitCount());
+    }
+
+    /**
+     * Test method for <code>Memoizer#nanos</code>.
+     */
+    @Test
+    public final void shouldConvertDurationToNanos() {
+        // given
+        final Duration duration = Duration.ofSeconds(1);
+
+        // when
+        final long nanos = Memoizer.nanos(duration);
+
+        // then
+        Assert.assertEquals(1_000_000_000L, nanos);
+    }
+
+    /**
+     * Test method for <code>Memoizer#nanos</code>.
+     */
+    @Test
+    public final void shouldSaturateLongDurations() {
+        // given
+        final Duration duration = ChronoUnit.FOREVER.getDuration();
+
+        // when
+        final long nanos = Memoizer.nanos(duration);
+
+        // then
+        Assert.assertEquals(Long.MAX_VALUE, nanos);
+    }
+
+    /**
+     * Test method for <code>Memo#await</code>.
+     */
+    @Test
+    public final void shouldRethrowRuntimeExceptionsToWaitingCallers() {
+        // given
+        final Memo<String> memo = new Memo<>();
+        memo.future.completeExceptionally(new IllegalStateException("failed"));
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage(CoreMatchers.is("failed"));
+
+        // when
+        memo.await();
+    }
+
+    /**
+     * Test method for <code>Memo#await</code>.
+     */
+    @Test
+    public final void shouldRethrowErrorsToWaitingCallers() {
+        // given
+        final Memo<String> memo = new Memo<>();
+        memo.future.completeExceptionally(new AssertionError("failed"));
+
+        // then
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(CoreMatchers.is("failed"));
+
+        // when
+        memo.await();
+    }
+
+    /**
+     * Test method for <code>Memo#await</code>.
+     */
+    @Test
+    public final void shouldWrapCheckedExceptionsForWaitingCallers() {
+        // given
+        final Memo<String> memo = new Memo<>();
+        memo.future.completeExceptionally(new Exception("failed"));
+
+        // then
+        thrown.expect(CompletionException.class);
+        thrown.expectCause(CoreMatchers.instanceOf(Exception.class));
+
+        // when
+        memo.await();
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method", "resource" })
+public class NonNullFieldScannerTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Retention(RetentionPolicy.CLASS)
+    @Target(ElementType.TYPE_USE)
+    @interface Tagged {
+
+        int number();
+
+        String text();
+
+        ElementType kind();
+
+        Class<?> type();
+
+        Retention nested();
+
+        int[] numbers();
+
+    }
+
+    @SuppressWarnings("serial")
+    static class Annotated implements Serializable, Cloneable {
+
+        static final int INTEGER = 100_000;
+        static final float FLOAT = 1.5f;
+        static final long LONG = 5L;
+        static final double DOUBLE = 1.5;
+
+        @NonNull
+        String plain = "";
+        @Tagged(number = 1, text = "text", kind = ElementType.FIELD, type = String.class,
+                nested = @Retention(RetentionPolicy.CLASS), numbers = { 1, 2 })
+        @NonNull
+        String tagged = "";
+        @Nullable
+        String nullable;
+        List<@NonNull String> items = new ArrayList<>();
+        @NonNull
+        String @Nullable [] array;
+        @Nullable
+        Map<String, List<@NonNull String>> nested;
+        int primitive;
+        Runnable lambda = () -> items.clear();
+        @NonNull
+        String last = "";
+
+    }
+
+    static final class ClosingStream extends ByteArrayInputStream {
+
+        boolean closed;
+
+        ClosingStream(final byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#scan</code>.
+     */
+    @Test
+    public final void shouldFindNonNullFields() {
+        // given
+        final InputStream classFile = Annotated.class.getResourceAsStream("NonNullFieldScannerTest$Annotated.class");
+
+        // when
+        final Set<String> fields = NonNullFieldScanner.scan(classFile);
+
+        // then
+        Assert.assertEquals(new HashSet<>(Arrays.asList("plain", "tagged", "last")), fields);
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#scan</code>.
+     */
+    @Test
+    public final void shouldFindNoFieldsWithoutClassFile() {
+        // given
+        final InputStream classFile = null;
+
+        // when
+        final Set<String> fields = NonNullFieldScanner.scan(classFile);
+
+        // then
+        Assert.assertTrue(fields.isEmpty());
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#scan</code>.
+     */
+    @Test
+    public final void shouldFindNoFieldsInClassesWithoutAnnotations() {
+        // given
+        final InputStream classFile = Object.class.getResourceAsStream("Object.class");
+
+        // when
+        final Set<String> fields = NonNullFieldScanner.scan(classFile);
+
+        // then
+        Assert.assertTrue(fields.isEmpty());
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#scan</code>.
+     */
+    @Test
+    public final void shouldCloseClassFile() {
+        // given
+        final ClosingStream classFile = new ClosingStream(new byte[20]);
+
+        // when
+        NonNullFieldScanner.scan(classFile);
+
+        // then
+        Assert.assertTrue(classFile.closed);
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#scan</code>.
+     */
+    @Test
+    public final void shouldFailOnTruncatedClassFile() {
+        // given
+        final ClosingStream classFile = new ClosingStream(new byte[9]);
+
+        // then
+        thrown.expect(UncheckedIOException.class);
+
+        // when
+        NonNullFieldScanner.scan(classFile);
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#scan</code>.
+     */
+    @Test
+    public final void shouldCloseTruncatedClassFile() {
+        // given
+        final ClosingStream classFile = new ClosingStream(new byte[9]);
+
+        // when
+        try {
+            NonNullFieldScanner.scan(classFile);
+            Assert.fail("Expected an exception");
+        } catch (final UncheckedIOException exception) {
+            Assert.assertNotNull(exception.getCause());
+        }
+
+        // then
+        Assert.assertTrue(classFile.closed);
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#scan</code>.
+     */
+    @Test
+    public final void shouldFailOnClassFileTruncatedWhileSkipping() {
+        // given
+        final ClosingStream classFile = new ClosingStream(new byte[5]);
+
+        // then
+        thrown.expect(UncheckedIOException.class);
+        thrown.expectCause(CoreMatchers.instanceOf(EOFException.class));
+
+        // when
+        NonNullFieldScanner.scan(classFile);
+    }
+
+    /**
+     * Test method for <code>NonNullFieldScanner#resource</code>.
+     */
+    @Test
+    public final void shouldLocateClassFile() {
+        // given
+        final Class<?> type = Annotated.class;
+
+        // when
+        final String resource = NonNullFieldScanner.resource(type);
+
+        // then
+        Assert.assertEquals("/de/xn__ho_hia/quality/null_analysis/NonNullFieldScannerTest$Annotated.class", resource);
+    }
+
+    /**
+     * Ensures that the constructor of the <code>NonNullFieldScanner</code> class is private.
+     *
+     * @throws NoSuchMethodException
+     *             Should not fail in case the class has a constructor.
+     * @throws IllegalAccessException
+     *             Should not fail in case the class has a constructor.
+     * @throws InvocationTargetException
+     *             Should not fail in case the class has a constructor.
+     * @throws InstantiationException
+     *             Should not fail in case the class has a constructor.
+     */
+    @Test
+    public void shouldDeclarePrivateConstructor()
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // given
+        final Constructor<NonNullFieldScanner> constructor = NonNullFieldScanner.class.getDeclaredConstructor();
+
+        // when
+        final boolean isPrivate = Modifier.isPrivate(constructor.getModifiers());
+
+        // then
+        Assert.assertTrue("Constructor is not private", isPrivate);
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NonNullIteratorTest {
+
+    /**
+     * Test method for <code>NonNullIterator#next</code>.
+     */
+    @Test
+    public final void shouldSkipNullElements() {
+        // given
+        final Iterator<Object> iterator = new NonNullIterator<>(
+                Arrays.<Object> asList(null, "first", null, null, "second", null).iterator());
+        final List<Object> elements = new ArrayList<>();
+
+        // when
+        iterator.forEachRemaining(elements::add);
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "second"), elements);
+    }
+
+    /**
+     * Test method for <code>NonNullIterator#next</code>.
+     */
+    @Test
+    public final void shouldAdvanceWithoutHasNext() {
+        // given
+        final Iterator<Object> iterator = new NonNullIterator<>(
+                Arrays.<Object> asList(null, "first", "second").iterator());
+
+        // when
+        final Object first = iterator.next();
+        final Object second = iterator.next();
+
+        // then
+        Assert.assertEquals("first", first);
+        Assert.assertEquals("second", second);
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * Test method for <code>NonNullIterator#hasNext</code>.
+     */
+    @Test
+    public final void shouldNotAdvanceTwice() {
+        // given
+        final Iterator<Object> iterator = new NonNullIterator<>(Arrays.<Object> asList("first", "second").iterator());
+
+        // when
+        final boolean first = iterator.hasNext();
+        final boolean second = iterator.hasNext();
+
+        // then
+        Assert.assertTrue(first);
+        Assert.assertTrue(second);
+        Assert.assertEquals("first", iterator.next());
+    }
+
+    /**
+     * Test method for <code>NonNullIterator#next</code>.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public final void shouldFailWhenExhausted() {
+        // given
+        final Iterator<Object> iterator = new NonNullIterator<>(Arrays.<Object> asList(null, null).iterator());
+
+        // when
+        iterator.next();
+
+        // then
+        Assert.fail("Exhausted iterator returned element");
+    }
+
+    /**
+     * Test method for <code>NonNullIterator#remove</code>.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public final void shouldNotRemoveElements() {
+        // given
+        final Iterator<Object> iterator = new NonNullIterator<>(
+                new ArrayList<>(Arrays.<Object> asList("first")).iterator());
+        iterator.next();
+
+        // when
+        iterator.remove();
+
+        // then
+        Assert.fail("Read-only iterator removed element");
+    }
+
+}
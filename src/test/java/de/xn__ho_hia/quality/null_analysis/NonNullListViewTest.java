@@ -0,0 +1,203 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NonNullListViewTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for <code>NonNullListView#get</code>.
+     */
+    @Test
+    public final void shouldGetNonNullElements() {
+        // given
+        final List<Object> view = new NonNullListView<>(
+                Arrays.<Object> asList(null, "first", null, null, "second", null));
+
+        // when
+        final Object first = view.get(0);
+        final Object second = view.get(1);
+
+        // then
+        Assert.assertEquals("first", first);
+        Assert.assertEquals("second", second);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#get</code>.
+     */
+    @Test
+    public final void shouldGetElementsOfListWithoutNulls() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList("first", "second"));
+
+        // when
+        final Object second = view.get(1);
+
+        // then
+        Assert.assertEquals("second", second);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#get</code>.
+     */
+    @Test
+    public final void shouldRejectIndexBeyondNonNullElements() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList("first", null));
+
+        // then
+        thrown.expect(IndexOutOfBoundsException.class);
+        thrown.expectMessage(CoreMatchers.is("Index: 1, Size: 1"));
+
+        // when
+        view.get(1);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#get</code>.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void shouldRejectNegativeIndex() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList("first", "second"));
+
+        // when
+        view.get(-1);
+
+        // then
+        Assert.fail("Got element before start");
+    }
+
+    /**
+     * Test method for <code>NonNullListView#size</code>.
+     */
+    @Test
+    public final void shouldCountNonNullElements() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList(null, "first", null, "second"));
+
+        // when
+        final int size = view.size();
+
+        // then
+        Assert.assertEquals(2, size);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#iterator</code>.
+     */
+    @Test
+    public final void shouldIterateNonNullElements() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList(null, "first", null, "second"));
+        final List<Object> elements = new ArrayList<>();
+
+        // when
+        view.forEach(elements::add);
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "second"), elements);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#equals</code>.
+     */
+    @Test
+    public final void shouldEqualListWithoutNulls() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList(null, "first", null, "second"));
+
+        // when
+        final boolean equal = view.equals(Arrays.asList("first", "second"));
+
+        // then
+        Assert.assertTrue(equal);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#contains</code>.
+     */
+    @Test
+    public final void shouldNotContainNull() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList(null, "first"));
+
+        // when
+        final boolean containsNull = view.contains(null);
+        final boolean containsFirst = view.contains("first");
+        final boolean containsSecond = view.contains("second");
+
+        // then
+        Assert.assertFalse(containsNull);
+        Assert.assertTrue(containsFirst);
+        Assert.assertFalse(containsSecond);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#isEmpty</code>.
+     */
+    @Test
+    public final void shouldBeEmptyWithOnlyNulls() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList(null, null));
+
+        // when
+        final boolean empty = view.isEmpty();
+
+        // then
+        Assert.assertTrue(empty);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#isEmpty</code>.
+     */
+    @Test
+    public final void shouldNotBeEmptyWithNonNullElement() {
+        // given
+        final List<Object> view = new NonNullListView<>(Arrays.<Object> asList(null, "first"));
+
+        // when
+        final boolean empty = view.isEmpty();
+
+        // then
+        Assert.assertFalse(empty);
+    }
+
+    /**
+     * Test method for <code>NonNullListView#add</code>.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public final void shouldBeReadOnly() {
+        // given
+        final List<Object> view = new NonNullListView<>(new ArrayList<>());
+
+        // when
+        view.add("first");
+
+        // then
+        Assert.fail("Read-only view added element");
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NonNullMapViewTest {
+
+    private static Map<Object, Object> mapWithNulls() {
+        final Map<Object, Object> map = new HashMap<>();
+        map.put(null, "null key");
+        map.put("null value", null);
+        map.put("first", "1");
+        map.put("second", "2");
+        return map;
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#get</code>.
+     */
+    @Test
+    public final void shouldGetValues() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+
+        // when
+        final Object first = view.get("first");
+        final Object nullValue = view.get("null value");
+        final Object nullKey = view.get(null);
+
+        // then
+        Assert.assertEquals("1", first);
+        Assert.assertNull(nullValue);
+        Assert.assertNull(nullKey);
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#get</code>.
+     */
+    @Test
+    public final void shouldNotLookUpNullKeysInMapsRejectingThem() {
+        // given
+        final Map<String, String> view = new NonNullMapView<>(new TreeMap<>(Collections.singletonMap("first", "1")));
+
+        // when
+        final String value = view.get(null);
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#containsKey</code>.
+     */
+    @Test
+    public final void shouldOnlyContainKeysWithValues() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+
+        // when
+        final boolean first = view.containsKey("first");
+        final boolean nullValue = view.containsKey("null value");
+        final boolean nullKey = view.containsKey(null);
+
+        // then
+        Assert.assertTrue(first);
+        Assert.assertFalse(nullValue);
+        Assert.assertFalse(nullKey);
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#size</code>.
+     */
+    @Test
+    public final void shouldNotCountNullKeysOrValues() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+
+        // when
+        final int size = view.size();
+
+        // then
+        Assert.assertEquals(2, size);
+        Assert.assertEquals(2, view.entrySet().size());
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#entrySet</code>.
+     */
+    @Test
+    public final void shouldIterateEntriesWithoutNulls() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("first", "1");
+        expected.put("second", "2");
+
+        // when
+        final boolean equal = view.equals(expected);
+
+        // then
+        Assert.assertTrue(equal);
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#keySet</code>.
+     */
+    @Test
+    public final void shouldIterateKeysWithValues() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+
+        // when
+        final Set<Object> keys = view.keySet();
+
+        // then
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), keys);
+        Assert.assertEquals(2, keys.size());
+        Assert.assertTrue(keys.contains("first"));
+        Assert.assertFalse(keys.contains("null value"));
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#values</code>.
+     */
+    @Test
+    public final void shouldIterateValuesWithKeys() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+
+        // when
+        final Collection<Object> values = view.values();
+
+        // then
+        Assert.assertEquals(new HashSet<>(Arrays.asList("1", "2")), new HashSet<>(values));
+        Assert.assertEquals(2, values.size());
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#isEmpty</code>.
+     */
+    @Test
+    public final void shouldBeEmptyWithOnlyNullKeysOrValues() {
+        // given
+        final Map<Object, Object> map = mapWithNulls();
+        map.remove("first");
+        map.remove("second");
+        final Map<Object, Object> view = new NonNullMapView<>(map);
+
+        // when
+        final boolean empty = view.isEmpty();
+
+        // then
+        Assert.assertTrue(empty);
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#isEmpty</code>.
+     */
+    @Test
+    public final void shouldNotBeEmptyWithEntry() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+
+        // when
+        final boolean empty = view.isEmpty();
+
+        // then
+        Assert.assertFalse(empty);
+    }
+
+    /**
+     * Test method for <code>NonNullMapView.EntrySet#isEmpty</code>, <code>NonNullMapView.KeySet#isEmpty</code> and
+     * <code>NonNullMapView.Values#isEmpty</code>.
+     */
+    @Test
+    public final void shouldShareEmptinessWithViews() {
+        // given
+        final Map<Object, Object> map = mapWithNulls();
+        map.remove("first");
+        map.remove("second");
+        final Map<Object, Object> emptyView = new NonNullMapView<>(map);
+        final Map<Object, Object> view = new NonNullMapView<>(mapWithNulls());
+
+        // when
+        final boolean emptyEntries = emptyView.entrySet().isEmpty();
+        final boolean emptyKeys = emptyView.keySet().isEmpty();
+        final boolean emptyValues = emptyView.values().isEmpty();
+        final boolean entries = view.entrySet().isEmpty();
+        final boolean keys = view.keySet().isEmpty();
+        final boolean values = view.values().isEmpty();
+
+        // then
+        Assert.assertTrue(emptyEntries);
+        Assert.assertTrue(emptyKeys);
+        Assert.assertTrue(emptyValues);
+        Assert.assertFalse(entries);
+        Assert.assertFalse(keys);
+        Assert.assertFalse(values);
+    }
+
+    /**
+     * Test method for <code>NonNullMapView.EntryIterator#next</code>.
+     */
+    @Test
+    public final void shouldAdvanceWithoutHasNext() {
+        // given
+        final Iterator<Entry<Object, Object>> iterator = new NonNullMapView<>(
+                new TreeMap<Object, Object>(Collections.singletonMap("first", "1"))).entrySet().iterator();
+
+        // when
+        final Entry<Object, Object> entry = iterator.next();
+
+        // then
+        Assert.assertEquals(new SimpleImmutableEntry<>("first", "1"), entry);
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * Test method for <code>NonNullMapView.EntryIterator#hasNext</code>.
+     */
+    @Test
+    public final void shouldNotAdvanceTwice() {
+        // given
+        final Iterator<Entry<Object, Object>> iterator = new NonNullMapView<>(
+                new TreeMap<Object, Object>(Collections.singletonMap("first", "1"))).entrySet().iterator();
+
+        // when
+        final boolean first = iterator.hasNext();
+        final boolean second = iterator.hasNext();
+
+        // then
+        Assert.assertTrue(first);
+        Assert.assertTrue(second);
+        Assert.assertEquals("first", iterator.next().getKey());
+    }
+
+    /**
+     * Test method for <code>NonNullMapView.EntryIterator#next</code>.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public final void shouldFailWhenExhausted() {
+        // given
+        final Map<Object, Object> map = mapWithNulls();
+        map.remove("first");
+        map.remove("second");
+        final Iterator<Entry<Object, Object>> iterator = new NonNullMapView<>(map).entrySet().iterator();
+
+        // when
+        iterator.next();
+
+        // then
+        Assert.fail("Exhausted iterator returned entry");
+    }
+
+    /**
+     * Test method for <code>NonNullMapView.EntryIterator#next</code>.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public final void shouldNotChangeValuesThroughEntries() {
+        // given
+        final Entry<Object, Object> entry = new NonNullMapView<>(mapWithNulls()).entrySet().iterator().next();
+
+        // when
+        entry.setValue("changed");
+
+        // then
+        Assert.fail("Read-only entry changed value");
+    }
+
+    /**
+     * Test method for <code>NonNullMapView#put</code>.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public final void shouldBeReadOnly() {
+        // given
+        final Map<Object, Object> view = new NonNullMapView<>(new HashMap<>());
+
+        // when
+        view.put("first", "1");
+
+        // then
+        Assert.fail("Read-only view added entry");
+    }
+
+}
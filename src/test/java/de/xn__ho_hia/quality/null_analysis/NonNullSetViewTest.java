@@ -0,0 +1,132 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NonNullSetViewTest {
+
+    /**
+     * Test method for <code>NonNullSetView#size</code>.
+     */
+    @Test
+    public final void shouldNotCountNull() {
+        // given
+        final Set<Object> view = new NonNullSetView<>(new HashSet<>(Arrays.asList(null, "first", "second")));
+
+        // when
+        final int size = view.size();
+
+        // then
+        Assert.assertEquals(2, size);
+    }
+
+    /**
+     * Test method for <code>NonNullSetView#size</code>.
+     */
+    @Test
+    public final void shouldCountAllElementsWithoutNull() {
+        // given
+        final Set<Object> view = new NonNullSetView<>(new HashSet<>(Arrays.asList("first", "second")));
+
+        // when
+        final int size = view.size();
+
+        // then
+        Assert.assertEquals(2, size);
+    }
+
+    /**
+     * Test method for <code>NonNullSetView#size</code>.
+     */
+    @Test
+    public final void shouldCountElementsOfSetsRejectingNull() {
+        // given
+        final Set<String> view = new NonNullSetView<>(new TreeSet<>(Arrays.asList("first", "second")));
+
+        // when
+        final int size = view.size();
+
+        // then
+        Assert.assertEquals(2, size);
+    }
+
+    /**
+     * Test method for <code>NonNullSetView#contains</code>.
+     */
+    @Test
+    public final void shouldNotContainNull() {
+        // given
+        final Set<Object> view = new NonNullSetView<>(new HashSet<>(Arrays.asList(null, "first")));
+
+        // when
+        final boolean containsNull = view.contains(null);
+        final boolean containsFirst = view.contains("first");
+
+        // then
+        Assert.assertFalse(containsNull);
+        Assert.assertTrue(containsFirst);
+    }
+
+    /**
+     * Test method for <code>NonNullSetView#iterator</code>.
+     */
+    @Test
+    public final void shouldIterateNonNullElements() {
+        // given
+        final Set<Object> view = new NonNullSetView<>(new HashSet<>(Arrays.asList(null, "first", "second")));
+
+        // when
+        final boolean equal = view.equals(new HashSet<>(Arrays.asList("first", "second")));
+
+        // then
+        Assert.assertTrue(equal);
+    }
+
+    /**
+     * Test method for <code>NonNullSetView#size</code>.
+     */
+    @Test
+    public final void shouldReflectChanges() {
+        // given
+        final Set<Object> set = new HashSet<>(Arrays.asList("first"));
+        final Set<Object> view = new NonNullSetView<>(set);
+
+        // when
+        set.add(null);
+        set.add("second");
+
+        // then
+        Assert.assertEquals(2, view.size());
+    }
+
+    /**
+     * Test method for <code>NonNullSetView#remove</code>.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public final void shouldBeReadOnly() {
+        // given
+        final Set<Object> view = new NonNullSetView<>(new HashSet<>(Arrays.asList("first")));
+
+        // when
+        view.remove("first");
+
+        // then
+        Assert.fail("Read-only view removed element");
+    }
+
+}
@@ -0,0 +1,474 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import de.xn__ho_hia.quality.null_analysis.NonNullValidator.Check;
+import de.xn__ho_hia.quality.null_analysis.NonNullValidator.Plan;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NonNullValidatorTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    static final class Address {
+
+        @NonNull
+        String city;
+        @Nullable
+        Customer resident;
+
+        @SuppressWarnings("null")
+        Address(@Nullable final String city) {
+            this.city = city;
+        }
+
+    }
+
+    static class Customer {
+
+        @SuppressWarnings("null")
+        static @NonNull String shared = null;
+
+        @NonNull
+        String name;
+        @Nullable
+        String nickname;
+        @Nullable
+        Address address;
+        int age;
+
+        @SuppressWarnings("null")
+        Customer(@Nullable final String name, @Nullable final Address address) {
+            this.name = name;
+            this.address = address;
+        }
+
+    }
+
+    static class PremiumCustomer extends Customer {
+
+        // private fields are only read by the validator
+        @SuppressWarnings("unused")
+        @NonNull
+        private String level;
+
+        @SuppressWarnings("null")
+        PremiumCustomer(@Nullable final String name, @Nullable final String level) {
+            super(name, null);
+            this.level = level;
+        }
+
+    }
+
+    static class Order {
+
+        @NonNull
+        Customer customer;
+        @Nullable
+        Order previous;
+
+        @SuppressWarnings("null")
+        Order(@Nullable final Customer customer) {
+            this.customer = customer;
+        }
+
+    }
+
+    static class Holder {
+
+        @Nullable
+        Object payload;
+
+        Holder(@Nullable final Object payload) {
+            this.payload = payload;
+        }
+
+    }
+
+    static class Outer {
+
+        @SuppressWarnings("null")
+        @NonNull
+        String required = null;
+
+        class Inner {
+
+            @NonNull
+            String value = "value";
+
+        }
+
+    }
+
+    private static List<String> names(final Check[] checks) {
+        return Arrays.stream(checks).map(check -> check.name).collect(Collectors.toList());
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validate(Object)}.
+     */
+    @Test
+    public final void shouldAcceptValidObject() {
+        // given
+        final Customer customer = new Customer("name", null);
+
+        // when
+        final Customer validated = NonNullValidator.validate(customer);
+
+        // then
+        Assert.assertSame(customer, validated);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validate(Object)}.
+     */
+    @Test
+    public final void shouldRejectNullField() {
+        // given
+        final Customer customer = new Customer(null, null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'Customer.name' is null"));
+
+        // when
+        NonNullValidator.validate(customer);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validate(Object)}.
+     */
+    @Test
+    public final void shouldNotFollowReferences() {
+        // given
+        final Customer customer = new Customer("name", new Address(null));
+
+        // when
+        final Customer validated = NonNullValidator.validate(customer);
+
+        // then
+        Assert.assertSame(customer, validated);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validate(Object)}.
+     */
+    @Test
+    public final void shouldRejectNullFieldOfSuperclass() {
+        // given
+        final PremiumCustomer customer = new PremiumCustomer(null, "gold");
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'PremiumCustomer.name' is null"));
+
+        // when
+        NonNullValidator.validate(customer);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validate(Object)}.
+     */
+    @Test
+    public final void shouldRejectNullFieldOfSubclass() {
+        // given
+        final PremiumCustomer customer = new PremiumCustomer("name", null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'PremiumCustomer.level' is null"));
+
+        // when
+        NonNullValidator.validate(customer);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldAcceptValidGraph() {
+        // given
+        final Order order = new Order(new Customer("name", new Address("city")));
+
+        // when
+        final Order validated = NonNullValidator.validateGraph(order);
+
+        // then
+        Assert.assertSame(order, validated);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldReportPathOfFirstNull() {
+        // given
+        final Order order = new Order(new Customer("name", new Address(null)));
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'Order.customer.address.city' is null"));
+
+        // when
+        NonNullValidator.validateGraph(order);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldReportNullFieldOfRoot() {
+        // given
+        final Order order = new Order(null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'Order.customer' is null"));
+
+        // when
+        NonNullValidator.validateGraph(order);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldDetectCycles() {
+        // given
+        final Customer customer = new Customer("name", new Address("city"));
+        Nullsafe.nonNull(customer.address).resident = customer;
+
+        // when
+        final Customer validated = NonNullValidator.validateGraph(customer);
+
+        // then
+        Assert.assertSame(customer, validated);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldReportNullInCycle() {
+        // given
+        final Order order = new Order(new Customer("name", new Address("city")));
+        order.previous = order;
+        Nullsafe.nonNull(order.customer.address).resident = new Customer(null, null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'Order.customer.address.resident.name' is null"));
+
+        // when
+        NonNullValidator.validateGraph(order);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldCheckSharedObjectsOnEveryPath() {
+        // given
+        final Customer customer = new Customer("name", new Address("city"));
+        final Order order = new Order(customer);
+        order.previous = new Order(customer);
+
+        // when
+        final Order validated = NonNullValidator.validateGraph(order);
+
+        // then
+        Assert.assertSame(order, validated);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldFollowDeepGraphs() {
+        // given
+        Order order = new Order(new Customer(null, null));
+        for (int index = 0; index < 10; index++) {
+            final Order next = new Order(new Customer("name", null));
+            next.previous = order;
+            order = next;
+        }
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'Order.previous.previous.previous.previous.previous.previous"
+                + ".previous.previous.previous.previous.customer.name' is null"));
+
+        // when
+        NonNullValidator.validateGraph(order);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldFollowFieldsOfJdkTypes() {
+        // given
+        final Holder holder = new Holder(new Customer(null, null));
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Field 'Holder.payload.name' is null"));
+
+        // when
+        NonNullValidator.validateGraph(holder);
+    }
+
+    /**
+     * Test method for {@link NonNullValidator#validateGraph(Object)}.
+     */
+    @Test
+    public final void shouldIgnoreSyntheticFields() {
+        // given
+        final Outer.Inner inner = new Outer().new Inner();
+
+        // when
+        final Outer.Inner validated = NonNullValidator.validateGraph(inner);
+
+        // then
+        Assert.assertSame(inner, validated);
+    }
+
+    /**
+     * Test method for <code>NonNullValidator#plan</code>.
+     */
+    @Test
+    public final void shouldPlanReferenceFields() {
+        // given
+        final Class<?> type = Customer.class;
+
+        // when
+        final Plan plan = NonNullValidator.plan(type);
+
+        // then
+        Assert.assertEquals(Arrays.asList("name"), names(plan.nonNull));
+        Assert.assertEquals(Arrays.asList("address"), names(plan.children));
+    }
+
+    /**
+     * Test method for <code>NonNullValidator#plan</code>.
+     */
+    @Test
+    public final void shouldPlanNothingForJdkClasses() {
+        // given
+        final Class<?> type = String.class;
+
+        // when
+        final Plan plan = NonNullValidator.plan(type);
+
+        // then
+        Assert.assertEquals(0, plan.children.length);
+    }
+
+    /**
+     * Test method for <code>NonNullValidator#getter</code>.
+     *
+     * @throws NoSuchFieldException
+     *             Should not fail in case the field exists.
+     */
+    @Test
+    public final void shouldFailOnInaccessibleField() throws NoSuchFieldException {
+        // given
+        final Field field = String.class.getDeclaredField("value");
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectCause(CoreMatchers.instanceOf(IllegalAccessException.class));
+
+        // when
+        NonNullValidator.getter(field);
+    }
+
+    /**
+     * Test method for <code>Check#get</code>.
+     *
+     * @throws NoSuchFieldException
+     *             Should not fail in case the field exists.
+     */
+    @Test
+    public final void shouldFailOnWrongObject() throws NoSuchFieldException {
+        // given
+        final Field field = Customer.class.getDeclaredField("name");
+        final Check check = new Check("name", NonNullValidator.getter(field));
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectCause(CoreMatchers.instanceOf(ClassCastException.class));
+
+        // when
+        check.get("not a customer");
+    }
+
+    /**
+     * Test method for <code>Plan#firstNull</code>.
+     */
+    @Test
+    public final void shouldFailOnWrongPlan() {
+        // given
+        final Plan plan = NonNullValidator.plan(Customer.class);
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectCause(CoreMatchers.instanceOf(ClassCastException.class));
+
+        // when
+        plan.firstNull("not a customer");
+    }
+
+    /**
+     * Ensures that the constructor of the {@link NonNullValidator} class is private.
+     *
+     * @throws NoSuchMethodException
+     *             Should not fail in case the class has a constructor.
+     * @throws IllegalAccessException
+     *             Should not fail in case the class has a constructor.
+     * @throws InvocationTargetException
+     *             Should not fail in case the class has a constructor.
+     * @throws InstantiationException
+     *             Should not fail in case the class has a constructor.
+     */
+    @Test
+    public void shouldDeclarePrivateConstructor()
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // given
+        final Constructor<NonNullValidator> constructor = NonNullValidator.class.getDeclaredConstructor();
+
+        // when
+        final boolean isPrivate = Modifier.isPrivate(constructor.getModifiers());
+
+        // then
+        Assert.assertTrue("Constructor is not private", isPrivate);
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+}
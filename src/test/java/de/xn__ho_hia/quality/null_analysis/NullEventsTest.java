@@ -0,0 +1,64 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullEventsTest {
+
+    /**
+     * Test method for <code>NullEvents#load</code>.
+     */
+    @Test
+    public final void shouldLoadFlightRecorderEvents() {
+        // given
+        final String className = NullEvents.FLIGHT_RECORDER;
+
+        // when
+        final NullEvents events = NullEvents.load(className);
+
+        // then
+        Assert.assertTrue(events instanceof FlightRecorderNullEvents);
+    }
+
+    /**
+     * Test method for <code>NullEvents#load</code>.
+     */
+    @Test
+    public final void shouldFallBackWithoutFlightRecorder() {
+        // given
+        final String className = "jdk.jfr.Missing";
+
+        // when
+        final NullEvents events = NullEvents.load(className);
+
+        // then
+        Assert.assertTrue(events instanceof NullEvents.NoNullEvents);
+    }
+
+    /**
+     * Test method for <code>NullEvents.NoNullEvents</code>.
+     */
+    @Test
+    public final void shouldReportNothing() {
+        // given
+        final NullEvents events = new NullEvents.NoNullEvents();
+
+        // when
+        events.violation("nonNull", "message");
+        events.fallback("ensureList");
+
+        // then
+        Assert.assertNotNull(events);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullHandlingTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for {@link NullHandling#skip()}.
+     */
+    @Test
+    public final void shouldSkipNull() {
+        // given
+        final NullHandling<String> handling = NullHandling.skip();
+
+        // when
+        final String handled = handling.handle(null, "message");
+
+        // then
+        Assert.assertNull(handled);
+    }
+
+    /**
+     * Test method for {@link NullHandling#skip()}.
+     */
+    @Test
+    public final void shouldKeepValueWhenSkipping() {
+        // given
+        final NullHandling<String> handling = NullHandling.skip();
+
+        // when
+        final String handled = handling.handle("value", "message");
+
+        // then
+        Assert.assertEquals("value", handled);
+    }
+
+    /**
+     * Test method for {@link NullHandling#replaceWith(Object)}.
+     */
+    @Test
+    public final void shouldReplaceNull() {
+        // given
+        final NullHandling<String> handling = NullHandling.replaceWith("sentinel");
+
+        // when
+        final String handled = handling.handle(null, "message");
+
+        // then
+        Assert.assertEquals("sentinel", handled);
+    }
+
+    /**
+     * Test method for {@link NullHandling#replaceWith(Object)}.
+     */
+    @Test
+    public final void shouldKeepValueWhenReplacing() {
+        // given
+        final NullHandling<String> handling = NullHandling.replaceWith("sentinel");
+
+        // when
+        final String handled = handling.handle("value", "message");
+
+        // then
+        Assert.assertEquals("value", handled);
+    }
+
+    /**
+     * Test method for {@link NullHandling#fail()}.
+     */
+    @Test
+    public final void shouldFailOnNull() {
+        // given
+        final NullHandling<String> handling = NullHandling.fail();
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("message"));
+
+        // when
+        handling.handle(null, "message");
+    }
+
+    /**
+     * Test method for {@link NullHandling#fail()}.
+     */
+    @Test
+    public final void shouldKeepValueWhenFailing() {
+        // given
+        final NullHandling<String> handling = NullHandling.fail();
+
+        // when
+        final String handled = handling.handle("value", "message");
+
+        // then
+        Assert.assertEquals("value", handled);
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings("static-method")
+public class NullMaskTest {
+
+    private static NullMask mask(final int size, final int... nulls) {
+        final long[] words = new long[(size + 63) / 64];
+        for (final int position : nulls) {
+            words[position >>> 6] |= 1L << position;
+        }
+        return NullMask.of(words, size);
+    }
+
+    private static NullMask maskExcept(final int size, final int... values) {
+        final BitSet nulls = new BitSet(size);
+        nulls.set(0, size);
+        for (final int position : values) {
+            nulls.clear(position);
+        }
+        return mask(size, nulls.stream().toArray());
+    }
+
+    /**
+     * Test method for <code>NullMask#of</code>.
+     */
+    @Test
+    public final void shouldKeepPositionsOfSparseNulls() {
+        // given
+        final int size = 128;
+
+        // when
+        final NullMask mask = mask(size, 3, 70);
+
+        // then
+        Assert.assertEquals(2, mask.nullCount());
+        Assert.assertEquals(8, mask.sizeInBytes());
+        Assert.assertEquals(1L << 3, mask.word(0));
+        Assert.assertEquals(1L << 6, mask.word(1));
+    }
+
+    /**
+     * Test method for <code>NullMask#of</code>.
+     */
+    @Test
+    public final void shouldKeepBitmapOfMixedNulls() {
+        // given
+        final int size = 128;
+
+        // when
+        final NullMask mask = mask(size, 3, 70, 127);
+
+        // then
+        Assert.assertEquals(3, mask.nullCount());
+        Assert.assertEquals(16, mask.sizeInBytes());
+        Assert.assertEquals(1L << 3, mask.word(0));
+        Assert.assertEquals(1L << 6 | 1L << 63, mask.word(1));
+    }
+
+    /**
+     * Test method for <code>NullMask#of</code>.
+     */
+    @Test
+    public final void shouldKeepPositionsOfValuesBetweenDenseNulls() {
+        // given
+        final int size = 128;
+
+        // when
+        final NullMask mask = maskExcept(size, 5, 100);
+
+        // then
+        Assert.assertEquals(126, mask.nullCount());
+        Assert.assertEquals(8, mask.sizeInBytes());
+        Assert.assertEquals(~(1L << 5), mask.word(0));
+        Assert.assertEquals(~(1L << 36), mask.word(1));
+    }
+
+    /**
+     * Test method for <code>NullMask#of</code>.
+     */
+    @Test
+    public final void shouldKeepBitmapOfMostlyNulls() {
+        // given
+        final int size = 128;
+
+        // when
+        final NullMask mask = maskExcept(size, 5, 100, 101);
+
+        // then
+        Assert.assertEquals(125, mask.nullCount());
+        Assert.assertEquals(16, mask.sizeInBytes());
+        Assert.assertEquals(~(1L << 5), mask.word(0));
+    }
+
+    /**
+     * Test method for <code>NullMask#of</code>.
+     */
+    @Test
+    public final void shouldIgnoreEntriesBeyondSize() {
+        // given
+        final int size = 70;
+
+        // when
+        final NullMask mask = maskExcept(size, 1, 69);
+
+        // then
+        Assert.assertEquals(68, mask.nullCount());
+        Assert.assertEquals(8, mask.sizeInBytes());
+        Assert.assertEquals(0b11111L, mask.word(1) & 0b111111L);
+        Assert.assertFalse(mask.isNull(69));
+        Assert.assertTrue(mask.isNull(68));
+    }
+
+    /**
+     * Test method for <code>NullMask#of</code>.
+     */
+    @Test
+    public final void shouldKeepNothingWithoutEntries() {
+        // given
+        final int size = 0;
+
+        // when
+        final NullMask mask = mask(size);
+
+        // then
+        Assert.assertEquals(0, mask.nullCount());
+        Assert.assertEquals(0, mask.sizeInBytes());
+    }
+
+    /**
+     * Test method for <code>NullMask#word</code>.
+     */
+    @Test
+    public final void shouldReadWordsStartingWithNull() {
+        // given
+        final NullMask mask = mask(128, 0, 64);
+
+        // when
+        final long first = mask.word(0);
+        final long second = mask.word(1);
+
+        // then
+        Assert.assertEquals(1, first);
+        Assert.assertEquals(1, second);
+    }
+
+    /**
+     * Test method for <code>NullMask#isNull</code>.
+     */
+    @Test
+    public final void shouldTellNullEntries() {
+        // given
+        final NullMask sparse = mask(128, 3, 70);
+        final NullMask bitmap = mask(128, 3, 70, 127);
+        final NullMask dense = maskExcept(128, 3, 70);
+
+        // when
+        final boolean sparseNull = sparse.isNull(70);
+        final boolean bitmapNull = bitmap.isNull(70);
+        final boolean denseNull = dense.isNull(71);
+
+        // then
+        Assert.assertTrue(sparseNull);
+        Assert.assertFalse(sparse.isNull(71));
+        Assert.assertTrue(bitmapNull);
+        Assert.assertFalse(bitmap.isNull(71));
+        Assert.assertTrue(denseNull);
+        Assert.assertFalse(dense.isNull(70));
+    }
+
+    /**
+     * Test method for <code>NullMask#firstNull</code>.
+     */
+    @Test
+    public final void shouldFindFirstNull() {
+        // given
+        final NullMask sparse = mask(256, 130);
+        final NullMask bitmap = mask(256, 130, 140, 150, 160, 170);
+        final NullMask dense = maskExcept(128, 0, 1);
+
+        // when
+        final int sparseNull = sparse.firstNull();
+        final int bitmapNull = bitmap.firstNull();
+        final int denseNull = dense.firstNull();
+
+        // then
+        Assert.assertEquals(130, sparseNull);
+        Assert.assertEquals(130, bitmapNull);
+        Assert.assertEquals(2, denseNull);
+    }
+
+}
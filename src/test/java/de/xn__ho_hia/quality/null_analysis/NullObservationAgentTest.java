@@ -0,0 +1,381 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.instrument.Instrumentation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import de.xn__ho_hia.quality.null_analysis.NullReturnInstrumenterTest.Legacy;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullObservationAgentTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /** Provides the directory to write observations into. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<ClassFileTransformer> transformers = new ArrayList<>();
+
+    private Instrumentation instrumentation() {
+        return (Instrumentation) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Instrumentation.class }, (proxy, method, arguments) -> {
+                    transformers.add((ClassFileTransformer) arguments[0]);
+                    return null;
+                });
+    }
+
+    private Path output() {
+        return folder.getRoot().toPath().resolve("observations");
+    }
+
+    private static void observe() {
+        final NullObservations observations = NullObservations.instance();
+        observations.record(true, observations.register("com/example/Legacy", "find", "()[I", "()[I"));
+    }
+
+    /**
+     * Leaves neither registered methods nor a changed sampling rate for other tests.
+     */
+    @After
+    public final void clear() {
+        NullObservations.instance().clear();
+        NullObservations.instance().setSamplingRate(1);
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#premain(String, Instrumentation, Consumer)</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the report can be read.
+     */
+    @Test
+    public final void shouldFlushAtShutdown() throws IOException {
+        // given
+        final String arguments = "packages=com.example,output=" + output() + ",interval=0";
+        final List<Thread> hooks = new ArrayList<>();
+        observe();
+
+        // when
+        NullObservationAgent.premain(arguments, instrumentation(), hooks::add);
+
+        // then
+        Assert.assertEquals(1, hooks.size());
+        Assert.assertEquals(NullObservationAgent.THREAD_NAME, hooks.get(0).getName());
+        Assert.assertFalse(Files.exists(output().resolve(NullObservations.REPORT)));
+        hooks.get(0).run();
+        Assert.assertTrue(Files.exists(output().resolve(NullObservations.REPORT)));
+    }
+
+    /**
+     * Test method for {@link NullObservationAgent#premain(String, Instrumentation)}.
+     */
+    @Test
+    public final void shouldAddTransformer() {
+        // given
+        final String arguments = "packages=com.example,output=target/null-observations,interval=0";
+
+        // when
+        NullObservationAgent.premain(arguments, instrumentation());
+
+        // then
+        Assert.assertEquals(1, transformers.size());
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#install</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws IllegalClassFormatException
+     *             Should not fail in case the class file is valid.
+     */
+    @Test
+    public final void shouldInstrumentConfiguredPackages() throws IOException, IllegalClassFormatException {
+        // given
+        final String arguments = "packages=org.example:com.example,output=" + output() + ",interval=0";
+        NullObservationAgent.install(arguments, instrumentation());
+
+        // when
+        final byte[] transformed = transformers.get(0).transform(null, "com/example/Legacy", null, null,
+                Jars.classFile(Legacy.class));
+
+        // then
+        Assert.assertNotNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#install</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldFlushOnDemand() throws IOException {
+        // given
+        observe();
+        final Runnable flush = NullObservationAgent.install("packages=com.example,output=" + output() + ",interval=0",
+                instrumentation());
+
+        // when
+        flush.run();
+
+        // then
+        Assert.assertEquals("1\t1\tcom.example.Legacy.find()[I\n",
+                new String(Files.readAllBytes(output().resolve(NullObservations.REPORT)), StandardCharsets.UTF_8));
+        Assert.assertTrue(Files.exists(output().resolve("com/example/Legacy.eea")));
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#install</code>.
+     *
+     * @throws InterruptedException
+     *             Should not fail in case the test is not interrupted.
+     */
+    @Test
+    public final void shouldFlushPeriodically() throws InterruptedException {
+        // given
+        final String arguments = "packages=com.example,output=" + output() + ",interval=1";
+        observe();
+
+        // when
+        final Thread installer = new Thread(() -> NullObservationAgent.install(arguments, instrumentation()));
+        installer.setDaemon(false);
+        installer.start();
+        installer.join();
+
+        // then
+        for (int attempt = 0; attempt < 100 && !Files.exists(output().resolve(NullObservations.REPORT)); attempt++) {
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(Files.exists(output().resolve(NullObservations.REPORT)));
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (NullObservationAgent.THREAD_NAME.equals(thread.getName())) {
+                Assert.assertTrue(thread.isDaemon());
+            }
+        }
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#install</code>.
+     */
+    @Test
+    public final void shouldConfigureSamplingRate() {
+        // given
+        final NullObservations observations = NullObservations.instance();
+
+        // when
+        NullObservationAgent.install("packages=com.example,interval=0,samplingRate=10", instrumentation());
+
+        // then
+        Assert.assertEquals(10, observations.getSamplingRate());
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#install</code>.
+     */
+    @Test
+    public final void shouldKeepSamplingRate() {
+        // given
+        final NullObservations observations = NullObservations.instance();
+        observations.setSamplingRate(5);
+
+        // when
+        NullObservationAgent.install("packages=com.example,interval=0", instrumentation());
+
+        // then
+        Assert.assertEquals(5, observations.getSamplingRate());
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#install</code>.
+     */
+    @Test
+    public final void shouldRequirePackages() {
+        // given
+        final String arguments = "interval=0";
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(NullObservationAgent.USAGE);
+
+        // then
+        NullObservationAgent.install(arguments, instrumentation());
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#install</code>.
+     */
+    @Test
+    public final void shouldRequireArguments() {
+        // given
+        final String arguments = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(NullObservationAgent.USAGE);
+
+        // then
+        NullObservationAgent.install(arguments, instrumentation());
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#options</code>.
+     */
+    @Test
+    public final void shouldParseOptions() {
+        // given
+        final String arguments = "packages=com.example:org.example,output=a=b";
+
+        // when
+        final Map<String, String> options = NullObservationAgent.options(arguments);
+
+        // then
+        Assert.assertEquals(2, options.size());
+        Assert.assertEquals("com.example:org.example", options.get("packages"));
+        Assert.assertEquals("a=b", options.get("output"));
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#options</code>.
+     */
+    @Test
+    public final void shouldRejectUnknownOptions() {
+        // given
+        final String arguments = "packages=com.example,unknown=value";
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(NullObservationAgent.USAGE);
+
+        // then
+        NullObservationAgent.options(arguments);
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#options</code>.
+     */
+    @Test
+    public final void shouldRejectOptionsWithoutValue() {
+        // given
+        final String arguments = "packages";
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(NullObservationAgent.USAGE);
+
+        // then
+        NullObservationAgent.options(arguments);
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#flush</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the file can be created.
+     */
+    @Test
+    public final void shouldReportUnwritableOutput() throws IOException {
+        // given
+        final Path output = folder.newFile().toPath();
+        observe();
+
+        // when
+        final String error = captureErrors(() -> NullObservationAgent.flush(NullObservations.instance(), output));
+
+        // then
+        Assert.assertThat(error, CoreMatchers.startsWith("Cannot write null observations to " + output + ": "));
+    }
+
+    /**
+     * Test method for <code>NullObservationAgent#flush</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the file can be created.
+     */
+    @Test
+    public final void shouldReportUnwritableAnnotations() throws IOException {
+        // given
+        Files.createDirectories(output());
+        Files.createFile(output().resolve("com"));
+        observe();
+
+        // when
+        final String error = captureErrors(() -> NullObservationAgent.flush(NullObservations.instance(), output()));
+
+        // then
+        Assert.assertThat(error, CoreMatchers.containsString("UncheckedIOException"));
+    }
+
+    /**
+     * Test method for {@link NullObservationAgent}.
+     *
+     * @throws NoSuchMethodException
+     *             Should not fail in case the class has a constructor.
+     * @throws IllegalAccessException
+     *             Should not fail in case the constructor is accessible.
+     * @throws InvocationTargetException
+     *             Should not fail in case the constructor does not throw.
+     * @throws InstantiationException
+     *             Should not fail in case the class has a constructor.
+     */
+    @Test
+    public void shouldDeclarePrivateConstructor()
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // given
+        final Constructor<NullObservationAgent> constructor = NullObservationAgent.class.getDeclaredConstructor();
+
+        // when
+        final boolean isPrivate = Modifier.isPrivate(constructor.getModifiers());
+
+        // then
+        Assert.assertTrue("Constructor is not private", isPrivate);
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+    private static String captureErrors(final Runnable task) {
+        final PrintStream errors = System.err;
+        final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        try (PrintStream stream = new PrintStream(captured, true)) {
+            System.setErr(stream);
+            task.run();
+        } finally {
+            System.setErr(errors);
+        }
+        return new String(captured.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,357 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullObservationsTest {
+
+    /** Provides the directory to write observations into. */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void record(final NullObservations observations, final int method, final int returns,
+            final int nulls) {
+        for (int index = 0; index < returns; index++) {
+            observations.record(index < nulls, method);
+        }
+    }
+
+    /**
+     * Test method for {@link NullObservations#getSamplingRate()}.
+     */
+    @Test
+    public final void shouldRecordEveryReturnByDefault() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+
+        // when
+        final int samplingRate = observations.getSamplingRate();
+
+        // then
+        Assert.assertEquals(1, samplingRate);
+    }
+
+    /**
+     * Test method for {@link NullObservations#getSamplingRate()}.
+     */
+    @Test
+    public final void shouldReadSamplingRateFromSystemProperty() {
+        // given
+        System.setProperty(NullObservations.SYSTEM_PROPERTY, "10");
+
+        // when
+        final NullObservations observations = new NullObservations(1);
+
+        // then
+        System.clearProperty(NullObservations.SYSTEM_PROPERTY);
+        Assert.assertEquals(10, observations.getSamplingRate());
+    }
+
+    /**
+     * Test method for {@link NullObservations#setSamplingRate(int)}.
+     */
+    @Test
+    public final void shouldSetSamplingRate() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+
+        // when
+        observations.setSamplingRate(100);
+
+        // then
+        Assert.assertEquals(100, observations.getSamplingRate());
+    }
+
+    /**
+     * Test method for {@link NullObservations#instance()}.
+     */
+    @Test
+    public final void shouldReturnSingleInstance() {
+        // given
+        final NullObservations instance = NullObservations.instance();
+
+        // when
+        final NullObservations other = NullObservations.instance();
+
+        // then
+        Assert.assertSame(instance, other);
+    }
+
+    /**
+     * Test method for {@link NullObservations#returned(Object, int)}.
+     */
+    @Test
+    public final void shouldRecordReturnedValues() {
+        // given
+        final int method = NullObservations.instance().register("com/example/Returned", "find",
+                "(I)Ljava/lang/String;", "(I)Ljava/lang/String;");
+        final Object value = "value";
+
+        // when
+        final Object returned = NullObservations.returned(value, method);
+        final Object returnedNull = NullObservations.returned(null, method);
+
+        // then
+        Assert.assertSame(value, returned);
+        Assert.assertNull(returnedNull);
+        Assert.assertThat(NullObservations.instance().report(),
+                CoreMatchers.containsString("1\t2\tcom.example.Returned.find(I)Ljava/lang/String;\n"));
+        NullObservations.instance().clear();
+    }
+
+    /**
+     * Test method for <code>NullObservations#register</code>.
+     */
+    @Test
+    public final void shouldNumberMethods() {
+        // given
+        final NullObservations observations = new NullObservations(2);
+
+        // when
+        final int first = observations.register("com/example/Legacy", "first", "()[I", "()[I");
+        final int second = observations.register("com/example/Legacy", "second", "()[I", "()[I");
+
+        // then
+        Assert.assertEquals(0, first);
+        Assert.assertEquals(1, second);
+    }
+
+    /**
+     * Test method for <code>NullObservations#register</code>.
+     */
+    @Test
+    public final void shouldRejectMethodsBeyondCapacity() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+        observations.register("com/example/Legacy", "first", "()[I", "()[I");
+
+        // when
+        final int method = observations.register("com/example/Legacy", "second", "()[I", "()[I");
+
+        // then
+        Assert.assertEquals(-1, method);
+    }
+
+    /**
+     * Test method for {@link NullObservations#report()}.
+     */
+    @Test
+    public final void shouldReportNullReturningMethods() {
+        // given
+        final NullObservations observations = new NullObservations(4);
+        final int rare = observations.register("com/example/Legacy", "rare", "()[I", "()[I");
+        final int never = observations.register("com/example/Legacy", "never", "()[I", "()[I");
+        final int often = observations.register("com/example/Legacy", "often", "()[I", "()[I");
+        final int alsoRare = observations.register("com/example/Legacy", "alsoRare", "()[I", "()[I");
+
+        // when
+        record(observations, rare, 10, 1);
+        record(observations, never, 10, 0);
+        record(observations, often, 3, 3);
+        record(observations, alsoRare, 5, 1);
+
+        // then
+        Assert.assertEquals("3\t3\tcom.example.Legacy.often()[I\n" + "1\t5\tcom.example.Legacy.alsoRare()[I\n"
+                + "1\t10\tcom.example.Legacy.rare()[I\n", observations.report());
+    }
+
+    /**
+     * Test method for {@link NullObservations#report()}.
+     */
+    @Test
+    public final void shouldReportNothingWithoutNulls() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+        final int method = observations.register("com/example/Legacy", "never", "()[I", "()[I");
+
+        // when
+        record(observations, method, 10, 0);
+
+        // then
+        Assert.assertEquals("", observations.report());
+    }
+
+    /**
+     * Test method for {@link NullObservations#setSamplingRate(int)}.
+     */
+    @Test
+    public final void shouldNotRecordWhileDisabled() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+        final int method = observations.register("com/example/Legacy", "rare", "()[I", "()[I");
+
+        // when
+        observations.setSamplingRate(0);
+        record(observations, method, 10, 10);
+
+        // then
+        Assert.assertEquals("", observations.report());
+    }
+
+    /**
+     * Test method for {@link NullObservations#setSamplingRate(int)}.
+     */
+    @Test
+    public final void shouldSampleSomeReturns() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+        final int method = observations.register("com/example/Legacy", "rare", "()[I", "()[I");
+
+        // when
+        observations.setSamplingRate(4);
+        record(observations, method, 1000, 1000);
+
+        // then
+        final long samples = Long.parseLong(observations.report().split("\t")[0]);
+        Assert.assertTrue(samples > 0 && samples < 500);
+    }
+
+    /**
+     * Test method for {@link NullObservations#setSamplingRate(int)}.
+     */
+    @Test
+    public final void shouldRecordOnceEnabled() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+        final int method = observations.register("com/example/Legacy", "rare", "()[I", "()[I");
+        observations.setSamplingRate(0);
+        record(observations, method, 10, 10);
+
+        // when
+        observations.setSamplingRate(1);
+        record(observations, method, 2, 2);
+
+        // then
+        Assert.assertEquals("2\t2\tcom.example.Legacy.rare()[I\n", observations.report());
+    }
+
+    /**
+     * Test method for <code>NullObservations#clear</code>.
+     */
+    @Test
+    public final void shouldUnregisterMethods() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+        final int method = observations.register("com/example/Legacy", "rare", "()[I", "()[I");
+
+        // when
+        observations.clear();
+        record(observations, method, 1, 1);
+
+        // then
+        Assert.assertEquals("", observations.report());
+        Assert.assertEquals(0, observations.register("com/example/Legacy", "other", "()[I", "()[I"));
+    }
+
+    /**
+     * Test method for {@link NullObservations#reset()}.
+     */
+    @Test
+    public final void shouldResetCounters() {
+        // given
+        final NullObservations observations = new NullObservations(1);
+        final int method = observations.register("com/example/Legacy", "rare", "()[I", "()[I");
+        record(observations, method, 10, 5);
+
+        // when
+        observations.reset();
+        record(observations, method, 1, 1);
+
+        // then
+        Assert.assertEquals("1\t1\tcom.example.Legacy.rare()[I\n", observations.report());
+    }
+
+    /**
+     * Test method for {@link NullObservations#annotations()}.
+     */
+    @Test
+    public final void shouldAnnotateNullReturningMethods() {
+        // given
+        final NullObservations observations = new NullObservations(4);
+        final int find = observations.register("com/example/Legacy", "find", "(ILjava/lang/String;)[I",
+                "(ILjava/lang/String;)[I");
+        final int never = observations.register("com/example/Legacy", "never", "()[I", "()[I");
+        final int generic = observations.register("com/example/Legacy", "generic",
+                "<T:Ljava/lang/Object;>(TT;)TT;", "(Ljava/lang/Object;)Ljava/lang/Object;");
+        final int other = observations.register("com/example/other/Other", "get", "()Ljava/lang/Object;",
+                "()Ljava/lang/Object;");
+
+        // when
+        record(observations, find, 1, 1);
+        record(observations, never, 1, 0);
+        record(observations, generic, 1, 1);
+        record(observations, other, 1, 1);
+        final Map<String, String> annotations = observations.annotations();
+
+        // then
+        Assert.assertEquals(2, annotations.size());
+        Assert.assertEquals("class com/example/Legacy\n" + "\nfind\n (ILjava/lang/String;)[I\n (ILjava/lang/String;)[0I\n"
+                + "\ngeneric\n <T:Ljava/lang/Object;>(TT;)TT;\n <T:Ljava/lang/Object;>(TT;)T0T;\n",
+                annotations.get("com/example/Legacy.eea"));
+        Assert.assertEquals("class com/example/other/Other\n" + "\nget\n ()Ljava/lang/Object;\n ()L0java/lang/Object;\n",
+                annotations.get("com/example/other/Other.eea"));
+    }
+
+    /**
+     * Test method for {@link NullObservations#write(Path)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldWriteAnnotationsAndReport() throws IOException {
+        // given
+        final Path directory = folder.getRoot().toPath().resolve("observations");
+        final NullObservations observations = new NullObservations(1);
+        final int method = observations.register("com/example/Legacy", "rare", "()[I", "()[I");
+        record(observations, method, 2, 1);
+
+        // when
+        observations.write(directory);
+
+        // then
+        Assert.assertEquals("class com/example/Legacy\n\nrare\n ()[I\n ()[0I\n",
+                new String(Files.readAllBytes(directory.resolve("com/example/Legacy.eea")), StandardCharsets.UTF_8));
+        Assert.assertEquals("1\t2\tcom.example.Legacy.rare()[I\n", new String(
+                Files.readAllBytes(directory.resolve(NullObservations.REPORT)), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test method for {@link NullObservations#write(Path)}.
+     *
+     * @throws IOException
+     *             Should not fail in case the files can be written.
+     */
+    @Test
+    public final void shouldWriteEmptyReport() throws IOException {
+        // given
+        final Path directory = folder.getRoot().toPath().resolve("observations");
+        final NullObservations observations = new NullObservations(1);
+
+        // when
+        observations.write(directory);
+
+        // then
+        Assert.assertEquals(0, Files.size(directory.resolve(NullObservations.REPORT)));
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullPolicyTest {
+
+    /**
+     * Test method for {@link NullPolicy#valueOf(String)}.
+     */
+    @Test
+    public final void shouldResolvePolicyByName() {
+        // given
+        final String name = "TREAT_AS_ZERO";
+
+        // when
+        final NullPolicy policy = NullPolicy.valueOf(name);
+
+        // then
+        Assert.assertSame(NullPolicy.TREAT_AS_ZERO, policy);
+    }
+
+    /**
+     * Test method for {@link NullPolicy#values()}.
+     */
+    @Test
+    public final void shouldDeclareAllPolicies() {
+        // given
+        final NullPolicy[] expected = { NullPolicy.SKIP, NullPolicy.TREAT_AS_ZERO, NullPolicy.FAIL };
+
+        // when
+        final NullPolicy[] policies = NullPolicy.values();
+
+        // then
+        Assert.assertArrayEquals(expected, policies);
+    }
+
+}
@@ -0,0 +1,698 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullReturnInstrumenterTest {
+
+    private static final String LEGACY = "de.xn__ho_hia.quality.null_analysis.NullReturnInstrumenterTest$Legacy";
+
+    /** A class whose methods return <code>null</code> in some cases. */
+    public static class Legacy implements Supplier<String> {
+
+        /** Initialized in a static initializer. */
+        public static final Object CONSTANT = new Object();
+
+        private final String value;
+
+        /**
+         * @param value
+         *            The value to return
+         */
+        public Legacy(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String get() {
+            return value;
+        }
+
+        /**
+         * @param key
+         *            The key to find
+         * @return <code>null</code> for the key <code>0</code>
+         */
+        public static String find(final int key) {
+            return key == 0 ? null : "value";
+        }
+
+        /**
+         * @return A primitive value
+         */
+        public int length() {
+            return value.length();
+        }
+
+        /**
+         * @param first
+         *            Any value
+         * @param second
+         *            Any value
+         * @param third
+         *            Any value
+         * @param fourth
+         *            Any value
+         * @param fifth
+         *            Any value
+         * @param sixth
+         *            Any value
+         * @param seventh
+         *            Any value
+         * @param eighth
+         *            Any value
+         * @param ninth
+         *            Any value
+         * @param tenth
+         *            Any value
+         * @param eleventh
+         *            Any value
+         * @return All parameters as text
+         */
+        public String mixed(final long first, final double second, final float third, final short fourth,
+                final byte fifth, final char sixth, final boolean seventh, final String eighth, final int[] ninth,
+                final Object[][] tenth, final int eleventh) {
+            return first + "," + second + "," + third + "," + fourth + "," + fifth + "," + sixth + "," + seventh + ","
+                    + eighth + "," + ninth.length + "," + tenth.length + "," + eleventh;
+        }
+
+        /**
+         * @param length
+         *            The length of the array
+         * @return <code>null</code> for negative lengths
+         */
+        public static int[] array(final int length) {
+            return length < 0 ? null : new int[length];
+        }
+
+        /**
+         * @return Always <code>null</code>
+         */
+        public static String[][] nested() {
+            return null;
+        }
+
+        /**
+         * @param given
+         *            The value to return
+         * @return The given value
+         */
+        public <T> T generic(final T given) {
+            return given;
+        }
+
+        /**
+         * @return This in case the lock of this is held
+         */
+        public synchronized Object locked() {
+            return Thread.holdsLock(this) ? this : null;
+        }
+
+        /**
+         * @param given
+         *            The value to box
+         * @return The boxed value
+         */
+        public static strictfp Double strict(final double given) {
+            return Double.valueOf(given);
+        }
+
+        private String hidden() {
+            return value;
+        }
+
+        /**
+         * @return The result of a private method
+         */
+        public String callsHidden() {
+            return hidden();
+        }
+
+        /**
+         * @return Never
+         */
+        public String failing() {
+            throw new IllegalStateException(value);
+        }
+
+        /**
+         * @return A lambda
+         */
+        public Supplier<Object> lambda() {
+            return () -> value;
+        }
+
+    }
+
+    /** A class with abstract and native methods. */
+    public abstract static class Base {
+
+        /**
+         * @return Nothing
+         */
+        public abstract Object value();
+
+        /**
+         * @return Nothing
+         */
+        public native Object implemented();
+
+        /**
+         * @return A primitive value
+         */
+        public int primitive() {
+            return 1;
+        }
+
+    }
+
+    /** An interface with a default method. */
+    public interface Defaulted {
+
+        /**
+         * @return Always <code>null</code>
+         */
+        default Object value() {
+            return null;
+        }
+
+    }
+
+    static final class Loader extends ClassLoader {
+
+        Loader() {
+            super(NullReturnInstrumenterTest.class.getClassLoader());
+        }
+
+        Class<?> define(final byte[] classFile) {
+            return defineClass(null, classFile, 0, classFile.length);
+        }
+
+    }
+
+    /**
+     * Leaves no registered methods for other tests.
+     */
+    @After
+    public final void clear() {
+        NullObservations.instance().clear();
+    }
+
+    private static NullReturnInstrumenter instrumenter() {
+        return new NullReturnInstrumenter(Arrays.asList("com.example"));
+    }
+
+    private static Class<?> instrumented(final byte[] classFile) {
+        return new Loader().define(Nullsafe.nonNull(NullReturnInstrumenter.instrument(classFile)));
+    }
+
+    private static Object legacy() throws IOException, ReflectiveOperationException {
+        return instrumented(Jars.classFile(Legacy.class)).getConstructor(String.class).newInstance("value");
+    }
+
+    private static Object call(final Object target, final String name, final Object... arguments)
+            throws ReflectiveOperationException {
+        for (final Method method : target.getClass().getMethods()) {
+            if (method.getName().equals(name) && !method.isBridge()) {
+                return method.invoke(target, arguments);
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldRecordNullReturns() throws IOException, ReflectiveOperationException {
+        // given
+        final Object legacy = legacy();
+
+        // when
+        final Object found = call(legacy, "find", Integer.valueOf(1));
+        final Object missing = call(legacy, "find", Integer.valueOf(0));
+
+        // then
+        Assert.assertEquals("value", found);
+        Assert.assertNull(missing);
+        Assert.assertEquals("1\t2\t" + LEGACY + ".find(I)Ljava/lang/String;\n", NullObservations.instance().report());
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldRecordArrays() throws IOException, ReflectiveOperationException {
+        // given
+        final Object legacy = legacy();
+
+        // when
+        final Object array = call(legacy, "array", Integer.valueOf(2));
+        final Object missing = call(legacy, "array", Integer.valueOf(-1));
+        final Object nested = call(legacy, "nested");
+
+        // then
+        Assert.assertArrayEquals(new int[2], (int[]) array);
+        Assert.assertNull(missing);
+        Assert.assertNull(nested);
+        Assert.assertEquals("1\t2\t" + LEGACY + ".array(I)[I\n" + "1\t1\t" + LEGACY + ".nested()[[Ljava/lang/String;\n",
+                NullObservations.instance().report());
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldPassAllParameters() throws IOException, ReflectiveOperationException {
+        // given
+        final Object legacy = legacy();
+
+        // when
+        final Object mixed = call(legacy, "mixed", Long.valueOf(1), Double.valueOf(2), Float.valueOf(3),
+                Short.valueOf((short) 4), Byte.valueOf((byte) 5), Character.valueOf('6'), Boolean.TRUE, "eight",
+                new int[9], new Object[10][], Integer.valueOf(11));
+
+        // then
+        Assert.assertEquals("1,2.0,3.0,4,5,6,true,eight,9,10,11", mixed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldKeepSignatures() throws IOException, ReflectiveOperationException {
+        // given
+        final Object legacy = legacy();
+
+        // when
+        call(legacy, "generic", new Object[] { null });
+
+        // then
+        Assert.assertEquals(
+                "class de/xn__ho_hia/quality/null_analysis/NullReturnInstrumenterTest$Legacy\n" + "\ngeneric\n"
+                        + " <T:Ljava/lang/Object;>(TT;)TT;\n" + " <T:Ljava/lang/Object;>(TT;)T0T;\n",
+                NullObservations.instance().annotations()
+                        .get("de/xn__ho_hia/quality/null_analysis/NullReturnInstrumenterTest$Legacy.eea"));
+        Assert.assertEquals("T", legacy.getClass().getMethod("generic", Object.class).getGenericReturnType()
+                .getTypeName());
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldKeepModifiers() throws IOException, ReflectiveOperationException {
+        // given
+        final Object legacy = legacy();
+
+        // when
+        final Object locked = call(legacy, "locked");
+        final Object strict = call(legacy, "strict", Double.valueOf(1));
+        final Object hidden = call(legacy, "callsHidden");
+
+        // then
+        Assert.assertSame(legacy, locked);
+        Assert.assertEquals(Double.valueOf(1), strict);
+        Assert.assertEquals("value", hidden);
+        Assert.assertEquals(Modifier.PUBLIC | Modifier.SYNCHRONIZED,
+                legacy.getClass().getMethod("locked").getModifiers());
+        Assert.assertEquals(Modifier.PRIVATE | Modifier.STATIC | Modifier.STRICT | 0x1000,
+                legacy.getClass().getDeclaredMethod("strict" + NullReturnInstrumenter.SUFFIX, double.class)
+                        .getModifiers());
+        Assert.assertEquals(Modifier.PRIVATE | 0x1000,
+                legacy.getClass().getDeclaredMethod("locked" + NullReturnInstrumenter.SUFFIX).getModifiers());
+        Assert.assertEquals(Modifier.PRIVATE | 0x1000,
+                legacy.getClass().getDeclaredMethod("hidden" + NullReturnInstrumenter.SUFFIX).getModifiers());
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldSkipBridgesLambdasAndPrimitives() throws IOException, ReflectiveOperationException {
+        // given
+        final Object legacy = legacy();
+
+        // when
+        final Object value = ((Supplier<?>) legacy).get();
+        final Object lambda = ((Supplier<?>) Nullsafe.nonNull(call(legacy, "lambda"))).get();
+
+        // then
+        Assert.assertEquals("value", value);
+        Assert.assertEquals("value", lambda);
+        final String[] moved = Arrays.stream(legacy.getClass().getDeclaredMethods()).map(Method::getName)
+                .filter(name -> name.endsWith(NullReturnInstrumenter.SUFFIX)).sorted().toArray(String[]::new);
+        Assert.assertEquals(Arrays.asList("array", "callsHidden", "failing", "find", "generic", "get", "hidden",
+                "lambda", "locked", "mixed", "nested", "strict").toString(),
+                Arrays.stream(moved).map(name -> name.substring(0, name.length() - NullReturnInstrumenter.SUFFIX
+                        .length())).collect(Collectors.toList()).toString());
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldPassExceptions() throws IOException, ReflectiveOperationException {
+        // given
+        final Object legacy = legacy();
+
+        try {
+            // when
+            call(legacy, "failing");
+            Assert.fail("Exception expected");
+        } catch (final InvocationTargetException exception) {
+            // then
+            Assert.assertThat(exception.getCause(), CoreMatchers.instanceOf(IllegalStateException.class));
+            Assert.assertEquals("", NullObservations.instance().report());
+        }
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldSkipAbstractAndNativeMethods() throws IOException {
+        // given
+        final byte[] classFile = Jars.classFile(Base.class);
+
+        // when
+        final byte[] instrumented = NullReturnInstrumenter.instrument(classFile);
+
+        // then
+        Assert.assertNull(instrumented);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldSkipInterfaces() throws IOException {
+        // given
+        final byte[] classFile = Jars.classFile(Defaulted.class);
+
+        // when
+        final byte[] instrumented = NullReturnInstrumenter.instrument(classFile);
+
+        // then
+        Assert.assertNull(instrumented);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldSkipMethodsBeyondCapacity() throws IOException {
+        // given
+        for (int method = 0; method < NullObservations.CAPACITY; method++) {
+            NullObservations.instance().register("com/example/Other", "find", "()[I", "()[I");
+        }
+
+        // when
+        final byte[] instrumented = NullReturnInstrumenter.instrument(Jars.classFile(Legacy.class));
+
+        // then
+        Assert.assertNull(instrumented);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     *
+     * @throws ReflectiveOperationException
+     *             Should not fail in case the class can be instrumented.
+     */
+    @Test
+    public final void shouldInstrumentLargeConstantPools() throws ReflectiveOperationException {
+        // given
+        final byte[] classFile = crafted("Large", 0xFFFF - 12);
+
+        // when
+        final Class<?> type = instrumented(classFile);
+        final Object value = type.getMethod("value").invoke(null);
+
+        // then
+        Assert.assertNull(value);
+        Assert.assertEquals("1\t1\tLarge.value()Ljava/lang/Object;\n", NullObservations.instance().report());
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#instrument</code>.
+     */
+    @Test
+    public final void shouldSkipFullConstantPools() {
+        // given
+        final byte[] classFile = crafted("Full", 0xFFFF - 11);
+
+        // when
+        final byte[] instrumented = NullReturnInstrumenter.instrument(classFile);
+
+        // then
+        Assert.assertNull(instrumented);
+    }
+
+    /**
+     * Creates a class with a single method <code>public static Object value()</code> that returns <code>null</code>,
+     * whose constant pool is filled up with integers.
+     */
+    private static byte[] crafted(final String name, final int constantCount) {
+        final ByteBuffer classFile = ByteBuffer.allocate(5 * constantCount + 128);
+        classFile.putInt(0xCAFEBABE).putShort((short) 0).putShort((short) 52).putShort((short) constantCount);
+        utf8(classFile.put((byte) 1), name); // #1
+        classFile.put((byte) 7).putShort((short) 1); // #2
+        utf8(classFile.put((byte) 1), "java/lang/Object"); // #3
+        classFile.put((byte) 7).putShort((short) 3); // #4
+        utf8(classFile.put((byte) 1), "value"); // #5
+        utf8(classFile.put((byte) 1), "()Ljava/lang/Object;"); // #6
+        utf8(classFile.put((byte) 1), "Code"); // #7
+        utf8(classFile.put((byte) 1), "Cafe"); // #8, an unknown attribute
+        classFile.put((byte) 5).putLong(8); // #9 and #10
+        for (int index = 11; index < constantCount; index++) {
+            classFile.put((byte) 3).putInt(index);
+        }
+        classFile.putShort((short) 0x0021).putShort((short) 2).putShort((short) 4).putShort((short) 0);
+        classFile.putShort((short) 0); // fields
+        classFile.putShort((short) 1).putShort((short) 0x0009).putShort((short) 5).putShort((short) 6);
+        classFile.putShort((short) 2).putShort((short) 7).putInt(14).putShort((short) 1).putShort((short) 0);
+        classFile.putInt(2).put((byte) 0x01).put((byte) 0xB0).putShort((short) 0).putShort((short) 0);
+        classFile.putShort((short) 8).putInt(0);
+        classFile.putShort((short) 0); // attributes
+        return Arrays.copyOf(classFile.array(), classFile.position());
+    }
+
+    private static void utf8(final ByteBuffer buffer, final String value) {
+        buffer.putShort((short) value.length()).put(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldTransformIncludedPackages() throws IOException {
+        // given
+        final byte[] classFile = Jars.classFile(Legacy.class);
+
+        // when
+        final byte[] transformed = instrumenter().transform(null, "com/example/Legacy", null, null, classFile);
+
+        // then
+        Assert.assertNotNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldTransformSubpackages() throws IOException {
+        // given
+        final NullReturnInstrumenter instrumenter = new NullReturnInstrumenter(
+                Arrays.asList("org.example", "com.example"));
+
+        // when
+        final byte[] transformed = instrumenter.transform(null, "com/example/sub/Legacy", null, null,
+                Jars.classFile(Legacy.class));
+
+        // then
+        Assert.assertNotNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldIgnoreOtherPackages() throws IOException {
+        // given
+        final byte[] classFile = Jars.classFile(Legacy.class);
+
+        // when
+        final byte[] transformed = instrumenter().transform(null, "com/examples/Legacy", null, null, classFile);
+
+        // then
+        Assert.assertNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldIgnoreOwnPackage() throws IOException {
+        // given
+        final NullReturnInstrumenter instrumenter = new NullReturnInstrumenter(Arrays.asList("de"));
+
+        // when
+        final byte[] transformed = instrumenter.transform(null, LEGACY.replace('.', '/'), null, null,
+                Jars.classFile(Legacy.class));
+
+        // then
+        Assert.assertNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldIgnoreRedefinitions() throws IOException {
+        // given
+        final byte[] classFile = Jars.classFile(Legacy.class);
+
+        // when
+        final byte[] transformed = instrumenter().transform(null, "com/example/Legacy", Legacy.class, null,
+                classFile);
+
+        // then
+        Assert.assertNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldIgnoreAnonymousClasses() throws IOException {
+        // given
+        final byte[] classFile = Jars.classFile(Legacy.class);
+
+        // when
+        final byte[] transformed = instrumenter().transform(null, null, null, null, classFile);
+
+        // then
+        Assert.assertNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     *
+     * @throws IOException
+     *             Should not fail in case the class file exists.
+     */
+    @Test
+    public final void shouldIgnoreTruncatedClasses() throws IOException {
+        // given
+        final byte[] classFile = Jars.classFile(Legacy.class);
+
+        // when
+        final byte[] transformed = instrumenter().transform(null, "com/example/Legacy", null, null,
+                Arrays.copyOf(classFile, classFile.length / 2));
+
+        // then
+        Assert.assertNull(transformed);
+    }
+
+    /**
+     * Test method for <code>NullReturnInstrumenter#transform</code>.
+     */
+    @Test
+    public final void shouldIgnoreMalformedConstants() {
+        // given
+        final byte[] classFile = crafted("Malformed", 16);
+        classFile[13] = (byte) 0xFF; // the first character of the class name
+
+        // when
+        final byte[] transformed = instrumenter().transform(null, "com/example/Malformed", null, null, classFile);
+
+        // then
+        Assert.assertNull(transformed);
+    }
+
+}
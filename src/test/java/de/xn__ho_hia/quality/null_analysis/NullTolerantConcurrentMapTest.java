@@ -0,0 +1,735 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullTolerantConcurrentMapTest {
+
+    private static Entry<String, String> entry(@Nullable final String key, @Nullable final String value) {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        map.put(key, value);
+        return map.entrySet().iterator().next();
+    }
+
+    private static NullTolerantConcurrentMap<String, String> map() {
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+        map.put(null, "null key");
+        map.put("null value", null);
+        map.put("key", "value");
+        return map;
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#get(Object)}.
+     */
+    @Test
+    public final void shouldGetValueOfNullKey() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String value = map.get(null);
+
+        // then
+        Assert.assertEquals("null key", value);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#get(Object)}.
+     */
+    @Test
+    public final void shouldGetNullValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String value = map.get("null value");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#get(Object)}.
+     */
+    @Test
+    public final void shouldGetValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String value = map.get("key");
+
+        // then
+        Assert.assertEquals("value", value);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#get(Object)}.
+     */
+    @Test
+    public final void shouldGetNullForMissingKey() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String value = map.get("missing");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#containsKey(Object)}.
+     */
+    @Test
+    public final void shouldContainNullKey() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean contained = map.containsKey(null);
+
+        // then
+        Assert.assertTrue(contained);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#containsKey(Object)}.
+     */
+    @Test
+    public final void shouldContainKeyMappedToNull() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean contained = map.containsKey("null value");
+
+        // then
+        Assert.assertTrue(contained);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#containsKey(Object)}.
+     */
+    @Test
+    public final void shouldNotContainMissingKey() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean contained = map.containsKey("missing");
+
+        // then
+        Assert.assertFalse(contained);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#containsValue(Object)}.
+     */
+    @Test
+    public final void shouldContainNullValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean contained = map.containsValue(null);
+
+        // then
+        Assert.assertTrue(contained);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#containsValue(Object)}.
+     */
+    @Test
+    public final void shouldNotContainMissingValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>();
+
+        // when
+        final boolean contained = map.containsValue(null);
+
+        // then
+        Assert.assertFalse(contained);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#getOrDefault(Object, Object)}.
+     */
+    @Test
+    public final void shouldGetDefaultForMissingKey() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String value = map.getOrDefault("missing", "default");
+
+        // then
+        Assert.assertEquals("default", value);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#getOrDefault(Object, Object)}.
+     */
+    @Test
+    public final void shouldGetNullInsteadOfDefault() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String value = map.getOrDefault("null value", "default");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#getOrDefault(Object, Object)}.
+     */
+    @Test
+    public final void shouldGetValueInsteadOfDefault() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String value = map.getOrDefault("key", "default");
+
+        // then
+        Assert.assertEquals("value", value);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#put(Object, Object)}.
+     */
+    @Test
+    public final void shouldReturnPreviousNullValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.put("null value", "other");
+
+        // then
+        Assert.assertNull(previous);
+        Assert.assertEquals("other", map.get("null value"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#put(Object, Object)}.
+     */
+    @Test
+    public final void shouldReturnPreviousValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.put("key", null);
+
+        // then
+        Assert.assertEquals("value", previous);
+        Assert.assertNull(map.get("key"));
+        Assert.assertTrue(map.containsKey("key"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#remove(Object)}.
+     */
+    @Test
+    public final void shouldRemoveNullKey() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.remove(null);
+
+        // then
+        Assert.assertEquals("null key", previous);
+        Assert.assertFalse(map.containsKey(null));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#remove(Object)}.
+     */
+    @Test
+    public final void shouldRemoveKeyMappedToNull() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.remove("null value");
+
+        // then
+        Assert.assertNull(previous);
+        Assert.assertFalse(map.containsKey("null value"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#size()}.
+     */
+    @Test
+    public final void shouldCountAllEntries() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final int size = map.size();
+
+        // then
+        Assert.assertEquals(3, size);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#isEmpty()}.
+     */
+    @Test
+    public final void shouldNotBeEmpty() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean empty = map.isEmpty();
+
+        // then
+        Assert.assertFalse(empty);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#isEmpty()}.
+     */
+    @Test
+    public final void shouldBeEmpty() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = new NullTolerantConcurrentMap<>(16);
+
+        // when
+        final boolean empty = map.isEmpty();
+
+        // then
+        Assert.assertTrue(empty);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#clear()}.
+     */
+    @Test
+    public final void shouldClearAllEntries() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        map.clear();
+
+        // then
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#putIfAbsent(Object, Object)}.
+     */
+    @Test
+    public final void shouldPutIfAbsent() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.putIfAbsent("missing", null);
+
+        // then
+        Assert.assertNull(previous);
+        Assert.assertTrue(map.containsKey("missing"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#putIfAbsent(Object, Object)}.
+     */
+    @Test
+    public final void shouldNotPutIfPresent() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.putIfAbsent(null, "other");
+
+        // then
+        Assert.assertEquals("null key", previous);
+        Assert.assertEquals("null key", map.get(null));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#putIfAbsent(Object, Object)}.
+     */
+    @Test
+    public final void shouldPutIfMappedToNull() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.putIfAbsent("null value", "other");
+
+        // then
+        Assert.assertNull(previous);
+        Assert.assertEquals("other", map.get("null value"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#remove(Object, Object)}.
+     */
+    @Test
+    public final void shouldRemoveMatchingNullValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean removed = map.remove("null value", null);
+
+        // then
+        Assert.assertTrue(removed);
+        Assert.assertFalse(map.containsKey("null value"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#remove(Object, Object)}.
+     */
+    @Test
+    public final void shouldNotRemoveOtherValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean removed = map.remove("key", null);
+
+        // then
+        Assert.assertFalse(removed);
+        Assert.assertTrue(map.containsKey("key"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#replace(Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldReplaceMatchingNullValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean replaced = map.replace("null value", null, "other");
+
+        // then
+        Assert.assertTrue(replaced);
+        Assert.assertEquals("other", map.get("null value"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#replace(Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldNotReplaceOtherValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final boolean replaced = map.replace(null, null, "other");
+
+        // then
+        Assert.assertFalse(replaced);
+        Assert.assertEquals("null key", map.get(null));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#replace(Object, Object)}.
+     */
+    @Test
+    public final void shouldReplacePresentValue() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.replace(null, null);
+
+        // then
+        Assert.assertEquals("null key", previous);
+        Assert.assertNull(map.get(null));
+        Assert.assertTrue(map.containsKey(null));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#replace(Object, Object)}.
+     */
+    @Test
+    public final void shouldNotReplaceMissingKey() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String previous = map.replace("missing", "other");
+
+        // then
+        Assert.assertNull(previous);
+        Assert.assertFalse(map.containsKey("missing"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldEqualHashMapWithNulls() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final Map<String, String> copy = new HashMap<>(map);
+
+        // then
+        Assert.assertEquals(copy, map);
+        Assert.assertEquals(map, copy);
+        Assert.assertEquals(copy.hashCode(), map.hashCode());
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldDecodeKeysAndValues() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final Set<String> keys = map.keySet();
+        final Collection<String> values = new HashSet<>(map.values());
+
+        // then
+        Assert.assertEquals(new HashSet<>(Arrays.asList(null, "null value", "key")), keys);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("null key", null, "value")), values);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldCountEntries() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final int size = map.entrySet().size();
+
+        // then
+        Assert.assertEquals(3, size);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldWriteEntryValuesThrough() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        map.entrySet().forEach(entry -> entry.setValue(entry.getKey()));
+
+        // then
+        Assert.assertNull(map.get(null));
+        Assert.assertEquals("null value", map.get("null value"));
+        Assert.assertEquals("key", map.get("key"));
+        Assert.assertEquals(3, map.size());
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldReturnPreviousEntryValue() {
+        // given
+        final Entry<String, String> entry = entry("key", "value");
+
+        // when
+        final String previous = entry.setValue("other");
+
+        // then
+        Assert.assertEquals("value", previous);
+        Assert.assertEquals("other", entry.getValue());
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldRemoveThroughIterator() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        map.keySet().removeIf(key -> key == null);
+
+        // then
+        Assert.assertFalse(map.containsKey(null));
+        Assert.assertEquals(2, map.size());
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#putIfAbsent(Object, Object)}.
+     */
+    @Test
+    public final void shouldMergeIntoKeyMappedToNull() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String merged = map.merge("null value", "other", String::concat);
+
+        // then
+        Assert.assertEquals("other", merged);
+        Assert.assertEquals("other", map.get("null value"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#putIfAbsent(Object, Object)}.
+     */
+    @Test
+    public final void shouldComputeKeyMappedToNull() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final String computed = map.computeIfAbsent("null value", key -> "other");
+
+        // then
+        Assert.assertEquals("other", computed);
+        Assert.assertEquals("other", map.get("null value"));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#nonNullView()}.
+     */
+    @Test
+    public final void shouldHideNullKeysAndValues() {
+        // given
+        final NullTolerantConcurrentMap<String, String> map = map();
+
+        // when
+        final Map<String, String> view = map.nonNullView();
+
+        // then
+        Assert.assertEquals(Collections.singletonMap("key", "value"), view);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#put(Object, Object)}.
+     */
+    @Test
+    public final void shouldPutConcurrently() {
+        // given
+        final NullTolerantConcurrentMap<Integer, Integer> map = new NullTolerantConcurrentMap<>();
+
+        // when
+        IntStream.range(0, 10000).parallel().forEach(index -> map.put(index % 10 == 0 ? null : Integer.valueOf(index),
+                index % 2 == 0 ? null : Integer.valueOf(index)));
+
+        // then
+        Assert.assertEquals(9001, map.size());
+        Assert.assertTrue(map.containsKey(null));
+        Assert.assertNull(map.get(Integer.valueOf(2)));
+        Assert.assertEquals(Integer.valueOf(3), map.get(Integer.valueOf(3)));
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldEqualEntryWithSameKeyAndValue() {
+        // given
+        final Entry<String, String> entry = entry(null, "value");
+
+        // when
+        final boolean equal = entry.equals(new SimpleEntry<>(null, "value"));
+
+        // then
+        Assert.assertTrue(equal);
+        Assert.assertEquals(new SimpleEntry<>(null, "value").hashCode(), entry.hashCode());
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldNotEqualEntryWithOtherKey() {
+        // given
+        final Entry<String, String> entry = entry(null, "value");
+
+        // when
+        final boolean equal = entry.equals(new SimpleEntry<>("key", "value"));
+
+        // then
+        Assert.assertFalse(equal);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldNotEqualEntryWithOtherValue() {
+        // given
+        final Entry<String, String> entry = entry(null, "value");
+
+        // when
+        final boolean equal = entry.equals(new SimpleEntry<>(null, null));
+
+        // then
+        Assert.assertFalse(equal);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldNotEqualOtherObjects() {
+        // given
+        final Entry<String, String> entry = entry(null, "value");
+
+        // when
+        final boolean equal = entry.equals("value");
+
+        // then
+        Assert.assertFalse(equal);
+    }
+
+    /**
+     * Test method for {@link NullTolerantConcurrentMap#entrySet()}.
+     */
+    @Test
+    public final void shouldFormatEntry() {
+        // given
+        final Entry<String, String> entry = entry(null, "value");
+
+        // when
+        final String text = entry.toString();
+
+        // then
+        Assert.assertEquals("null=value", text);
+    }
+
+}
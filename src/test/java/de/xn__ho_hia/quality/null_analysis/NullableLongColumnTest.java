@@ -0,0 +1,428 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullableLongColumnTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private static NullableLongColumn column(final Long... values) {
+        return NullableLongColumn.of(Arrays.asList(values));
+    }
+
+    /** @return A column of two full chunks and one partial chunk with positive and negative values and nulls */
+    private static Long[] largeValues() {
+        final Long[] values = new Long[2 * NullableLongColumn.CHUNK_SIZE + NullableLongColumn.CHUNK_SIZE - 1];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index % 7 == 0 ? null : Long.valueOf((index % 2 == 0 ? 1 : -1) * (long) index);
+        }
+        values[1] = null;
+        values[values.length - 1] = null;
+        return values;
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#of(List)}.
+     */
+    @Test
+    public final void shouldCopyList() {
+        // given
+        final List<Long> values = Arrays.asList(Long.valueOf(1), null, Long.valueOf(-3));
+
+        // when
+        final NullableLongColumn column = NullableLongColumn.of(values);
+
+        // then
+        Assert.assertEquals(3, column.size());
+        Assert.assertEquals(1, column.nullCount());
+        Assert.assertEquals(Long.valueOf(1), column.get(0));
+        Assert.assertNull(column.get(1));
+        Assert.assertEquals(Long.valueOf(-3), column.get(2));
+        Assert.assertFalse(column.isNull(0));
+        Assert.assertTrue(column.isNull(1));
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#of(List)}.
+     */
+    @Test
+    public final void shouldCopyNullList() {
+        // given
+        final List<Long> values = null;
+
+        // when
+        final NullableLongColumn column = NullableLongColumn.of(values);
+
+        // then
+        Assert.assertEquals(0, column.size());
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#of(Long[])}.
+     */
+    @Test
+    public final void shouldCopyArray() {
+        // given
+        final Long[] values = largeValues();
+
+        // when
+        final NullableLongColumn column = NullableLongColumn.of(values);
+
+        // then
+        Assert.assertEquals(values.length, column.size());
+        for (int index = 0; index < values.length; index++) {
+            Assert.assertEquals(values[index], column.get(index));
+        }
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#of(Long[])}.
+     */
+    @Test
+    public final void shouldCopyNullArray() {
+        // given
+        final Long[] values = null;
+
+        // when
+        final NullableLongColumn column = NullableLongColumn.of(values);
+
+        // then
+        Assert.assertEquals(0, column.size());
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#get(int)}.
+     */
+    @Test
+    public final void shouldRejectNegativeIndex() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(1));
+
+        // then
+        thrown.expect(IndexOutOfBoundsException.class);
+        thrown.expectMessage("Index -1 is outside of 1 entries");
+
+        // when
+        column.get(-1);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#isNull(int)}.
+     */
+    @Test
+    public final void shouldRejectIndexBeyondSize() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(1));
+
+        // then
+        thrown.expect(IndexOutOfBoundsException.class);
+        thrown.expectMessage("Index 1 is outside of 1 entries");
+
+        // when
+        column.isNull(1);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#sizeInBytes()}.
+     */
+    @Test
+    public final void shouldMeasureValuesAndBitmap() {
+        // given
+        final Long[] values = new Long[128];
+        Arrays.fill(values, Long.valueOf(1));
+        values[0] = null;
+        values[64] = null;
+        values[127] = null;
+
+        // when
+        final long sizeInBytes = NullableLongColumn.of(values).sizeInBytes();
+
+        // then
+        Assert.assertEquals(128 * 8 + 2 * 8, sizeInBytes);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#count(NullPolicy)}.
+     */
+    @Test
+    public final void shouldCountValues() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(1), null, Long.valueOf(3));
+
+        // when
+        final long skipped = column.count(NullPolicy.SKIP);
+        final long zeros = column.count(NullPolicy.TREAT_AS_ZERO);
+
+        // then
+        Assert.assertEquals(2, skipped);
+        Assert.assertEquals(3, zeros);
+        Assert.assertEquals(2, column(Long.valueOf(1), Long.valueOf(3)).count(NullPolicy.FAIL));
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#count(NullPolicy)}.
+     */
+    @Test
+    public final void shouldRejectNulls() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(1), Long.valueOf(2), null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index 2");
+
+        // when
+        column.count(NullPolicy.FAIL);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#sum(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldSumValues() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(1), null, Long.valueOf(-3), Long.valueOf(10));
+
+        // when
+        final HybridInteger sum = column.sum(NullPolicy.SKIP, false);
+
+        // then
+        Assert.assertEquals(HybridInteger.valueOf(8), sum);
+        Assert.assertEquals(HybridInteger.valueOf(8), column.sum(NullPolicy.TREAT_AS_ZERO, true));
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#sum(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldSumEmptyColumnToZero() {
+        // given
+        final NullableLongColumn column = column();
+
+        // when
+        final HybridInteger sum = column.sum(NullPolicy.FAIL, false);
+
+        // then
+        Assert.assertEquals(HybridInteger.valueOf(0), sum);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#sum(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldSumBeyondLong() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(Long.MAX_VALUE), Long.valueOf(Long.MAX_VALUE), null,
+                Long.valueOf(-1));
+
+        // when
+        final HybridInteger sum = column.sum(NullPolicy.SKIP, false);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1).subtract(BigInteger.ONE),
+                sum.bigIntegerValue());
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#sum(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldSumChunks() {
+        // given
+        final Long[] values = largeValues();
+        final NullableLongColumn column = NullableLongColumn.of(values);
+        final long expected = Arrays.stream(values).filter(Objects::nonNull).mapToLong(Long::longValue).sum();
+
+        // when
+        final HybridInteger sequential = column.sum(NullPolicy.SKIP, false);
+        final HybridInteger parallel = column.sum(NullPolicy.SKIP, true);
+
+        // then
+        Assert.assertEquals(HybridInteger.valueOf(expected), sequential);
+        Assert.assertEquals(HybridInteger.valueOf(expected), parallel);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#min(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldFindMinimum() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(5), null, Long.valueOf(3), Long.valueOf(7));
+
+        // when
+        final OptionalLong skipped = column.min(NullPolicy.SKIP, false);
+        final OptionalLong zeros = column.min(NullPolicy.TREAT_AS_ZERO, false);
+
+        // then
+        Assert.assertEquals(OptionalLong.of(3), skipped);
+        Assert.assertEquals(OptionalLong.of(0), zeros);
+        Assert.assertEquals(OptionalLong.of(3),
+                column(Long.valueOf(5), Long.valueOf(3)).min(NullPolicy.TREAT_AS_ZERO, false));
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#max(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldFindMaximum() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(-5), null, Long.valueOf(-3), Long.valueOf(-7));
+
+        // when
+        final OptionalLong skipped = column.max(NullPolicy.SKIP, false);
+        final OptionalLong zeros = column.max(NullPolicy.TREAT_AS_ZERO, false);
+
+        // then
+        Assert.assertEquals(OptionalLong.of(-3), skipped);
+        Assert.assertEquals(OptionalLong.of(0), zeros);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#min(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldFindNoMinimumOfNulls() {
+        // given
+        final NullableLongColumn column = column(null, null);
+
+        // when
+        final OptionalLong skipped = column.min(NullPolicy.SKIP, false);
+        final OptionalLong zeros = column.min(NullPolicy.TREAT_AS_ZERO, false);
+
+        // then
+        Assert.assertFalse(skipped.isPresent());
+        Assert.assertEquals(OptionalLong.of(0), zeros);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#max(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldFindNoMaximumOfEmptyColumn() {
+        // given
+        final NullableLongColumn column = column();
+
+        // when
+        final OptionalLong maximum = column.max(NullPolicy.TREAT_AS_ZERO, false);
+
+        // then
+        Assert.assertFalse(maximum.isPresent());
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#min(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldFindExtremesOfChunks() {
+        // given
+        final Long[] values = largeValues();
+        final NullableLongColumn column = NullableLongColumn.of(values);
+
+        // when
+        final OptionalLong minimum = column.min(NullPolicy.SKIP, false);
+        final OptionalLong maximum = column.max(NullPolicy.SKIP, true);
+
+        // then
+        Assert.assertEquals(Arrays.stream(values).filter(Objects::nonNull).mapToLong(Long::longValue).min(), minimum);
+        Assert.assertEquals(Arrays.stream(values).filter(Objects::nonNull).mapToLong(Long::longValue).max(), maximum);
+        Assert.assertEquals(minimum, column.min(NullPolicy.SKIP, true));
+        Assert.assertEquals(maximum, column.max(NullPolicy.SKIP, false));
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#max(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldSkipNullsBetweenExtremes() {
+        // given
+        final Long[] values = new Long[200];
+        Arrays.fill(values, Long.valueOf(-10));
+        values[130] = null;
+        values[131] = Long.valueOf(Long.MIN_VALUE);
+        values[199] = Long.valueOf(Long.MAX_VALUE);
+        final NullableLongColumn column = NullableLongColumn.of(values);
+
+        // when
+        final OptionalLong minimum = column.min(NullPolicy.SKIP, false);
+        final OptionalLong maximum = column.max(NullPolicy.SKIP, false);
+
+        // then
+        Assert.assertEquals(OptionalLong.of(Long.MIN_VALUE), minimum);
+        Assert.assertEquals(OptionalLong.of(Long.MAX_VALUE), maximum);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#min(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldSkipNullsAtStartOfWords() {
+        // given
+        final Long[] values = new Long[128];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index % 64 == 0 ? null : Long.valueOf(index);
+        }
+        values[127] = null;
+        final NullableLongColumn column = NullableLongColumn.of(values);
+
+        // when
+        final OptionalLong minimum = column.min(NullPolicy.SKIP, false);
+
+        // then
+        Assert.assertEquals(OptionalLong.of(1), minimum);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#sum(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldRejectNullsInSum() {
+        // given
+        final NullableLongColumn column = column(null, Long.valueOf(1));
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index 0");
+
+        // when
+        column.sum(NullPolicy.FAIL, false);
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#max(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldRejectNullsInMaximum() {
+        // given
+        final NullableLongColumn column = column(Long.valueOf(1), null);
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Got unexpected NULL element at index 1");
+
+        // when
+        column.max(NullPolicy.FAIL, true);
+    }
+
+}
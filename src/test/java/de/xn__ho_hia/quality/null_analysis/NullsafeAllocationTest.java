@@ -0,0 +1,361 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import de.xn__ho_hia.quality.null_analysis.BigIntegerReduction.Accumulator;
+import de.xn__ho_hia.quality.null_analysis.BigIntegerReduction.Factory;
+import de.xn__ho_hia.quality.null_analysis.BigIntegerReduction.Max;
+import de.xn__ho_hia.quality.null_analysis.BigIntegerReduction.Min;
+import de.xn__ho_hia.quality.null_analysis.BigIntegerReduction.Product;
+import de.xn__ho_hia.quality.null_analysis.BigIntegerReduction.ReductionTask;
+import de.xn__ho_hia.quality.null_analysis.BigIntegerReduction.Sum;
+
+/**
+ * Asserts how many bytes each public method of {@link Nullsafe} allocates per call on its success path. Methods that
+ * return their input must not allocate at all. The budget of every other method is the sum of the bytes allocated by
+ * reference calls that create the objects the method is expected to create, e.g. a stream pipeline or a view. Object
+ * sizes depend on the JVM, its version and its flags, thus the references are measured in the same run. Escape
+ * analysis can only lower the measured values, thus budgets are upper bounds.
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullsafeAllocationTest {
+
+    private static final @NonNull String VALUE = "value";
+    private static final List<String> LIST = new ArrayList<>(Arrays.asList("first", "second", "third"));
+    private static final Set<String> SET = new HashSet<>(LIST);
+    private static final Map<String, String> MAP = new HashMap<>();
+    private static final Map<String, Object> NESTED = new HashMap<>();
+    private static final String[] ARRAY = { "first", "second", "third" };
+    private static final Iterator<String> ITERATOR = LIST.iterator();
+    private static final Enumeration<String> ENUMERATION = Collections.enumeration(LIST);
+    private static final int[] INTS = { 1, 2, 3 };
+    private static final long[] LONGS = { 1, 2, 3 };
+    private static final double[] DOUBLES = { 1, 2, 3 };
+    private static final BigInteger TWO = BigInteger.valueOf(2);
+    private static final BigInteger THREE = BigInteger.valueOf(3);
+    private static final List<BigInteger> NUMBERS = new ArrayList<>(Arrays.asList(TWO, THREE));
+
+    private static final Map<String, Budget> BUDGETS = new LinkedHashMap<>();
+
+    static {
+        MAP.put("first", VALUE);
+        NESTED.put("first", Collections.singletonMap("second",
+                Collections.singletonMap("third", Collections.singletonMap("fourth", VALUE))));
+
+        budget("nonNull(Object)", 0, () -> Nullsafe.nonNull(VALUE));
+        budget("nonNull(Object,String)", 0, () -> Nullsafe.nonNull(VALUE, "message"));
+        budget("nonNull(Object,Supplier)", 0, () -> Nullsafe.nonNull(VALUE, () -> "message"));
+        budget("nonNull(Object,String,Object)", 0, () -> Nullsafe.nonNull(VALUE, "message %s", VALUE));
+        budget("nonNull(Object,String,Object,Object)", 0, () -> Nullsafe.nonNull(VALUE, "message %s %s", VALUE, VALUE));
+        budget("nonNullOrThrow(Object,Supplier)", 0, () -> Nullsafe.nonNullOrThrow(VALUE, IllegalStateException::new));
+        budget("safeGet(Object,Function,Object)", 0, () -> Nullsafe.safeGet(VALUE, Object::toString, VALUE));
+        budget("safeGet(Object,Function,Function,Object)", 0,
+                () -> Nullsafe.safeGet(VALUE, Object::toString, Object::toString, VALUE));
+        budget("safeGet(Object,Function,Function,Function,Object)", 0,
+                () -> Nullsafe.safeGet(VALUE, Object::toString, Object::toString, Object::toString, VALUE));
+        budget("safeGet(Object,Function,Function,Function,Function,Object)", 0, () -> Nullsafe.safeGet(VALUE,
+                Object::toString, Object::toString, Object::toString, Object::toString, VALUE));
+        budget("safeLookup(Map,String)", 0, () -> Nullsafe.safeLookup(NESTED, "first"));
+        budget("safeLookup(Map,String,String)", 0, () -> Nullsafe.safeLookup(NESTED, "first", "second"));
+        budget("safeLookup(Map,String,String,String)", 0,
+                () -> Nullsafe.safeLookup(NESTED, "first", "second", "third"));
+        budget("safeLookup(Map,String,String,String,String)", 0,
+                () -> Nullsafe.safeLookup(NESTED, "first", "second", "third", "fourth"));
+        budget("coalesce(Object,Object)", 0, () -> Nullsafe.coalesce(null, VALUE));
+        budget("coalesce(Object,Object,Object)", 0, () -> Nullsafe.coalesce(null, null, VALUE));
+        budget("coalesce(Object,Object,Object,Object)", 0, () -> Nullsafe.coalesce(null, null, null, VALUE));
+        budget("coalesceGet(Object,Supplier)", 0, () -> Nullsafe.coalesceGet(null, () -> VALUE));
+        budget("coalesceGet(Object,Object,Supplier)", 0, () -> Nullsafe.coalesceGet(null, null, () -> VALUE));
+        budget("coalesceGet(Object,Object,Object,Supplier)", 0,
+                () -> Nullsafe.coalesceGet(null, null, null, () -> VALUE));
+        check("requireAllNonNull(Object,Object)", 0, () -> Nullsafe.requireAllNonNull(VALUE, VALUE));
+        check("requireAllNonNull(Object,Object,Object)", 0, () -> Nullsafe.requireAllNonNull(VALUE, VALUE, VALUE));
+        check("requireAllNonNull(Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNull(VALUE, VALUE, VALUE, VALUE));
+        check("requireAllNonNull(Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNull(VALUE, VALUE, VALUE, VALUE, VALUE));
+        check("requireAllNonNull(Object,Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNull(VALUE, VALUE, VALUE, VALUE, VALUE, VALUE));
+        check("requireAllNonNull(Object,Object,Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNull(VALUE, VALUE, VALUE, VALUE, VALUE, VALUE, VALUE));
+        check("requireAllNonNull(Object,Object,Object,Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNull(VALUE, VALUE, VALUE, VALUE, VALUE, VALUE, VALUE, VALUE));
+        check("requireAllNonNullNamed(String,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNullNamed("a, b", VALUE, VALUE));
+        check("requireAllNonNullNamed(String,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNullNamed("a, b, c", VALUE, VALUE, VALUE));
+        check("requireAllNonNullNamed(String,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNullNamed("a, b, c, d", VALUE, VALUE, VALUE, VALUE));
+        check("requireAllNonNullNamed(String,Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNullNamed("a, b, c, d, e", VALUE, VALUE, VALUE, VALUE, VALUE));
+        check("requireAllNonNullNamed(String,Object,Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNullNamed("a, b, c, d, e, f", VALUE, VALUE, VALUE, VALUE, VALUE,
+                        VALUE));
+        check("requireAllNonNullNamed(String,Object,Object,Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNullNamed("a, b, c, d, e, f, g", VALUE, VALUE, VALUE, VALUE, VALUE,
+                        VALUE, VALUE));
+        check("requireAllNonNullNamed(String,Object,Object,Object,Object,Object,Object,Object,Object)", 0,
+                () -> Nullsafe.requireAllNonNullNamed("a, b, c, d, e, f, g, h", VALUE, VALUE, VALUE, VALUE, VALUE,
+                        VALUE, VALUE, VALUE));
+        check("requireNoNullElements(Object[])", 0, () -> Nullsafe.requireNoNullElements(ARRAY));
+        check("requireNoNullElements(Collection)", 0, () -> Nullsafe.requireNoNullElements(LIST));
+        budget("safelyStream(Collection)", () -> Nullsafe.safelyStream(LIST), LIST::stream);
+        budget("safelyStream(Collection,boolean)", () -> Nullsafe.safelyStream(LIST, true),
+                () -> LIST.stream().filter(Objects::nonNull));
+        budget("safelyParallelStream(Collection)", () -> Nullsafe.safelyParallelStream(LIST), LIST::parallelStream);
+        budget("safelyParallelStream(Collection,boolean)", () -> Nullsafe.safelyParallelStream(LIST, true),
+                () -> LIST.parallelStream().filter(Objects::nonNull));
+        budget("safelyStream(Object[])", () -> Nullsafe.safelyStream(ARRAY), () -> Arrays.stream(ARRAY));
+        budget("safelyStream(Object[],boolean)", () -> Nullsafe.safelyStream(ARRAY, true),
+                () -> Arrays.stream(ARRAY).filter(Objects::nonNull));
+        budget("safelyParallelStream(Object[])", () -> Nullsafe.safelyParallelStream(ARRAY),
+                () -> Arrays.stream(ARRAY).parallel());
+        budget("safelyParallelStream(Object[],boolean)", () -> Nullsafe.safelyParallelStream(ARRAY, true),
+                () -> Arrays.stream(ARRAY).parallel().filter(Objects::nonNull));
+        budget("safelyStream(Iterable)", () -> Nullsafe.safelyStream((Iterable<String>) SET), SET::stream);
+        budget("safelyStream(Iterable,boolean)", () -> Nullsafe.safelyStream((Iterable<String>) SET, true),
+                () -> SET.stream().filter(Objects::nonNull));
+        budget("safelyParallelStream(Iterable)", () -> Nullsafe.safelyParallelStream((Iterable<String>) SET),
+                SET::parallelStream);
+        budget("safelyParallelStream(Iterable,boolean)",
+                () -> Nullsafe.safelyParallelStream((Iterable<String>) SET, true),
+                () -> SET.parallelStream().filter(Objects::nonNull));
+        budget("safelyStream(Iterator)", () -> Nullsafe.safelyStream(ITERATOR), () -> stream(unknownSize(ITERATOR)));
+        budget("safelyStream(Iterator,boolean)", () -> Nullsafe.safelyStream(ITERATOR, true),
+                () -> stream(unknownSize(ITERATOR)).filter(Objects::nonNull));
+        budget("safelyParallelStream(Iterator)", () -> Nullsafe.safelyParallelStream(ITERATOR),
+                () -> stream(unknownSize(ITERATOR)).parallel());
+        budget("safelyParallelStream(Iterator,boolean)", () -> Nullsafe.safelyParallelStream(ITERATOR, true),
+                () -> stream(unknownSize(ITERATOR)).parallel().filter(Objects::nonNull));
+        budget("safelyStream(Enumeration)", () -> Nullsafe.safelyStream(ENUMERATION),
+                () -> stream(new EnumerationSpliterator<>(ENUMERATION)));
+        budget("safelyStream(Enumeration,boolean)", () -> Nullsafe.safelyStream(ENUMERATION, true),
+                () -> stream(new EnumerationSpliterator<>(ENUMERATION)).filter(Objects::nonNull));
+        budget("safelyParallelStream(Enumeration)", () -> Nullsafe.safelyParallelStream(ENUMERATION),
+                () -> stream(new EnumerationSpliterator<>(ENUMERATION)).parallel());
+        budget("safelyParallelStream(Enumeration,boolean)", () -> Nullsafe.safelyParallelStream(ENUMERATION, true),
+                () -> stream(new EnumerationSpliterator<>(ENUMERATION)).parallel().filter(Objects::nonNull));
+        budget("safelyStreamEntries(Map)", () -> Nullsafe.safelyStreamEntries(MAP), () -> MAP.entrySet().stream());
+        budget("safelyParallelStreamEntries(Map)", () -> Nullsafe.safelyParallelStreamEntries(MAP),
+                () -> MAP.entrySet().parallelStream());
+        budget("safelyStreamKeys(Map,boolean)", () -> Nullsafe.safelyStreamKeys(MAP, true),
+                () -> MAP.keySet().stream().filter(Objects::nonNull));
+        budget("safelyParallelStreamKeys(Map,boolean)", () -> Nullsafe.safelyParallelStreamKeys(MAP, true),
+                () -> MAP.keySet().parallelStream().filter(Objects::nonNull));
+        budget("safelyStreamValues(Map,boolean)", () -> Nullsafe.safelyStreamValues(MAP, true),
+                () -> MAP.values().stream().filter(Objects::nonNull));
+        budget("safelyParallelStreamValues(Map,boolean)", () -> Nullsafe.safelyParallelStreamValues(MAP, true),
+                () -> MAP.values().parallelStream().filter(Objects::nonNull));
+        budget("ensureList(List)", 0, () -> Nullsafe.ensureList(LIST));
+        budget("ensureSet(Set)", 0, () -> Nullsafe.ensureSet(SET));
+        budget("ensureMap(Map)", 0, () -> Nullsafe.ensureMap(MAP));
+        budget("nonNullView(List)", () -> Nullsafe.nonNullView(LIST), () -> new NonNullListView<>(LIST));
+        budget("nonNullView(Set)", () -> Nullsafe.nonNullView(SET), () -> new NonNullSetView<>(SET));
+        budget("nonNullView(Map)", () -> Nullsafe.nonNullView(MAP), () -> new NonNullMapView<>(MAP));
+        budget("compactNonNullCopy(List)", () -> Nullsafe.compactNonNullCopy(LIST), LIST::toArray,
+                () -> new CompactList<>(ARRAY));
+        budget("compactNonNullCopy(Set)", () -> Nullsafe.compactNonNullCopy(SET), SET::toArray,
+                () -> new Object[CompactSet.EXPAND_FACTOR * SET.size()], () -> new CompactSet<>(ARRAY, SET.size()));
+        budget("compactNonNullCopy(Map)", () -> Nullsafe.compactNonNullCopy(MAP),
+                () -> new Object[2 * MAP.size()], () -> MAP.entrySet().iterator(),
+                () -> new Object[2 * CompactSet.EXPAND_FACTOR * MAP.size()], () -> new CompactMap<>(ARRAY, MAP.size()));
+        budget("ensureArray(int[])", 0, () -> Nullsafe.ensureArray(INTS));
+        budget("ensureArray(long[])", 0, () -> Nullsafe.ensureArray(LONGS));
+        budget("ensureArray(double[])", 0, () -> Nullsafe.ensureArray(DOUBLES));
+        budget("safelyIntStream(int[])", () -> Nullsafe.safelyIntStream(INTS), () -> Arrays.stream(INTS));
+        budget("safelyLongStream(long[])", () -> Nullsafe.safelyLongStream(LONGS), () -> Arrays.stream(LONGS));
+        budget("safelyDoubleStream(double[])", () -> Nullsafe.safelyDoubleStream(DOUBLES), () -> Arrays.stream(DOUBLES));
+        budget("isNullOrEmpty(Collection)", 0, () -> Boolean.valueOf(Nullsafe.isNullOrEmpty(LIST)));
+        budget("isNullOrEmpty(Map)", 0, () -> Boolean.valueOf(Nullsafe.isNullOrEmpty(MAP)));
+        budget("isNullOrEmpty(String)", 0, () -> Boolean.valueOf(Nullsafe.isNullOrEmpty(VALUE)));
+        budget("isNullOrBlank(CharSequence)", 0, () -> Boolean.valueOf(Nullsafe.isNullOrBlank(VALUE)));
+        budget("nullOrBlankPositions(CharSequence[])", () -> Nullsafe.nullOrBlankPositions(ARRAY), BitSet::new);
+        budget("nullOrBlankPositions(List)", () -> Nullsafe.nullOrBlankPositions(LIST), BitSet::new);
+        budget("asBigInteger(long)", 0, () -> Nullsafe.asBigInteger(1));
+        budget("asLong(long)", 0, () -> Nullsafe.asLong(1));
+        budget("addNullsafe(BigInteger,BigInteger)", () -> Nullsafe.addNullsafe(TWO, THREE), () -> TWO.add(THREE));
+        budget("subtractNullsafe(BigInteger,BigInteger)", () -> Nullsafe.subtractNullsafe(THREE, TWO),
+                () -> THREE.subtract(TWO));
+        budget("divideNullsafe(BigInteger,BigInteger)", () -> Nullsafe.divideNullsafe(THREE, TWO),
+                () -> THREE.divide(TWO));
+        budget("multiplyNullsafe(BigInteger,BigInteger)", () -> Nullsafe.multiplyNullsafe(TWO, THREE),
+                () -> TWO.multiply(THREE));
+        budget("sumNullsafe(Collection,NullPolicy)", () -> Nullsafe.sumNullsafe(NUMBERS, NullPolicy.SKIP),
+                () -> task(Sum::new), Sum::new);
+        budget("productNullsafe(Collection,NullPolicy)", () -> Nullsafe.productNullsafe(NUMBERS, NullPolicy.SKIP),
+                () -> task(Product::new), Product::new);
+        budget("minNullsafe(Collection,NullPolicy)", () -> Nullsafe.minNullsafe(NUMBERS, NullPolicy.SKIP),
+                () -> task(Min::new), Min::new, () -> Optional.of(TWO));
+        budget("maxNullsafe(Collection,NullPolicy)", () -> Nullsafe.maxNullsafe(NUMBERS, NullPolicy.SKIP),
+                () -> task(Max::new), Max::new, () -> Optional.of(THREE));
+    }
+
+    private static void budget(final String method, final long bytes, final Supplier<?> call) {
+        BUDGETS.put(method, new Budget(bytes, call));
+    }
+
+    private static void budget(final String method, final Supplier<?> call, final Supplier<?>... references) {
+        BUDGETS.put(method, new Budget(0, call, references));
+    }
+
+    private static void check(final String method, final long bytes, final Runnable call) {
+        budget(method, bytes, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static <TYPE> Stream<TYPE> stream(final Spliterator<TYPE> spliterator) {
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private static <TYPE> Spliterator<TYPE> unknownSize(final Iterator<TYPE> iterator) {
+        return Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+    }
+
+    private static <ACCUMULATOR extends Accumulator<ACCUMULATOR>> ReductionTask<ACCUMULATOR> task(
+            final Factory<ACCUMULATOR> factory) {
+        return new ReductionTask<>(NUMBERS, NullPolicy.SKIP, factory, 0, NUMBERS.size());
+    }
+
+    private static String signature(final Method method) {
+        return Stream.of(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+
+    /**
+     * Ensures that new methods in {@link Nullsafe} get an allocation budget.
+     */
+    @Test
+    public final void shouldBudgetEveryPublicMethod() {
+        // given
+        final Method[] methods = Nullsafe.class.getDeclaredMethods();
+
+        // when
+        final Set<String> signatures = Stream.of(methods)
+                .filter(method -> Modifier.isPublic(method.getModifiers()))
+                .filter(method -> Modifier.isStatic(method.getModifiers()))
+                .map(NullsafeAllocationTest::signature)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        // then
+        Assert.assertEquals(new TreeSet<>(BUDGETS.keySet()), signatures);
+    }
+
+    /**
+     * Ensures that no public method in {@link Nullsafe} allocates more than its budget.
+     */
+    @Test
+    public final void shouldStayWithinAllocationBudgets() {
+        // given
+        Assume.assumeTrue(Allocations.isSupported());
+
+        // when
+        final List<String> violations = new ArrayList<>();
+        for (final Map.Entry<String, Budget> entry : BUDGETS.entrySet()) {
+            final long budget = entry.getValue().bytes();
+            final long bytes = Allocations.bytesPerCall(entry.getValue().call);
+            if (bytes > budget) {
+                violations.add(String.format("%s: %d bytes per call, budget %d", entry.getKey(),
+                        Long.valueOf(bytes), Long.valueOf(budget)));
+            }
+        }
+
+        // then
+        Assert.assertEquals(Collections.emptyList(), violations);
+    }
+
+    /**
+     * Ensures that the harness sees allocations. The array header depends on the JVM and its flags, e.g. compressed
+     * class pointers, therefore it is derived from an empty array.
+     */
+    @Test
+    public final void shouldMeasureAllocatedArrays() {
+        // given
+        Assume.assumeTrue(Allocations.isSupported());
+        final long header = Allocations.bytesPerCall(() -> new long[0]);
+
+        // when
+        final long bytes = Allocations.bytesPerCall(() -> new long[14]);
+
+        // then
+        Assert.assertTrue(header > 0);
+        Assert.assertEquals(header + 14 * Long.BYTES, bytes);
+    }
+
+    /**
+     * Ensures that the harness itself does not allocate.
+     */
+    @Test
+    public final void shouldMeasureNothingForConstants() {
+        // given
+        Assume.assumeTrue(Allocations.isSupported());
+
+        // when
+        final long bytes = Allocations.bytesPerCall(() -> VALUE);
+
+        // then
+        Assert.assertEquals(0, bytes);
+    }
+
+    private static final class Budget {
+
+        private final long fixed;
+        final Supplier<?> call;
+        private final Supplier<?>[] references;
+
+        Budget(final long fixed, final Supplier<?> call, final Supplier<?>... references) {
+            this.fixed = fixed;
+            this.call = call;
+            this.references = references;
+        }
+
+        /**
+         * @return The fixed bytes plus the bytes allocated by all references
+         */
+        long bytes() {
+            long bytes = fixed;
+            for (final Supplier<?> reference : references) {
+                bytes += Allocations.bytesPerCall(reference);
+            }
+            return bytes;
+        }
+
+    }
+
+}
@@ -0,0 +1,607 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullsafeCollectorsTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private static Entry<String, String> entry(@Nullable final String key, @Nullable final String value) {
+        return new SimpleImmutableEntry<>(key, value);
+    }
+
+    private static Stream<Entry<String, String>> entries() {
+        return Stream.of(entry("first", "1"), entry(null, "2"), entry("third", null));
+    }
+
+    private static Map<Object, Object> map(final Object... keysAndValues) {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        for (int index = 0; index < keysAndValues.length; index += 2) {
+            map.put(keysAndValues[index], keysAndValues[index + 1]);
+        }
+        return map;
+    }
+
+    private static @Nullable String initial(final String word) {
+        return word.isEmpty() ? null : word.substring(0, 1);
+    }
+
+    private static @Nullable Integer remainder(final Integer number) {
+        final int remainder = number.intValue() % 3;
+        return remainder == 0 ? null : Integer.valueOf(remainder);
+    }
+
+    private static <TYPE, CONTAINER, RESULT> RESULT combine(final Collector<TYPE, CONTAINER, RESULT> collector,
+            final List<TYPE> left, final List<TYPE> right) {
+        final CONTAINER leftContainer = collector.supplier().get();
+        left.forEach(element -> collector.accumulator().accept(leftContainer, element));
+        final CONTAINER rightContainer = collector.supplier().get();
+        right.forEach(element -> collector.accumulator().accept(rightContainer, element));
+        return collector.finisher().apply(collector.combiner().apply(leftContainer, rightContainer));
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toList(NullHandling)}.
+     */
+    @Test
+    public final void shouldSkipNullElements() {
+        // given
+        final Stream<String> elements = Stream.of("first", null, "third");
+
+        // when
+        final List<String> list = elements.collect(NullsafeCollectors.toList(NullHandling.skip()));
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "third"), list);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toList(NullHandling)}.
+     */
+    @Test
+    public final void shouldReplaceNullElements() {
+        // given
+        final Stream<String> elements = Stream.of("first", null, "third");
+
+        // when
+        final List<String> list = elements.collect(NullsafeCollectors.toList(NullHandling.replaceWith("-")));
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "-", "third"), list);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toList(NullHandling)}.
+     */
+    @Test
+    public final void shouldFailOnNullElements() {
+        // given
+        final Stream<String> elements = Stream.of("first", null, "third");
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Got unexpected NULL element"));
+
+        // when
+        elements.collect(NullsafeCollectors.toList(NullHandling.fail()));
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toList(NullHandling, int)}.
+     */
+    @Test
+    public final void shouldCollectPresizedList() {
+        // given
+        final Stream<String> elements = Stream.of("first", null, "third");
+
+        // when
+        final List<String> list = elements.collect(NullsafeCollectors.toList(NullHandling.skip(), 3));
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "third"), list);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toList(NullHandling)}.
+     */
+    @Test
+    public final void shouldCombineLists() {
+        // given
+        final Collector<String, ?, List<String>> collector = NullsafeCollectors.toList(NullHandling.skip());
+
+        // when
+        final List<String> list = combine(collector, Arrays.asList("first", null), Arrays.asList("third"));
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "third"), list);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldSkipNullKeysAndValues() {
+        // given
+        final Stream<Entry<String, String>> entries = entries();
+
+        // when
+        final Map<String, String> map = entries
+                .collect(NullsafeCollectors.toMap(Entry::getKey, Entry::getValue, NullHandling.skip(),
+                        NullHandling.skip()));
+
+        // then
+        Assert.assertEquals(Collections.singletonMap("first", "1"), map);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldReplaceNullKeysAndValues() {
+        // given
+        final Stream<Entry<String, String>> entries = entries();
+
+        // when
+        final Map<String, String> map = entries.collect(NullsafeCollectors.toMap(Entry::getKey, Entry::getValue,
+                NullHandling.replaceWith("?"), NullHandling.replaceWith("-")));
+
+        // then
+        Assert.assertEquals(map("first", "1", "?", "2", "third", "-"), map);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldFailOnNullKeys() {
+        // given
+        final Stream<Entry<String, String>> entries = entries();
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Got unexpected NULL key"));
+
+        // when
+        entries.collect(
+                NullsafeCollectors.toMap(Entry::getKey, Entry::getValue, NullHandling.fail(), NullHandling.skip()));
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldFailOnNullValues() {
+        // given
+        final Stream<Entry<String, String>> entries = entries();
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Got unexpected NULL value"));
+
+        // when
+        entries.collect(
+                NullsafeCollectors.toMap(Entry::getKey, Entry::getValue, NullHandling.skip(), NullHandling.fail()));
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldFailOnDuplicateKeys() {
+        // given
+        final Stream<Entry<String, String>> entries = Stream.of(entry("first", "1"), entry("first", "2"));
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage(CoreMatchers.is("Duplicate key first"));
+
+        // when
+        entries.collect(
+                NullsafeCollectors.toMap(Entry::getKey, Entry::getValue, NullHandling.skip(), NullHandling.skip()));
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling, int)}.
+     */
+    @Test
+    public final void shouldCollectPresizedMap() {
+        // given
+        final Stream<Entry<String, String>> entries = entries();
+
+        // when
+        final Map<String, String> map = entries.collect(
+                NullsafeCollectors.toMap(Entry::getKey, Entry::getValue, NullHandling.skip(), NullHandling.skip(), 3));
+
+        // then
+        Assert.assertEquals(Collections.singletonMap("first", "1"), map);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldCombineMaps() {
+        // given
+        final Collector<Entry<String, String>, ?, Map<String, String>> collector = NullsafeCollectors
+                .toMap(Entry::getKey, Entry::getValue, NullHandling.skip(), NullHandling.skip());
+
+        // when
+        final Map<String, String> map = combine(collector, Arrays.asList(entry("first", "1")),
+                Arrays.asList(entry("second", "2")));
+
+        // then
+        Assert.assertEquals(map("first", "1", "second", "2"), map);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldFailOnDuplicateKeysWhenCombining() {
+        // given
+        final Collector<Entry<String, String>, ?, Map<String, String>> collector = NullsafeCollectors
+                .toMap(Entry::getKey, Entry::getValue, NullHandling.skip(), NullHandling.skip());
+
+        // then
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage(CoreMatchers.is("Duplicate key first"));
+
+        // when
+        combine(collector, Arrays.asList(entry("first", "1")), Arrays.asList(entry("first", "2")));
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toConcurrentMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldCollectConcurrentMap() {
+        // given
+        final Stream<Entry<String, String>> entries = entries();
+
+        // when
+        final ConcurrentMap<String, String> map = entries.parallel().collect(NullsafeCollectors
+                .toConcurrentMap(Entry::getKey, Entry::getValue, NullHandling.replaceWith("?"), NullHandling.skip()));
+
+        // then
+        Assert.assertEquals(map("first", "1", "?", "2"), map);
+        Assert.assertTrue(map instanceof ConcurrentHashMap);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toConcurrentMap(Function, Function, NullHandling, NullHandling)}.
+     */
+    @Test
+    public final void shouldDeclareConcurrentMapCollectorConcurrent() {
+        // given
+        final Function<String, String> identity = Function.identity();
+
+        // when
+        final Collector<String, ?, ConcurrentMap<String, String>> collector = NullsafeCollectors
+                .toConcurrentMap(identity, identity, NullHandling.skip(), NullHandling.skip());
+
+        // then
+        Assert.assertEquals(
+                EnumSet.of(Characteristics.CONCURRENT, Characteristics.UNORDERED, Characteristics.IDENTITY_FINISH),
+                collector.characteristics());
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toConcurrentMap(Function, Function, NullHandling, NullHandling, int)}.
+     */
+    @Test
+    public final void shouldCollectPresizedConcurrentMap() {
+        // given
+        final Stream<Integer> numbers = IntStream.range(0, 10000).boxed();
+
+        // when
+        final ConcurrentMap<Integer, Integer> map = numbers.parallel().collect(NullsafeCollectors.toConcurrentMap(
+                Function.identity(), Function.identity(), NullHandling.skip(), NullHandling.skip(), 10000));
+
+        // then
+        Assert.assertEquals(10000, map.size());
+        Assert.assertTrue(map instanceof ConcurrentHashMap);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#toConcurrentMap(Function, Function, NullHandling, NullHandling, int)}.
+     */
+    @Test
+    public final void shouldDeclarePresizedConcurrentMapCollectorConcurrent() {
+        // given
+        final Function<String, String> identity = Function.identity();
+
+        // when
+        final Collector<String, ?, ConcurrentMap<String, String>> collector = NullsafeCollectors
+                .toConcurrentMap(identity, identity, NullHandling.skip(), NullHandling.skip(), 1);
+
+        // then
+        Assert.assertEquals(
+                EnumSet.of(Characteristics.CONCURRENT, Characteristics.UNORDERED, Characteristics.IDENTITY_FINISH),
+                collector.characteristics());
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingBy(Function, NullHandling)}.
+     */
+    @Test
+    public final void shouldSkipNullGroups() {
+        // given
+        final Stream<String> words = Stream.of("apple", "avocado", "", "banana");
+
+        // when
+        final Map<String, List<String>> groups = words
+                .collect(NullsafeCollectors.groupingBy(NullsafeCollectorsTest::initial, NullHandling.skip()));
+
+        // then
+        Assert.assertEquals(map("a", Arrays.asList("apple", "avocado"), "b", Arrays.asList("banana")), groups);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingBy(Function, NullHandling)}.
+     */
+    @Test
+    public final void shouldReplaceNullGroups() {
+        // given
+        final Stream<String> words = Stream.of("apple", "avocado", "", "banana");
+
+        // when
+        final Map<String, List<String>> groups = words
+                .collect(NullsafeCollectors.groupingBy(NullsafeCollectorsTest::initial, NullHandling.replaceWith("?")));
+
+        // then
+        Assert.assertEquals(
+                map("a", Arrays.asList("apple", "avocado"), "?", Arrays.asList(""), "b", Arrays.asList("banana")),
+                groups);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingBy(Function, NullHandling)}.
+     */
+    @Test
+    public final void shouldFailOnNullGroups() {
+        // given
+        final Stream<String> words = Stream.of("apple", "avocado", "", "banana");
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Got unexpected NULL key"));
+
+        // when
+        words.collect(NullsafeCollectors.groupingBy(NullsafeCollectorsTest::initial, NullHandling.fail()));
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingBy(Function, NullHandling)}.
+     */
+    @Test
+    public final void shouldCombineGroups() {
+        // given
+        final Collector<String, ?, Map<String, List<String>>> collector = NullsafeCollectors
+                .groupingBy(NullsafeCollectorsTest::initial, NullHandling.skip());
+
+        // when
+        final Map<String, List<String>> groups = combine(collector, Arrays.asList("apple"),
+                Arrays.asList("avocado", "banana"));
+
+        // then
+        Assert.assertEquals(map("a", Arrays.asList("apple", "avocado"), "b", Arrays.asList("banana")), groups);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingBy(Function, NullHandling, int)}.
+     */
+    @Test
+    public final void shouldGroupIntoPresizedMap() {
+        // given
+        final Stream<String> words = Stream.of("apple", "avocado", "", "banana");
+
+        // when
+        final Map<String, List<String>> groups = words
+                .collect(NullsafeCollectors.groupingBy(NullsafeCollectorsTest::initial, NullHandling.skip(), 2));
+
+        // then
+        Assert.assertEquals(map("a", Arrays.asList("apple", "avocado"), "b", Arrays.asList("banana")), groups);
+        Assert.assertTrue(groups instanceof HashMap);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingByConcurrent(Function, NullHandling)}.
+     */
+    @Test
+    public final void shouldGroupConcurrently() {
+        // given
+        final Stream<Integer> numbers = IntStream.range(0, 10000).boxed();
+
+        // when
+        final ConcurrentMap<Integer, List<Integer>> groups = numbers.parallel().collect(NullsafeCollectors
+                .groupingByConcurrent(NullsafeCollectorsTest::remainder, NullHandling.skip()));
+
+        // then
+        Assert.assertEquals(2, groups.size());
+        Assert.assertEquals(3333, groups.get(Integer.valueOf(1)).size());
+        Assert.assertEquals(3333, groups.get(Integer.valueOf(2)).size());
+        Assert.assertTrue(groups instanceof ConcurrentHashMap);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingByConcurrent(Function, NullHandling, int)}.
+     */
+    @Test
+    public final void shouldGroupConcurrentlyIntoPresizedMap() {
+        // given
+        final Stream<Integer> numbers = IntStream.range(0, 10000).boxed();
+
+        // when
+        final ConcurrentMap<Integer, List<Integer>> groups = numbers.parallel().collect(NullsafeCollectors
+                .groupingByConcurrent(NullsafeCollectorsTest::remainder, NullHandling.skip(), 2));
+
+        // then
+        Assert.assertEquals(2, groups.size());
+        Assert.assertEquals(3333, groups.get(Integer.valueOf(1)).size());
+        Assert.assertEquals(3333, groups.get(Integer.valueOf(2)).size());
+        Assert.assertTrue(groups instanceof ConcurrentHashMap);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingByConcurrent(Function, NullHandling)}.
+     */
+    @Test
+    public final void shouldReplaceNullGroupsConcurrently() {
+        // given
+        final Stream<String> words = Stream.of("apple", "avocado", "", "banana");
+
+        // when
+        final Map<String, List<String>> groups = words.collect(NullsafeCollectors
+                .groupingByConcurrent(NullsafeCollectorsTest::initial, NullHandling.replaceWith("?")));
+
+        // then
+        Assert.assertEquals(
+                map("a", Arrays.asList("apple", "avocado"), "?", Arrays.asList(""), "b", Arrays.asList("banana")),
+                groups);
+    }
+
+    /**
+     * Test method for {@link NullsafeCollectors#groupingByConcurrent(Function, NullHandling)}.
+     */
+    @Test
+    public final void shouldCombineConcurrentGroups() {
+        // given
+        final Collector<String, ?, ConcurrentMap<String, List<String>>> collector = NullsafeCollectors
+                .groupingByConcurrent(NullsafeCollectorsTest::initial, NullHandling.skip());
+
+        // when
+        final Map<String, List<String>> groups = combine(collector, Arrays.asList("apple"),
+                Arrays.asList("avocado", "banana"));
+
+        // then
+        Assert.assertEquals(map("a", Arrays.asList("apple", "avocado"), "b", Arrays.asList("banana")), groups);
+        Assert.assertEquals(
+                EnumSet.of(Characteristics.CONCURRENT, Characteristics.UNORDERED, Characteristics.IDENTITY_FINISH),
+                collector.characteristics());
+    }
+
+    /**
+     * Test method for <code>NullsafeCollectors#capacity</code>.
+     */
+    @Test
+    public final void shouldComputeCapacityFor0() {
+        // given
+        final int expectedSize = 0;
+
+        // when
+        final int capacity = NullsafeCollectors.capacity(expectedSize);
+
+        // then
+        Assert.assertEquals(0, capacity);
+    }
+
+    /**
+     * Test method for <code>NullsafeCollectors#capacity</code>.
+     */
+    @Test
+    public final void shouldComputeCapacityFor3() {
+        // given
+        final int expectedSize = 3;
+
+        // when
+        final int capacity = NullsafeCollectors.capacity(expectedSize);
+
+        // then
+        Assert.assertEquals(4, capacity);
+    }
+
+    /**
+     * Test method for <code>NullsafeCollectors#capacity</code>.
+     */
+    @Test
+    public final void shouldComputeCapacityFor12() {
+        // given
+        final int expectedSize = 12;
+
+        // when
+        final int capacity = NullsafeCollectors.capacity(expectedSize);
+
+        // then
+        Assert.assertEquals(16, capacity);
+    }
+
+    /**
+     * Test method for <code>NullsafeCollectors#capacity</code>.
+     */
+    @Test
+    public final void shouldComputeCapacityFor13() {
+        // given
+        final int expectedSize = 13;
+
+        // when
+        final int capacity = NullsafeCollectors.capacity(expectedSize);
+
+        // then
+        Assert.assertEquals(18, capacity);
+    }
+
+    /**
+     * Ensures that the constructor of the {@link NullsafeCollectors} class is private.
+     *
+     * @throws NoSuchMethodException
+     *             Should not fail in case the class has a constructor.
+     * @throws IllegalAccessException
+     *             Should not fail in case the class has a constructor.
+     * @throws InvocationTargetException
+     *             Should not fail in case the class has a constructor.
+     * @throws InstantiationException
+     *             Should not fail in case the class has a constructor.
+     */
+    @Test
+    public void shouldDeclarePrivateConstructor()
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // given
+        final Constructor<NullsafeCollectors> constructor = NullsafeCollectors.class.getDeclaredConstructor();
+
+        // when
+        final boolean isPrivate = Modifier.isPrivate(constructor.getModifiers());
+
+        // then
+        Assert.assertTrue("Constructor is not private", isPrivate);
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+}
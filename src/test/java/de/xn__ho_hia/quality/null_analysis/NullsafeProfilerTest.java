@@ -0,0 +1,459 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.xn__ho_hia.quality.callers.Callers;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullsafeProfilerTest {
+
+    private static final StackTraceElement CALLER = new StackTraceElement("Caller", "call", "Caller.java", 1);
+    private static final String LOCATION = Callers.class.getName() + ".run(";
+
+    /**
+     * Starts each test with an empty profiler that samples every event.
+     */
+    @Before
+    public final void enable() {
+        NullsafeProfiler.instance().reset();
+        NullsafeProfiler.instance().setSamplingRate(1);
+    }
+
+    /**
+     * Leaves a disabled, empty profiler for other tests.
+     */
+    @After
+    public final void disable() {
+        NullsafeProfiler.instance().setSamplingRate(0);
+        NullsafeProfiler.instance().reset();
+    }
+
+    private static NullsafeProfiler profiler(final int capacity) {
+        final NullsafeProfiler profiler = new NullsafeProfiler(() -> CALLER, capacity);
+        profiler.setSamplingRate(1);
+        return profiler;
+    }
+
+    /**
+     * Test method for {@link NullsafeProfiler#getSamplingRate()}.
+     */
+    @Test
+    public final void shouldBeDisabledByDefault() {
+        // given
+        final NullsafeProfiler profiler = new NullsafeProfiler(() -> CALLER, 1);
+
+        // when
+        final int samplingRate = profiler.getSamplingRate();
+
+        // then
+        Assert.assertEquals(0, samplingRate);
+    }
+
+    /**
+     * Test method for {@link NullsafeProfiler#getSamplingRate()}.
+     */
+    @Test
+    public final void shouldReadSamplingRateFromSystemProperty() {
+        // given
+        System.setProperty(NullsafeProfiler.SYSTEM_PROPERTY, "100");
+
+        // when
+        final NullsafeProfiler profiler = new NullsafeProfiler(() -> CALLER, 1);
+
+        // then
+        System.clearProperty(NullsafeProfiler.SYSTEM_PROPERTY);
+        Assert.assertEquals(100, profiler.getSamplingRate());
+    }
+
+    /**
+     * Test method for {@link NullsafeProfiler#setSamplingRate(int)}.
+     */
+    @Test
+    public final void shouldChangeSamplingRate() {
+        // given
+        final NullsafeProfiler profiler = NullsafeProfiler.instance();
+
+        // when
+        profiler.setSamplingRate(10);
+
+        // then
+        Assert.assertEquals(10, profiler.getSamplingRate());
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#sample</code>.
+     */
+    @Test
+    public final void shouldSampleEveryEvent() {
+        // given
+        final NullsafeProfiler profiler = profiler(1);
+
+        // when
+        profiler.sample("nonNull");
+        profiler.sample("nonNull");
+
+        // then
+        Assert.assertEquals("2\tnonNull <- Caller.call(Caller.java:1)\n", profiler.report());
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#sample</code>.
+     */
+    @Test
+    public final void shouldSampleSomeEvents() {
+        // given
+        final NullsafeProfiler profiler = profiler(1);
+        profiler.setSamplingRate(2);
+
+        // when
+        for (int index = 0; index < 1000; index++) {
+            profiler.sample("nonNull");
+        }
+
+        // then
+        final long samples = Long.parseLong(profiler.report().split("\t")[0]);
+        Assert.assertTrue(samples > 0 && samples < 1000);
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#sample</code>.
+     */
+    @Test
+    public final void shouldNotSampleWhenDisabled() {
+        // given
+        final NullsafeProfiler profiler = profiler(1);
+        profiler.setSamplingRate(0);
+
+        // when
+        profiler.sample("nonNull");
+
+        // then
+        Assert.assertEquals("", profiler.report());
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#sample</code>.
+     */
+    @Test
+    public final void shouldNotSampleWithNegativeRate() {
+        // given
+        final NullsafeProfiler profiler = profiler(1);
+        profiler.setSamplingRate(-1);
+
+        // when
+        profiler.sample("nonNull");
+
+        // then
+        Assert.assertEquals("", profiler.report());
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#sample</code>.
+     */
+    @Test
+    public final void shouldSampleUnknownCaller() {
+        // given
+        final NullsafeProfiler profiler = new NullsafeProfiler(() -> null, 1);
+        profiler.setSamplingRate(1);
+
+        // when
+        profiler.sample("ensureList");
+
+        // then
+        Assert.assertEquals("1\tensureList <- unknown\n", profiler.report());
+    }
+
+    /**
+     * Test method for {@link NullsafeProfiler#report()}.
+     */
+    @Test
+    public final void shouldRankByNumberOfSamples() {
+        // given
+        final NullsafeProfiler profiler = profiler(10);
+
+        // when
+        profiler.record("rare");
+        profiler.record("frequent");
+        profiler.record("frequent");
+
+        // then
+        Assert.assertEquals("2\tfrequent\n1\trare\n", profiler.report());
+    }
+
+    /**
+     * Test method for {@link NullsafeProfiler#report()}.
+     */
+    @Test
+    public final void shouldRankEqualCallSitesByName() {
+        // given
+        final NullsafeProfiler profiler = profiler(10);
+
+        // when
+        profiler.record("second");
+        profiler.record("first");
+
+        // then
+        Assert.assertEquals("1\tfirst\n1\tsecond\n", profiler.report());
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#record</code>.
+     */
+    @Test
+    public final void shouldSeparateCollidingCallSites() {
+        // given
+        final NullsafeProfiler profiler = profiler(10);
+
+        // when
+        profiler.record("Aa");
+        profiler.record("BB");
+        profiler.record("Aa");
+
+        // then
+        Assert.assertEquals("2\tAa\n1\tBB\n", profiler.report());
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#record</code>.
+     */
+    @Test
+    public final void shouldDropCallSitesBeyondCapacity() {
+        // given
+        final NullsafeProfiler profiler = profiler(2);
+
+        // when
+        profiler.record("first");
+        profiler.record("second");
+        profiler.record("third");
+        profiler.record("third");
+        profiler.record("first");
+
+        // then
+        Assert.assertEquals("2\tfirst\n1\tsecond\n2\tdropped\n", profiler.report());
+    }
+
+    /**
+     * Test method for <code>NullsafeProfiler#record</code>.
+     */
+    @Test
+    public final void shouldHoldSingleCallSite() {
+        // given
+        final NullsafeProfiler profiler = profiler(1);
+
+        // when
+        profiler.record("first");
+        profiler.record("second");
+
+        // then
+        Assert.assertEquals("1\tfirst\n1\tdropped\n", profiler.report());
+    }
+
+    /**
+     * Test method for {@link NullsafeProfiler#reset()}.
+     */
+    @Test
+    public final void shouldReset() {
+        // given
+        final NullsafeProfiler profiler = profiler(1);
+        profiler.record("first");
+        profiler.record("second");
+
+        // when
+        profiler.reset();
+        profiler.record("third");
+
+        // then
+        Assert.assertEquals("1\tthird\n", profiler.report());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object)}.
+     */
+    @Test
+    public final void shouldSampleNonNull() {
+        // given
+        final Object reference = null;
+
+        // when
+        try {
+            Callers.run(() -> Nullsafe.nonNull(reference));
+        } catch (final IllegalArgumentException exception) {
+            // expected
+        }
+
+        // then
+        Assert.assertTrue(NullsafeProfiler.instance().report().startsWith("1\tnonNull <- " + LOCATION));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullOrThrow(Object, java.util.function.Supplier)}.
+     */
+    @Test
+    public final void shouldSampleNonNullOrThrow() {
+        // given
+        final Object reference = null;
+
+        // when
+        try {
+            Callers.run(() -> Nullsafe.nonNullOrThrow(reference, IllegalStateException::new));
+        } catch (final IllegalStateException exception) {
+            // expected
+        }
+
+        // then
+        Assert.assertTrue(NullsafeProfiler.instance().report().startsWith("1\tnonNullOrThrow <- " + LOCATION));
+    }
+
+    /**
+     * Test method for {@link FailurePolicy#nonNull(Object, String)}.
+     */
+    @Test
+    public final void shouldSampleFailurePolicy() {
+        // given
+        final Object reference = null;
+
+        // when
+        try {
+            Callers.run(() -> FailurePolicy.STACKLESS.nonNull(reference, "message"));
+        } catch (final IllegalArgumentException exception) {
+            // expected
+        }
+
+        // then
+        Assert.assertTrue(NullsafeProfiler.instance().report().startsWith("1\tnonNull <- " + LOCATION));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#sumNullsafe(java.util.Collection, NullPolicy)},
+     * {@link Nullsafe#productNullsafe(java.util.Collection, NullPolicy)},
+     * {@link Nullsafe#minNullsafe(java.util.Collection, NullPolicy)} and
+     * {@link Nullsafe#maxNullsafe(java.util.Collection, NullPolicy)}.
+     */
+    @Test
+    public final void shouldSampleFailedReductions() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.ONE, null);
+        final List<Runnable> reductions = Arrays.asList(() -> Nullsafe.sumNullsafe(values, NullPolicy.FAIL),
+                () -> Nullsafe.productNullsafe(values, NullPolicy.FAIL),
+                () -> Nullsafe.minNullsafe(values, NullPolicy.FAIL),
+                () -> Nullsafe.maxNullsafe(values, NullPolicy.FAIL));
+
+        // when
+        for (final Runnable reduction : reductions) {
+            try {
+                Callers.run(reduction::run);
+            } catch (final IllegalArgumentException exception) {
+                // expected
+            }
+        }
+
+        // then
+        final String report = NullsafeProfiler.instance().report();
+        Assert.assertThat(report, CoreMatchers.containsString("1\tsumNullsafe <- " + LOCATION));
+        Assert.assertThat(report, CoreMatchers.containsString("1\tproductNullsafe <- " + LOCATION));
+        Assert.assertThat(report, CoreMatchers.containsString("1\tminNullsafe <- " + LOCATION));
+        Assert.assertThat(report, CoreMatchers.containsString("1\tmaxNullsafe <- " + LOCATION));
+    }
+
+    /**
+     * Test method for {@link NullableLongColumn#count(NullPolicy)},
+     * {@link NullableLongColumn#sum(NullPolicy, boolean)}, {@link NullableLongColumn#min(NullPolicy, boolean)} and
+     * {@link NullableLongColumn#max(NullPolicy, boolean)}.
+     */
+    @Test
+    public final void shouldSampleFailedColumnAggregates() {
+        // given
+        final NullableLongColumn column = NullableLongColumn.of(Arrays.asList(Long.valueOf(1), null));
+        final List<Runnable> aggregates = Arrays.asList(() -> column.count(NullPolicy.FAIL),
+                () -> column.sum(NullPolicy.FAIL, false), () -> column.min(NullPolicy.FAIL, false),
+                () -> column.max(NullPolicy.FAIL, false));
+
+        // when
+        for (final Runnable aggregate : aggregates) {
+            try {
+                Callers.run(aggregate::run);
+            } catch (final IllegalArgumentException exception) {
+                // expected
+            }
+        }
+
+        // then
+        final String report = NullsafeProfiler.instance().report();
+        Assert.assertThat(report, CoreMatchers.containsString("1\tcount <- " + LOCATION));
+        Assert.assertThat(report, CoreMatchers.containsString("1\tsum <- " + LOCATION));
+        Assert.assertThat(report, CoreMatchers.containsString("1\tmin <- " + LOCATION));
+        Assert.assertThat(report, CoreMatchers.containsString("1\tmax <- " + LOCATION));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureList(List)}.
+     */
+    @Test
+    public final void shouldSampleFallback() {
+        // given
+        final List<Object> list = null;
+
+        // when
+        Callers.run(() -> Nullsafe.ensureList(list));
+
+        // then
+        Assert.assertTrue(NullsafeProfiler.instance().report().startsWith("1\tensureList <- " + LOCATION));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureList(List)}.
+     */
+    @Test
+    public final void shouldNotSampleNonNullValues() {
+        // given
+        final List<Object> list = new ArrayList<>();
+
+        // when
+        Nullsafe.ensureList(list);
+
+        // then
+        Assert.assertEquals("", NullsafeProfiler.instance().report());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Collection)}, {@link Nullsafe#isNullOrEmpty(Map)},
+     * {@link Nullsafe#isNullOrEmpty(String)} and {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldNotSampleNullPredicates() {
+        // given
+        final Collection<Object> collection = null;
+        final Map<Object, Object> map = null;
+        final String string = null;
+
+        // when
+        Nullsafe.isNullOrEmpty(collection);
+        Nullsafe.isNullOrEmpty(map);
+        Nullsafe.isNullOrEmpty(string);
+        Nullsafe.isNullOrBlank(string);
+
+        // then
+        Assert.assertEquals("", NullsafeProfiler.instance().report());
+    }
+
+}
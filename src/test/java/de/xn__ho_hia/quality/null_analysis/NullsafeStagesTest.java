@@ -0,0 +1,271 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import org.hamcrest.CoreMatchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullsafeStagesTest {
+
+    /** Captures expected exceptions during tests. */
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Test method for {@link NullsafeStages#nonNull(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldApplyFunctionToNonNullValue() {
+        // given
+        final CompletableFuture<String> legacy = CompletableFuture.completedFuture("value");
+
+        // when
+        final CompletableFuture<Integer> result = legacy.thenApply(NullsafeStages.nonNull(String::length));
+
+        // then
+        Assert.assertEquals(Integer.valueOf(5), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#nonNull(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldCompleteExceptionallyForNullValue() {
+        // given
+        final CompletableFuture<String> legacy = CompletableFuture.completedFuture(null);
+
+        // when
+        final CompletableFuture<Integer> result = legacy.thenApply(NullsafeStages.nonNull(String::length));
+        thrown.expect(CompletionException.class);
+        thrown.expectCause(CoreMatchers.instanceOf(IllegalArgumentException.class));
+
+        // then
+        result.join();
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#nonNull(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldCompleteCallersStageExceptionally() {
+        // given
+        final CompletableFuture<String> legacy = new CompletableFuture<>();
+        final CompletableFuture<Integer> result = legacy.thenApply(NullsafeStages.nonNull(String::length));
+
+        // when
+        final int dependents = legacy.getNumberOfDependents();
+        legacy.complete(null);
+
+        // then
+        Assert.assertEquals(1, dependents);
+        Assert.assertTrue(result.isCompletedExceptionally());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#ensureList(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldPassList() {
+        // given
+        final List<String> list = Arrays.asList("first", "second");
+
+        // when
+        final CompletableFuture<Integer> result = CompletableFuture.completedFuture(list)
+                .thenApply(NullsafeStages.ensureList(List::size));
+
+        // then
+        Assert.assertEquals(Integer.valueOf(2), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#ensureList(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldPassEmptyListInPlaceOfNull() {
+        // given
+        final CompletableFuture<List<String>> legacy = CompletableFuture.completedFuture(null);
+
+        // when
+        final CompletableFuture<List<String>> result = legacy.thenApply(NullsafeStages.ensureList(list -> list));
+
+        // then
+        Assert.assertEquals(Collections.emptyList(), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#ensureSet(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldPassEmptySetInPlaceOfNull() {
+        // given
+        final CompletableFuture<Set<String>> legacy = CompletableFuture.completedFuture(null);
+
+        // when
+        final CompletableFuture<Set<String>> result = legacy.thenApply(NullsafeStages.ensureSet(set -> set));
+
+        // then
+        Assert.assertEquals(Collections.emptySet(), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#ensureSet(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldPassSet() {
+        // given
+        final Set<String> set = Collections.singleton("value");
+
+        // when
+        final CompletableFuture<Set<String>> result = CompletableFuture.completedFuture(set)
+                .thenApply(NullsafeStages.ensureSet(value -> value));
+
+        // then
+        Assert.assertSame(set, result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#ensureMap(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldPassEmptyMapInPlaceOfNull() {
+        // given
+        final CompletableFuture<Map<String, String>> legacy = CompletableFuture.completedFuture(null);
+
+        // when
+        final CompletableFuture<Map<String, String>> result = legacy.thenApply(NullsafeStages.ensureMap(map -> map));
+
+        // then
+        Assert.assertEquals(Collections.emptyMap(), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#ensureMap(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldPassMap() {
+        // given
+        final Map<String, String> map = Collections.singletonMap("key", "value");
+
+        // when
+        final CompletableFuture<Map<String, String>> result = CompletableFuture.completedFuture(map)
+                .thenApply(NullsafeStages.ensureMap(value -> value));
+
+        // then
+        Assert.assertSame(map, result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#safelyStream(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldStreamEmptyCollectionInPlaceOfNull() {
+        // given
+        final CompletableFuture<Collection<String>> legacy = CompletableFuture.completedFuture(null);
+
+        // when
+        final CompletableFuture<Long> result = legacy.thenApply(NullsafeStages.safelyStream(Stream::count));
+
+        // then
+        Assert.assertEquals(Long.valueOf(0), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#safelyStream(java.util.function.Function)}.
+     */
+    @Test
+    public final void shouldStreamCollection() {
+        // given
+        final CompletableFuture<Collection<String>> legacy = CompletableFuture
+                .completedFuture(Arrays.asList("first", null));
+
+        // when
+        final CompletableFuture<Long> result = legacy.thenApply(NullsafeStages.safelyStream(Stream::count));
+
+        // then
+        Assert.assertEquals(Long.valueOf(2), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#safelyStream(java.util.function.Function, boolean)}.
+     */
+    @Test
+    public final void shouldStreamCollectionWithoutNulls() {
+        // given
+        final CompletableFuture<Collection<String>> legacy = CompletableFuture
+                .completedFuture(Arrays.asList("first", null));
+
+        // when
+        final CompletableFuture<Long> result = legacy.thenApply(NullsafeStages.safelyStream(Stream::count, true));
+
+        // then
+        Assert.assertEquals(Long.valueOf(1), result.join());
+    }
+
+    /**
+     * Test method for {@link NullsafeStages#safelyStream(java.util.function.Function, boolean)}.
+     */
+    @Test
+    public final void shouldStreamCollectionWithNulls() {
+        // given
+        final CompletableFuture<Collection<String>> legacy = CompletableFuture
+                .completedFuture(Arrays.asList("first", null));
+
+        // when
+        final CompletableFuture<Long> result = legacy.thenApply(NullsafeStages.safelyStream(Stream::count, false));
+
+        // then
+        Assert.assertEquals(Long.valueOf(2), result.join());
+    }
+
+    /**
+     * Ensures that the constructor of the {@link NullsafeStages} class is private.
+     *
+     * @throws NoSuchMethodException
+     *             Should not fail in case the class has a constructor.
+     * @throws IllegalAccessException
+     *             Should not fail in case the class has a constructor.
+     * @throws InvocationTargetException
+     *             Should not fail in case the class has a constructor.
+     * @throws InstantiationException
+     *             Should not fail in case the class has a constructor.
+     */
+    @Test
+    public void shouldDeclarePrivateConstructor()
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        // given
+        final Constructor<NullsafeStages> constructor = NullsafeStages.class.getDeclaredConstructor();
+
+        // when
+        final boolean isPrivate = Modifier.isPrivate(constructor.getModifiers());
+
+        // then
+        Assert.assertTrue("Constructor is not private", isPrivate);
+        constructor.setAccessible(true);
+        constructor.newInstance();
+    }
+
+}
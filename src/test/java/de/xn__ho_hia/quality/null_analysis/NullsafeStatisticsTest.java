@@ -0,0 +1,386 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class NullsafeStatisticsTest {
+
+    /**
+     * Starts each test with enabled, empty statistics.
+     */
+    @Before
+    public final void enable() {
+        NullsafeStatistics.instance().reset();
+        NullsafeStatistics.instance().setEnabled(true);
+    }
+
+    /**
+     * Leaves disabled, empty statistics for other tests.
+     */
+    @After
+    public final void disable() {
+        NullsafeStatistics.instance().setEnabled(false);
+        NullsafeStatistics.instance().reset();
+    }
+
+    private static long hits(final String method) {
+        return NullsafeStatistics.instance().getHits().get(method).longValue();
+    }
+
+    private static long fallbacks(final String method) {
+        return NullsafeStatistics.instance().getFallbacks().get(method).longValue();
+    }
+
+    private static MBeanServer failingServer(final boolean registered) {
+        return (MBeanServer) Proxy.newProxyInstance(MBeanServer.class.getClassLoader(),
+                new Class<?>[] { MBeanServer.class }, (proxy, method, arguments) -> {
+                    if ("isRegistered".equals(method.getName())) {
+                        return Boolean.valueOf(registered);
+                    }
+                    if ("registerMBean".equals(method.getName())) {
+                        throw new InstanceAlreadyExistsException();
+                    }
+                    throw new InstanceNotFoundException();
+                });
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureList(List)}.
+     */
+    @Test
+    public final void shouldCountEnsureList() {
+        // given
+        final List<Object> list = new ArrayList<>();
+
+        // when
+        Nullsafe.ensureList(list);
+        Nullsafe.ensureList(null);
+        Nullsafe.ensureList(null);
+
+        // then
+        Assert.assertEquals(1, hits("ensureList"));
+        Assert.assertEquals(2, fallbacks("ensureList"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureSet(Set)}.
+     */
+    @Test
+    public final void shouldCountEnsureSet() {
+        // given
+        final Set<Object> set = new HashSet<>();
+
+        // when
+        Nullsafe.ensureSet(set);
+        Nullsafe.ensureSet(null);
+
+        // then
+        Assert.assertEquals(1, hits("ensureSet"));
+        Assert.assertEquals(1, fallbacks("ensureSet"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureMap(Map)}.
+     */
+    @Test
+    public final void shouldCountEnsureMap() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+
+        // when
+        Nullsafe.ensureMap(map);
+        Nullsafe.ensureMap(null);
+
+        // then
+        Assert.assertEquals(1, hits("ensureMap"));
+        Assert.assertEquals(1, fallbacks("ensureMap"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStream(java.util.Collection)}.
+     */
+    @Test
+    public final void shouldCountSafelyStreamOfCollections() {
+        // given
+        final List<Object> list = new ArrayList<>();
+
+        // when
+        Nullsafe.safelyStream(list);
+        Nullsafe.safelyStream((List<Object>) null);
+
+        // then
+        Assert.assertEquals(1, hits("safelyStream"));
+        Assert.assertEquals(1, fallbacks("safelyStream"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStream(Object[])}.
+     */
+    @Test
+    public final void shouldCountSafelyStreamOfOtherSources() {
+        // given
+        final Object[] array = new Object[0];
+
+        // when
+        Nullsafe.safelyStream(array);
+        Nullsafe.safelyStream((Object[]) null);
+
+        // then
+        Assert.assertEquals(1, hits("safelyStream"));
+        Assert.assertEquals(1, fallbacks("safelyStream"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(java.util.Collection)}.
+     */
+    @Test
+    public final void shouldCountIsNullOrEmptyOfCollections() {
+        // given
+        final List<Object> list = new ArrayList<>();
+
+        // when
+        Nullsafe.isNullOrEmpty(list);
+        Nullsafe.isNullOrEmpty((List<Object>) null);
+
+        // then
+        Assert.assertEquals(1, hits("isNullOrEmpty"));
+        Assert.assertEquals(1, fallbacks("isNullOrEmpty"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Map)}.
+     */
+    @Test
+    public final void shouldCountIsNullOrEmptyOfMaps() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+
+        // when
+        Nullsafe.isNullOrEmpty(map);
+        Nullsafe.isNullOrEmpty((Map<Object, Object>) null);
+
+        // then
+        Assert.assertEquals(1, hits("isNullOrEmpty"));
+        Assert.assertEquals(1, fallbacks("isNullOrEmpty"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(String)}.
+     */
+    @Test
+    public final void shouldCountIsNullOrEmptyOfStrings() {
+        // given
+        final String string = "";
+
+        // when
+        Nullsafe.isNullOrEmpty(string);
+        Nullsafe.isNullOrEmpty((String) null);
+
+        // then
+        Assert.assertEquals(1, hits("isNullOrEmpty"));
+        Assert.assertEquals(1, fallbacks("isNullOrEmpty"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldCountIsNullOrBlank() {
+        // given
+        final String string = " ";
+
+        // when
+        Nullsafe.isNullOrBlank(string);
+        Nullsafe.isNullOrBlank(null);
+
+        // then
+        Assert.assertEquals(1, hits("isNullOrBlank"));
+        Assert.assertEquals(1, fallbacks("isNullOrBlank"));
+    }
+
+    /**
+     * Test method for {@link NullsafeStatistics#setEnabled(boolean)}.
+     */
+    @Test
+    public final void shouldNotCountWhileDisabled() {
+        // given
+        NullsafeStatistics.instance().setEnabled(false);
+
+        // when
+        Nullsafe.ensureList(null);
+
+        // then
+        Assert.assertFalse(NullsafeStatistics.instance().isEnabled());
+        Assert.assertEquals(0, fallbacks("ensureList"));
+    }
+
+    /**
+     * Test method for <code>NullsafeStatistics#record</code>.
+     */
+    @Test
+    public final void shouldRecordHitsAndFallbacks() {
+        // given
+        final NullsafeStatistics statistics = new NullsafeStatistics();
+
+        // when
+        statistics.record(NullsafeStatistics.ENSURE_SET, false);
+        statistics.record(NullsafeStatistics.IS_NULL_OR_EMPTY, true);
+
+        // then
+        Assert.assertEquals(Long.valueOf(1), statistics.getHits().get("ensureSet"));
+        Assert.assertEquals(Long.valueOf(0), statistics.getFallbacks().get("ensureSet"));
+        Assert.assertEquals(Long.valueOf(1), statistics.getFallbacks().get("isNullOrEmpty"));
+    }
+
+    /**
+     * Test method for {@link NullsafeStatistics#reset()}.
+     */
+    @Test
+    public final void shouldResetCounters() {
+        // given
+        Nullsafe.ensureList(null);
+        Nullsafe.ensureMap(new HashMap<>());
+
+        // when
+        NullsafeStatistics.instance().reset();
+
+        // then
+        Assert.assertEquals(0, fallbacks("ensureList"));
+        Assert.assertEquals(0, hits("ensureMap"));
+    }
+
+    /**
+     * Test method for {@link NullsafeStatistics#getHits()}.
+     */
+    @Test
+    public final void shouldListAllInstrumentedMethods() {
+        // given
+        final NullsafeStatistics statistics = NullsafeStatistics.instance();
+
+        // when
+        final Map<String, Long> hits = statistics.getHits();
+
+        // then
+        Assert.assertEquals("ensureList,ensureSet,ensureMap,safelyStream,isNullOrEmpty,isNullOrBlank", String.join(",", hits.keySet()));
+    }
+
+    /**
+     * Test method for <code>NullsafeStatistics#NullsafeStatistics</code>.
+     */
+    @Test
+    public final void shouldEnableThroughSystemProperty() {
+        // given
+        System.setProperty(NullsafeStatistics.SYSTEM_PROPERTY, "true");
+
+        try {
+            // when
+            final NullsafeStatistics statistics = new NullsafeStatistics();
+
+            // then
+            Assert.assertTrue(statistics.isEnabled());
+        } finally {
+            System.clearProperty(NullsafeStatistics.SYSTEM_PROPERTY);
+        }
+    }
+
+    /**
+     * Test method for <code>NullsafeStatistics#NullsafeStatistics</code>.
+     */
+    @Test
+    public final void shouldBeDisabledByDefault() {
+        // given
+        System.clearProperty(NullsafeStatistics.SYSTEM_PROPERTY);
+
+        // when
+        final NullsafeStatistics statistics = new NullsafeStatistics();
+
+        // then
+        Assert.assertFalse(statistics.isEnabled());
+    }
+
+    /**
+     * Test method for {@link NullsafeStatistics#register()}.
+     *
+     * @throws JMException
+     *             In case the MBean cannot be read
+     */
+    @Test
+    public final void shouldPublishThroughJmx() throws JMException {
+        // given
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(NullsafeStatistics.OBJECT_NAME);
+        Nullsafe.ensureList(null);
+
+        try {
+            // when
+            NullsafeStatistics.register();
+            NullsafeStatistics.register();
+
+            // then
+            Assert.assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+            Assert.assertNotNull(server.getAttribute(name, "Fallbacks"));
+        } finally {
+            NullsafeStatistics.unregister();
+            NullsafeStatistics.unregister();
+        }
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    /**
+     * Test method for <code>NullsafeStatistics#register</code>.
+     */
+    @Test(expected = IllegalStateException.class)
+    public final void shouldFailToRegister() {
+        // given
+        final MBeanServer server = failingServer(false);
+
+        // when
+        NullsafeStatistics.register(server);
+
+        // then
+        Assert.fail("Registered with failing server");
+    }
+
+    /**
+     * Test method for <code>NullsafeStatistics#unregister</code>.
+     */
+    @Test(expected = IllegalStateException.class)
+    public final void shouldFailToUnregister() {
+        // given
+        final MBeanServer server = failingServer(true);
+
+        // when
+        NullsafeStatistics.unregister(server);
+
+        // then
+        Assert.fail("Unregistered from failing server");
+    }
+
+}
@@ -6,19 +6,34 @@
  */
 package de.xn__ho_hia.quality.null_analysis;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.math.BigInteger;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import jdk.jfr.consumer.RecordedEvent;
+
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.hamcrest.CoreMatchers;
@@ -89,6 +104,145 @@ public class NullsafeTest {
         Nullsafe.nonNull(test, errorMessage);
     }
 
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object, Supplier)}.
+     */
+    @Test
+    public final void shouldNotCallMessageSupplierForNonNullReference() {
+        // given
+        @Nullable
+        final Object test = "unit test";
+
+        // when
+        @NonNull
+        final Object nonNullObject = Nullsafe.nonNull(test, () -> {
+            throw new AssertionError("message supplier called");
+        });
+
+        // then
+        Assert.assertSame(test, nonNullObject);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object, Supplier)}.
+     */
+    @Test
+    public final void shouldShowSuppliedErrorMessage() {
+        // given
+        @Nullable
+        final Object test = null;
+        final String errorMessage = "this is a problem";
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is(errorMessage));
+
+        // then
+        Nullsafe.nonNull(test, () -> errorMessage);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object, String, Object)}.
+     */
+    @Test
+    public final void shouldReturnReferenceForTemplateMessage() {
+        // given
+        @Nullable
+        final Object test = "unit test";
+
+        // when
+        @NonNull
+        final Object nonNullObject = Nullsafe.nonNull(test, "%s is missing", "test");
+
+        // then
+        Assert.assertSame(test, nonNullObject);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object, String, Object)}.
+     */
+    @Test
+    public final void shouldShowFormattedErrorMessage() {
+        // given
+        @Nullable
+        final Object test = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("test is missing"));
+
+        // then
+        Nullsafe.nonNull(test, "%s is missing", "test");
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object, String, Object, Object)}.
+     */
+    @Test
+    public final void shouldReturnReferenceForTwoArgumentTemplateMessage() {
+        // given
+        @Nullable
+        final Object test = "unit test";
+
+        // when
+        @NonNull
+        final Object nonNullObject = Nullsafe.nonNull(test, "%s of %s is missing", "test", "unit");
+
+        // then
+        Assert.assertSame(test, nonNullObject);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object, String, Object, Object)}.
+     */
+    @Test
+    public final void shouldShowFormattedTwoArgumentErrorMessage() {
+        // given
+        @Nullable
+        final Object test = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("test of unit is missing"));
+
+        // then
+        Nullsafe.nonNull(test, "%s of %s is missing", "test", "unit");
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullOrThrow(Object, Supplier)}.
+     */
+    @Test
+    public final void shouldReturnReferenceInsteadOfSuppliedException() {
+        // given
+        @Nullable
+        final Object test = "unit test";
+
+        // when
+        @NonNull
+        final Object nonNullObject = Nullsafe.nonNullOrThrow(test, IllegalStateException::new);
+
+        // then
+        Assert.assertSame(test, nonNullObject);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullOrThrow(Object, Supplier)}.
+     */
+    @Test
+    public final void shouldThrowSuppliedException() {
+        // given
+        @Nullable
+        final Object test = null;
+
+        // when
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage(CoreMatchers.is("this is a problem"));
+
+        // then
+        Nullsafe.nonNullOrThrow(test, () -> new IllegalStateException("this is a problem"));
+    }
+
     /**
      * Test method for {@link Nullsafe#safelyStream(Collection)}.
      */
@@ -124,359 +278,2982 @@ public class NullsafeTest {
     }
 
     /**
-     * Test method for {@link Nullsafe#ensureList(List)}.
+     * Test method for {@link Nullsafe#safelyStream(Collection, boolean)}.
      */
     @Test
-    public final void shouldEnsureList() {
+    public final void shouldSafelyStreamCollectionWithoutNulls() {
         // given
-        @Nullable
-        final List<Object> list = null;
+        final Collection<Object> collection = Arrays.asList("first", null, "second");
 
         // when
         @NonNull
-        final List<Object> nonNullList = Nullsafe.ensureList(list);
+        final Stream<Object> stream = Nullsafe.safelyStream(collection, true);
 
         // then
-        Assert.assertNotNull(nonNullList);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#ensureList(List)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Collection)}.
      */
     @Test
-    public final void shouldEnsureNonNullList() {
+    public final void shouldSafelyParallelStreamCollection() {
         // given
-        @Nullable
-        final List<Object> list = new ArrayList<>(1);
+        final Collection<Object> collection = Arrays.asList("first", null, "second");
 
         // when
         @NonNull
-        final List<Object> nonNullList = Nullsafe.ensureList(list);
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(collection);
 
         // then
-        Assert.assertNotNull(nonNullList);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", null, "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#ensureSet(Set)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Collection, boolean)}.
      */
     @Test
-    public final void shouldEnsureSet() {
+    public final void shouldSafelyParallelStreamCollectionWithoutNulls() {
         // given
-        @Nullable
-        final Set<Object> set = null;
+        final Collection<Object> collection = Arrays.asList("first", null, "second");
 
         // when
         @NonNull
-        final Set<Object> nonNullSet = Nullsafe.ensureSet(set);
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(collection, true);
 
         // then
-        Assert.assertNotNull(nonNullSet);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#ensureSet(Set)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Collection, boolean)}.
      */
     @Test
-    public final void shouldEnsureNonNullSet() {
+    public final void shouldSafelyParallelStreamNullCollection() {
         // given
         @Nullable
-        final Set<Object> set = new HashSet<>(1);
+        final Collection<Object> collection = null;
 
         // when
         @NonNull
-        final Set<Object> nonNullSet = Nullsafe.ensureSet(set);
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(collection, true);
 
         // then
-        Assert.assertNotNull(nonNullSet);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(0, stream.count());
     }
 
     /**
-     * Test method for {@link Nullsafe#ensureMap(Map)}.
+     * Test method for {@link Nullsafe#safelyStream(Object[])}.
      */
     @Test
-    public final void shouldEnsureMap() {
+    public final void shouldSafelyStreamNullArray() {
         // given
         @Nullable
-        final Map<Object, Object> map = null;
+        final Object[] array = null;
 
         // when
         @NonNull
-        final Map<Object, Object> nonNullMap = Nullsafe.ensureMap(map);
+        final Stream<Object> stream = Nullsafe.safelyStream(array);
 
         // then
-        Assert.assertNotNull(nonNullMap);
+        Assert.assertEquals(0, stream.count());
     }
 
     /**
-     * Test method for {@link Nullsafe#ensureMap(Map)}.
+     * Test method for {@link Nullsafe#safelyStream(Object[])}.
      */
     @Test
-    public final void shouldEnsureNonNullMap() {
+    public final void shouldSafelyStreamArray() {
         // given
-        @Nullable
-        final Map<Object, Object> map = new HashMap<>(1);
+        final Object[] array = { "first", null, "second" };
 
         // when
         @NonNull
-        final Map<Object, Object> nonNullMap = Nullsafe.ensureMap(map);
+        final Stream<Object> stream = Nullsafe.safelyStream(array);
 
         // then
-        Assert.assertNotNull(nonNullMap);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", null, "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(Collection)}.
+     * Test method for {@link Nullsafe#safelyStream(Object[], boolean)}.
      */
     @Test
-    public final void shouldCheckNullCollectionForNullOrEmpty() {
+    public final void shouldSafelyStreamArrayWithoutNulls() {
         // given
-        @Nullable
-        final Collection<Object> collection = null;
+        final Object[] array = { "first", null, "second" };
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(collection);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStream(array, true);
 
         // then
-        Assert.assertTrue(nullOrEmpty);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(Collection)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Object[])}.
      */
     @Test
-    public final void shouldCheckEmptyCollectionForNullOrEmpty() {
+    public final void shouldSafelyParallelStreamArray() {
         // given
-        @Nullable
-        final Collection<Object> collection = new ArrayList<>(1);
+        final Object[] array = { "first", null, "second" };
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(collection);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(array);
 
         // then
-        Assert.assertTrue(nullOrEmpty);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", null, "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(Collection)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Object[], boolean)}.
      */
     @Test
-    public final void shouldCheckCollectionForNullOrEmpty() {
+    public final void shouldSafelyParallelStreamArrayWithoutNulls() {
         // given
-        @Nullable
-        final Collection<Object> collection = new ArrayList<>(1);
-        collection.add("test");
+        final Object[] array = { "first", null, "second" };
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(collection);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(array, true);
 
         // then
-        Assert.assertFalse(nullOrEmpty);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(Map)}.
+     * Test method for {@link Nullsafe#safelyStream(Iterable)}.
      */
     @Test
-    public final void shouldCheckNullMapForNullOrEmpty() {
+    public final void shouldSafelyStreamNullIterable() {
         // given
         @Nullable
-        final Map<Object, Object> map = null;
+        final Iterable<Object> iterable = null;
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(map);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStream(iterable);
 
         // then
-        Assert.assertTrue(nullOrEmpty);
+        Assert.assertEquals(0, stream.count());
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(Map)}.
+     * Test method for {@link Nullsafe#safelyStream(Iterable)}.
      */
     @Test
-    public final void shouldCheckEmptyMapForNullOrEmpty() {
+    public final void shouldSafelyStreamIterable() {
         // given
-        @Nullable
-        final Map<Object, Object> map = new HashMap<>(1);
+        final Iterable<Object> iterable = Arrays.<Object> asList("first", null, "second")::iterator;
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(map);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStream(iterable);
 
         // then
-        Assert.assertTrue(nullOrEmpty);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", null, "second")), stream.collect(Collectors.toSet()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(Map)}.
+     * Test method for {@link Nullsafe#safelyStream(Iterable, boolean)}.
      */
     @Test
-    public final void shouldCheckMapForNullOrEmpty() {
+    public final void shouldSafelyStreamIterableWithoutNulls() {
         // given
-        @Nullable
-        final Map<Object, Object> map = new HashMap<>(1);
-        map.put("test", "abc");
+        final Iterable<Object> iterable = Arrays.<Object> asList("first", null, "second")::iterator;
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(map);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStream(iterable, true);
 
         // then
-        Assert.assertFalse(nullOrEmpty);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), stream.collect(Collectors.toSet()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(String)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Iterable)}.
      */
     @Test
-    public final void shouldCheckNullStringForNullOrEmpty() {
+    public final void shouldSafelyParallelStreamIterable() {
         // given
-        @Nullable
-        final String string = null;
+        final Iterable<Object> iterable = Arrays.<Object> asList("first", null, "second")::iterator;
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(string);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(iterable);
 
         // then
-        Assert.assertTrue(nullOrEmpty);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", null, "second")), stream.collect(Collectors.toSet()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(String)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Iterable, boolean)}.
      */
     @Test
-    public final void shouldCheckEmptyStringForNullOrEmpty() {
+    public final void shouldSafelyParallelStreamIterableWithoutNulls() {
         // given
-        @Nullable
-        final String string = "";
+        final Iterable<Object> iterable = Arrays.<Object> asList("first", null, "second")::iterator;
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(string);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(iterable, true);
 
         // then
-        Assert.assertTrue(nullOrEmpty);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("first", "second")), stream.collect(Collectors.toSet()));
     }
 
     /**
-     * Test method for {@link Nullsafe#isNullOrEmpty(String)}.
+     * Test method for {@link Nullsafe#safelyStream(Iterator)}.
      */
     @Test
-    public final void shouldCheckStringForNullOrEmpty() {
+    public final void shouldSafelyStreamNullIterator() {
         // given
         @Nullable
-        final String string = "test";
+        final Iterator<Object> iterator = null;
 
         // when
-        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(string);
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStream(iterator);
 
         // then
-        Assert.assertFalse(nullOrEmpty);
+        Assert.assertEquals(0, stream.count());
     }
 
     /**
-     * Test method for {@link Nullsafe#asBigInteger(long)}.
+     * Test method for {@link Nullsafe#safelyStream(Iterator)}.
      */
     @Test
-    public final void shouldCreateNonNullBigIntegerFromLong() {
+    public final void shouldSafelyStreamIterator() {
         // given
-        final long value = 123;
+        final Iterator<Object> iterator = Arrays.<Object> asList("first", null, "second").iterator();
 
         // when
         @NonNull
-        final BigInteger result = Nullsafe.asBigInteger(value);
+        final Stream<Object> stream = Nullsafe.safelyStream(iterator);
 
         // then
-        Assert.assertNotNull(result);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", null, "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#asLong(long)}.
+     * Test method for {@link Nullsafe#safelyStream(Iterator, boolean)}.
      */
     @Test
-    public final void shouldCreateNonNullLongFromLong() {
+    public final void shouldSafelyStreamIteratorWithoutNulls() {
         // given
-        final long value = 123;
+        final Iterator<Object> iterator = Arrays.<Object> asList("first", null, "second").iterator();
 
         // when
         @NonNull
-        final Long result = Nullsafe.asLong(value);
+        final Stream<Object> stream = Nullsafe.safelyStream(iterator, true);
 
         // then
-        Assert.assertNotNull(result);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#addNullsafe(BigInteger, BigInteger)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Iterator)}.
      */
     @Test
-    public final void shouldAddBigIntegers() {
+    public final void shouldSafelyParallelStreamIterator() {
         // given
-        @Nullable
-        final BigInteger value1 = BigInteger.valueOf(123);
-        @Nullable
-        final BigInteger value2 = BigInteger.valueOf(567);
+        final Iterator<Object> iterator = Arrays.<Object> asList("first", null, "second").iterator();
 
         // when
         @NonNull
-        final BigInteger result = Nullsafe.addNullsafe(value1, value2);
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(iterator);
 
         // then
-        Assert.assertNotNull(result);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", null, "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#subtractNullsafe(BigInteger, BigInteger)}.
+     * Test method for {@link Nullsafe#safelyParallelStream(Iterator, boolean)}.
      */
     @Test
-    public final void shouldSubtractBigIntegers() {
+    public final void shouldSafelyParallelStreamIteratorWithoutNulls() {
         // given
-        @Nullable
-        final BigInteger value1 = BigInteger.valueOf(123);
-        @Nullable
-        final BigInteger value2 = BigInteger.valueOf(567);
+        final Iterator<Object> iterator = Arrays.<Object> asList("first", null, "second").iterator();
 
         // when
         @NonNull
-        final BigInteger result = Nullsafe.subtractNullsafe(value1, value2);
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(iterator, true);
 
         // then
-        Assert.assertNotNull(result);
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
     }
 
     /**
-     * Test method for {@link Nullsafe#divideNullsafe(BigInteger, BigInteger)}.
+     * Test method for {@link Nullsafe#safelyStream(Enumeration)}.
      */
     @Test
-    public final void shouldDivideBigIntegers() {
+    public final void shouldSafelyStreamNullEnumeration() {
         // given
         @Nullable
-        final BigInteger value1 = BigInteger.valueOf(123);
-        @Nullable
-        final BigInteger value2 = BigInteger.valueOf(567);
+        final Enumeration<Object> enumeration = null;
 
         // when
         @NonNull
-        final BigInteger result = Nullsafe.divideNullsafe(value1, value2);
+        final Stream<Object> stream = Nullsafe.safelyStream(enumeration);
 
         // then
-        Assert.assertNotNull(result);
+        Assert.assertEquals(0, stream.count());
     }
 
     /**
-     * Test method for {@link Nullsafe#multiplyNullsafe(BigInteger, BigInteger)}.
+     * Test method for {@link Nullsafe#safelyStream(Enumeration)}.
      */
     @Test
-    public final void shouldMultiplyBigIntegers() {
+    public final void shouldSafelyStreamEnumeration() {
         // given
-        @Nullable
-        final BigInteger value1 = BigInteger.valueOf(123);
-        @Nullable
-        final BigInteger value2 = BigInteger.valueOf(567);
+        final Enumeration<Object> enumeration = Collections.enumeration(Arrays.asList("first", null, "second"));
 
         // when
         @NonNull
-        final BigInteger result = Nullsafe.multiplyNullsafe(value1, value2);
+        final Stream<Object> stream = Nullsafe.safelyStream(enumeration);
 
         // then
-        Assert.assertNotNull(result);
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", null, "second"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStream(Enumeration, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyStreamEnumerationWithoutNulls() {
+        // given
+        final Enumeration<Object> enumeration = Collections.enumeration(Arrays.asList("first", null, "second"));
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStream(enumeration, true);
+
+        // then
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStream(Enumeration)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamEnumeration() {
+        // given
+        final Enumeration<Object> enumeration = Collections.enumeration(Arrays.asList("first", null, "second"));
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(enumeration);
+
+        // then
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", null, "second"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStream(Enumeration, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamEnumerationWithoutNulls() {
+        // given
+        final Enumeration<Object> enumeration = Collections.enumeration(Arrays.asList("first", null, "second"));
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStream(enumeration, true);
+
+        // then
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Arrays.asList("first", "second"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamEntries(Map)}.
+     */
+    @Test
+    public final void shouldSafelyStreamNullMapEntries() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Stream<Map.Entry<Object, Object>> stream = Nullsafe.safelyStreamEntries(map);
+
+        // then
+        Assert.assertEquals(0, stream.count());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamEntries(Map)}.
+     */
+    @Test
+    public final void shouldSafelyStreamMapEntries() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Map.Entry<Object, Object>> stream = Nullsafe.safelyStreamEntries(map);
+
+        // then
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(map.entrySet(), stream.collect(Collectors.toSet()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStreamEntries(Map)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamMapEntries() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Map.Entry<Object, Object>> stream = Nullsafe.safelyParallelStreamEntries(map);
+
+        // then
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(map.entrySet(), stream.collect(Collectors.toSet()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamKeys(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyStreamMapKeys() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStreamKeys(map, false);
+
+        // then
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("key", null)), stream.collect(Collectors.toSet()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamKeys(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyStreamMapKeysWithoutNulls() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStreamKeys(map, true);
+
+        // then
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Collections.singletonList("key"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamKeys(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyStreamNullMapKeys() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStreamKeys(map, true);
+
+        // then
+        Assert.assertEquals(0, stream.count());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStreamKeys(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamMapKeys() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStreamKeys(map, false);
+
+        // then
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("key", null)), stream.collect(Collectors.toSet()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStreamKeys(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamMapKeysWithoutNulls() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStreamKeys(map, true);
+
+        // then
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Collections.singletonList("key"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStreamKeys(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamNullMapKeys() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStreamKeys(map, true);
+
+        // then
+        Assert.assertEquals(0, stream.count());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamValues(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyStreamMapValues() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStreamValues(map, false);
+
+        // then
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("value", null)), stream.collect(Collectors.toSet()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamValues(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyStreamMapValuesWithoutNulls() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStreamValues(map, true);
+
+        // then
+        Assert.assertFalse(stream.isParallel());
+        Assert.assertEquals(Collections.singletonList("value"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyStreamValues(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyStreamNullMapValues() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyStreamValues(map, true);
+
+        // then
+        Assert.assertEquals(0, stream.count());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStreamValues(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamMapValues() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStreamValues(map, false);
+
+        // then
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("value", null)), stream.collect(Collectors.toSet()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStreamValues(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamMapValuesWithoutNulls() {
+        // given
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("key", "value");
+        map.put(null, null);
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStreamValues(map, true);
+
+        // then
+        Assert.assertTrue(stream.isParallel());
+        Assert.assertEquals(Collections.singletonList("value"), stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyParallelStreamValues(Map, boolean)}.
+     */
+    @Test
+    public final void shouldSafelyParallelStreamNullMapValues() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Stream<Object> stream = Nullsafe.safelyParallelStreamValues(map, true);
+
+        // then
+        Assert.assertEquals(0, stream.count());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNull(Object, String)}.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldRecordViolations() throws IOException {
+        // given
+        final Object reference = null;
+
+        // when
+        final List<RecordedEvent> events = FlightRecordings.record(() -> Nullsafe.nonNull(reference, "message"));
+
+        // then
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("nonNull", events.get(0).getString("method"));
+        Assert.assertEquals("message", events.get(0).getString("message"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullOrThrow(Object, Supplier)}.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldRecordViolationsWithCustomExceptions() throws IOException {
+        // given
+        final Object reference = null;
+
+        // when
+        final List<RecordedEvent> events = FlightRecordings
+                .record(() -> Nullsafe.nonNullOrThrow(reference, () -> new IllegalStateException("custom")));
+
+        // then
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("nonNullOrThrow", events.get(0).getString("method"));
+        Assert.assertEquals("java.lang.IllegalStateException: custom", events.get(0).getString("message"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureList(List)}.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldRecordFallbacks() throws IOException {
+        // given
+        final List<Object> list = null;
+
+        // when
+        final List<RecordedEvent> events = FlightRecordings.record(() -> Nullsafe.ensureList(list));
+
+        // then
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("ensureList", events.get(0).getString("method"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureList(List)}.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldNotRecordHits() throws IOException {
+        // given
+        final List<Object> list = new ArrayList<>();
+
+        // when
+        final List<RecordedEvent> events = FlightRecordings.record(() -> Nullsafe.ensureList(list));
+
+        // then
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureList(List)}.
+     */
+    @Test
+    public final void shouldEnsureList() {
+        // given
+        @Nullable
+        final List<Object> list = null;
+
+        // when
+        @NonNull
+        final List<Object> nonNullList = Nullsafe.ensureList(list);
+
+        // then
+        Assert.assertNotNull(nonNullList);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureList(List)}.
+     */
+    @Test
+    public final void shouldEnsureNonNullList() {
+        // given
+        @Nullable
+        final List<Object> list = new ArrayList<>(1);
+
+        // when
+        @NonNull
+        final List<Object> nonNullList = Nullsafe.ensureList(list);
+
+        // then
+        Assert.assertNotNull(nonNullList);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureSet(Set)}.
+     */
+    @Test
+    public final void shouldEnsureSet() {
+        // given
+        @Nullable
+        final Set<Object> set = null;
+
+        // when
+        @NonNull
+        final Set<Object> nonNullSet = Nullsafe.ensureSet(set);
+
+        // then
+        Assert.assertNotNull(nonNullSet);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureSet(Set)}.
+     */
+    @Test
+    public final void shouldEnsureNonNullSet() {
+        // given
+        @Nullable
+        final Set<Object> set = new HashSet<>(1);
+
+        // when
+        @NonNull
+        final Set<Object> nonNullSet = Nullsafe.ensureSet(set);
+
+        // then
+        Assert.assertNotNull(nonNullSet);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureMap(Map)}.
+     */
+    @Test
+    public final void shouldEnsureMap() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Map<Object, Object> nonNullMap = Nullsafe.ensureMap(map);
+
+        // then
+        Assert.assertNotNull(nonNullMap);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureMap(Map)}.
+     */
+    @Test
+    public final void shouldEnsureNonNullMap() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = new HashMap<>(1);
+
+        // when
+        @NonNull
+        final Map<Object, Object> nonNullMap = Nullsafe.ensureMap(map);
+
+        // then
+        Assert.assertNotNull(nonNullMap);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Collection)}.
+     */
+    @Test
+    public final void shouldCheckNullCollectionForNullOrEmpty() {
+        // given
+        @Nullable
+        final Collection<Object> collection = null;
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(collection);
+
+        // then
+        Assert.assertTrue(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Collection)}.
+     */
+    @Test
+    public final void shouldCheckEmptyCollectionForNullOrEmpty() {
+        // given
+        @Nullable
+        final Collection<Object> collection = new ArrayList<>(1);
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(collection);
+
+        // then
+        Assert.assertTrue(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Collection)}.
+     */
+    @Test
+    public final void shouldCheckCollectionForNullOrEmpty() {
+        // given
+        @Nullable
+        final Collection<Object> collection = new ArrayList<>(1);
+        collection.add("test");
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(collection);
+
+        // then
+        Assert.assertFalse(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Map)}.
+     */
+    @Test
+    public final void shouldCheckNullMapForNullOrEmpty() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(map);
+
+        // then
+        Assert.assertTrue(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Map)}.
+     */
+    @Test
+    public final void shouldCheckEmptyMapForNullOrEmpty() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = new HashMap<>(1);
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(map);
+
+        // then
+        Assert.assertTrue(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(Map)}.
+     */
+    @Test
+    public final void shouldCheckMapForNullOrEmpty() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = new HashMap<>(1);
+        map.put("test", "abc");
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(map);
+
+        // then
+        Assert.assertFalse(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(String)}.
+     */
+    @Test
+    public final void shouldCheckNullStringForNullOrEmpty() {
+        // given
+        @Nullable
+        final String string = null;
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(string);
+
+        // then
+        Assert.assertTrue(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(String)}.
+     */
+    @Test
+    public final void shouldCheckEmptyStringForNullOrEmpty() {
+        // given
+        @Nullable
+        final String string = "";
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(string);
+
+        // then
+        Assert.assertTrue(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrEmpty(String)}.
+     */
+    @Test
+    public final void shouldCheckStringForNullOrEmpty() {
+        // given
+        @Nullable
+        final String string = "test";
+
+        // when
+        final boolean nullOrEmpty = Nullsafe.isNullOrEmpty(string);
+
+        // then
+        Assert.assertFalse(nullOrEmpty);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#asBigInteger(long)}.
+     */
+    @Test
+    public final void shouldCreateNonNullBigIntegerFromLong() {
+        // given
+        final long value = 123;
+
+        // when
+        @NonNull
+        final BigInteger result = Nullsafe.asBigInteger(value);
+
+        // then
+        Assert.assertNotNull(result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#asLong(long)}.
+     */
+    @Test
+    public final void shouldCreateNonNullLongFromLong() {
+        // given
+        final long value = 123;
+
+        // when
+        @NonNull
+        final Long result = Nullsafe.asLong(value);
+
+        // then
+        Assert.assertNotNull(result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullView(List)}.
+     */
+    @Test
+    public final void shouldViewNullListAsEmpty() {
+        // given
+        @Nullable
+        final List<Object> list = null;
+
+        // when
+        @NonNull
+        final List<Object> view = Nullsafe.nonNullView(list);
+
+        // then
+        Assert.assertEquals(Collections.emptyList(), view);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullView(List)}.
+     */
+    @Test
+    public final void shouldViewListWithoutNulls() {
+        // given
+        @Nullable
+        final List<Object> list = new ArrayList<>(Arrays.asList(null, "first"));
+
+        // when
+        @NonNull
+        final List<Object> view = Nullsafe.nonNullView(list);
+
+        // then
+        Assert.assertEquals(1, view.size());
+        Assert.assertTrue(view.contains("first"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullView(Set)}.
+     */
+    @Test
+    public final void shouldViewNullSetAsEmpty() {
+        // given
+        @Nullable
+        final Set<Object> set = null;
+
+        // when
+        @NonNull
+        final Set<Object> view = Nullsafe.nonNullView(set);
+
+        // then
+        Assert.assertEquals(Collections.emptySet(), view);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullView(Set)}.
+     */
+    @Test
+    public final void shouldViewSetWithoutNulls() {
+        // given
+        @Nullable
+        final Set<Object> set = new HashSet<>(Arrays.asList(null, "first"));
+
+        // when
+        @NonNull
+        final Set<Object> view = Nullsafe.nonNullView(set);
+
+        // then
+        Assert.assertEquals(1, view.size());
+        Assert.assertTrue(view.contains("first"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullView(Map)}.
+     */
+    @Test
+    public final void shouldViewNullMapAsEmpty() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Map<Object, Object> view = Nullsafe.nonNullView(map);
+
+        // then
+        Assert.assertEquals(Collections.emptyMap(), view);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nonNullView(Map)}.
+     */
+    @Test
+    public final void shouldViewMapWithoutNulls() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("first", "1");
+        map.put("second", null);
+
+        // when
+        @NonNull
+        final Map<Object, Object> view = Nullsafe.nonNullView(map);
+
+        // then
+        Assert.assertEquals(Collections.singletonMap("first", "1"), view);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#compactNonNullCopy(List)}.
+     */
+    @Test
+    public final void shouldCopyNullListAsEmpty() {
+        // given
+        @Nullable
+        final List<Object> list = null;
+
+        // when
+        @NonNull
+        final List<Object> copy = Nullsafe.compactNonNullCopy(list);
+
+        // then
+        Assert.assertEquals(Collections.emptyList(), copy);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#compactNonNullCopy(List)}.
+     */
+    @Test
+    public final void shouldCopyListWithoutNulls() {
+        // given
+        @Nullable
+        final List<Object> list = Arrays.asList("first", null, "second");
+
+        // when
+        @NonNull
+        final List<Object> copy = Nullsafe.compactNonNullCopy(list);
+
+        // then
+        Assert.assertEquals(Arrays.asList("first", "second"), copy);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#compactNonNullCopy(Set)}.
+     */
+    @Test
+    public final void shouldCopyNullSetAsEmpty() {
+        // given
+        @Nullable
+        final Set<Object> set = null;
+
+        // when
+        @NonNull
+        final Set<Object> copy = Nullsafe.compactNonNullCopy(set);
+
+        // then
+        Assert.assertEquals(Collections.emptySet(), copy);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#compactNonNullCopy(Set)}.
+     */
+    @Test
+    public final void shouldCopySetWithoutNull() {
+        // given
+        @Nullable
+        final Set<Object> set = new HashSet<>(Arrays.asList("first", null));
+
+        // when
+        @NonNull
+        final Set<Object> copy = Nullsafe.compactNonNullCopy(set);
+
+        // then
+        Assert.assertEquals(Collections.singleton("first"), copy);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#compactNonNullCopy(Map)}.
+     */
+    @Test
+    public final void shouldCopyNullMapAsEmpty() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = null;
+
+        // when
+        @NonNull
+        final Map<Object, Object> copy = Nullsafe.compactNonNullCopy(map);
+
+        // then
+        Assert.assertEquals(Collections.emptyMap(), copy);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#compactNonNullCopy(Map)}.
+     */
+    @Test
+    public final void shouldCopyMapWithoutNulls() {
+        // given
+        @Nullable
+        final Map<Object, Object> map = new HashMap<>();
+        map.put("first", "1");
+        map.put("second", null);
+
+        // when
+        @NonNull
+        final Map<Object, Object> copy = Nullsafe.compactNonNullCopy(map);
+
+        // then
+        Assert.assertEquals(Collections.singletonMap("first", "1"), copy);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureArray(int[])}.
+     */
+    @Test
+    public final void shouldEnsureIntArray() {
+        // given
+        final int @Nullable [] array = null;
+
+        // when
+        final int @NonNull [] first = Nullsafe.ensureArray(array);
+        final int @NonNull [] second = Nullsafe.ensureArray(array);
+
+        // then
+        Assert.assertEquals(0, first.length);
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureArray(int[])}.
+     */
+    @Test
+    public final void shouldEnsureNonNullIntArray() {
+        // given
+        final int @Nullable [] array = { 1, 2, 3 };
+
+        // when
+        final int @NonNull [] nonNullArray = Nullsafe.ensureArray(array);
+
+        // then
+        Assert.assertSame(array, nonNullArray);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyIntStream(int[])}.
+     */
+    @Test
+    public final void shouldSafelyIntStream() {
+        // given
+        final int @Nullable [] array = { 1, 2, 3 };
+
+        // when
+        final int sum = Nullsafe.safelyIntStream(array).sum();
+
+        // then
+        Assert.assertEquals(6, sum);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyIntStream(int[])}.
+     */
+    @Test
+    public final void shouldSafelyIntStreamNull() {
+        // given
+        final int @Nullable [] array = null;
+
+        // when
+        final long count = Nullsafe.safelyIntStream(array).count();
+
+        // then
+        Assert.assertEquals(0, count);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureArray(long[])}.
+     */
+    @Test
+    public final void shouldEnsureLongArray() {
+        // given
+        final long @Nullable [] array = null;
+
+        // when
+        final long @NonNull [] first = Nullsafe.ensureArray(array);
+        final long @NonNull [] second = Nullsafe.ensureArray(array);
+
+        // then
+        Assert.assertEquals(0, first.length);
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureArray(long[])}.
+     */
+    @Test
+    public final void shouldEnsureNonNullLongArray() {
+        // given
+        final long @Nullable [] array = { 1L, 2L, 3L };
+
+        // when
+        final long @NonNull [] nonNullArray = Nullsafe.ensureArray(array);
+
+        // then
+        Assert.assertSame(array, nonNullArray);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyLongStream(long[])}.
+     */
+    @Test
+    public final void shouldSafelyLongStream() {
+        // given
+        final long @Nullable [] array = { 1L, 2L, 3L };
+
+        // when
+        final long sum = Nullsafe.safelyLongStream(array).sum();
+
+        // then
+        Assert.assertEquals(6, sum);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyLongStream(long[])}.
+     */
+    @Test
+    public final void shouldSafelyLongStreamNull() {
+        // given
+        final long @Nullable [] array = null;
+
+        // when
+        final long count = Nullsafe.safelyLongStream(array).count();
+
+        // then
+        Assert.assertEquals(0, count);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureArray(double[])}.
+     */
+    @Test
+    public final void shouldEnsureDoubleArray() {
+        // given
+        final double @Nullable [] array = null;
+
+        // when
+        final double @NonNull [] first = Nullsafe.ensureArray(array);
+        final double @NonNull [] second = Nullsafe.ensureArray(array);
+
+        // then
+        Assert.assertEquals(0, first.length);
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#ensureArray(double[])}.
+     */
+    @Test
+    public final void shouldEnsureNonNullDoubleArray() {
+        // given
+        final double @Nullable [] array = { 1.0, 2.0, 3.0 };
+
+        // when
+        final double @NonNull [] nonNullArray = Nullsafe.ensureArray(array);
+
+        // then
+        Assert.assertSame(array, nonNullArray);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyDoubleStream(double[])}.
+     */
+    @Test
+    public final void shouldSafelyDoubleStream() {
+        // given
+        final double @Nullable [] array = { 1.0, 2.0, 3.0 };
+
+        // when
+        final double sum = Nullsafe.safelyDoubleStream(array).sum();
+
+        // then
+        Assert.assertEquals(6.0, sum, 0.0);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safelyDoubleStream(double[])}.
+     */
+    @Test
+    public final void shouldSafelyDoubleStreamNull() {
+        // given
+        final double @Nullable [] array = null;
+
+        // when
+        final long count = Nullsafe.safelyDoubleStream(array).count();
+
+        // then
+        Assert.assertEquals(0, count);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#asLong(long)}.
+     */
+    @Test
+    public final void shouldCacheLongs() {
+        // given
+        final long value = 42;
+
+        // when
+        @NonNull
+        final Long first = Nullsafe.asLong(value);
+        @NonNull
+        final Long second = Nullsafe.asLong(value);
+
+        // then
+        Assert.assertSame(first, second);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#addNullsafe(BigInteger, BigInteger)}.
+     */
+    @Test
+    public final void shouldAddBigIntegers() {
+        // given
+        @Nullable
+        final BigInteger value1 = BigInteger.valueOf(123);
+        @Nullable
+        final BigInteger value2 = BigInteger.valueOf(567);
+
+        // when
+        @NonNull
+        final BigInteger result = Nullsafe.addNullsafe(value1, value2);
+
+        // then
+        Assert.assertNotNull(result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#subtractNullsafe(BigInteger, BigInteger)}.
+     */
+    @Test
+    public final void shouldSubtractBigIntegers() {
+        // given
+        @Nullable
+        final BigInteger value1 = BigInteger.valueOf(123);
+        @Nullable
+        final BigInteger value2 = BigInteger.valueOf(567);
+
+        // when
+        @NonNull
+        final BigInteger result = Nullsafe.subtractNullsafe(value1, value2);
+
+        // then
+        Assert.assertNotNull(result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#divideNullsafe(BigInteger, BigInteger)}.
+     */
+    @Test
+    public final void shouldDivideBigIntegers() {
+        // given
+        @Nullable
+        final BigInteger value1 = BigInteger.valueOf(123);
+        @Nullable
+        final BigInteger value2 = BigInteger.valueOf(567);
+
+        // when
+        @NonNull
+        final BigInteger result = Nullsafe.divideNullsafe(value1, value2);
+
+        // then
+        Assert.assertNotNull(result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#multiplyNullsafe(BigInteger, BigInteger)}.
+     */
+    @Test
+    public final void shouldMultiplyBigIntegers() {
+        // given
+        @Nullable
+        final BigInteger value1 = BigInteger.valueOf(123);
+        @Nullable
+        final BigInteger value2 = BigInteger.valueOf(567);
+
+        // when
+        @NonNull
+        final BigInteger result = Nullsafe.multiplyNullsafe(value1, value2);
+
+        // then
+        Assert.assertNotNull(result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#sumNullsafe(Collection, NullPolicy)}.
+     */
+    @Test
+    public final void shouldSumBigIntegers() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.ONE, null, BigInteger.TEN);
+
+        // when
+        @NonNull
+        final BigInteger result = Nullsafe.sumNullsafe(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(11), result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#productNullsafe(Collection, NullPolicy)}.
+     */
+    @Test
+    public final void shouldMultiplyCollectionOfBigIntegers() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, null, BigInteger.TEN);
+
+        // when
+        @NonNull
+        final BigInteger result = Nullsafe.productNullsafe(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.valueOf(100), result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#minNullsafe(Collection, NullPolicy)}.
+     */
+    @Test
+    public final void shouldFindSmallestBigInteger() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.TEN, null, BigInteger.ONE);
+
+        // when
+        @NonNull
+        final Optional<BigInteger> result = Nullsafe.minNullsafe(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.ONE, result.get());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#maxNullsafe(Collection, NullPolicy)}.
+     */
+    @Test
+    public final void shouldFindLargestBigInteger() {
+        // given
+        final List<BigInteger> values = Arrays.asList(BigInteger.ONE, null, BigInteger.TEN);
+
+        // when
+        @NonNull
+        final Optional<BigInteger> result = Nullsafe.maxNullsafe(values, NullPolicy.SKIP);
+
+        // then
+        Assert.assertEquals(BigInteger.TEN, result.get());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateOneStep() {
+        // given
+        final String root = " text ";
+
+        // when
+        final String result = Nullsafe.safeGet(root, String::trim, "default");
+
+        // then
+        Assert.assertEquals("text", result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateOneStepFromNull() {
+        // given
+        final String root = null;
+
+        // when
+        final String result = Nullsafe.safeGet(root, String::trim, "default");
+
+        // then
+        Assert.assertEquals("default", result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateOneStepToNull() {
+        // given
+        final String root = "text";
+
+        // when
+        final String result = Nullsafe.safeGet(root, value -> null, "default");
+
+        // then
+        Assert.assertEquals("default", result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateTwoSteps() {
+        // given
+        final String root = " text ";
+
+        // when
+        final Integer result = Nullsafe.safeGet(root, String::trim, String::length, Integer.valueOf(-1));
+
+        // then
+        Assert.assertEquals(4, result.intValue());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateTwoStepsFromNull() {
+        // given
+        final String root = null;
+
+        // when
+        final Integer result = Nullsafe.safeGet(root, String::trim, String::length, Integer.valueOf(-1));
+
+        // then
+        Assert.assertEquals(-1, result.intValue());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateTwoStepsThroughNull() {
+        // given
+        final String root = "text";
+
+        // when
+        final Integer result = Nullsafe.safeGet(root, value -> (String) null, String::length, Integer.valueOf(-1));
+
+        // then
+        Assert.assertEquals(-1, result.intValue());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateThreeSteps() {
+        // given
+        final String root = " text ";
+
+        // when
+        final String result = Nullsafe.safeGet(root, String::trim, String::length, Integer::toBinaryString, "default");
+
+        // then
+        Assert.assertEquals("100", result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateThreeStepsFromNull() {
+        // given
+        final String root = null;
+
+        // when
+        final String result = Nullsafe.safeGet(root, String::trim, String::length, Integer::toBinaryString, "default");
+
+        // then
+        Assert.assertEquals("default", result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateThreeStepsThroughNull() {
+        // given
+        final String root = "text";
+
+        // when
+        final String result = Nullsafe.safeGet(root, value -> (String) null, String::length, Integer::toBinaryString,
+                "default");
+
+        // then
+        Assert.assertEquals("default", result);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateFourSteps() {
+        // given
+        final String root = " text ";
+
+        // when
+        final Integer result = Nullsafe.safeGet(root, String::trim, String::length, Integer::toBinaryString,
+                String::length, Integer.valueOf(-1));
+
+        // then
+        Assert.assertEquals(3, result.intValue());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateFourStepsFromNull() {
+        // given
+        final String root = null;
+
+        // when
+        final Integer result = Nullsafe.safeGet(root, String::trim, String::length, Integer::toBinaryString,
+                String::length, Integer.valueOf(-1));
+
+        // then
+        Assert.assertEquals(-1, result.intValue());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeGet(Object, Function, Function, Function, Function, Object)}.
+     */
+    @Test
+    public final void shouldNavigateFourStepsThroughNull() {
+        // given
+        final String root = "text";
+
+        // when
+        final Integer result = Nullsafe.safeGet(root, value -> (String) null, String::length, Integer::toBinaryString,
+                String::length, Integer.valueOf(-1));
+
+        // then
+        Assert.assertEquals(-1, result.intValue());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String)}.
+     */
+    @Test
+    public final void shouldLookUpOneLevel() {
+        // given
+        final Map<String, Object> root = Collections.singletonMap("first", "value");
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first");
+
+        // then
+        Assert.assertEquals("value", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String)}.
+     */
+    @Test
+    public final void shouldLookUpOneLevelInNull() {
+        // given
+        final Map<String, Object> root = null;
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String, String)}.
+     */
+    @Test
+    public final void shouldLookUpTwoLevels() {
+        // given
+        final Map<String, Object> root = Collections.singletonMap("first", Collections.singletonMap("second", "value"));
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first", "second");
+
+        // then
+        Assert.assertEquals("value", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String, String)}.
+     */
+    @Test
+    public final void shouldLookUpTwoLevelsThroughMissingMap() {
+        // given
+        final Map<String, Object> root = Collections.emptyMap();
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first", "second");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String, String)}.
+     */
+    @Test
+    public final void shouldLookUpTwoLevelsThroughOtherValue() {
+        // given
+        final Map<String, Object> root = Collections.singletonMap("first", "value");
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first", "second");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String, String, String)}.
+     */
+    @Test
+    public final void shouldLookUpThreeLevels() {
+        // given
+        final Map<String, Object> root = Collections.singletonMap("first",
+                Collections.singletonMap("second", Collections.singletonMap("third", Collections.singletonMap("fourth", "value"))));
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first", "second", "third");
+
+        // then
+        Assert.assertEquals(Collections.singletonMap("fourth", "value"), value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String, String, String)}.
+     */
+    @Test
+    public final void shouldLookUpThreeLevelsThroughMissingMap() {
+        // given
+        final Map<String, Object> root = Collections.singletonMap("first",
+                Collections.singletonMap("second", Collections.singletonMap("third", Collections.singletonMap("fourth", "value"))));
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first", "other", "third");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String, String, String, String)}.
+     */
+    @Test
+    public final void shouldLookUpFourLevels() {
+        // given
+        final Map<String, Object> root = Collections.singletonMap("first",
+                Collections.singletonMap("second", Collections.singletonMap("third", Collections.singletonMap("fourth", "value"))));
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first", "second", "third", "fourth");
+
+        // then
+        Assert.assertEquals("value", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#safeLookup(Map, String, String, String, String)}.
+     */
+    @Test
+    public final void shouldLookUpFourLevelsThroughMissingMap() {
+        // given
+        final Map<String, Object> root = Collections.singletonMap("first",
+                Collections.singletonMap("second", Collections.singletonMap("third", Collections.singletonMap("fourth", "value"))));
+
+        // when
+        final Object value = Nullsafe.safeLookup(root, "first", "second", "other", "fourth");
+
+        // then
+        Assert.assertNull(value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceToFirst() {
+        // given
+        final String first = "first";
+
+        // when
+        final String value = Nullsafe.coalesce(first, "second");
+
+        // then
+        Assert.assertEquals("first", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceToSecond() {
+        // given
+        final String first = null;
+
+        // when
+        final String value = Nullsafe.coalesce(first, "second");
+
+        // then
+        Assert.assertEquals("second", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object)}.
+     */
+    @Test
+    public final void shouldFailToCoalesceNulls() {
+        // given
+        final String first = null;
+        final String second = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Got unexpected NULL reference"));
+
+        // then
+        Nullsafe.coalesce(first, second);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceThreeToFirst() {
+        // given
+        final String first = "first";
+
+        // when
+        final String value = Nullsafe.coalesce(first, "second", "third");
+
+        // then
+        Assert.assertEquals("first", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceThreeToSecond() {
+        // given
+        final String first = null;
+
+        // when
+        final String value = Nullsafe.coalesce(first, "second", "third");
+
+        // then
+        Assert.assertEquals("second", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceThreeToThird() {
+        // given
+        final String first = null;
+        final String second = null;
+
+        // when
+        final String value = Nullsafe.coalesce(first, second, "third");
+
+        // then
+        Assert.assertEquals("third", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceFourToFirst() {
+        // given
+        final String first = "first";
+
+        // when
+        final String value = Nullsafe.coalesce(first, "second", "third", "fourth");
+
+        // then
+        Assert.assertEquals("first", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceFourToThird() {
+        // given
+        final String first = null;
+        final String second = null;
+
+        // when
+        final String value = Nullsafe.coalesce(first, second, "third", "fourth");
+
+        // then
+        Assert.assertEquals("third", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldCoalesceFourToFourth() {
+        // given
+        final String first = null;
+        final String second = null;
+        final String third = null;
+
+        // when
+        final String value = Nullsafe.coalesce(first, second, third, "fourth");
+
+        // then
+        Assert.assertEquals("fourth", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesce(Object, Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldFailToCoalesceFourNulls() {
+        // given
+        final String first = null;
+        final String second = null;
+        final String third = null;
+        final String fourth = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Got unexpected NULL reference"));
+
+        // then
+        Nullsafe.coalesce(first, second, third, fourth);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Supplier)}.
+     */
+    @Test
+    public final void shouldNotCreateUnusedFallback() {
+        // given
+        final List<String> list = Collections.singletonList("value");
+
+        // when
+        final List<String> value = Nullsafe.coalesceGet(list, () -> {
+            throw new AssertionError("fallback created");
+        });
+
+        // then
+        Assert.assertSame(list, value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Supplier)}.
+     */
+    @Test
+    public final void shouldCreateMutableFallback() {
+        // given
+        final List<String> list = null;
+
+        // when
+        final List<String> value = Nullsafe.coalesceGet(list, ArrayList::new);
+        value.add("value");
+
+        // then
+        Assert.assertEquals(Collections.singletonList("value"), value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Supplier)}.
+     */
+    @Test
+    @SuppressWarnings("null")
+    public final void shouldFailToCoalesceSuppliedNull() {
+        // given
+        final String first = null;
+
+        // when
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Got unexpected NULL reference"));
+
+        // then
+        Nullsafe.coalesceGet(first, () -> null);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Object, Supplier)}.
+     */
+    @Test
+    public final void shouldCoalesceTwoWithFallbackToFirst() {
+        // given
+        final String first = "first";
+
+        // when
+        final String value = Nullsafe.coalesceGet(first, "second", () -> "fallback");
+
+        // then
+        Assert.assertEquals("first", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Object, Supplier)}.
+     */
+    @Test
+    public final void shouldCoalesceTwoWithFallbackToSecond() {
+        // given
+        final String first = null;
+
+        // when
+        final String value = Nullsafe.coalesceGet(first, "second", () -> "fallback");
+
+        // then
+        Assert.assertEquals("second", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Object, Supplier)}.
+     */
+    @Test
+    public final void shouldCoalesceTwoWithFallbackToFallback() {
+        // given
+        final String first = null;
+        final String second = null;
+
+        // when
+        final String value = Nullsafe.coalesceGet(first, second, () -> "fallback");
+
+        // then
+        Assert.assertEquals("fallback", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Object, Object, Supplier)}.
+     */
+    @Test
+    public final void shouldCoalesceThreeWithFallbackToFirst() {
+        // given
+        final String first = "first";
+
+        // when
+        final String value = Nullsafe.coalesceGet(first, "second", "third", () -> "fallback");
+
+        // then
+        Assert.assertEquals("first", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Object, Object, Supplier)}.
+     */
+    @Test
+    public final void shouldCoalesceThreeWithFallbackToThird() {
+        // given
+        final String first = null;
+        final String second = null;
+
+        // when
+        final String value = Nullsafe.coalesceGet(first, second, "third", () -> "fallback");
+
+        // then
+        Assert.assertEquals("third", value);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#coalesceGet(Object, Object, Object, Supplier)}.
+     */
+    @Test
+    public final void shouldCoalesceThreeWithFallbackToFallback() {
+        // given
+        final String first = null;
+        final String second = null;
+        final String third = null;
+
+        // when
+        final String value = Nullsafe.coalesceGet(first, second, third, () -> "fallback");
+
+        // then
+        Assert.assertEquals("fallback", value);
+    }
+
+    private static void requireAllNonNull(@Nullable final String names, final @Nullable Object[] arguments) {
+        switch (arguments.length) {
+            case 2:
+                if (names == null) {
+                    Nullsafe.requireAllNonNull(arguments[0], arguments[1]);
+                } else {
+                    Nullsafe.requireAllNonNullNamed(names, arguments[0], arguments[1]);
+                }
+                break;
+            case 3:
+                if (names == null) {
+                    Nullsafe.requireAllNonNull(arguments[0], arguments[1], arguments[2]);
+                } else {
+                    Nullsafe.requireAllNonNullNamed(names, arguments[0], arguments[1], arguments[2]);
+                }
+                break;
+            case 4:
+                if (names == null) {
+                    Nullsafe.requireAllNonNull(arguments[0], arguments[1], arguments[2], arguments[3]);
+                } else {
+                    Nullsafe.requireAllNonNullNamed(names, arguments[0], arguments[1], arguments[2], arguments[3]);
+                }
+                break;
+            case 5:
+                if (names == null) {
+                    Nullsafe.requireAllNonNull(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4]);
+                } else {
+                    Nullsafe.requireAllNonNullNamed(names, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4]);
+                }
+                break;
+            case 6:
+                if (names == null) {
+                    Nullsafe.requireAllNonNull(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5]);
+                } else {
+                    Nullsafe.requireAllNonNullNamed(names, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5]);
+                }
+                break;
+            case 7:
+                if (names == null) {
+                    Nullsafe.requireAllNonNull(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5], arguments[6]);
+                } else {
+                    Nullsafe.requireAllNonNullNamed(names, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5], arguments[6]);
+                }
+                break;
+            case 8:
+                if (names == null) {
+                    Nullsafe.requireAllNonNull(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5], arguments[6], arguments[7]);
+                } else {
+                    Nullsafe.requireAllNonNullNamed(names, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4], arguments[5], arguments[6], arguments[7]);
+                }
+                break;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    private static List<String> violations(@Nullable final String names, final int arity) {
+        final List<String> messages = new ArrayList<>();
+        final @Nullable Object[] values = new @Nullable Object[arity];
+        Arrays.fill(values, "value");
+        requireAllNonNull(names, values);
+        for (int index = 0; index < arity; index++) {
+            final @Nullable Object[] arguments = new @Nullable Object[arity];
+            Arrays.fill(arguments, "value");
+            arguments[index] = null;
+            try {
+                requireAllNonNull(names, arguments);
+            } catch (final IllegalArgumentException exception) {
+                messages.add(exception.getMessage());
+            }
+        }
+        return messages;
+    }
+
+    private static List<String> expectedViolations(final int arity, final boolean named) {
+        final List<String> messages = new ArrayList<>();
+        for (int index = 0; index < arity; index++) {
+            messages.add("Argument" + (named ? " 'name" + index + "'" : "") + " at index " + index + " is null");
+        }
+        return messages;
+    }
+
+    private static String names(final int arity) {
+        final StringBuilder names = new StringBuilder("name0");
+        for (int index = 1; index < arity; index++) {
+            names.append(", name").append(index);
+        }
+        return Nullsafe.nonNull(names.toString());
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNull</code> with 2 arguments.
+     */
+    @Test
+    public final void shouldRequireTwoNonNullArguments() {
+        // given
+        final int arity = 2;
+
+        // when
+        final List<String> violations = violations(null, arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, false), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNullNamed</code> with 2 arguments.
+     */
+    @Test
+    public final void shouldRequireTwoNamedNonNullArguments() {
+        // given
+        final int arity = 2;
+
+        // when
+        final List<String> violations = violations(names(arity), arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, true), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNull</code> with 3 arguments.
+     */
+    @Test
+    public final void shouldRequireThreeNonNullArguments() {
+        // given
+        final int arity = 3;
+
+        // when
+        final List<String> violations = violations(null, arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, false), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNullNamed</code> with 3 arguments.
+     */
+    @Test
+    public final void shouldRequireThreeNamedNonNullArguments() {
+        // given
+        final int arity = 3;
+
+        // when
+        final List<String> violations = violations(names(arity), arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, true), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNull</code> with 4 arguments.
+     */
+    @Test
+    public final void shouldRequireFourNonNullArguments() {
+        // given
+        final int arity = 4;
+
+        // when
+        final List<String> violations = violations(null, arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, false), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNullNamed</code> with 4 arguments.
+     */
+    @Test
+    public final void shouldRequireFourNamedNonNullArguments() {
+        // given
+        final int arity = 4;
+
+        // when
+        final List<String> violations = violations(names(arity), arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, true), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNull</code> with 5 arguments.
+     */
+    @Test
+    public final void shouldRequireFiveNonNullArguments() {
+        // given
+        final int arity = 5;
+
+        // when
+        final List<String> violations = violations(null, arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, false), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNullNamed</code> with 5 arguments.
+     */
+    @Test
+    public final void shouldRequireFiveNamedNonNullArguments() {
+        // given
+        final int arity = 5;
+
+        // when
+        final List<String> violations = violations(names(arity), arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, true), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNull</code> with 6 arguments.
+     */
+    @Test
+    public final void shouldRequireSixNonNullArguments() {
+        // given
+        final int arity = 6;
+
+        // when
+        final List<String> violations = violations(null, arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, false), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNullNamed</code> with 6 arguments.
+     */
+    @Test
+    public final void shouldRequireSixNamedNonNullArguments() {
+        // given
+        final int arity = 6;
+
+        // when
+        final List<String> violations = violations(names(arity), arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, true), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNull</code> with 7 arguments.
+     */
+    @Test
+    public final void shouldRequireSevenNonNullArguments() {
+        // given
+        final int arity = 7;
+
+        // when
+        final List<String> violations = violations(null, arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, false), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNullNamed</code> with 7 arguments.
+     */
+    @Test
+    public final void shouldRequireSevenNamedNonNullArguments() {
+        // given
+        final int arity = 7;
+
+        // when
+        final List<String> violations = violations(names(arity), arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, true), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNull</code> with 8 arguments.
+     */
+    @Test
+    public final void shouldRequireEightNonNullArguments() {
+        // given
+        final int arity = 8;
+
+        // when
+        final List<String> violations = violations(null, arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, false), violations);
+    }
+
+    /**
+     * Test method for <code>Nullsafe#requireAllNonNullNamed</code> with 8 arguments.
+     */
+    @Test
+    public final void shouldRequireEightNamedNonNullArguments() {
+        // given
+        final int arity = 8;
+
+        // when
+        final List<String> violations = violations(names(arity), arity);
+
+        // then
+        Assert.assertEquals(expectedViolations(arity, true), violations);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireAllNonNull(Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldAcceptNonNullArguments() {
+        // given
+        final Object argument = "value";
+
+        // when
+        Nullsafe.requireAllNonNull(argument, argument, argument);
+
+        // then
+        Assert.assertNotNull(argument);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireAllNonNull(Object, Object, Object)}.
+     */
+    @Test
+    public final void shouldReportFirstNullArgument() {
+        // given
+        final Object argument = null;
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Argument at index 1 is null"));
+
+        // when
+        Nullsafe.requireAllNonNull("value", argument, argument);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireAllNonNullNamed(String, Object, Object)}.
+     */
+    @Test
+    public final void shouldReportUnnamedArgument() {
+        // given
+        final Object argument = null;
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Argument at index 1 is null"));
+
+        // when
+        Nullsafe.requireAllNonNullNamed("first", "value", argument);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireAllNonNull(Object, Object)}.
+     *
+     * @throws IOException
+     *             In case the recording cannot be read
+     */
+    @Test
+    public final void shouldRecordNullArguments() throws IOException {
+        // given
+        final Object argument = null;
+
+        // when
+        final List<RecordedEvent> events = FlightRecordings.record(() -> {
+            try {
+                Nullsafe.requireAllNonNull(argument, argument);
+            } catch (final IllegalArgumentException exception) {
+                // expected
+            }
+        });
+
+        // then
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals("requireAllNonNull", events.get(0).getString("method"));
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Object[])}.
+     */
+    @Test
+    public final void shouldAcceptArrayWithoutNulls() {
+        // given
+        final Object[] array = { "first", "second" };
+
+        // when
+        Nullsafe.requireNoNullElements(array);
+
+        // then
+        Assert.assertEquals(2, array.length);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Object[])}.
+     */
+    @Test
+    public final void shouldAcceptEmptyArray() {
+        // given
+        final Object[] array = {};
+
+        // when
+        Nullsafe.requireNoNullElements(array);
+
+        // then
+        Assert.assertEquals(0, array.length);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Object[])}.
+     */
+    @Test
+    public final void shouldReportNullArrayElement() {
+        // given
+        final Object[] array = { "first", "second", null, null };
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Element at index 2 is null"));
+
+        // when
+        Nullsafe.requireNoNullElements(array);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Object[])}.
+     */
+    @Test
+    public final void shouldReportNullArray() {
+        // given
+        final Object[] array = null;
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Array is null"));
+
+        // when
+        Nullsafe.requireNoNullElements(array);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Collection)}.
+     */
+    @Test
+    public final void shouldAcceptListWithoutNulls() {
+        // given
+        final List<Object> list = new ArrayList<>(Arrays.asList("first", "second"));
+
+        // when
+        Nullsafe.requireNoNullElements(list);
+
+        // then
+        Assert.assertEquals(2, list.size());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Collection)}.
+     */
+    @Test
+    public final void shouldReportNullListElement() {
+        // given
+        final List<Object> list = new ArrayList<>(Arrays.asList("first", null, null));
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Element at index 1 is null"));
+
+        // when
+        Nullsafe.requireNoNullElements(list);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Collection)}.
+     */
+    @Test
+    public final void shouldScanRandomAccessListsWithoutIterator() {
+        // given
+        final List<Object> list = new RandomAccessWithoutIterator<>(Arrays.asList("first", null));
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Element at index 1 is null"));
+
+        // when
+        Nullsafe.requireNoNullElements(list);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Collection)}.
+     */
+    @Test
+    public final void shouldScanSequentialListsWithIterator() {
+        // given
+        final List<Object> list = new LinkedList<Object>(Arrays.asList("first", "second", null)) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Object get(final int index) {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Element at index 2 is null"));
+
+        // when
+        Nullsafe.requireNoNullElements(list);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Collection)}.
+     */
+    @Test
+    public final void shouldAcceptCollectionWithoutNulls() {
+        // given
+        final Set<Object> set = new HashSet<>(Arrays.asList("first", "second"));
+
+        // when
+        Nullsafe.requireNoNullElements(set);
+
+        // then
+        Assert.assertEquals(2, set.size());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#requireNoNullElements(Collection)}.
+     */
+    @Test
+    public final void shouldReportNullCollection() {
+        // given
+        final Collection<Object> collection = null;
+
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage(CoreMatchers.is("Collection is null"));
+
+        // when
+        Nullsafe.requireNoNullElements(collection);
+    }
+
+    private static final class RandomAccessWithoutIterator<TYPE> extends AbstractList<TYPE> implements RandomAccess {
+
+        private final List<TYPE> elements;
+
+        RandomAccessWithoutIterator(final List<TYPE> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public TYPE get(final int index) {
+            return elements.get(index);
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public Iterator<TYPE> iterator() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldDetectNullAsBlank() {
+        // given
+        final String string = null;
+
+        // when
+        final boolean blank = Nullsafe.isNullOrBlank(string);
+
+        // then
+        Assert.assertTrue(blank);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldDetectEmptyAsBlank() {
+        // given
+        final String string = "";
+
+        // when
+        final boolean blank = Nullsafe.isNullOrBlank(string);
+
+        // then
+        Assert.assertTrue(blank);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldDetectWhitespaceAsBlank() {
+        // given
+        final CharSequence sequence = new StringBuilder(" \t\n\u000B\f\r\u001C\u001D\u001E\u001F\u1680\u3000");
+
+        // when
+        final boolean blank = Nullsafe.isNullOrBlank(sequence);
+
+        // then
+        Assert.assertTrue(blank);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldDetectLeadingText() {
+        // given
+        final String string = "text  ";
+
+        // when
+        final boolean blank = Nullsafe.isNullOrBlank(string);
+
+        // then
+        Assert.assertFalse(blank);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldDetectTrailingText() {
+        // given
+        final String string = "  text";
+
+        // when
+        final boolean blank = Nullsafe.isNullOrBlank(string);
+
+        // then
+        Assert.assertFalse(blank);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#isNullOrBlank(CharSequence)}.
+     */
+    @Test
+    public final void shouldAgreeWithCharacterIsWhitespace() {
+        // given
+        final List<String> disagreements = new ArrayList<>();
+
+        // when
+        for (char character = 0; character < Character.MAX_VALUE; character++) {
+            if (Nullsafe.isNullOrBlank(String.valueOf(character)) != Character.isWhitespace(character)) {
+                disagreements.add(Integer.toHexString(character));
+            }
+        }
+
+        // then
+        Assert.assertEquals(Collections.emptyList(), disagreements);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nullOrBlankPositions(CharSequence[])}.
+     */
+    @Test
+    public final void shouldFindNullOrBlankArrayElements() {
+        // given
+        final String[] strings = { "first", null, " ", "fourth", "\t\n" };
+
+        // when
+        final BitSet positions = Nullsafe.nullOrBlankPositions(strings);
+
+        // then
+        Assert.assertEquals(BitSet.valueOf(new long[] { 0b10110 }), positions);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nullOrBlankPositions(CharSequence[])}.
+     */
+    @Test
+    public final void shouldFindNoNullOrBlankElementsInNullArray() {
+        // given
+        final String[] strings = null;
+
+        // when
+        final BitSet positions = Nullsafe.nullOrBlankPositions(strings);
+
+        // then
+        Assert.assertTrue(positions.isEmpty());
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nullOrBlankPositions(List)}.
+     */
+    @Test
+    public final void shouldFindNullOrBlankListElements() {
+        // given
+        final List<String> strings = new ArrayList<>(Arrays.asList("first", null, " ", "fourth", "\t\n"));
+
+        // when
+        final BitSet positions = Nullsafe.nullOrBlankPositions(strings);
+
+        // then
+        Assert.assertEquals(BitSet.valueOf(new long[] { 0b10110 }), positions);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nullOrBlankPositions(List)}.
+     */
+    @Test
+    public final void shouldFindNullOrBlankRandomAccessElementsWithoutIterator() {
+        // given
+        final List<String> strings = new RandomAccessWithoutIterator<>(
+                Arrays.asList("first", null, " ", "fourth", "\t\n"));
+
+        // when
+        final BitSet positions = Nullsafe.nullOrBlankPositions(strings);
+
+        // then
+        Assert.assertEquals(BitSet.valueOf(new long[] { 0b10110 }), positions);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nullOrBlankPositions(List)}.
+     */
+    @Test
+    public final void shouldFindNullOrBlankSequentialElements() {
+        // given
+        final List<String> strings = new LinkedList<String>(Arrays.asList("first", null, " ", "fourth", "\t\n")) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String get(final int index) {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+
+        // when
+        final BitSet positions = Nullsafe.nullOrBlankPositions(strings);
+
+        // then
+        Assert.assertEquals(BitSet.valueOf(new long[] { 0b10110 }), positions);
+    }
+
+    /**
+     * Test method for {@link Nullsafe#nullOrBlankPositions(List)}.
+     */
+    @Test
+    public final void shouldFindNoNullOrBlankElementsInNullList() {
+        // given
+        final List<String> strings = null;
+
+        // when
+        final BitSet positions = Nullsafe.nullOrBlankPositions(strings);
+
+        // then
+        Assert.assertTrue(positions.isEmpty());
     }
 
     /**
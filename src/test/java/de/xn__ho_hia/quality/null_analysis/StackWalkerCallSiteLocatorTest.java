@@ -0,0 +1,77 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.xn__ho_hia.quality.callers.Callers;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class StackWalkerCallSiteLocatorTest {
+
+    /**
+     * Test method for <code>StackWalkerCallSiteLocator#locate</code>.
+     *
+     * @throws ReflectiveOperationException
+     *             Not expected
+     */
+    @Test
+    public final void shouldLocateCaller() throws ReflectiveOperationException {
+        // given
+        final CallSiteLocator locator = new StackWalkerCallSiteLocator(FakeStackWalker.class,
+                FakeStackWalker.StackFrame.class);
+
+        // when
+        final StackTraceElement caller = Nullsafe.nonNull(Callers.call(locator::locate));
+
+        // then
+        Assert.assertEquals(Callers.class.getName(), caller.getClassName());
+        Assert.assertEquals("call", caller.getMethodName());
+    }
+
+    /**
+     * Test method for <code>StackWalkerCallSiteLocator#locate</code>.
+     *
+     * @throws ReflectiveOperationException
+     *             Not expected
+     */
+    @Test
+    public final void shouldNotLocateCallerWithoutFrames() throws ReflectiveOperationException {
+        // given
+        final CallSiteLocator locator = new StackWalkerCallSiteLocator(FakeStackWalker.Empty.class,
+                FakeStackWalker.StackFrame.class);
+
+        // when
+        final StackTraceElement caller = locator.locate();
+
+        // then
+        Assert.assertNull(caller);
+    }
+
+    /**
+     * Test method for <code>StackWalkerCallSiteLocator#StackWalkerCallSiteLocator</code>.
+     *
+     * @throws ReflectiveOperationException
+     *             Expected
+     */
+    @Test(expected = NoSuchMethodException.class)
+    public final void shouldRejectOtherTypes() throws ReflectiveOperationException {
+        // given
+        final Class<?> walkerType = Object.class;
+
+        // when
+        final CallSiteLocator locator = new StackWalkerCallSiteLocator(walkerType, walkerType);
+
+        // then
+        Assert.fail(String.valueOf(locator));
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class StacklessIllegalArgumentExceptionTest {
+
+    /**
+     * Test method for {@link StacklessIllegalArgumentException#fillInStackTrace()}.
+     */
+    @Test
+    public final void shouldNotCaptureStackTrace() {
+        // given
+        final String message = "test";
+
+        // when
+        final StacklessIllegalArgumentException exception = new StacklessIllegalArgumentException(message);
+
+        // then
+        Assert.assertEquals(0, exception.getStackTrace().length);
+        Assert.assertEquals(message, exception.getMessage());
+    }
+
+    /**
+     * Test method for {@link StacklessIllegalArgumentException#fillInStackTrace()}.
+     */
+    @Test
+    public final void shouldReturnItselfWhenFillingInStackTrace() {
+        // given
+        final StacklessIllegalArgumentException exception = new StacklessIllegalArgumentException("test");
+
+        // when
+        final Throwable filled = exception.fillInStackTrace();
+
+        // then
+        Assert.assertSame(exception, filled);
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * This file is part of null-analysis. It is subject to the license terms in the LICENSE file found in the top-level
+ * directory of this distribution and at http://creativecommons.org/publicdomain/zero/1.0/. No part of null-analysis,
+ * including this file, may be copied, modified, propagated, or distributed except according to the terms contained
+ * in the LICENSE file.
+ */
+package de.xn__ho_hia.quality.null_analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.xn__ho_hia.quality.callers.Callers;
+
+/**
+ *
+ */
+@SuppressWarnings({ "nls", "static-method" })
+public class ThrowableCallSiteLocatorTest {
+
+    /**
+     * Test method for <code>ThrowableCallSiteLocator#locate</code>.
+     */
+    @Test
+    public final void shouldLocateCaller() {
+        // given
+        final CallSiteLocator locator = new ThrowableCallSiteLocator();
+
+        // when
+        final StackTraceElement caller = Nullsafe.nonNull(Callers.call(locator::locate));
+
+        // then
+        Assert.assertEquals(Callers.class.getName(), caller.getClassName());
+        Assert.assertEquals("call", caller.getMethodName());
+    }
+
+}